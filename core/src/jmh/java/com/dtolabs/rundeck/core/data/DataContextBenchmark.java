@@ -0,0 +1,89 @@
+package com.dtolabs.rundeck.core.data;
+
+import com.dtolabs.rundeck.core.dispatcher.ContextView;
+import com.dtolabs.rundeck.core.dispatcher.DataContextUtils;
+import com.dtolabs.rundeck.core.execution.workflow.WFSharedContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the per-node data contexts of a node dispatch from a shared workflow context, comparing the copy-on-write
+ * data contexts with deep copies of the data. Run with the gc profiler to compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataContextBenchmark {
+    @Param({"5000"})
+    int nodes;
+
+    @Param({"200"})
+    int options;
+
+    BaseDataContext workflowContext;
+    WFSharedContext sharedContext;
+
+    @Setup
+    public void setup() {
+        workflowContext = new BaseDataContext();
+        for (int i = 0; i < options; i++) {
+            workflowContext.put("option", "opt" + i, "value" + i);
+            workflowContext.put("globals", "global" + i, "value" + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            workflowContext.put("job", "attr" + i, "value" + i);
+            workflowContext.put("execution", "attr" + i, "value" + i);
+        }
+        sharedContext = WFSharedContext.with(ContextView.global(), workflowContext);
+        for (int i = 0; i < 50; i++) {
+            //data captured by a previous step
+            sharedContext.merge(ContextView.nodeStep(1, "node" + i), new BaseDataContext("data", dataFor("node" + i)));
+        }
+    }
+
+    private static Map<String, String> dataFor(String name) {
+        Map<String, String> data = new HashMap<>();
+        data.put("name", name);
+        data.put("hostname", name + ".example.com");
+        data.put("username", "rundeck");
+        return data;
+    }
+
+    @Benchmark
+    public void copyOnWriteNodeContexts(Blackhole blackhole) {
+        for (int i = 0; i < nodes; i++) {
+            String node = "node" + i;
+            BaseDataContext nodeContext = new BaseDataContext(workflowContext);
+            nodeContext.merge(new BaseDataContext("node", dataFor(node)));
+
+            WFSharedContext nodeShared = WFSharedContext.with(sharedContext);
+            nodeShared.merge(ContextView.node(node), new BaseDataContext("node", dataFor(node)));
+            blackhole.consume(nodeContext);
+            blackhole.consume(nodeShared.consolidate());
+        }
+    }
+
+    @Benchmark
+    public void deepCopyNodeContexts(Blackhole blackhole) {
+        for (int i = 0; i < nodes; i++) {
+            String node = "node" + i;
+            Map<String, Map<String, String>> nodeContext = DataContextUtils.merge(
+                    new HashMap<>(),
+                    workflowContext.getData()
+            );
+            nodeContext = DataContextUtils.merge(nodeContext, DataContextUtils.addContext("node", dataFor(node), null));
+
+            Map<ContextView, Map<String, Map<String, String>>> consolidated = new HashMap<>();
+            for (Map.Entry<ContextView, DataContext> entry : sharedContext.consolidate().getData().entrySet()) {
+                consolidated.put(entry.getKey(), DataContextUtils.merge(new HashMap<>(), entry.getValue().getData()));
+            }
+            consolidated.put(ContextView.node(node), DataContextUtils.addContext("node", dataFor(node), null));
+            blackhole.consume(nodeContext);
+            blackhole.consume(consolidated);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.dtolabs.rundeck.core.rules;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a generated sequential workflow ruleset to completion, comparing the indexed rule engine with evaluating every
+ * rule on each state change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RuleEngineBenchmark {
+    @Param({"500"})
+    int steps;
+
+    @Param({"true", "false"})
+    boolean indexed;
+
+    Set<Rule> rules;
+
+    @Setup
+    public void setup() {
+        rules = new HashSet<>();
+        rules.add(Rules.conditionsRule(Rules.equalsCondition("workflow.state", "started"), "step.1.start", "true"));
+        for (int i = 2; i <= steps; i++) {
+            Set<Condition> start = Rules.conditionSet(
+                    Rules.equalsCondition("step." + (i - 1) + ".completed", "true"),
+                    Condition.not(Rules.equalsCondition("workflow.keepgoing", "false"))
+            );
+            rules.add(Rules.conditionsRule(start, "step." + i + ".start", "true"));
+            rules.add(Rules.conditionsRule(
+                    Condition.and(
+                            Condition.and(start),
+                            Rules.equalsCondition("step." + i + ".skip", "true")
+                    ),
+                    States.state("step." + i + ".completed", "true")
+            ));
+        }
+        rules.add(Rules.conditionsRule(
+                Rules.equalsCondition("step." + steps + ".completed", "true"),
+                "workflow.done",
+                "true"
+        ));
+    }
+
+    @Benchmark
+    public void runWorkflow(Blackhole blackhole) {
+        RuleEngine engine = indexed ? new BaseRuleEngine(rules) : new FullEvaluationEngine(rules);
+        MutableStateObj state = States.mutable("workflow.state", "started");
+        Rules.update(engine, state);
+        for (int i = 1; i <= steps; i++) {
+            state.updateState("step." + i + ".completed", "true");
+            blackhole.consume(Rules.update(engine, state));
+        }
+        blackhole.consume(state);
+    }
+
+    /**
+     * Evaluates every rule for each state
+     */
+    static class FullEvaluationEngine implements RuleEngine {
+        private final Set<Rule> ruleSet;
+
+        FullEvaluationEngine(final Set<Rule> ruleSet) {
+            this.ruleSet = ruleSet;
+        }
+
+        @Override
+        public Set<Rule> getRuleSet() {
+            return ruleSet;
+        }
+
+        @Override
+        public void addRule(final Rule rule) {
+            ruleSet.add(rule);
+        }
+
+        @Override
+        public StateObj evaluateRules(final StateObj state) {
+            MutableStateObj dataState = States.mutable();
+            for (Rule rule : ruleSet) {
+                if (rule.test(state)) {
+                    StateObj result = rule.evaluate(state);
+                    if (null != result) {
+                        dataState.updateState(result);
+                    }
+                }
+            }
+            return dataState;
+        }
+    }
+}
@@ -721,6 +721,31 @@ public class RundeckConfigBase {
     @Data
     public static class RundeckNotificationConfig {
         Long threadTimeOut;
+        Threads threads;
+        Retry retry;
+        Http http;
+
+        @Data
+        public static class Threads {
+            Integer poolSize;
+            Integer queueCapacity;
+        }
+
+        @Data
+        public static class Retry {
+            Integer count;
+            Long delay;
+            Integer backoff;
+            Integer poolSize;
+        }
+
+        @Data
+        public static class Http {
+            Integer maxConnections;
+            Integer maxConnectionsPerRoute;
+            Integer timeout;
+            Integer retryCount;
+        }
     }
 
     @Data
@@ -18,18 +18,26 @@ package com.dtolabs.rundeck.core.data;
 
 import com.dtolabs.rundeck.core.data.DataContext;
 import com.dtolabs.rundeck.core.data.MutableDataContext;
-import com.dtolabs.rundeck.core.dispatcher.DataContextUtils;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Data context which shares the group maps with other BaseDataContexts it is copied from or merged with, a shared
+ * group map is copied before it is modified by {@link #merge(DataContext)}, or returned by {@link #get(Object)}. The
+ * group maps returned by {@link #getData()} should be treated as read only.
+ *
  * Created by greg on 5/25/16.
  */
 public class BaseDataContext implements MutableDataContext {
     private Map<String, Map<String, String>> data;
+    /**
+     * groups whose maps may be referenced by another context
+     */
+    private final Set<String> shared = ConcurrentHashMap.newKeySet();
 
     public BaseDataContext() {
         this(new HashMap<>());
@@ -59,7 +67,23 @@ public class BaseDataContext implements MutableDataContext {
     }
 
     public void merge(DataContext context){
-        data= DataContextUtils.merge(data, context.getData());
+        BaseDataContext source = context instanceof BaseDataContext ? (BaseDataContext) context : null;
+        Map<String, Map<String, String>> result = new HashMap<>(data);
+        for (Map.Entry<String, Map<String, String>> entry : context.getData().entrySet()) {
+            Map<String, String> current = data.get(entry.getKey());
+            if (null == current && null != source && null != entry.getValue()) {
+                //share the group with the source context
+                source.shared.add(entry.getKey());
+                shared.add(entry.getKey());
+                result.put(entry.getKey(), entry.getValue());
+            } else {
+                Map<String, String> merged = null != current ? new HashMap<>(current) : new HashMap<>();
+                merged.putAll(entry.getValue());
+                shared.remove(entry.getKey());
+                result.put(entry.getKey(), merged);
+            }
+        }
+        data = result;
     }
 
     @Override
@@ -82,28 +106,45 @@ public class BaseDataContext implements MutableDataContext {
         return data.containsValue(value);
     }
 
+    /**
+     * @return the group map, a shared group is copied first so that it can be modified
+     */
     @Override
     public Map<String, String> get(final Object key) {
-        return data.get(key);
+        Map<String, String> group = data.get(key);
+        if (null != group && shared.contains(key)) {
+            synchronized (this) {
+                group = data.get(key);
+                if (shared.remove(key)) {
+                    group = new HashMap<>(group);
+                    data.put((String) key, group);
+                }
+            }
+        }
+        return group;
     }
 
     @Override
     public Map<String, String> put(final String key, final Map<String, String> value) {
+        shared.remove(key);
         return data.put(key, value);
     }
 
     @Override
     public Map<String, String> remove(final Object key) {
+        shared.remove(key);
         return data.remove(key);
     }
 
     @Override
     public void putAll(final Map<? extends String, ? extends Map<String, String>> m) {
+        shared.removeAll(m.keySet());
         data.putAll(m);
     }
 
     @Override
     public void clear() {
+        shared.clear();
         data.clear();
     }
 
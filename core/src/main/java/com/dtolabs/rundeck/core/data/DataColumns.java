@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.core.data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar index of the data values of a set of views: group, key to view to value. Allows looking up a single data
+ * value for many views, such as data captured for each node, without traversing the data context of each view.
+ */
+class DataColumns<K> {
+    private final Map<String, Map<String, Map<K, String>>> columns = new HashMap<>();
+
+    /**
+     * Index the data merged into a view, null values remove the indexed value
+     *
+     * @param view view
+     * @param data merged data
+     */
+    void index(final K view, final Map<String, Map<String, String>> data) {
+        for (Map.Entry<String, Map<String, String>> group : data.entrySet()) {
+            if (null == group.getValue()) {
+                continue;
+            }
+            Map<String, Map<K, String>> groupColumns = columns.computeIfAbsent(group.getKey(), k -> new HashMap<>());
+            for (Map.Entry<String, String> entry : group.getValue().entrySet()) {
+                if (null != entry.getValue()) {
+                    groupColumns.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(view, entry.getValue());
+                } else {
+                    Map<K, String> column = groupColumns.get(entry.getKey());
+                    if (null != column) {
+                        column.remove(view);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param group group
+     * @param key   key
+     *
+     * @return map of view to value for the group and key
+     */
+    Map<K, String> column(final String group, final String key) {
+        Map<String, Map<K, String>> groupColumns = columns.get(group);
+        if (null == groupColumns) {
+            return Collections.emptyMap();
+        }
+        Map<K, String> column = groupColumns.get(key);
+        return null != column ? column : Collections.emptyMap();
+    }
+
+    /**
+     * @return value for the view, or null
+     */
+    String get(final K view, final String group, final String key) {
+        return column(group, key).get(view);
+    }
+}
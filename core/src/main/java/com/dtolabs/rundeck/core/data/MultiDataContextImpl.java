@@ -23,17 +23,27 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
+ * Keyed data with optional base data set. The data values of views other than the widest view are also indexed by
+ * group and key, so that a value can be collected from all views without traversing every view, data for those views
+ * should only be added via {@link #merge(ViewTraverse, DataContext)}.
+ *
  * Created by greg on 6/3/16.
  */
-@ToString
+@ToString(exclude = "columns")
 public abstract class MultiDataContextImpl<K extends ViewTraverse<K>, D extends DataContext>
         implements MultiDataContext<K, D>
 {
     Map<K, D> map;
     private MultiDataContext<K, D> base;
+    private final DataColumns<K> columns = new DataColumns<>();
 
     public MultiDataContextImpl(final Map<K, D> map) {
         this.map = map;
+        for (Map.Entry<K, D> entry : map.entrySet()) {
+            if (!entry.getKey().isWidest() && null != entry.getValue()) {
+                columns.index(entry.getKey(), entry.getValue().getData());
+            }
+        }
     }
 
     public MultiDataContextImpl() {
@@ -85,6 +95,85 @@ public abstract class MultiDataContextImpl<K extends ViewTraverse<K>, D extends
             map.put(k, newData());
         }
         map.get(k).merge(data);
+        if (!k.isWidest()) {
+            columns.index(k, data.getData());
+        }
+    }
+
+    /**
+     * Resolve the value for the view from this data set or its base data sets, without widening the view
+     *
+     * @param view  view
+     * @param group group
+     * @param key   key
+     *
+     * @return value or null
+     */
+    String resolveView(final K view, final String group, final String key) {
+        String value;
+        if (view.isWidest()) {
+            D data = getData(view);
+            value = null != data ? data.resolve(group, key, null) : null;
+        } else {
+            value = columns.get(view, group, key);
+        }
+        if (null != value) {
+            return value;
+        }
+        if (base instanceof MultiDataContextImpl) {
+            return ((MultiDataContextImpl<K, D>) base).resolveView(view, group, key);
+        }
+        return null != base ? base.resolve(view, view, group, key, null) : null;
+    }
+
+    /**
+     * Resolve values for all views matching the filter, using the indexed values, equivalent to {@link
+     * #resolve(ViewTraverse, String, String)} for each view. Values resolved by widening a view are resolved once for
+     * each wider view
+     */
+    private Map<K, String> resolveAll(final Predicate<K> viewFilter, final String group, final String key) {
+        Map<K, String> widened = new HashMap<>();
+        Map<K, String> values = new TreeMap<>();
+        for (K view : getConsolidatedKeys()) {
+            if (!viewFilter.test(view)) {
+                continue;
+            }
+            String value = resolveView(view, group, key);
+            if (null == value && !view.isWidest()) {
+                K wider = view.widenView().getView();
+                if (!widened.containsKey(wider)) {
+                    widened.put(wider, resolve(wider, group, key));
+                }
+                value = widened.get(wider);
+            }
+            if (null != value) {
+                values.put(view, value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public List<String> collect(final Predicate<K> viewFilter, final String group, final String key) {
+        return new ArrayList<>(resolveAll(viewFilter, group, key).values());
+    }
+
+    @Override
+    public Map<String, String> collectMap(
+            final Predicate<K> viewFilter,
+            final Function<K, String> keyMapper,
+            final String group,
+            final String key
+    )
+    {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<K, String> entry : resolveAll(viewFilter, group, key).entrySet()) {
+            String mapped = keyMapper.apply(entry.getKey());
+            if (null != result.put(mapped, entry.getValue())) {
+                throw new IllegalStateException(String.format("Duplicate key %s", mapped));
+            }
+        }
+        return result;
     }
 
     protected abstract D newData();
@@ -23,16 +23,25 @@
 */
 package com.dtolabs.rundeck.core.execution;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * ServiceThreadBase is ...
  *
  * @author Greg Schueler <a href="mailto:greg@dtosolutions.com">greg@dtosolutions.com</a>
  */
 public class ServiceThreadBase<T> extends Thread implements ServiceContext<T> {
+    private static final Logger log = LoggerFactory.getLogger(ServiceThreadBase.class);
     volatile boolean success = false;
     private volatile boolean aborted = false;
     volatile Throwable thrown;
     volatile T resultObject;
+    private final List<Runnable> completionListeners = new ArrayList<>();
+    private boolean completed = false;
 
     public void abort() {
         if (isAlive()) {
@@ -41,6 +50,41 @@ public class ServiceThreadBase<T> extends Thread implements ServiceContext<T> {
         }
     }
 
+    /**
+     * Add a listener to call when the thread has finished its work. The listener is called by the thread itself just
+     * before it exits, or immediately if the work was already finished.
+     *
+     * @param listener listener
+     */
+    public void onComplete(final Runnable listener) {
+        synchronized (completionListeners) {
+            if (!completed) {
+                completionListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * Call the completion listeners, subclasses should call this at the end of {@link #run()}
+     */
+    protected void fireCompleted() {
+        List<Runnable> listeners;
+        synchronized (completionListeners) {
+            completed = true;
+            listeners = new ArrayList<>(completionListeners);
+            completionListeners.clear();
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.error("Error calling completion listener for thread {}", getName(), e);
+            }
+        }
+    }
+
     @Override
     public boolean isSuccessful() {
         return success;
@@ -62,6 +62,14 @@ public class WorkflowExecutionServiceThread
     }
 
     public void run() {
+        try {
+            runService();
+        } finally {
+            fireCompleted();
+        }
+    }
+
+    private void runService() {
         if (null == this.weservice || null == this.weitem || null == context) {
             throw new IllegalStateException("project or execution detail not instantiated");
         }
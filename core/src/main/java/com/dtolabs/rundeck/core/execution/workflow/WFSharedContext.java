@@ -75,11 +75,22 @@ public class WFSharedContext extends MultiDataContextImpl<ContextView, DataConte
         super.merge(input);
     }
 
+    /**
+     * Consolidate the data of this context and its base contexts, the data contexts of the result share the group
+     * maps with the original contexts until modified
+     *
+     * @return new context
+     */
     @Override
     public WFSharedContext consolidate() {
+        MultiDataContext<ContextView, DataContext> baseConsolidated = null != getBase() ? getBase().consolidate() : null;
+        if (getData().isEmpty() && baseConsolidated instanceof WFSharedContext) {
+            //an empty overlay adds nothing to the consolidated base
+            return (WFSharedContext) baseConsolidated;
+        }
         WFSharedContext consolidated = new WFSharedContext();
-        if (null != getBase()) {
-            consolidated.merge(getBase().consolidate());
+        if (null != baseConsolidated) {
+            consolidated.merge(baseConsolidated);
         }
         consolidated.merge(this);
         return consolidated;
@@ -27,6 +27,7 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.*;
+import org.apache.http.util.EntityUtils;
 
 import java.net.URI;
 import java.util.HashMap;
@@ -37,10 +38,25 @@ public class ApacheHttpClient implements HttpClient<HttpResponse> {
     HttpClientBuilder clientBuilder = HttpClients.custom();
     RequestConfig.Builder rqConfigBuilder = RequestConfig.custom();
     HttpClientContext clientContext = null;
+    CloseableHttpClient sharedClient = null;
     HttpRequestBase request = null;
     URI                uri;
     Map<String,String> headers = new HashMap<>();
 
+    public ApacheHttpClient() {
+    }
+
+    /**
+     * Use a shared client to execute the request, such as one using a pooled connection manager so that connections
+     * can be reused. The shared client is not closed after the request, and its retry handler must be set when it is
+     * built.
+     *
+     * @param sharedClient shared client
+     */
+    public ApacheHttpClient(final CloseableHttpClient sharedClient) {
+        this.sharedClient = sharedClient;
+    }
+
     @Override
     public HttpClient<HttpResponse> setUri(final URI uri) {
         this.uri = uri;
@@ -66,6 +82,7 @@ public class ApacheHttpClient implements HttpClient<HttpResponse> {
         authCache.put(target, basicAuth);
         clientContext = HttpClientContext.create();
         clientContext.setAuthCache(authCache);
+        clientContext.setCredentialsProvider(credProvider);
         return this;
     }
 
@@ -86,8 +103,14 @@ public class ApacheHttpClient implements HttpClient<HttpResponse> {
         return this;
     }
 
+    /**
+     * @throws IllegalStateException if a shared client is used, its retry handler must be set when it is built
+     */
     @Override
     public HttpClient<HttpResponse> setRetryCount(final int count) {
+        if (sharedClient != null) {
+            throw new IllegalStateException("The retry count of a shared client must be set when the client is built");
+        }
         clientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(count,false));
         return this;
     }
@@ -110,8 +133,19 @@ public class ApacheHttpClient implements HttpClient<HttpResponse> {
     public void execute(RequestProcessor<HttpResponse> processor) throws Exception {
         if(uri == null) throw new IllegalStateException("The URI must be set before executing the request");
 
+        headers.forEach((n, v) -> request.addHeader(n, v));
+        if (sharedClient != null) {
+            request.setConfig(rqConfigBuilder.build());
+            try (CloseableHttpResponse rsp = clientContext != null
+                                             ? sharedClient.execute(request, clientContext)
+                                             : sharedClient.execute(request)) {
+                processor.accept(rsp);
+                //release the connection back to the pool
+                EntityUtils.consume(rsp.getEntity());
+            }
+            return;
+        }
         try (CloseableHttpClient client = clientBuilder.setDefaultRequestConfig(rqConfigBuilder.build()).build()) {
-            headers.forEach((n, v) -> request.addHeader(n, v));
             HttpResponse rsp = clientContext != null ? client.execute(request, clientContext) : client.execute(request);
             processor.accept(rsp);
         }
@@ -63,6 +63,34 @@ public interface ExecutionFileStorage {
         throw new UnsupportedOperationException("partialStore is not implemented");
     }
 
+    /**
+     * Appends to the incomplete snapshot file of the given file type, previously stored via {@link
+     * #partialStore(String, java.io.InputStream, long, java.util.Date)} or this method. The stream contains only the
+     * bytes after the already stored offset, and the complete snapshot will have length offset + length.
+     *
+     * @param filetype     filetype or extension of the file to store
+     * @param stream       the input stream of the new content
+     * @param offset       the length of the already stored snapshot
+     * @param length       the length of the new content
+     * @param lastModified the file modification time
+     *
+     * @return true if successful
+     *
+     * @throws java.io.IOException                                            if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    default boolean partialStoreAppend(
+            String filetype,
+            InputStream stream,
+            long offset,
+            long length,
+            Date lastModified
+    )
+            throws IOException, ExecutionFileStorageException
+    {
+        throw new UnsupportedOperationException("partialStoreAppend is not implemented");
+    }
+
     /**
      * Write a file of the given file type to the given stream
      *
@@ -93,6 +121,39 @@ public interface ExecutionFileStorage {
         throw new UnsupportedOperationException("partialRetrieve is not implemented");
     }
 
+    /**
+     * Write a range of the stored file of the given file type to the given stream
+     *
+     * @param filetype key to identify stored file
+     * @param stream   the output stream
+     * @param offset   offset of the range
+     * @param length   maximum length of the range
+     *
+     * @return number of bytes written, less than the length only if the end of the file was reached
+     *
+     * @throws IOException                                                    if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    default long retrieveRange(String filetype, OutputStream stream, long offset, long length)
+            throws IOException, ExecutionFileStorageException
+    {
+        throw new UnsupportedOperationException("retrieveRange is not implemented");
+    }
+
+    /**
+     * @param filetype key to identify stored file
+     *
+     * @return length of the stored file of the given file type, or -1 if it is not available
+     *
+     * @throws IOException                                                    if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    default long getStoredLength(String filetype)
+            throws IOException, ExecutionFileStorageException
+    {
+        throw new UnsupportedOperationException("getStoredLength is not implemented");
+    }
+
     /**
      * delete the file of the given file type
      *
@@ -32,6 +32,14 @@ public interface ExecutionFileStorageOptions {
         return false;
     }
 
+    /**
+     * @return true if ranges of stored files can be retrieved, see {@link ExecutionFileStorage#retrieveRange(String,
+     * java.io.OutputStream, long, long)} and {@link ExecutionFileStorage#getStoredLength(String)}
+     */
+    default boolean getRangeRetrieveSupported() {
+        return false;
+    }
+
     /**
      * @return true if store is supported, false otherwise
      */
@@ -43,4 +51,13 @@ public interface ExecutionFileStorageOptions {
     default boolean getPartialStoreSupported() {
         return false;
     }
+
+    /**
+     * @return true if partial storage requests can append to the previously stored snapshot, see {@link
+     * ExecutionFileStorage#partialStoreAppend(String, java.io.InputStream, long, long, java.util.Date)} and {@link
+     * StorageFile#getOffset()}
+     */
+    default boolean getPartialAppendSupported() {
+        return false;
+    }
 }
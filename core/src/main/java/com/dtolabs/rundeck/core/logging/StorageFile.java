@@ -38,6 +38,17 @@ public interface StorageFile {
      */
     long getLength();
 
+    /**
+     * For an incomplete file, the length of the snapshot already stored by a previous partial storage request. If
+     * non-zero, the input stream and length contain only the content after this offset, which should be appended to
+     * the stored snapshot. Only used for plugins declaring {@link ExecutionFileStorageOptions#getPartialAppendSupported()}
+     *
+     * @return offset of the content
+     */
+    default long getOffset() {
+        return 0;
+    }
+
     /**
      * @return last modified date
      */
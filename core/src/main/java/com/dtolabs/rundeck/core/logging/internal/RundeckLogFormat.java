@@ -31,6 +31,9 @@ import java.text.SimpleDateFormat;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -306,13 +309,28 @@ public class RundeckLogFormat implements OutputLogFormat, LineLogFormat {
     }
 
     public long seekBackwards(File file, int count) {
+        try (SeekableByteChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return seekBackwards(channel, count);
+        } catch (IOException iex) {
+            log.error("Unable to seek back", iex);
+        }
+        return -1;
+    }
+
+    /**
+     * Seek backwards in the log content for the start of the given number of log entries
+     * @param channel log content
+     * @param count number of entries
+     * @return position of the first entry, 0 if not found, or -1 if the content could not be read
+     */
+    public long seekBackwards(SeekableByteChannel channel, int count) {
         //seek backwards to log entry ending strings, using the LogMessagePositionTester to
         //verify that the following line is a log message, not some other entry type
         String lSep = System.getProperty("line.separator");
         long seek = -1;
         try {
             int markerLen = ("^"+lSep).getBytes("UTF-8").length;
-            seek = Utility.seekBack(file, count, DELIM + lSep, new LogMessageBegin());
+            seek = Utility.seekBack(channel, count, DELIM + lSep, new LogMessageBegin());
             if (seek > 0) {
                 seek += markerLen;
             }
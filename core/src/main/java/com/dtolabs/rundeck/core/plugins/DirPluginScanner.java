@@ -33,6 +33,7 @@ import java.io.FileFilter;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -50,8 +51,8 @@ public abstract class DirPluginScanner implements PluginScanner, PluginDirChange
     final  File   extdir;
 
     final FileCache<ProviderLoader> filecache;
-    private HashSet<FileCache.MemoFile> scannedFiles = new HashSet<>();
-    private HashMap<FileCache.MemoFile,Boolean> validity = new HashMap<>();
+    private volatile Set<FileCache.MemoFile> scannedFiles = new HashSet<>();
+    private final Map<FileCache.MemoFile,Boolean> validity = new ConcurrentHashMap<>();
 
     private final AtomicBoolean       allowProviderRescan       = new AtomicBoolean(true);
     private final AtomicBoolean       allowFileRescan           = new AtomicBoolean(true);
@@ -165,7 +166,6 @@ public abstract class DirPluginScanner implements PluginScanner, PluginDirChange
     }
 
     private void clearMemos(Set<FileCache.MemoFile> memos) {
-        scannedFiles.removeAll(memos);
         for (FileCache.MemoFile memo : memos) {
             validity.remove(memo);
             filecache.remove(memo.getFile());
@@ -190,8 +190,9 @@ public abstract class DirPluginScanner implements PluginScanner, PluginDirChange
             }
             prescanned.remove(memo);
         }
-        clearMemos(prescanned);
+        //publish the new set before clearing, isExpired may be called without locking
         scannedFiles = newscanned;
+        clearMemos(prescanned);
 
         if (candidates.size() == 1) {
             return candidates.get(0).getFile();
@@ -24,24 +24,32 @@
 package com.dtolabs.rundeck.core.plugins;
 
 import com.dtolabs.rundeck.core.execution.service.ProviderLoaderException;
-import com.dtolabs.rundeck.core.utils.PairImpl;
 import com.dtolabs.rundeck.core.utils.cache.FileCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * FilePluginCache uses a filecache and a set of {@link PluginScanner}s to cache and create {@link ProviderLoader}
  * instances associated with files.
  * <br>
- * The instances are returned for {@link ProviderIdent} instances.
+ * The instances are returned for {@link ProviderIdent} instances. Lookups of cached idents do not lock, a cache miss
+ * for an ident is loaded once even if several threads request it concurrently, and scanning the plugin files is
+ * serialized since the scanners are not thread safe. When a {@link PluginDirProvider} is set, change events for the
+ * plugin dir cause the cached idents to be rescanned in the background.
  *
  * @author Greg Schueler <a href="mailto:greg@dtosolutions.com">greg@dtosolutions.com</a>
  */
-public class FilePluginCache implements PluginCache {
+public class FilePluginCache implements PluginCache, PluginDirChangeEventListener {
     static Logger log = LoggerFactory.getLogger(FilePluginCache.class.getName());
+    public static final String METRIC_LOOKUP_TIMER = "lookupTimer";
+    public static final String METRIC_RESCAN_TIMER = "rescanTimer";
+    public static final String METRIC_CACHE_HIT_METER = "cacheHitMeter";
+    public static final String METRIC_CACHE_MISS_METER = "cacheMissMeter";
 
     /**
      * Scanners to use
@@ -55,24 +63,60 @@ public class FilePluginCache implements PluginCache {
     }
 
     /**
-     * Cache item is a File, PluginDirScanner pair
+     * Cache item is a File, PluginDirScanner pair, and the loader that was resolved for the file
      */
-    static class cacheItem extends PairImpl<File, PluginScanner> {
-        cacheItem(final File first, final PluginScanner second) {
-            super(first, second);
+    static class cacheItem {
+        private final File file;
+        private final PluginScanner scanner;
+        private final ProviderLoader loader;
+
+        cacheItem(final File file, final PluginScanner scanner, final ProviderLoader loader) {
+            this.file = file;
+            this.scanner = scanner;
+            this.loader = loader;
+        }
+
+        File getFirst() {
+            return file;
+        }
+
+        PluginScanner getSecond() {
+            return scanner;
+        }
+
+        ProviderLoader getLoader() {
+            return loader;
         }
     }
 
     /**
      * Cache a file,pluginscanner for each ident
      */
-    final private HashMap<ProviderIdent, cacheItem> cache = new HashMap<ProviderIdent, cacheItem>();
+    final private ConcurrentMap<ProviderIdent, cacheItem> cache = new ConcurrentHashMap<>();
+
+    /**
+     * In-flight loads for idents, so that concurrent misses for the same ident share one scan
+     */
+    final private ConcurrentMap<ProviderIdent, FutureTask<cacheItem>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Guards use of the scanners, which maintain unsynchronized state
+     */
+    final private Object scanLock = new Object();
 
     /**
      * the filecache of loaders associated with files
      */
     final private FileCache<ProviderLoader> filecache;
     private List<PluginScanner> scanners;
+    private PluginCacheMetricsWriter metricsWriter;
+    private PluginDirProvider pluginDirProvider;
+    private final AtomicBoolean rescanPending = new AtomicBoolean(false);
+    private final ExecutorService rescanExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "FilePluginCache-rescan");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public FilePluginCache(final FileCache<ProviderLoader> filecache) {
         this.filecache = filecache;
@@ -86,15 +130,40 @@ public class FilePluginCache implements PluginCache {
         getScanners().add(scanner);
     }
 
+    public PluginCacheMetricsWriter getMetricsWriter() {
+        return metricsWriter;
+    }
+
+    /**
+     * @param metricsWriter receives lookup timings and cache hit/miss events
+     */
+    public void setMetricsWriter(final PluginCacheMetricsWriter metricsWriter) {
+        this.metricsWriter = metricsWriter;
+    }
+
+    public PluginDirProvider getPluginDirProvider() {
+        return pluginDirProvider;
+    }
+
+    /**
+     * Register for change events from the plugin dir, which will trigger background rescan of cached idents
+     *
+     * @param pluginDirProvider provider
+     */
+    public void setPluginDirProvider(final PluginDirProvider pluginDirProvider) {
+        this.pluginDirProvider = pluginDirProvider;
+        if (null != pluginDirProvider) {
+            pluginDirProvider.registerDirChangeEventListener(this);
+        }
+    }
+
     /**
      * Remove the association with ident, and remove any filecache association as well.
      */
-    private void remove(final ProviderIdent ident) {
-        final cacheItem cacheItem = cache.get(ident);
-        if (null != cacheItem) {
+    private void remove(final ProviderIdent ident, final cacheItem cacheItem) {
+        if (cache.remove(ident, cacheItem)) {
             filecache.remove(cacheItem.getFirst());
         }
-        cache.remove(ident);
     }
 
     /**
@@ -104,63 +173,167 @@ public class FilePluginCache implements PluginCache {
      *
      * @return loader for the provider
      */
-    public synchronized ProviderLoader getLoaderForIdent(final ProviderIdent ident) throws ProviderLoaderException {
-        final cacheItem cacheItem = cache.get(ident);
-        if (null == cacheItem) {
-            return rescanForItem(ident);
-        }
-
-        final File file = cacheItem.getFirst();
-        if (cacheItem.getSecond().isExpired(ident, file)) {
-            remove(ident);
-            return rescanForItem(ident);
-        } else {
-            return loadFileProvider(cacheItem);
+    public ProviderLoader getLoaderForIdent(final ProviderIdent ident) throws ProviderLoaderException {
+        long start = System.nanoTime();
+        try {
+            final cacheItem cacheItem = cache.get(ident);
+            if (null != cacheItem && null != cacheItem.getLoader()
+                && !cacheItem.getSecond().isExpired(ident, cacheItem.getFirst())) {
+                markMeter(METRIC_CACHE_HIT_METER);
+                return cacheItem.getLoader();
+            }
+            markMeter(METRIC_CACHE_MISS_METER);
+            if (null != cacheItem) {
+                remove(ident, cacheItem);
+            }
+            return loadForItem(ident);
+        } finally {
+            updateTimer(METRIC_LOOKUP_TIMER, System.nanoTime() - start);
         }
     }
 
     public List<ProviderIdent> listProviders() {
         final ArrayList<ProviderIdent> providerIdents = new ArrayList<ProviderIdent>();
-        for (final PluginScanner scanner : getScanners()) {
-            providerIdents.addAll(scanner.listProviders());
+        synchronized (scanLock) {
+            for (final PluginScanner scanner : getScanners()) {
+                providerIdents.addAll(scanner.listProviders());
+            }
         }
         return providerIdents;
     }
 
+    /**
+     * Rescan cached idents in the background when the plugin dir changes, multiple events received before the rescan
+     * starts are handled by a single rescan
+     */
+    @Override
+    public void onDirChangeEvent(final PluginDirChangeEvent event) {
+        if (rescanPending.compareAndSet(false, true)) {
+            rescanExecutor.execute(this::rescanCachedItems);
+        }
+    }
+
+    /**
+     * Rescan all currently cached idents, replacing or removing their entries, and remove filecache entries for files
+     * that no longer exist
+     */
+    void rescanCachedItems() {
+        rescanPending.set(false);
+        for (final ProviderIdent ident : new ArrayList<>(cache.keySet())) {
+            try {
+                final cacheItem item = rescanForItem(ident);
+                if (null == item) {
+                    cache.remove(ident);
+                } else {
+                    cache.put(ident, item);
+                }
+            } catch (ProviderLoaderException e) {
+                cache.remove(ident);
+                log.warn("Failed to rescan plugin for provider " + ident + ": " + e.getMessage());
+                log.debug("Failed to rescan plugin for provider " + ident, e);
+            }
+        }
+        removeMissingFiles();
+    }
+
+    /**
+     * Remove filecache entries for files that no longer exist
+     */
+    private void removeMissingFiles() {
+        synchronized (scanLock) {
+            for (final File file : new ArrayList<>(filecache.cachedFiles())) {
+                if (!file.exists()) {
+                    filecache.remove(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the ident, sharing the result with any concurrent requests for the same ident
+     */
+    private ProviderLoader loadForItem(final ProviderIdent ident) throws ProviderLoaderException {
+        final FutureTask<cacheItem> task = new FutureTask<>(() -> {
+            final cacheItem item = rescanForItem(ident);
+            if (null != item) {
+                cache.put(ident, item);
+            }
+            return item;
+        });
+        FutureTask<cacheItem> existing = loading.putIfAbsent(ident, task);
+        if (null == existing) {
+            existing = task;
+            try {
+                task.run();
+            } finally {
+                loading.remove(ident, task);
+            }
+        }
+        try {
+            final cacheItem item = existing.get();
+            return null != item ? item.getLoader() : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderLoaderException(e, ident.getService(), ident.getProviderName());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProviderLoaderException) {
+                throw (ProviderLoaderException) e.getCause();
+            }
+            throw new ProviderLoaderException(e.getCause(), ident.getService(), ident.getProviderName());
+        }
+    }
 
     /**
      * return the loader stored in filecache for the file and scanner
      */
-    private ProviderLoader loadFileProvider(final cacheItem cached) {
-        final File file = cached.getFirst();
-        final PluginScanner second = cached.getSecond();
-        return filecache.get(file, second);
+    private ProviderLoader loadFileProvider(final File file, final PluginScanner scanner) {
+        return filecache.get(file, scanner);
     }
 
     /**
-     * Rescan for the ident and cache and return the loader
+     * Rescan for the ident and return the cache item, or null if not found
      */
-    private synchronized ProviderLoader rescanForItem(final ProviderIdent ident) throws ProviderLoaderException {
-        File candidate = null;
-        PluginScanner cscanner = null;
-        for (final PluginScanner scanner : getScanners()) {
-            final File file = scanner.scanForFile(ident);
-            if (null != file) {
+    private cacheItem rescanForItem(final ProviderIdent ident) throws ProviderLoaderException {
+        long start = System.nanoTime();
+        try {
+            synchronized (scanLock) {
+                File candidate = null;
+                PluginScanner cscanner = null;
+                for (final PluginScanner scanner : getScanners()) {
+                    final File file = scanner.scanForFile(ident);
+                    if (null != file) {
+                        if (null != candidate) {
+                            throw new ProviderLoaderException(
+                                    "More than one plugin file matched: " + file + ", and " + candidate,
+                                    ident.getService(), ident.getProviderName()
+                            );
+                        }
+                        candidate = file;
+                        cscanner = scanner;
+                    }
+                }
                 if (null != candidate) {
-                    throw new ProviderLoaderException(
-                            "More than one plugin file matched: " + file + ", and " + candidate,
-                            ident.getService(), ident.getProviderName()
-                    );
+                    final ProviderLoader loader = loadFileProvider(candidate, cscanner);
+                    if (null != loader) {
+                        return new cacheItem(candidate, cscanner, loader);
+                    }
                 }
-                candidate = file;
-                cscanner = scanner;
+                return null;
             }
+        } finally {
+            updateTimer(METRIC_RESCAN_TIMER, System.nanoTime() - start);
+        }
+    }
+
+    private void markMeter(final String name) {
+        if (null != metricsWriter) {
+            metricsWriter.markMeter(FilePluginCache.class.getName(), name);
         }
-        if (null != candidate) {
-            final cacheItem cacheItem = new cacheItem(candidate, cscanner);
-            cache.put(ident, cacheItem);
-            return loadFileProvider(cacheItem);
+    }
+
+    private void updateTimer(final String name, final long durationNanos) {
+        if (null != metricsWriter) {
+            metricsWriter.updateTimer(FilePluginCache.class.getName(), name, durationNanos, TimeUnit.NANOSECONDS);
         }
-        return null;
     }
 }
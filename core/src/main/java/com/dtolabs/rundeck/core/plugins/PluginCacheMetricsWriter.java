@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtolabs.rundeck.core.plugins;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives metrics from plugin caches
+ */
+public interface PluginCacheMetricsWriter {
+    /**
+     * Mark a meter
+     *
+     * @param classname  metric class name
+     * @param metricName metric name
+     */
+    void markMeter(String classname, String metricName);
+
+    /**
+     * Record a duration to a timer
+     *
+     * @param classname  metric class name
+     * @param metricName metric name
+     * @param duration   duration
+     * @param unit       duration unit
+     */
+    void updateTimer(String classname, String metricName, long duration, TimeUnit unit);
+}
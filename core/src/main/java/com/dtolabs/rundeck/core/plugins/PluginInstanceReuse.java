@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtolabs.rundeck.core.plugins;
+
+import com.dtolabs.rundeck.core.plugins.configuration.Describable;
+import com.dtolabs.rundeck.core.plugins.configuration.Description;
+import com.dtolabs.rundeck.core.plugins.configuration.PluginAdapterUtility;
+import com.dtolabs.rundeck.plugins.util.DescriptionBuilder;
+
+import java.util.Map;
+
+/**
+ * Plugin metadata flag allowing a configured plugin instance to be reused instead of created for each use.
+ * <p>
+ * A plugin declares that it is stateless with the metadata entry {@value #METADATA_KEY}={@value #EXECUTION}, e.g. by
+ * annotating the class with {@code @PluginMetadata(key = "instanceReuse", value = "execution")}, or with the
+ * "plugin-meta" section of a script plugin's definition. The same configured instance may then be used for all nodes
+ * of an execution which use the same configuration, possibly from several node threads at once, so the plugin must
+ * not keep any per-node state in its fields.
+ * </p>
+ * <p>
+ * The value {@value #SHARED} declares that a configured instance may be reused for any number of uses, for example
+ * for every event received by a webhook, and implies {@value #EXECUTION}.
+ * </p>
+ */
+public class PluginInstanceReuse {
+    /**
+     * Metadata key
+     */
+    public static final String METADATA_KEY = "instanceReuse";
+    /**
+     * Metadata value allowing reuse within a single execution
+     */
+    public static final String EXECUTION = "execution";
+    /**
+     * Metadata value allowing reuse for any number of uses with the same configuration
+     */
+    public static final String SHARED = "shared";
+
+    private PluginInstanceReuse() {
+    }
+
+    /**
+     * @param description plugin description
+     * @return true if the description declares the instance can be reused within an execution
+     */
+    public static boolean isReusableForExecution(final Description description) {
+        String value = getReuseValue(description);
+        return EXECUTION.equals(value) || SHARED.equals(value);
+    }
+
+    /**
+     * @param description plugin description
+     * @return true if the description declares the instance can be shared for any number of uses
+     */
+    public static boolean isShared(final Description description) {
+        return SHARED.equals(getReuseValue(description));
+    }
+
+    /**
+     * @param instance plugin instance
+     * @return true if the plugin instance declares it can be shared for any number of uses
+     */
+    public static boolean isInstanceShared(final Object instance) {
+        return isShared(describe(instance));
+    }
+
+    private static String getReuseValue(final Description description) {
+        if (null == description) {
+            return null;
+        }
+        Map<String, String> metadata = description.getMetadata();
+        return null != metadata ? metadata.get(METADATA_KEY) : null;
+    }
+
+    /**
+     * @param instance plugin instance
+     * @return true if the plugin instance declares it can be reused within an execution
+     */
+    public static boolean isInstanceReusableForExecution(final Object instance) {
+        return isReusableForExecution(describe(instance));
+    }
+
+    private static Description describe(final Object instance) {
+        if (instance instanceof Describable) {
+            return ((Describable) instance).getDescription();
+        }
+        if (null != instance && PluginAdapterUtility.canBuildDescription(instance)) {
+            return PluginAdapterUtility.buildDescription(instance, DescriptionBuilder.builder());
+        }
+        return null;
+    }
+}
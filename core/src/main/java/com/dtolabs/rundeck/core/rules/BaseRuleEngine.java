@@ -1,53 +1,110 @@
 package com.dtolabs.rundeck.core.rules;
 
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.util.*;
 
 /**
- * Basic rules engine
+ * Basic rules engine. Rules are indexed by the state keys their conditions depend on (see {@link
+ * Condition#getStateKeys()}), and after the first evaluation only rules which depend on a key whose value has changed
+ * since the previous evaluation, rules with unknown dependencies, and newly added rules are tested again. The results
+ * of the other rules are reused from the previous evaluation.
  */
 public class BaseRuleEngine implements RuleEngine {
-    private Set<Rule> ruleSet;
+    private final Set<Rule> ruleSet = new HashSet<>();
+    private final Map<String, List<Rule>> keyIndex = new HashMap<>();
+    private final Set<Rule> unindexedRules = new HashSet<>();
+    private final Set<Rule> addedRules = new HashSet<>();
+    private final Map<Rule, StateObj> appliedRules = new HashMap<>();
+    private Map<String, String> lastState;
 
     public BaseRuleEngine(final Set<Rule> ruleSet) {
-        this.ruleSet = new HashSet<>(ruleSet);
+        for (Rule rule : ruleSet) {
+            addRule(rule);
+        }
     }
 
     @Override
-    public Set<Rule> getRuleSet() {
-        return ruleSet;
+    public synchronized Set<Rule> getRuleSet() {
+        return Collections.unmodifiableSet(ruleSet);
     }
 
     @Override
-    public void addRule(final Rule rule) {
-        ruleSet.add(rule);
+    public synchronized void addRule(final Rule rule) {
+        if (!ruleSet.add(rule)) {
+            return;
+        }
+        addedRules.add(rule);
+        Set<String> keys = rule.getStateKeys();
+        if (null == keys) {
+            unindexedRules.add(rule);
+            return;
+        }
+        for (String key : keys) {
+            keyIndex.computeIfAbsent(key, k -> new ArrayList<>()).add(rule);
+        }
     }
 
     /**
-     * Evaluate each rule, if it applies, accrue the new state changes
+     * Evaluate each rule whose input may have changed, if it applies, accrue the new state changes
      *
      * @param state input state
      *
      * @return accrued state changes from matching rules
      */
     @Override
-    public StateObj evaluateRules(final StateObj state) {
+    public synchronized StateObj evaluateRules(final StateObj state) {
+        Map<String, String> current = new HashMap<>(state.getState());
+        Collection<Rule> evaluate;
+        if (null == lastState) {
+            evaluate = ruleSet;
+        } else {
+            Set<Rule> candidates = new HashSet<>(unindexedRules);
+            candidates.addAll(addedRules);
+            for (String key : changedKeys(lastState, current)) {
+                List<Rule> rules = keyIndex.get(key);
+                if (null != rules) {
+                    candidates.addAll(rules);
+                }
+            }
+            evaluate = candidates;
+        }
+        for (Rule rule : evaluate) {
+            StateObj result = rule.test(state) ? rule.evaluate(state) : null;
+            if (null != result) {
+                appliedRules.put(rule, result);
+            } else {
+                appliedRules.remove(rule);
+            }
+        }
+        addedRules.clear();
+        lastState = current;
+
         MutableStateObj dataState = States.mutable();
-        getRuleSet().stream()
-                    //filter rules that apply given the state
-                    .filter(i -> i.test(state))
-                    //evaluate the applicable rules
-                    .map(input -> Optional.ofNullable(input.evaluate(state)))
-                    //exclude empty results
-                    .flatMap(o -> o.map(Stream::of).orElseGet(Stream::empty))
-                    //update the state with each result
-                    .forEach(dataState::updateState);
+        for (StateObj result : appliedRules.values()) {
+            dataState.updateState(result);
+        }
         return dataState;
     }
 
+    /**
+     * @return keys which were added, removed or had their value changed
+     */
+    private static Set<String> changedKeys(final Map<String, String> previous, final Map<String, String> current) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!Objects.equals(entry.getValue(), previous.get(entry.getKey()))
+                || (null == entry.getValue() && !previous.containsKey(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
     @Override
     public String toString() {
         return "RuleEngine{" +
@@ -2,6 +2,9 @@ package com.dtolabs.rundeck.core.rules;
 
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.StreamSupport;
 
@@ -10,12 +13,27 @@ import java.util.stream.StreamSupport;
  */
 public interface Condition extends Predicate<StateObj> {
     static Condition with(Predicate<StateObj> pred) {
+        return with(pred, null);
+    }
+
+    /**
+     * @param pred predicate
+     * @param keys state keys read by the predicate, or null if unknown
+     *
+     * @return condition
+     */
+    static Condition with(Predicate<StateObj> pred, Set<String> keys) {
         return new Condition() {
             @Override
             public boolean test(final StateObj input) {
                 return pred.test(input);
             }
 
+            @Override
+            public Set<String> getStateKeys() {
+                return keys;
+            }
+
             @Override
             public String toString() {
                 return pred.toString();
@@ -23,21 +41,48 @@ public interface Condition extends Predicate<StateObj> {
         };
     }
 
+    /**
+     * The state keys the result of the test depends on, the result must not change unless the value of one of these
+     * keys changes.
+     *
+     * @return set of keys, or null if the keys are not known and the condition must always be tested
+     */
+    default Set<String> getStateKeys() {
+        return null;
+    }
+
+    /**
+     * @param conditions conditions
+     *
+     * @return union of the state keys of the conditions, or null if any of them is unknown
+     */
+    static Set<String> stateKeys(final Iterable<? extends Condition> conditions) {
+        Set<String> keys = new HashSet<>();
+        for (Condition condition : conditions) {
+            Set<String> stateKeys = condition.getStateKeys();
+            if (null == stateKeys) {
+                return null;
+            }
+            keys.addAll(stateKeys);
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
     @Override
     default Condition negate() {
-        return Condition.with(t -> !test(t));
+        return Condition.with(t -> !test(t), getStateKeys());
     }
 
     public static Condition not(final Condition condition) {
-        return Condition.with(condition.negate());
+        return Condition.with(condition.negate(), condition.getStateKeys());
     }
 
     public static Condition and(final Condition condition1, final Condition condition2) {
-        return Condition.with(condition1.and(condition2));
+        return Condition.with(condition1.and(condition2), stateKeys(Arrays.asList(condition1, condition2)));
     }
 
     public static Condition and(final Condition... conditions) {
-        return Condition.with(andAll(conditions));
+        return Condition.with(andAll(conditions), stateKeys(Arrays.asList(conditions)));
     }
 
     static Predicate<StateObj> andAll(final Condition[] conditions) {
@@ -45,7 +90,7 @@ public interface Condition extends Predicate<StateObj> {
     }
 
     public static Condition and(final Iterable<Condition> conditions) {
-        return Condition.with(andAll(conditions));
+        return Condition.with(andAll(conditions), stateKeys(conditions));
     }
 
     static Predicate<StateObj> andAll(final Iterable<Condition> conditions) {
@@ -57,14 +102,14 @@ public interface Condition extends Predicate<StateObj> {
     }
 
     public static Condition or(final Condition condition1, final Condition condition2) {
-        return Condition.with(condition1.or(condition2));
+        return Condition.with(condition1.or(condition2), stateKeys(Arrays.asList(condition1, condition2)));
     }
 
     public static Condition or(final Condition... conditions) {
-        return Condition.with(orAll(Arrays.asList(conditions)));
+        return Condition.with(orAll(Arrays.asList(conditions)), stateKeys(Arrays.asList(conditions)));
     }
 
     public static Condition or(final Iterable<Condition> conditions) {
-        return Condition.with(orAll(conditions));
+        return Condition.with(orAll(conditions), stateKeys(conditions));
     }
 }
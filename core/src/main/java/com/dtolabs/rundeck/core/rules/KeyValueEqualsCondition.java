@@ -1,5 +1,7 @@
 package com.dtolabs.rundeck.core.rules;
 
+import java.util.Set;
+
 /**
  * Evaluates true if the state has the key and exact value
  */
@@ -26,6 +28,11 @@ public class KeyValueEqualsCondition implements Condition {
         }
     }
 
+    @Override
+    public Set<String> getStateKeys() {
+        return Rules.stateKeys(key, value);
+    }
+
     @Override
     public String toString() {
         return "(" + key + " == '" + value + '\'' + ")";
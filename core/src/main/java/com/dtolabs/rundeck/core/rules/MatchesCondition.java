@@ -1,6 +1,7 @@
 package com.dtolabs.rundeck.core.rules;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -40,6 +41,15 @@ public class MatchesCondition extends KeyValueEqualsCondition {
         return false;
     }
 
+    @Override
+    public Set<String> getStateKeys() {
+        if (null != keyPattern) {
+            //any key may match
+            return null;
+        }
+        return null != valuePattern ? Rules.stateKeys(getKey()) : super.getStateKeys();
+    }
+
     private boolean match(final String key, final Pattern pattern, final String equalsString) {
         if (null != pattern) {
             return pattern.matcher(key).matches();
@@ -1,5 +1,6 @@
 package com.dtolabs.rundeck.core.rules;
 
+import java.util.Set;
 
 public class NumericEqualsCondition implements Condition {
     private String key;
@@ -29,6 +30,11 @@ public class NumericEqualsCondition implements Condition {
         return (Math.abs(fValue - fObject) < THRESHOLD);
     }
 
+    @Override
+    public Set<String> getStateKeys() {
+        return Rules.stateKeys(key, value);
+    }
+
     @Override
     public String toString() {
         return "(" + value + " == '" + key + '\'' + ")";
@@ -53,6 +53,11 @@ public class Rules {
                 return input.hasState(state);
             }
 
+            @Override
+            public Set<String> getStateKeys() {
+                return Collections.unmodifiableSet(new HashSet<>(state.getState().keySet()));
+            }
+
             @Override
             public String toString() {
                 return "(State equals: " + state + ")";
@@ -160,6 +165,11 @@ public class Rules {
                 return applyConditions(input, conditions, true);
             }
 
+            @Override
+            public Set<String> getStateKeys() {
+                return Condition.stateKeys(conditions);
+            }
+
             @Override
             public StateObj evaluate(final StateObj stateObj) {
                 if (test(stateObj)) {
@@ -175,6 +185,21 @@ public class Rules {
         };
     }
 
+    /**
+     * @param keys state keys, null values are ignored
+     *
+     * @return set of the state keys
+     */
+    static Set<String> stateKeys(final String... keys) {
+        HashSet<String> set = new HashSet<>();
+        for (String key : keys) {
+            if (null != key) {
+                set.add(key);
+            }
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
     public static boolean applyConditions(
             final StateObj state,
             final Set<Condition> runConditions,
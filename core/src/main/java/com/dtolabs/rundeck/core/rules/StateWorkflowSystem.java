@@ -308,6 +308,25 @@ public interface StateWorkflowSystem
             final SharedData<D, Map<String, String>> sharedData
     );
 
+    /**
+     * Handle a batch of state changes for the rule engine, the default implementation processes each change in order
+     *
+     * @param changes    completed operation state changes
+     * @param sharedData shared data
+     * @return true if internal state was changed
+     */
+    default <D> boolean processStateChanges(
+            final List<? extends OperationCompleted<D>> changes,
+            final SharedData<D, Map<String, String>> sharedData
+    )
+    {
+        boolean changed = false;
+        for (OperationCompleted<D> change : changes) {
+            changed |= processStateChange(change.getIdentity(), change.getNewState(), change.getResult(), sharedData);
+        }
+        return changed;
+    }
+
     /**
      * @return true if the state indicates the workflow should end
      */
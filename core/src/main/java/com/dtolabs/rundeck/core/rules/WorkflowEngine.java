@@ -110,6 +110,12 @@ public class WorkflowEngine
         Set<OperationResult<DAT, RES, OP>> results = processor.getResults();
         interrupted = processor.isInterrupted();
 
+        event(
+                WorkflowSystemEventType.LoopProgress,
+                String.format("Processed state changes: %s", processor.getBatchStats()),
+                processor.getBatchStats()
+        );
+
         event(
                 WorkflowSystemEventType.WillShutdown,
                 String.format("Workflow engine shutting down (interrupted? %s)", interrupted),
@@ -192,6 +198,67 @@ public class WorkflowEngine
         return update;
     }
 
+    /**
+     * Apply all of the state changes and shared data in order, then evaluate the rules once for the resulting state
+     */
+    @Override
+    public <D> boolean processStateChanges(
+            final List<? extends OperationCompleted<D>> changes,
+            final SharedData<D, Map<String, String>> sharedData
+    )
+    {
+        if (changes.size() == 1) {
+            OperationCompleted<D> change = changes.get(0);
+            return processStateChange(change.getIdentity(), change.getNewState(), change.getResult(), sharedData);
+        }
+        boolean update = false;
+        List<String> identities = new ArrayList<>(changes.size());
+        for (OperationCompleted<D> change : changes) {
+            event(
+                    WorkflowSystemEventType.WillProcessStateChange,
+                    String.format("state changes: %s %s", change.getIdentity(), change.getNewState()),
+                    StateWorkflowSystem.stateChangeEvent(
+                            change.getIdentity(),
+                            getState(),
+                            StateWorkflowSystem.stateChange(
+                                    change.getIdentity(),
+                                    change.getNewState(),
+                                    change.getResult(),
+                                    sharedData
+                            )
+                    )
+            );
+            if (null != change.getResult()) {
+                sharedData.addData(change.getResult());
+            }
+            update |= getState().updateState(change.getNewState());
+            identities.add(change.getIdentity());
+        }
+        Map<String, String> additionalState = sharedData != null ? sharedData.produceState() : null;
+        D nextShared = sharedData != null ? sharedData.produceNext() : null;
+
+        StateObj additional = additionalState != null ? States.state(additionalState) : null;
+        update |= Rules.update(getRuleEngine(), getState(), additional);
+        String identity = String.join(",", identities);
+        event(
+                WorkflowSystemEventType.DidProcessStateChange,
+                String.format(
+                        "applied %d state changes and rules (changed? %s): %s - %s",
+                        changes.size(),
+                        update,
+                        identity,
+                        getState()
+                ),
+                StateWorkflowSystem.stateChangeEvent(
+                        identity,
+                        getState(),
+                        StateWorkflowSystem.stateChange(identity, additional, nextShared, sharedData)
+                )
+        );
+
+        return update;
+    }
+
     @ToString
     static class Event implements WorkflowSystemEvent {
         @Getter @Setter private WorkflowSystemEventType eventType;
@@ -26,10 +26,15 @@ import lombok.Setter;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
+ * Processes the operations of a workflow. Completed operations add their state changes to a non-blocking queue, and
+ * the processing thread drains all pending state changes on each iteration, applies them as a single batch, and then
+ * schedules all operations which became runnable.
+ *
  * @author greg
  * @since 4/27/17
  */
@@ -53,8 +58,15 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
     private final ListeningExecutorService executorService;
     private final ListeningExecutorService manager;
 
-    private final LinkedBlockingQueue<WorkflowSystem.OperationCompleted<DAT>> stateChangeQueue
-            = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<WorkflowSystem.OperationCompleted<DAT>> stateChangeQueue
+            = new ConcurrentLinkedQueue<>();
+
+    /**
+     * thread waiting for state changes, if any
+     */
+    private volatile Thread processingThread;
+
+    @Getter private final BatchStats batchStats = new BatchStats();
 
     @Getter private final Set<WorkflowSystem.OperationResult<DAT, RES, OP>> results
             = Collections.synchronizedSet(new HashSet<>());
@@ -110,7 +122,17 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
      */
     public LoopResult processStep() throws InterruptedException {
         //wait for changes
-        boolean changed = processCompletedChanges(waitForChanges());
+        List<WorkflowSystem.OperationCompleted<DAT>> changes = waitForChanges();
+        long start = System.nanoTime();
+        boolean changed = processCompletedChanges(changes);
+
+        if (changed && !workflowEngine.isWorkflowEndState()) {
+            //some changes made to state, so review pending operations
+            processOperations(results::add);
+        }
+        if (!changes.isEmpty()) {
+            recordBatch(changes.size(), System.nanoTime() - start, changed);
+        }
 
         if (!changed) {
             if (detectNoMoreChanges()) {
@@ -125,12 +147,26 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
             //no changes within sleep time, try again
             return LoopResult.Continue;
         }
+        return LoopResult.Continue;
+    }
 
-        if(!workflowEngine.isWorkflowEndState()){
-            //some changes made to state, so review pending operations
-            processOperations(results::add);
+    /**
+     * Record the batch statistics, and report progress if the batch changed the workflow state
+     */
+    private void recordBatch(final int size, final long nanos, final boolean changed) {
+        batchStats.record(size, nanos);
+        if (!changed) {
+            return;
         }
-        return LoopResult.Continue;
+        eventHandler.event(
+                WorkflowSystemEventType.LoopProgress,
+                String.format(
+                        "Processed batch of %d state changes in %.3fms",
+                        size,
+                        nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)
+                ),
+                batchStats
+        );
     }
 
     /**
@@ -175,20 +211,10 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
             final List<WorkflowSystem.OperationCompleted<DAT>> operationCompleteds
     )
     {
-        if (operationCompleteds == null) {
+        if (operationCompleteds == null || operationCompleteds.isEmpty()) {
             return false;
         }
-        boolean changed = false;
-        for (WorkflowSystem.OperationCompleted<DAT> task : operationCompleteds) {
-            changed |=
-                    workflowEngine.processStateChange(
-                            task.getIdentity(),
-                            task.getNewState(),
-                            task.getResult(),
-                            sharedData
-                    );
-        }
-        return changed;
+        return workflowEngine.processStateChanges(operationCompleteds, sharedData);
     }
 
     /**
@@ -200,16 +226,30 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
     }
 
 
-    private List<WorkflowSystem.OperationCompleted<DAT>> pollChanges() {
+    /**
+     * @return all state changes currently in the queue
+     */
+    private List<WorkflowSystem.OperationCompleted<DAT>> drainChanges() {
         List<WorkflowSystem.OperationCompleted<DAT>> changes = new ArrayList<>();
-        WorkflowSystem.OperationCompleted<DAT> task = stateChangeQueue.poll();
-        while (task != null && task.getNewState() != null) {
-            changes.add(task);
-            task = stateChangeQueue.poll();
+        WorkflowSystem.OperationCompleted<DAT> task;
+        while ((task = stateChangeQueue.poll()) != null) {
+            if (task.getNewState() != null) {
+                changes.add(task);
+            }
         }
         return changes;
     }
 
+    /**
+     * Add a state change to the queue, and wake up the processing thread
+     *
+     * @param change state change
+     */
+    private void enqueueChange(final WorkflowSystem.OperationCompleted<DAT> change) {
+        stateChangeQueue.add(change);
+        LockSupport.unpark(processingThread);
+    }
+
     private void awaitFutures() {
         if (!inProcess.isEmpty()) {
             for (ListenableFuture<RES> future : futures) {
@@ -228,7 +268,7 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
 
     public void initialize() {
         //initial state change to start workflow
-        stateChangeQueue.add(WorkflowEngine.dummyResult(initialState, "init", true));
+        enqueueChange(WorkflowEngine.dummyResult(initialState, "init", true));
     }
 
     /**
@@ -331,7 +371,7 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
         //because this method is called by an operation's thread, and the
         //main thread may process the state change entry prior to
         //this method removing the operation from inProcess set
-        stateChangeQueue.add(e);
+        enqueueChange(e);
         inProcess.remove(operation);
     }
 
@@ -352,24 +392,34 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
     }
 
     /**
-     * Sleep for some time until changes are available on the queue, if any are found then consume remaining return all
-     * results
+     * Consume all changes available on the queue, if there are none then park the thread for some time until changes
+     * are added, and consume them
      *
-     * @return list of
+     * @return list of changes, empty if none were available within the sleep time
      * @throws InterruptedException during sleep
      */
     private List<WorkflowSystem.OperationCompleted<DAT>> waitForChanges() throws InterruptedException {
-        List<WorkflowSystem.OperationCompleted<DAT>> results = new ArrayList<>();
-        WorkflowSystem.OperationCompleted<DAT> take = stateChangeQueue.poll(sleeper.time(), sleeper.unit());
-        if (null == take || take.getNewState().getState().isEmpty()) {
+        List<WorkflowSystem.OperationCompleted<DAT>> results = drainChanges();
+        if (results.isEmpty()) {
+            processingThread = Thread.currentThread();
+            try {
+                //recheck after publishing the thread, to avoid missing a wakeup
+                if (stateChangeQueue.isEmpty()) {
+                    LockSupport.parkNanos(this, sleeper.unit().toNanos(sleeper.time()));
+                }
+            } finally {
+                processingThread = null;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            results = drainChanges();
+        }
+        if (results.isEmpty()) {
             sleeper.backoff();
-            return results;
         } else {
             sleeper.reset();
         }
-
-        results.add(take);
-        results.addAll(pollChanges());
         return results;
     }
 
@@ -431,11 +481,47 @@ class WorkflowEngineOperationsProcessor<DAT, RES extends WorkflowSystem.Operatio
                     operation.getIdentity(),
                     true
             );
-            stateChangeQueue.add(objectOperationCompleted);
+            enqueueChange(objectOperationCompleted);
 
             pending.remove(operation);
             skipped.add(operation);
         }
     }
 
+    /**
+     * Statistics about the batches of state changes processed by each loop iteration, updated only by the processing
+     * thread
+     */
+    @Getter
+    static class BatchStats {
+        private volatile long batches;
+        private volatile long changes;
+        private volatile int lastBatchSize;
+        private volatile int maxBatchSize;
+        private volatile long lastBatchNanos;
+        private volatile long maxBatchNanos;
+        private volatile long totalNanos;
+
+        void record(final int size, final long nanos) {
+            batches++;
+            changes += size;
+            lastBatchSize = size;
+            maxBatchSize = Math.max(maxBatchSize, size);
+            lastBatchNanos = nanos;
+            maxBatchNanos = Math.max(maxBatchNanos, nanos);
+            totalNanos += nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "batches: %d, changes: %d, max batch size: %d, max batch time: %.3fms, total time: %.3fms",
+                    batches,
+                    changes,
+                    maxBatchSize,
+                    maxBatchNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    totalNanos / (double) TimeUnit.MILLISECONDS.toNanos(1)
+            );
+        }
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.core.storage.keys;
+
+import com.dtolabs.rundeck.core.storage.ResourceMeta;
+import com.dtolabs.rundeck.core.storage.StorageUtil;
+import org.rundeck.storage.api.Path;
+import org.rundeck.storage.api.Resource;
+import org.rundeck.storage.api.StorageException;
+import org.rundeck.storage.api.Tree;
+import org.rundeck.storage.impl.ResourceBase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KeyStorageTree which caches resource contents read through it, intended to be used for the lifetime of a single
+ * execution. The delegate tree is expected to be bound to a single authorization context, so the cached content is
+ * only visible to reads with the same authorization. Failed reads are not cached.
+ * <p>
+ * Content is held in direct buffers rather than on the heap, each read returns a new copy, and {@link #close()} zeros
+ * the buffers. After close, reads are passed to the delegate without caching.
+ * </p>
+ */
+public class CachingKeyStorageTree extends KeyStorageTreeImpl implements Closeable {
+    private final ConcurrentMap<String, CachedContent> cache = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private volatile boolean closed;
+
+    CachingKeyStorageTree(final Tree<ResourceMeta> delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Cached content and metadata for a resource
+     */
+    private static class CachedContent {
+        private final Map<String, String> meta;
+        private final ByteBuffer data;
+
+        CachedContent(final Map<String, String> meta, final byte[] bytes) {
+            this.meta = Collections.unmodifiableMap(new HashMap<>(meta));
+            this.data = ByteBuffer.allocateDirect(bytes.length);
+            this.data.put(bytes);
+            this.data.flip();
+        }
+
+        byte[] copyBytes() {
+            byte[] bytes = new byte[data.remaining()];
+            data.duplicate().get(bytes);
+            return bytes;
+        }
+
+        void zero() {
+            ByteBuffer dup = data.duplicate();
+            dup.clear();
+            while (dup.hasRemaining()) {
+                dup.put((byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public Resource<ResourceMeta> getResource(final Path path) {
+        if (closed) {
+            return super.getResource(path);
+        }
+        CachedContent cached = cache.get(key(path));
+        if (null != cached) {
+            hitCount.increment();
+            return toResource(path, cached);
+        }
+        missCount.increment();
+        Resource<ResourceMeta> resource = super.getResource(path);
+        if (resource.isDirectory() || null == resource.getContents()) {
+            return resource;
+        }
+        byte[] bytes;
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            resource.getContents().writeContent(out);
+            bytes = out.toByteArray();
+        } catch (IOException e) {
+            throw StorageException.readException(path, "Failed to read resource: " + e.getMessage(), e);
+        }
+        try {
+            cached = new CachedContent(resource.getContents().getMeta(), bytes);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+        CachedContent existing = cache.putIfAbsent(key(path), cached);
+        if (null != existing) {
+            cached.zero();
+            cached = existing;
+        }
+        Resource<ResourceMeta> result = toResource(path, cached);
+        if (closed) {
+            //closed concurrently
+            clear();
+        }
+        return result;
+    }
+
+    private static Resource<ResourceMeta> toResource(final Path path, final CachedContent cached) {
+        byte[] bytes = cached.copyBytes();
+        return new ResourceBase<>(
+                path,
+                StorageUtil.withStream(new ByteArrayInputStream(bytes), cached.meta),
+                false
+        );
+    }
+
+    @Override
+    public boolean deleteResource(final Path path) {
+        invalidate(path);
+        return super.deleteResource(path);
+    }
+
+    @Override
+    public Resource<ResourceMeta> createResource(final Path path, final ResourceMeta content) {
+        invalidate(path);
+        return super.createResource(path, content);
+    }
+
+    @Override
+    public Resource<ResourceMeta> updateResource(final Path path, final ResourceMeta content) {
+        invalidate(path);
+        return super.updateResource(path, content);
+    }
+
+    private static String key(final Path path) {
+        return path.getPath();
+    }
+
+    private void invalidate(final Path path) {
+        invalidate(key(path));
+    }
+
+    private void invalidate(final String key) {
+        CachedContent removed = cache.remove(key);
+        if (null != removed) {
+            removed.zero();
+        }
+    }
+
+    private void clear() {
+        for (String key : cache.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * @return number of reads served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return number of reads passed to the delegate tree
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Zero and discard all cached content, further reads are not cached
+     */
+    @Override
+    public void close() {
+        closed = true;
+        clear();
+    }
+}
@@ -30,4 +30,14 @@ public class KeyStorageUtil {
     public static KeyStorageTree keyStorageWrapper(StorageTree tree) {
         return new KeyStorageTreeImpl(tree);
     }
+
+    /**
+     * Wrap a StorageTree with KeyStorageTree capability, caching the content of resources read through it. The
+     * returned tree should be closed when no longer used.
+     * @param tree tree bound to a single authorization context
+     * @return caching tree
+     */
+    public static CachingKeyStorageTree cachingKeyStorageWrapper(StorageTree tree) {
+        return new CachingKeyStorageTree(tree);
+    }
 }
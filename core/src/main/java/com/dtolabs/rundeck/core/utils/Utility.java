@@ -26,6 +26,9 @@ package com.dtolabs.rundeck.core.utils;
 import com.google.common.base.Predicate;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 
 
 /**
@@ -61,8 +64,30 @@ public class Utility {
      * @throws IOException
      */
     public static long seekBack(File f, int count, String marker, Predicate<InputStream> validity) throws IOException {
-        FileInputStream fis = new FileInputStream(f);
-        long size = fis.getChannel().size();
+        try (FileInputStream fis = new FileInputStream(f)) {
+            return seekBack(fis.getChannel(), count, marker, validity);
+        }
+    }
+
+    /**
+     * seekBack searches backwards for certain markers in the content of a channel, as for
+     * {@link #seekBack(File, int, String, Predicate)}.
+     * @param channel the content to search, its position is changed
+     * @param count number of markers to find
+     * @param marker text string marker
+     * @param validity predicate to test whether the stream is at a valid position, or null
+     * @return location of marker number <i>count</i> found from the end of the content, or 0
+     * @throws IOException
+     */
+    public static long seekBack(
+            SeekableByteChannel channel,
+            int count,
+            String marker,
+            Predicate<InputStream> validity
+    ) throws IOException
+    {
+        InputStream fis = Channels.newInputStream(channel);
+        long size = channel.size();
         long pos = size;
         long foundpos = -1;
         //seek backwards for *count occurrences of the marker
@@ -72,8 +97,8 @@ public class Utility {
         byte[] buf = new byte[marker.length()];
         int matchcount = 0;
         while (matchcount < count && !done && pos >= 0) {
-            fis.getChannel().position(pos);
-            int r = fis.read(buf);
+            channel.position(pos);
+            int r = readFully(channel, buf);
             if (r == marker.length()) {
                 //compare contents of buf with comparison, and cycle forward if marker > 1 char length
                 int cycle = 0;
@@ -117,8 +142,21 @@ public class Utility {
 //            System.err.println("setting foundpos to 0");
             foundpos=0;
         }
-        fis.close();
         return foundpos;
     }
 
+    /**
+     * Read from the channel until the buffer is full or the end of the content is reached
+     * @return number of bytes read
+     */
+    private static int readFully(SeekableByteChannel channel, byte[] buf) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(buf);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.dtolabs.rundeck.plugins.audit;
+
+import com.dtolabs.rundeck.core.audit.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Audit event listener which receives events in batches.
+ * When a listener implements this interface, {@link #onEvents(List)} is called instead of the per-event callbacks of
+ * {@link AuditEventListener}.
+ */
+public interface AuditEventBatchListener
+    extends AuditEventListener {
+
+  /**
+   * Called with a batch of events fired by the system, in the order they were fired.
+   *
+   * @param events The event descriptors.
+   */
+  void onEvents(List<AuditEvent> events);
+
+}
@@ -106,6 +106,17 @@ public interface ScmExportPlugin {
         return getJobStatus(job, originalPath);
     }
 
+    /**
+     * Prepare the status of several jobs at once, before {@link #getJobStatus(JobExportReference, String)} is called
+     * for each of them. Plugins can use this to compute the status of the repository a single time for all jobs.
+     *
+     * @param jobs          jobs
+     * @param originalPaths map of job ID to original path if the job has been renamed
+     */
+    default void prepareJobsStatus(List<JobExportReference> jobs, Map<String, String> originalPaths) {
+
+    }
+
     /**
      * Set default job status
      *
@@ -16,6 +16,8 @@
 
 package com.dtolabs.rundeck.plugins.scm;
 
+import java.util.Map;
+
 /**
  * Result of Export action
  */
@@ -48,4 +50,11 @@ public interface ScmExportResult {
      * @return info for the exported commit, to synch with import status
      */
     ScmCommitInfo getCommit();
+
+    /**
+     * @return timings of the steps of the export in milliseconds, and related counts, keyed by name, if any
+     */
+    default Map<String, Long> getTimings() {
+        return null;
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.dtolabs.rundeck.plugins.scm;
 
+import java.util.Map;
+
 /**
  * Created by greg on 9/4/15.
  */
@@ -25,6 +27,7 @@ public class ScmExportResultImpl implements ScmExportResult {
     private String extendedMessage;
     private String id;
     private ScmCommitInfo commit;
+    private Map<String, Long> timings;
 
     public boolean isSuccess() {
         return success;
@@ -74,4 +77,13 @@ public class ScmExportResultImpl implements ScmExportResult {
     public void setExtendedMessage(String extendedMessage) {
         this.extendedMessage = extendedMessage;
     }
+
+    @Override
+    public Map<String, Long> getTimings() {
+        return timings;
+    }
+
+    public void setTimings(Map<String, Long> timings) {
+        this.timings = timings;
+    }
 }
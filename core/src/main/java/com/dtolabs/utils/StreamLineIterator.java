@@ -63,7 +63,13 @@ public class StreamLineIterator
         this(stream, 0, encoding);
     }
 
-    private StreamLineIterator(InputStream stream, long initialOffset, String encoding)
+    /**
+     * @param stream        text stream
+     * @param initialOffset offset of the stream position within the underlying content
+     * @param encoding      encoding
+     * @throws IOException on error
+     */
+    public StreamLineIterator(InputStream stream, long initialOffset, String encoding)
         throws IOException
     {
         this.encoding = encoding;
@@ -40,6 +40,21 @@ public interface JobFormat {
      */
     List<Map> decode(Reader reader) throws JobDefinitionException;
 
+    /**
+     * Decode input to canonical Job Map data one job at a time. The default implementation decodes the whole input
+     * before passing each job to the handler, formats should override it to avoid loading the whole document.
+     *
+     * @param reader  reader
+     * @param handler receives each decoded job, or the error for a job which could not be decoded
+     * @throws JobDefinitionException if the input cannot be parsed
+     */
+    default void decodeEach(Reader reader, DecodeHandler handler) throws JobDefinitionException {
+        List<Map> list = decode(reader);
+        for (int i = 0; i < list.size(); i++) {
+            handler.decoded(i + 1, list.get(i));
+        }
+    }
+
     /**
      * Encode list of canonical Job Maps
      *
@@ -95,6 +110,23 @@ public interface JobFormat {
         return options(true, new HashMap<>(), (StripJobRef) null);
     }
 
+    /**
+     * Receives jobs decoded by {@link #decodeEach(Reader, DecodeHandler)}
+     */
+    interface DecodeHandler {
+        /**
+         * @param entry  entry number of the job in the input, starting at 1
+         * @param jobMap canonical job map
+         */
+        void decoded(int entry, Map jobMap);
+
+        /**
+         * @param entry entry number of the job in the input, starting at 1
+         * @param error error decoding the job
+         */
+        void failed(int entry, JobDefinitionException error);
+    }
+
     /**
      * Encode options
      */
@@ -0,0 +1,47 @@
+package com.dtolabs.rundeck.core.data
+
+import spock.lang.Specification
+
+class BaseDataContextSpec extends Specification {
+    def "copy shares group data until modified"() {
+        given:
+            def orig = new BaseDataContext([option: [a: 'b'], job: [id: '1']])
+        when:
+            def copy = orig.copy()
+        then:
+            copy.getData() == [option: [a: 'b'], job: [id: '1']]
+            copy.getData().get('option').is(orig.getData().get('option'))
+
+        when:
+            copy.put('option', 'a', 'c')
+            orig.group('job').put('id', '2')
+        then:
+            orig.getData() == [option: [a: 'b'], job: [id: '2']]
+            copy.getData() == [option: [a: 'c'], job: [id: '1']]
+            !copy.getData().get('option').is(orig.getData().get('option'))
+    }
+
+    def "merge does not modify shared group data"() {
+        given:
+            def orig = new BaseDataContext([option: [a: 'b']])
+            def copy = new BaseDataContext(orig)
+        when:
+            copy.merge(new BaseDataContext([option: [x: 'y'], node: [name: 'node1']]))
+        then:
+            orig.getData() == [option: [a: 'b']]
+            copy.getData() == [option: [a: 'b', x: 'y'], node: [name: 'node1']]
+    }
+
+    def "merged source data is not modified by the target"() {
+        given:
+            def source = new BaseDataContext([node: [name: 'node1']])
+            def target = new BaseDataContext()
+        when:
+            target.merge(source)
+            target.put('node', 'name', 'node2')
+            source.put('node', 'hostname', 'host1')
+        then:
+            source.getData() == [node: [name: 'node1', hostname: 'host1']]
+            target.getData() == [node: [name: 'node2']]
+    }
+}
@@ -261,4 +261,27 @@ class MultiDataContextSpec extends Specification {
             ctxA.getData(ContextView.global()).getData() == [a: [z: "q"], b: [s: 'u']]
             ctxB.consolidate().getData(ContextView.global()).getData() == [a: [z: "q"], b: [t: 'p', s: 'u'], c: [r: 'v']]
     }
+
+    def "collect values from all node views"() {
+        given:
+            def base = WFSharedContext.with(ContextView.global(), new BaseDataContext([data: [key: "global"]]))
+            base.merge(ContextView.node("anode"), new BaseDataContext([data: [key: "base anode"]]))
+            base.merge(ContextView.node("bnode"), new BaseDataContext([data: [key: "base bnode"]]))
+            base.merge(ContextView.node("cnode"), new BaseDataContext([node: [name: "cnode"]]))
+            base.merge(ContextView.nodeStep(1, "anode"), new BaseDataContext([data: [key: "anode step 1"]]))
+
+            def context = new WFSharedContext(base)
+            context.merge(ContextView.node("bnode"), new BaseDataContext([data: [key: "bnode"]]))
+            context.merge(ContextView.node("dnode"), new BaseDataContext([data: [key: "dnode"]]))
+            context.merge(ContextView.node("dnode"), new BaseDataContext([data: [key: null]]))
+            def views = context.consolidatedKeys.findAll { ContextView.global().globExpandTo(it) }.sort()
+        when:
+            def result = context.collect(ContextView.global().&globExpandTo, "data", "key")
+            def resultMap = context.collectMap(ContextView.global().&globExpandTo, { it.nodeName }, "data", "key")
+        then:
+            result == ["base anode", "bnode", "global", "global"]
+            result == views.collect { context.resolve(it, "data", "key") }
+            resultMap == [anode: "base anode", bnode: "bnode", cnode: "global", dnode: "global"]
+            context.collect(ContextView.step(1).&globExpandTo, "data", "key") == ["anode step 1"]
+    }
 }
@@ -19,6 +19,8 @@ import okhttp3.mockwebserver.MockResponse
 import okhttp3.mockwebserver.MockWebServer
 import okhttp3.mockwebserver.RecordedRequest
 import org.apache.http.HttpResponse
+import org.apache.http.impl.client.HttpClients
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -137,4 +139,49 @@ class ApacheHttpClientSpec extends Specification {
         !out
     }
 
+    def "shared client reuses connection with basic auth"() {
+        given:
+        def connectionManager = new PoolingHttpClientConnectionManager()
+        def shared = HttpClients.custom().setConnectionManager(connectionManager).build()
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("one"))
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("two"))
+
+        when:
+        def results = (1..2).collect {
+            ApacheHttpClient client = new ApacheHttpClient(shared)
+            client.setUri(server.url("/shared").uri())
+            client.setBasicAuthCredentials("auser", "apassword")
+            String out = null
+            client.execute { rsp -> out = rsp.entity.content.text }
+            out
+        }
+        RecordedRequest first = server.takeRequest()
+        RecordedRequest second = server.takeRequest()
+
+        then:
+        results == ["one", "two"]
+        first.headers.get("Authorization") == "Basic YXVzZXI6YXBhc3N3b3Jk"
+        second.headers.get("Authorization") == "Basic YXVzZXI6YXBhc3N3b3Jk"
+        second.sequenceNumber > first.sequenceNumber
+        connectionManager.totalStats.available == 1
+
+        cleanup:
+        shared.close()
+    }
+
+    def "retry count cannot be set for a shared client"() {
+        given:
+        def shared = HttpClients.createDefault()
+        ApacheHttpClient client = new ApacheHttpClient(shared)
+
+        when:
+        client.setRetryCount(3)
+
+        then:
+        thrown(IllegalStateException)
+
+        cleanup:
+        shared.close()
+    }
+
 }
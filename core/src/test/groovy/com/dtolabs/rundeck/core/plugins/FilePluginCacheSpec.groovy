@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.core.plugins
+
+import com.dtolabs.rundeck.core.utils.cache.FileCache
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class FilePluginCacheSpec extends Specification {
+    @TempDir
+    File tempDir
+
+    def "cached loader is returned without rescan"() {
+        given:
+        def file = new File(tempDir, 'test.jar')
+        file.text = 'x'
+        def loader = Mock(ProviderLoader)
+        def scanner = Mock(PluginScanner)
+        def metrics = Mock(PluginCacheMetricsWriter)
+        def cache = new FilePluginCache(new FileCache<ProviderLoader>())
+        cache.addScanner(scanner)
+        cache.metricsWriter = metrics
+        def ident = new ProviderIdent('svc', 'prov')
+
+        when:
+        def result1 = cache.getLoaderForIdent(ident)
+        def result2 = cache.getLoaderForIdent(ident)
+
+        then:
+        1 * scanner.scanForFile(ident) >> file
+        1 * scanner.createCacheItemForFile(file) >> loader
+        1 * scanner.isExpired(ident, file) >> false
+        1 * metrics.markMeter(FilePluginCache.name, FilePluginCache.METRIC_CACHE_MISS_METER)
+        1 * metrics.markMeter(FilePluginCache.name, FilePluginCache.METRIC_CACHE_HIT_METER)
+        2 * metrics.updateTimer(FilePluginCache.name, FilePluginCache.METRIC_LOOKUP_TIMER, _, TimeUnit.NANOSECONDS)
+        result1 == loader
+        result2 == loader
+    }
+
+    def "expired entry is rescanned"() {
+        given:
+        def file = new File(tempDir, 'test.jar')
+        file.text = 'x'
+        def loader = Mock(ProviderLoader)
+        def scanner = Mock(PluginScanner)
+        def cache = new FilePluginCache(new FileCache<ProviderLoader>())
+        cache.addScanner(scanner)
+        def ident = new ProviderIdent('svc', 'prov')
+
+        when:
+        cache.getLoaderForIdent(ident)
+        def result = cache.getLoaderForIdent(ident)
+
+        then:
+        2 * scanner.scanForFile(ident) >> file
+        1 * scanner.createCacheItemForFile(file) >> loader
+        1 * scanner.isExpired(ident, file) >> true
+        result == loader
+    }
+
+    def "not found returns null"() {
+        given:
+        def scanner = Mock(PluginScanner)
+        def cache = new FilePluginCache(new FileCache<ProviderLoader>())
+        cache.addScanner(scanner)
+        def ident = new ProviderIdent('svc', 'prov')
+
+        when:
+        def result = cache.getLoaderForIdent(ident)
+
+        then:
+        1 * scanner.scanForFile(ident) >> null
+        result == null
+    }
+
+    def "concurrent misses for the same ident scan once"() {
+        given:
+        def file = new File(tempDir, 'test.jar')
+        file.text = 'x'
+        def loader = Mock(ProviderLoader)
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def scanner = Mock(PluginScanner)
+        def cache = new FilePluginCache(new FileCache<ProviderLoader>())
+        cache.addScanner(scanner)
+        def ident = new ProviderIdent('svc', 'prov')
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def futures = (1..4).collect {
+            executor.submit({ cache.getLoaderForIdent(ident) } as java.util.concurrent.Callable)
+        }
+        started.await(5, TimeUnit.SECONDS)
+        Thread.sleep(100)
+        release.countDown()
+        def results = futures*.get(5, TimeUnit.SECONDS)
+
+        then:
+        1 * scanner.scanForFile(ident) >> {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            file
+        }
+        1 * scanner.createCacheItemForFile(file) >> loader
+        _ * scanner.isExpired(ident, file) >> false
+        results.every { it == loader }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "dir change event rescans cached idents in background"() {
+        given:
+        def file = new File(tempDir, 'test.jar')
+        file.text = 'x'
+        def file2 = new File(tempDir, 'test2.jar')
+        file2.text = 'y'
+        def loader = Mock(ProviderLoader)
+        def loader2 = Mock(ProviderLoader)
+        def scanner = Mock(PluginScanner)
+        def dirProvider = Mock(PluginDirProvider)
+        def cache = new FilePluginCache(new FileCache<ProviderLoader>())
+        cache.addScanner(scanner)
+        def ident = new ProviderIdent('svc', 'prov')
+        def rescanned = new CountDownLatch(1)
+
+        when:
+        cache.pluginDirProvider = dirProvider
+        cache.getLoaderForIdent(ident)
+        cache.onDirChangeEvent(new PluginDirChangeEvent('test2.jar', PluginDirChangeType.CREATE))
+        def done = rescanned.await(5, TimeUnit.SECONDS)
+        Thread.sleep(100)
+        def result = cache.getLoaderForIdent(ident)
+
+        then:
+        1 * dirProvider.registerDirChangeEventListener(cache)
+        1 * scanner.scanForFile(ident) >> file
+        1 * scanner.scanForFile(ident) >> {
+            rescanned.countDown()
+            file2
+        }
+        1 * scanner.createCacheItemForFile(file) >> loader
+        1 * scanner.createCacheItemForFile(file2) >> loader2
+        1 * scanner.isExpired(ident, file2) >> false
+        done
+        result == loader2
+    }
+
+    def "rescan removes filecache entries for deleted files"() {
+        given:
+        def file = new File(tempDir, 'test.jar')
+        file.text = 'x'
+        def loader = Mock(ProviderLoader)
+        def scanner = Mock(PluginScanner)
+        def filecache = new FileCache<ProviderLoader>()
+        def cache = new FilePluginCache(filecache)
+        cache.addScanner(scanner)
+        def ident = new ProviderIdent('svc', 'prov')
+
+        when:
+        cache.getLoaderForIdent(ident)
+        file.delete()
+        cache.rescanCachedItems()
+
+        then:
+        1 * scanner.scanForFile(ident) >> file
+        1 * scanner.scanForFile(ident) >> null
+        1 * scanner.createCacheItemForFile(file) >> loader
+        filecache.cachedFiles().isEmpty()
+    }
+}
@@ -0,0 +1,120 @@
+package com.dtolabs.rundeck.core.rules
+
+import spock.lang.Specification
+
+class BaseRuleEngineSpec extends Specification {
+    def "condition state keys"() {
+        expect:
+        Rules.equalsCondition('a', 'b').stateKeys == ['a', 'b'] as Set
+        Rules.equalsCondition('a', null).stateKeys == ['a'] as Set
+        Rules.equalsCondition(States.state(a: 'b', c: 'd')).stateKeys == ['a', 'c'] as Set
+        Rules.matchesCondition('a', false, 'b.*', true).stateKeys == ['a'] as Set
+        Rules.matchesCondition('a.*', true, 'b', false).stateKeys == null
+        Condition.and(Rules.equalsCondition('a', 'b'), Condition.not(Rules.ltCondition('c', '1'))).stateKeys ==
+        ['a', 'b', 'c', '1'] as Set
+        Condition.or(Rules.equalsCondition('a', 'b'), Condition.with({ true })).stateKeys == null
+        Rules.conditionsRule(Rules.equalsCondition('a', 'b'), 'x', 'y').stateKeys == ['a', 'b'] as Set
+    }
+
+    def "only rules depending on changed keys are tested"() {
+        given:
+        def rule1 = new CountingRule(rule: Rules.conditionsRule(Rules.equalsCondition('a', 'true'), 'x', 'true'))
+        def rule2 = new CountingRule(rule: Rules.conditionsRule(Rules.equalsCondition('b', 'true'), 'y', 'true'))
+        def engine = new BaseRuleEngine([rule1, rule2] as Set)
+
+        when:
+        def result1 = engine.evaluateRules(States.state(a: 'true'))
+        then:
+        rule1.tests == 1
+        rule2.tests == 1
+        result1.state == [x: 'true']
+
+        when:
+        def result2 = engine.evaluateRules(States.state(a: 'true', b: 'true'))
+        then:
+        rule1.tests == 1
+        rule2.tests == 2
+        result2.state == [x: 'true', y: 'true']
+
+        when:
+        def result3 = engine.evaluateRules(States.state(b: 'true'))
+        then:
+        rule1.tests == 2
+        rule2.tests == 2
+        result3.state == [y: 'true']
+    }
+
+    def "rules with unknown state keys are always tested"() {
+        given:
+        def rule = new CountingRule(rule: Rules.conditionsRule(Rules.matchesCondition('a.*', true, 'true', false), 'x', 'true'))
+        def engine = new BaseRuleEngine([rule] as Set)
+
+        when:
+        engine.evaluateRules(States.state(a: 'true'))
+        def result = engine.evaluateRules(States.state(a: 'true'))
+        then:
+        rule.tests == 2
+        result.state == [x: 'true']
+    }
+
+    def "added rule is tested on the next evaluation"() {
+        given:
+        def engine = new BaseRuleEngine([Rules.conditionsRule(Rules.equalsCondition('a', 'true'), 'x', 'true')] as Set)
+
+        when:
+        engine.evaluateRules(States.state(a: 'true'))
+        engine.addRule(Rules.conditionsRule(Rules.equalsCondition('a', 'true'), 'y', 'true'))
+        def result = engine.evaluateRules(States.state(a: 'true'))
+        then:
+        result.state == [x: 'true', y: 'true']
+    }
+
+    def "incremental evaluation matches full evaluation"() {
+        given:
+        def rules = (1..20).collect { i ->
+            Rules.conditionsRule(
+                Rules.conditionSet(
+                    Rules.equalsCondition("step.${i - 1}.completed".toString(), 'true'),
+                    Condition.not(Rules.equalsCondition('halt', 'true'))
+                ),
+                "step.${i}.start".toString(),
+                'true'
+            )
+        } as Set<Rule>
+        def engine = new BaseRuleEngine(rules)
+        def state = States.mutable('step.0.completed', 'true')
+        def random = new Random(1)
+
+        expect:
+        (1..100).every {
+            state.updateState("step.${random.nextInt(20)}.completed".toString(), random.nextBoolean() ? 'true' : null)
+            if (random.nextInt(10) == 0) {
+                state.updateState('halt', random.nextBoolean() ? 'true' : 'false')
+            }
+            def full = States.mutable()
+            rules.findAll { it.test(state) }.each { full.updateState(it.evaluate(state)) }
+            engine.evaluateRules(States.state(state)).state == full.state
+        }
+    }
+
+    static class CountingRule implements Rule {
+        Rule rule
+        int tests
+
+        @Override
+        boolean test(StateObj state) {
+            tests++
+            rule.test(state)
+        }
+
+        @Override
+        StateObj evaluate(StateObj state) {
+            rule.evaluate(state)
+        }
+
+        @Override
+        Set<String> getStateKeys() {
+            rule.stateKeys
+        }
+    }
+}
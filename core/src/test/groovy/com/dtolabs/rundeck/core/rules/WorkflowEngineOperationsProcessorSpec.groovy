@@ -188,7 +188,7 @@ class WorkflowEngineOperationsProcessorSpec extends Specification {
             def result = processor.processStep()
         then:
             result == expected
-            1 * engine.processStateChange(*_) >> {
+            1 * engine.processStateChanges(*_) >> {
                 if(newChanges){
                     processor.stateChangeQueue.add(Mock(WorkflowSystem.OperationCompleted){
                         getNewState() >> dummyState
@@ -208,4 +208,68 @@ class WorkflowEngineOperationsProcessorSpec extends Specification {
 
 
     }
+
+    def "processStep applies all pending changes as one batch"() {
+        given:
+            Set<TestOperation> operations = new HashSet<TestOperation>()
+            def engine = Mock(StateWorkflowSystem)
+            def handler = Mock(WorkflowSystemEventHandler)
+
+            WorkflowEngineOperationsProcessor processor = new WorkflowEngineOperationsProcessor<Map, TestOpCompleted,
+                TestOperation>(
+                engine,
+                handler,
+                operations,
+                null,
+                Mock(ListeningExecutorService),
+                Mock(ListeningExecutorService)
+            )
+            def changes = (1..3).collect {
+                new TestOpCompleted(newState: States.state("step.${it}.completed".toString(), 'true'), identity: "${it}")
+            }
+            changes.each { processor.stateChangeQueue.add(it) }
+        when:
+            def result = processor.processStep()
+        then:
+            result == WorkflowEngineOperationsProcessor.LoopResult.Continue
+            1 * engine.processStateChanges(changes, null) >> true
+            0 * engine.processStateChange(*_)
+            _ * engine.isWorkflowEndState() >> false
+            processor.stateChangeQueue.isEmpty()
+            processor.batchStats.batches == 1
+            processor.batchStats.changes == 3
+            processor.batchStats.maxBatchSize == 3
+    }
+
+    def "processStep reports batch progress only if the batch changed the state"() {
+        given:
+            Set<TestOperation> operations = new HashSet<TestOperation>()
+            def engine = Mock(StateWorkflowSystem)
+            def handler = Mock(WorkflowSystemEventHandler)
+
+            WorkflowEngineOperationsProcessor processor = new WorkflowEngineOperationsProcessor<Map, TestOpCompleted,
+                TestOperation>(
+                engine,
+                handler,
+                operations,
+                null,
+                Mock(ListeningExecutorService),
+                Mock(ListeningExecutorService)
+            )
+            processor.stateChangeQueue.add(
+                new TestOpCompleted(newState: States.state('step.1.completed', 'true'), identity: '1')
+            )
+        when:
+            processor.processStep()
+        then:
+            1 * engine.processStateChanges(_, null) >> changed
+            _ * engine.isWorkflowEndState() >> false
+            events * handler.event(WorkflowSystemEventType.LoopProgress, { it.startsWith('Processed batch') }, _)
+            processor.batchStats.batches == 1
+
+        where:
+            changed | events
+            true    | 1
+            false   | 0
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.core.storage.keys
+
+import com.dtolabs.rundeck.core.storage.KeyStorageLayer
+import com.dtolabs.rundeck.core.storage.ResourceMeta
+import com.dtolabs.rundeck.core.storage.StorageUtil
+import org.rundeck.storage.api.PathUtil
+import org.rundeck.storage.api.StorageException
+import org.rundeck.storage.api.Tree
+import org.rundeck.storage.impl.ResourceBase
+import spock.lang.Specification
+
+class CachingKeyStorageTreeSpec extends Specification {
+
+    static ResourceBase<ResourceMeta> resource(String path, String text, String contentType) {
+        new ResourceBase<ResourceMeta>(
+            PathUtil.asPath(path),
+            StorageUtil.withStream(
+                new ByteArrayInputStream(text.bytes),
+                [(StorageUtil.RES_META_RUNDECK_CONTENT_TYPE): contentType]
+            ),
+            false
+        )
+    }
+
+    def "repeated reads use the cache"() {
+        given:
+            def tree = Mock(Tree)
+            def test = KeyStorageUtil.cachingKeyStorageWrapper(tree)
+
+        when:
+            def result1 = test.readPassword('keys/pass')
+            def result2 = test.readPassword('/keys/pass')
+
+        then:
+            1 * tree.getResource(PathUtil.asPath('keys/pass')) >>
+            resource('keys/pass', 'secret', KeyStorageLayer.PASSWORD_MIME_TYPE)
+            new String(result1) == 'secret'
+            new String(result2) == 'secret'
+            !result1.is(result2)
+            test.hitCount == 1
+            test.missCount == 1
+    }
+
+    def "failed reads are not cached"() {
+        given:
+            def tree = Mock(Tree)
+            def test = KeyStorageUtil.cachingKeyStorageWrapper(tree)
+
+        when:
+            test.readPassword('keys/pass')
+        then:
+            1 * tree.getResource(_) >> { throw StorageException.readException(PathUtil.asPath('keys/pass'), 'denied') }
+            thrown(StorageException)
+
+        when:
+            def result = test.readPassword('keys/pass')
+        then:
+            1 * tree.getResource(_) >> resource('keys/pass', 'secret', KeyStorageLayer.PASSWORD_MIME_TYPE)
+            new String(result) == 'secret'
+    }
+
+    def "close clears the cache and reads pass through"() {
+        given:
+            def tree = Mock(Tree)
+            def test = KeyStorageUtil.cachingKeyStorageWrapper(tree)
+
+        when:
+            test.readPrivateKey('keys/key')
+            test.close()
+            def result = test.readPrivateKey('keys/key')
+            test.readPrivateKey('keys/key')
+
+        then:
+            3 * tree.getResource(_) >> { resource('keys/key', 'private', KeyStorageLayer.PRIVATE_KEY_MIME_TYPE) }
+            new String(result) == 'private'
+            test.hitCount == 0
+    }
+
+    def "update invalidates the cached path"() {
+        given:
+            def tree = Mock(Tree)
+            def test = KeyStorageUtil.cachingKeyStorageWrapper(tree)
+            def path = PathUtil.asPath('keys/pass')
+
+        when:
+            test.readPassword(path)
+            test.updateResource(path, Mock(ResourceMeta))
+            def result = test.readPassword(path)
+
+        then:
+            2 * tree.getResource(path) >>> [
+                resource('keys/pass', 'secret', KeyStorageLayer.PASSWORD_MIME_TYPE),
+                resource('keys/pass', 'secret2', KeyStorageLayer.PASSWORD_MIME_TYPE)
+            ]
+            1 * tree.updateResource(path, _)
+            new String(result) == 'secret2'
+    }
+}
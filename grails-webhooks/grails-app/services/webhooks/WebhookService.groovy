@@ -7,6 +7,7 @@ import com.dtolabs.rundeck.core.event.EventImpl
 import com.dtolabs.rundeck.core.event.EventQueryImpl
 import com.dtolabs.rundeck.core.event.EventQueryResult
 import com.dtolabs.rundeck.core.event.EventStoreService
+import com.dtolabs.rundeck.core.plugins.PluginInstanceReuse
 import com.dtolabs.rundeck.core.plugins.ValidatedPlugin
 import com.dtolabs.rundeck.core.plugins.configuration.PluginAdapterUtility
 import com.dtolabs.rundeck.core.plugins.configuration.PluginCustomConfigValidator
@@ -20,8 +21,11 @@ import com.dtolabs.rundeck.plugins.webhook.DefaultWebhookResponder
 import com.dtolabs.rundeck.plugins.webhook.WebhookDataImpl
 import com.dtolabs.rundeck.plugins.webhook.WebhookEventContext
 import com.dtolabs.rundeck.plugins.webhook.WebhookEventPlugin
+import com.dtolabs.rundeck.plugins.webhook.WebhookResponder
 import com.fasterxml.jackson.databind.DeserializationFeature
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import grails.gorm.transactions.Transactional
 import groovy.transform.PackageScope
 import org.apache.commons.lang.RandomStringUtils
@@ -37,9 +41,12 @@ import org.rundeck.app.spi.SimpleServiceProvider
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.core.task.TaskRejectedException
 import webhooks.authenticator.AuthorizationHeaderAuthenticator
 
 import javax.servlet.http.HttpServletRequest
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Semaphore
 import java.util.concurrent.TimeUnit
 
 @Transactional
@@ -66,17 +73,39 @@ class WebhookService {
     def gormEventStoreService
     def featureService
 
+    def metricService
+    def configurationService
+    def webhookTaskExecutor
+
+    private final Map<String, Semaphore> webhookEventPermits = new ConcurrentHashMap<>()
+    private final Map<String, Boolean> sharedPluginTypes = new ConcurrentHashMap<>()
+    private Cache<String, CachedWebhookPlugin> pluginInstanceCache
+
     def processWebhook(String pluginName, String pluginConfigJson, WebhookDataImpl data, UserAndRolesAuthContext authContext, HttpServletRequest request) {
         LOGGER.info("processing '" + data.webhook + "' with plugin '" + pluginName + "' triggered by: '" + authContext.username+ "'")
-        Map pluginConfig = pluginConfigJson ? mapper.readValue(pluginConfigJson,HashMap) : [:]
-        replaceSecureOpts(authContext,pluginConfig)
-        WebhookEventPlugin plugin = pluginService.configurePlugin(pluginName, WebhookEventPlugin.class, frameworkService.getFrameworkPropertyResolver(data.project,pluginConfig),
-                                                                  PropertyScope.Instance).instance
-
-        PluginAdapterUtility.setConfig(plugin, pluginConfig)
+        String metricName = webhookMetricName(data)
+        metricService?.markMeter(metricName, "events")
+        WebhookEventPlugin plugin = getConfiguredWebhookPlugin(pluginName, pluginConfigJson, data, authContext)
 
         plugin.requestHeadersToCopy?.each { hdr -> data.headers[hdr] = request.getHeader(hdr)}
 
+        if (!tryAcquireEventPermit(data)) {
+            metricService?.markMeter(metricName, "rejected")
+            return new WebhookStatusResponder(429, [err: "Too many events in progress for webhook: " + data.webhook])
+        }
+        if (asyncProcessingEnabled && webhookTaskExecutor) {
+            return queueWebhookEvent(plugin, data, authContext)
+        }
+        long start = System.nanoTime()
+        try {
+            return invokeWebhookPlugin(plugin, data, authContext)
+        } finally {
+            releaseEventPermit(data)
+            metricService?.timer(metricName, "processTimer")?.update(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+        }
+    }
+
+    private WebhookResponder invokeWebhookPlugin(WebhookEventPlugin plugin, WebhookDataImpl data, UserAndRolesAuthContext authContext) {
         Services contextServices = rundeckAuthorizedServicesProvider.getServicesWith(authContext)
 
         if (featureService.featurePresent(Features.EVENT_STORE)) {
@@ -96,6 +125,148 @@ class WebhookService {
         return plugin.onEvent(context,data) ?: new DefaultWebhookResponder()
     }
 
+    /**
+     * Accept the event and process it with the webhook task executor, responding with 202 Accepted, or 429 if the
+     * queue is full
+     */
+    private WebhookResponder queueWebhookEvent(
+        WebhookEventPlugin plugin,
+        WebhookDataImpl data,
+        UserAndRolesAuthContext authContext
+    ) {
+        String metricName = webhookMetricName(data)
+        //the request body cannot be read after the response is sent
+        if (null != data.data) {
+            data.data = new ByteArrayInputStream(data.data.bytes)
+        }
+        long queuedAt = System.nanoTime()
+        try {
+            webhookTaskExecutor.execute({
+                try {
+                    Webhook.withNewSession {
+                        invokeWebhookPlugin(plugin, data, authContext)
+                    }
+                } catch (Throwable t) {
+                    metricService?.markMeter(metricName, "failed")
+                    log.error("Error processing event ${data.id} for webhook ${data.webhook}: ${t.message}", t)
+                } finally {
+                    releaseEventPermit(data)
+                    metricService?.timer(metricName, "processTimer")?.update(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS)
+                }
+            } as Runnable)
+        } catch (TaskRejectedException e) {
+            releaseEventPermit(data)
+            metricService?.markMeter(metricName, "rejected")
+            return new WebhookStatusResponder(429, [err: "Webhook event queue is full"])
+        }
+        return new WebhookStatusResponder(202, [msg: "Accepted", id: data.id])
+    }
+
+    /**
+     * Acquire a permit to process an event for the webhook, if webhooks.events.maxInProgress is set
+     * @return false if the maximum number of events are already in progress for the webhook
+     */
+    @PackageScope
+    boolean tryAcquireEventPermit(WebhookDataImpl data) {
+        int limit = maxEventsInProgress
+        if (limit < 1) {
+            return true
+        }
+        webhookEventPermits.computeIfAbsent(webhookKey(data)) { new Semaphore(limit) }.tryAcquire()
+    }
+
+    @PackageScope
+    void releaseEventPermit(WebhookDataImpl data) {
+        webhookEventPermits.get(webhookKey(data))?.release()
+    }
+
+    /**
+     * Return a configured plugin for the webhook, reusing a cached instance if the plugin declares it can be shared
+     * and the webhook configuration, plugin and user have not changed
+     */
+    @PackageScope
+    WebhookEventPlugin getConfiguredWebhookPlugin(
+        String pluginName,
+        String pluginConfigJson,
+        WebhookDataImpl data,
+        UserAndRolesAuthContext authContext
+    ) {
+        Cache<String, CachedWebhookPlugin> cache = data.webhookUUID && sharedPluginTypes.get(pluginName) != Boolean.FALSE ?
+                                                    getPluginInstanceCache() : null
+        String configVersion = null
+        if (cache) {
+            configVersion = [
+                pluginName,
+                data.project,
+                pluginConfigJson,
+                authContext.username,
+                authContext.roles?.toSorted()?.join(',')
+            ].join('\n').sha256()
+            CachedWebhookPlugin cached = cache.getIfPresent(data.webhookUUID)
+            if (cached && cached.configVersion == configVersion) {
+                return cached.plugin
+            }
+        }
+        Map pluginConfig = pluginConfigJson ? mapper.readValue(pluginConfigJson,HashMap) : [:]
+        replaceSecureOpts(authContext,pluginConfig)
+        WebhookEventPlugin plugin = pluginService.configurePlugin(pluginName, WebhookEventPlugin.class, frameworkService.getFrameworkPropertyResolver(data.project,pluginConfig),
+                                                                  PropertyScope.Instance).instance
+
+        PluginAdapterUtility.setConfig(plugin, pluginConfig)
+
+        if (cache) {
+            boolean shared = sharedPluginTypes.computeIfAbsent(pluginName) { PluginInstanceReuse.isInstanceShared(plugin) }
+            if (shared) {
+                cache.put(data.webhookUUID, new CachedWebhookPlugin(configVersion: configVersion, plugin: plugin))
+            }
+        }
+        plugin
+    }
+
+    /**
+     * Remove any cached plugin instance for the webhook
+     * @param webhookUuid webhook uuid
+     */
+    void invalidateWebhookPlugin(String webhookUuid) {
+        if (webhookUuid) {
+            pluginInstanceCache?.invalidate(webhookUuid)
+        }
+    }
+
+    private synchronized Cache<String, CachedWebhookPlugin> getPluginInstanceCache() {
+        if (configurationService && !configurationService.getBoolean("webhooks.pluginCache.enabled", true)) {
+            return null
+        }
+        if (null == pluginInstanceCache) {
+            pluginInstanceCache = CacheBuilder.newBuilder().
+                expireAfterWrite(configurationService?.getLong("webhooks.pluginCache.expire", 300L) ?: 300L, TimeUnit.SECONDS).
+                maximumSize(configurationService?.getLong("webhooks.pluginCache.maximumSize", 1000L) ?: 1000L).
+                build()
+        }
+        pluginInstanceCache
+    }
+
+    private boolean isAsyncProcessingEnabled() {
+        configurationService?.getBoolean("webhooks.async.enabled", false) ?: false
+    }
+
+    private int getMaxEventsInProgress() {
+        configurationService?.getInteger("webhooks.events.maxInProgress", 0) ?: 0
+    }
+
+    private static String webhookKey(WebhookDataImpl data) {
+        data.webhookUUID ?: data.webhook
+    }
+
+    private static String webhookMetricName(WebhookDataImpl data) {
+        WebhookService.name + ".webhook." + webhookKey(data)
+    }
+
+    static class CachedWebhookPlugin {
+        String configVersion
+        WebhookEventPlugin plugin
+    }
+
     /**
      * Receives a webhook and delete all the stored event data in DB related to it
      * @param webhook
@@ -266,6 +437,8 @@ class WebhookService {
         }
 
         if(saveWebhookResponse.isSaved) {
+            invalidateWebhookPlugin(hook?.uuid)
+            invalidateWebhookPlugin(saveWebhookResponse.webhook.uuid)
             def responsePayload = [msg: "Saved webhook", uuid: saveWebhookResponse.webhook.uuid]
             if(generatedSecureString) responsePayload.generatedSecurityString = generatedSecureString
             return responsePayload
@@ -335,6 +508,8 @@ class WebhookService {
             // Deleting all stored debug data for this particular hook from the DB
             deleteWebhookEventsData(hook)
             webhookDataProvider.deleteByUuid(hook.uuid)
+            invalidateWebhookPlugin(hook.uuid)
+            webhookEventPermits.remove(hook.uuid)
             rundeckAuthTokenManagerService.deleteByTokenWithType(authToken, AuthTokenType.WEBHOOK)
             return [msg: "Deleted ${name} webhook"]
         } catch(Exception ex) {
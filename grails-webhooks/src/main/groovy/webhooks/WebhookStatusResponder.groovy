@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package webhooks
+
+import com.dtolabs.rundeck.plugins.webhook.DefaultJsonWebhookResponder
+
+import javax.servlet.http.HttpServletResponse
+
+/**
+ * Responds with a status code and a JSON payload
+ */
+class WebhookStatusResponder extends DefaultJsonWebhookResponder {
+    final int status
+    final Map<String, Object> payload
+
+    WebhookStatusResponder(int status, Map<String, Object> payload) {
+        super(payload)
+        this.status = status
+        this.payload = payload
+    }
+
+    @Override
+    void respond(final HttpServletResponse response) {
+        response.setStatus(status)
+        super.respond(response)
+    }
+}
@@ -2,6 +2,7 @@ package webhooks
 
 import grails.plugins.*
 import grails.util.Environment
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor
 import webhooks.authenticator.AuthorizationHeaderAuthenticator
 import webhooks.component.project.WebhooksProjectComponent
 import webhooks.exporter.WebhooksProjectExporter
@@ -67,6 +68,12 @@ Brief summary/description of the plugin.
                 webhookService = ref('webhookService')
             }
             webhooksProjectComponent(WebhooksProjectComponent)
+            webhookTaskExecutor(ThreadPoolTaskExecutor) {
+                threadNamePrefix = "WebhookEvent"
+                corePoolSize = application.config.getProperty("rundeck.webhooks.async.poolSize", Integer.class, 10)
+                maxPoolSize = application.config.getProperty("rundeck.webhooks.async.poolSize", Integer.class, 10)
+                queueCapacity = application.config.getProperty("rundeck.webhooks.async.queueCapacity", Integer.class, 10000)
+            }
         }
     }}
 
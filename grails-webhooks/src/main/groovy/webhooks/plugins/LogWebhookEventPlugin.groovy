@@ -16,9 +16,11 @@
 package webhooks.plugins
 
 import com.dtolabs.rundeck.core.plugins.Plugin
+import com.dtolabs.rundeck.core.plugins.PluginInstanceReuse
 import com.dtolabs.rundeck.core.webhook.WebhookEventException
 import com.dtolabs.rundeck.plugins.ServiceNameConstants
 import com.dtolabs.rundeck.plugins.descriptions.PluginDescription
+import com.dtolabs.rundeck.plugins.descriptions.PluginMetadata
 import com.dtolabs.rundeck.plugins.webhook.DefaultWebhookResponder
 import com.dtolabs.rundeck.plugins.webhook.WebhookData
 import com.dtolabs.rundeck.plugins.webhook.WebhookEventContext
@@ -29,6 +31,7 @@ import org.slf4j.LoggerFactory
 
 @Plugin(name = "log-webhook-event",service= ServiceNameConstants.WebhookEvent)
 @PluginDescription(title="Log Events",description = "Logs incoming webhook events to log4j logger 'org.rundeck.webhook.events'")
+@PluginMetadata(key = PluginInstanceReuse.METADATA_KEY, value = PluginInstanceReuse.SHARED)
 class LogWebhookEventPlugin implements WebhookEventPlugin {
     private static final Logger LOG = LoggerFactory.getLogger("org.rundeck.webhook.events")
 
@@ -56,8 +56,14 @@ import org.slf4j.LoggerFactory
 
 import java.nio.file.Files
 import java.nio.file.StandardCopyOption
+import java.security.DigestOutputStream
+import java.security.MessageDigest
+import java.util.concurrent.Callable
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.concurrent.atomic.AtomicLong
 import java.util.regex.Matcher
 import java.util.regex.Pattern
@@ -67,6 +73,7 @@ import java.util.regex.Pattern
  */
 class BaseGitPlugin {
     public static final String REMOTE_NAME = "origin"
+    static final String CONTENT_HASH_ALGORITHM = "SHA-256"
     Git git
     Repository repo
     File workingDir
@@ -76,6 +83,8 @@ class BaseGitPlugin {
     JobFileMapper mapper
     RawTextComparator COMP = RawTextComparator.DEFAULT
     Map<String, Map> jobStateMap = Collections.synchronizedMap([:])
+    private ObjectId lastCommitCacheHead
+    private Map<String, RevCommit> lastCommitCacheMap
 
     protected enum ScmAuthMessages {
         CHECKING("Checking if user has access to the configured SCM key/password."),
@@ -110,6 +119,11 @@ class BaseGitPlugin {
      */
     ConcurrentMap<File, AtomicLong> fileSerializeRevisionCounter = new ConcurrentHashMap<>()
 
+    /**
+     * Max number of threads used to serialize jobs in {@link #serializeAll}
+     */
+    int serializeThreads = Math.max(1, Math.min(Runtime.runtime.availableProcessors(), 4))
+
     /**
      * Get an AtomicLong used for synchronization and comparing
      * serialized revision number of the file.
@@ -159,7 +173,12 @@ class BaseGitPlugin {
         }
     }
 
-    def serialize(
+    /**
+     * Serialize the job to its file, if the job version is newer than the previously serialized version, and the
+     * content has changed
+     * @return true if the file was written
+     */
+    boolean serialize(
             final JobExportReference job,
             String format,
             boolean preserveId,
@@ -194,6 +213,7 @@ class BaseGitPlugin {
                 File temp = new File(outfile.parentFile, outfile.name + ".tmp${job.version}")
                 temp.deleteOnExit()
                 Throwable thrown = null
+                MessageDigest digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM)
                 try {
                     try {
                         temp.withOutputStream { out ->
@@ -201,7 +221,7 @@ class BaseGitPlugin {
                                 def sourceId = (job instanceof JobScmReference) ? job.sourceId  : null
                                 job.jobSerializer.serialize(
                                         format,
-                                        out,
+                                        new DigestOutputStream(out, digest),
                                         preserveId,
                                         useSourceId ? (sourceId ?: job.id) : null
                                 )
@@ -221,7 +241,14 @@ class BaseGitPlugin {
                         )
                     }
 
+                    if (hasSameContent(outfile, temp, digest.digest())) {
+                        //leave the existing file untouched
+                        logger.trace("UNCHANGED serialize[${Thread.currentThread().name}] for ${job} to ${outfile}")
+                        return false
+                    }
+
                     Files.move(temp.toPath(), outfile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+                    return true
                 }finally{
                     if(temp.exists()){
                         temp.delete()
@@ -230,10 +257,32 @@ class BaseGitPlugin {
             } else {
                 //another thread already serialized this or earlier revision of the job, should not
                 logger.trace("SKIP serialize[${Thread.currentThread().name}] for ${job} to ${outfile}")
+                return false
             }
         }
     }
 
+    /**
+     * @param file existing file
+     * @param temp new content
+     * @param hash hash of the new content
+     * @return true if the existing file has the same content
+     */
+    private static boolean hasSameContent(File file, File temp, byte[] hash) {
+        if (!file.isFile() || file.length() != temp.length()) {
+            return false
+        }
+        MessageDigest digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM)
+        file.withInputStream { input ->
+            byte[] buffer = new byte[8192]
+            int len
+            while ((len = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, len)
+            }
+        }
+        MessageDigest.isEqual(hash, digest.digest())
+    }
+
     def serializeTemp(final JobExportReference job, String format, boolean preserveId, boolean useSourceId) {
         File outfile = File.createTempFile("${this.class.name}-serializeTemp", ".${format}")
         outfile.deleteOnExit()
@@ -248,14 +297,48 @@ class BaseGitPlugin {
         return outfile
     }
 
-    def serializeAll(
+    /**
+     * Serialize the jobs, using up to {@link #serializeThreads} threads
+     * @return serialization stats: count of files written, count of jobs skipped, and duration in milliseconds
+     */
+    Map<String, Long> serializeAll(
             final Set<JobExportReference> jobExportReferences,
             String format,
             boolean preserveId,
             boolean useOriginal
     )
     {
-        jobExportReferences.each { serialize(it, format, preserveId, useOriginal) }
+        long start = System.currentTimeMillis()
+        int threads = Math.min(serializeThreads, jobExportReferences.size())
+        List<Boolean> results
+        if (threads <= 1) {
+            results = jobExportReferences.collect { serialize(it, format, preserveId, useOriginal) }
+        } else {
+            def executor = Executors.newFixedThreadPool(threads)
+            try {
+                List<Future<Boolean>> futures = jobExportReferences.collect { job ->
+                    executor.submit({ serialize(job, format, preserveId, useOriginal) } as Callable<Boolean>)
+                }
+                results = futures.collect { Future<Boolean> future ->
+                    try {
+                        future.get()
+                    } catch (ExecutionException e) {
+                        if (e.cause instanceof ScmPluginException) {
+                            throw (ScmPluginException) e.cause
+                        }
+                        throw new ScmPluginException("Failed to serialize job: ${e.cause?.message}", e.cause)
+                    }
+                }
+            } finally {
+                executor.shutdownNow()
+            }
+        }
+        long written = results.count { it }
+        [
+                written : written,
+                skipped : results.size() - written,
+                duration: System.currentTimeMillis() - start
+        ]
     }
 
     TrackingRefUpdate fetchFromRemote(ScmOperationContext context, Git git1 = null) {
@@ -454,7 +537,53 @@ class BaseGitPlugin {
     }
 
     RevCommit lastCommitForPath(String path) {
-        GitUtil.lastCommitForPath repo, git, path
+        def cache = lastCommitCache()
+        if (cache == null) {
+            return GitUtil.lastCommitForPath(repo, git, path)
+        }
+        if (cache.containsKey(path)) {
+            return cache.get(path)
+        }
+        def commit = GitUtil.lastCommitForPath repo, git, path
+        cache.put(path, commit)
+        commit
+    }
+
+    /**
+     * Load the last commit for several paths with a single walk of the history, and cache the results until HEAD
+     * changes
+     * @param paths paths
+     */
+    void loadLastCommitsForPaths(Collection<String> paths) {
+        def cache = lastCommitCache()
+        if (cache == null) {
+            return
+        }
+        def missing = paths.findAll { it && !cache.containsKey(it) }.toSet()
+        if (!missing) {
+            return
+        }
+        def found = GitUtil.lastCommitsForPaths(repo, missing)
+        missing.each { path ->
+            cache.put(path, found[path])
+        }
+    }
+
+    /**
+     * @return cache of last commit for a path, which is valid for the current HEAD commit, or null if there is no HEAD
+     */
+    private Map<String, RevCommit> lastCommitCache() {
+        def headId = repo?.resolve(Constants.HEAD)
+        if (!headId) {
+            return null
+        }
+        synchronized (this) {
+            if (lastCommitCacheHead != headId) {
+                lastCommitCacheHead = headId.copy()
+                lastCommitCacheMap = Collections.synchronizedMap(new HashMap<String, RevCommit>())
+            }
+            return lastCommitCacheMap
+        }
     }
 
     static String expand(final String source, final ScmUserInfo scmUserInfo) {
@@ -412,9 +412,63 @@ class GitExportPlugin extends BaseGitPlugin implements ScmExportPlugin {
 
         def path = relativePath(job)
 
+        def commit = prepareJobStatus(job, doSerialize)
+
+        def statusb = git.status().addPath(path)
+        if (originalPath) {
+            statusb.addPath(originalPath)
+        }
+        Status status = statusb.call()
+        storeJobStatus(job, originalPath, commit, status)
+    }
+
+    /**
+     * Refresh the status of several jobs, computing the status of the working tree once for all of them
+     * @param jobs jobs
+     * @param originalPaths map of job ID to original path, or null
+     * @param doSerialize true to serialize the jobs
+     */
+    private void refreshJobsStatus(
+            final List<? extends JobRevReference> jobs,
+            final Map<String, String> originalPaths,
+            boolean doSerialize
+    ) {
+        if (!jobs) {
+            return
+        }
+        loadLastCommitsForPaths(
+                jobs.collect { relativePath(it) } + (originalPaths ? originalPaths.values().findAll { it } : [])
+        )
+
+        List<List> prepared = []
+        jobs.each { job ->
+            try {
+                prepared << [job, prepareJobStatus(job, doSerialize)]
+            } catch (Throwable t) {
+                //status will be refreshed individually when requested
+                getLogger().warn("Could not prepare status for job ${job.id}: ${t}", t)
+            }
+        }
+        if (!prepared) {
+            return
+        }
+
+        Status status = git.status().call()
+        prepared.each { List entry ->
+            JobRevReference job = entry[0]
+            storeJobStatus(job, originalPaths?.get(job.id), (RevCommit) entry[1], status)
+        }
+    }
+
+    /**
+     * Clear the cached status of the job, and serialize it if necessary
+     * @return last commit for the job path
+     */
+    private RevCommit prepareJobStatus(final JobRevReference job, boolean doSerialize) {
+        def path = relativePath(job)
+
         jobStateMap.remove(job.id)
 
-        def jobstat = Collections.synchronizedMap([:])
         def commit = lastCommitForPath(path)
 
 
@@ -429,12 +483,22 @@ class GitExportPlugin extends BaseGitPlugin implements ScmExportPlugin {
         if (job instanceof JobExportReference && doSerialize) {
             serialize(job, format, config.exportPreserve, config.exportOriginal)
         }
+        commit
+    }
 
-        def statusb = git.status().addPath(path)
-        if (originalPath) {
-            statusb.addPath(originalPath)
-        }
-        Status status = statusb.call()
+    /**
+     * Determine the job status from the working tree status, and store it in the cache
+     * @param status working tree status which includes the job path and original path
+     * @return job status
+     */
+    private Map storeJobStatus(
+            final JobRevReference job,
+            final String originalPath,
+            RevCommit commit,
+            final Status status
+    ) {
+        def path = relativePath(job)
+        def jobstat = Collections.synchronizedMap([:])
         SynchState synchState = synchStateForStatus(status, commit, path)
         def scmState = scmStateForStatus(status, commit, path)
 
@@ -502,6 +566,18 @@ class GitExportPlugin extends BaseGitPlugin implements ScmExportPlugin {
         }
     }
 
+    @Override
+    void prepareJobsStatus(final List<JobExportReference> jobs, final Map<String, String> originalPaths) {
+        if (!inited || !jobs) {
+            return
+        }
+        loadLastCommitsForPaths(
+                jobs.collect { relativePath(it) } + (originalPaths ? originalPaths.values().findAll { it } : [])
+        )
+        def uncached = jobs.findAll { job -> !hasJobStatusCached(job, originalPaths?.get(job.id)) }
+        refreshJobsStatus(uncached, originalPaths, true)
+    }
+
     @Override
     JobState getJobStatus(final JobExportReference job) {
         getJobStatus(job, null)
@@ -637,15 +713,12 @@ class GitExportPlugin extends BaseGitPlugin implements ScmExportPlugin {
             return null
         }
 
-        jobs.each {job->
+        loadLastCommitsForPaths(jobs.collect { relativePath(it) })
+        def cached = jobs.findAll { job ->
             log.debug("cleanJobStatusCache(${job.id}): ${job}")
-
-            def status = hasJobStatusCached(job, null)
-
-            if (status) {
-                refreshJobStatus(job, null,false)
-            }
+            hasJobStatusCached(job, null)
         }
+        refreshJobsStatus(cached.toList(), null, false)
     }
 
     @Override
@@ -669,9 +742,7 @@ class GitExportPlugin extends BaseGitPlugin implements ScmExportPlugin {
 
     @Override
     void refreshJobsStatus(List<JobExportReference> jobs){
-        jobs.each{job ->
-            refreshJobStatus(job,null)
-        }
+        refreshJobsStatus(jobs, null, true)
     }
 
     @Override
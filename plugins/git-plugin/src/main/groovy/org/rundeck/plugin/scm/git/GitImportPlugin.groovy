@@ -376,7 +376,7 @@ class GitImportPlugin extends BaseGitPlugin implements ScmImportPlugin {
         jobStateMap.remove(job.id)
 
         def jobstat = Collections.synchronizedMap([:])
-        def latestCommit = GitUtil.lastCommitForPath repo, git, path
+        def latestCommit = lastCommitForPath(path)
 
 //        log.debug(debugStatus(status))
         ImportSynchState synchState = importSynchStateForStatus(job, latestCommit, path)
@@ -803,6 +803,7 @@ class GitImportPlugin extends BaseGitPlugin implements ScmImportPlugin {
 
     @Override
     void refreshJobsStatus(List<JobScmReference> jobs){
+        loadLastCommitsForPaths(jobs.collect { getRelativePathForJob(it) })
         jobs.each{job ->
             refreshJobStatus(job,null)
         }
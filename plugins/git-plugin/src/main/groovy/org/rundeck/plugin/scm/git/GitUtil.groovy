@@ -34,10 +34,14 @@ import org.eclipse.jgit.lib.ObjectReader
 import org.eclipse.jgit.lib.Ref
 import org.eclipse.jgit.lib.Repository
 import org.eclipse.jgit.revwalk.RevCommit
+import org.eclipse.jgit.revwalk.RevSort
 import org.eclipse.jgit.revwalk.RevWalk
 import org.eclipse.jgit.treewalk.CanonicalTreeParser
+import org.eclipse.jgit.treewalk.EmptyTreeIterator
 import org.eclipse.jgit.treewalk.TreeWalk
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter
 import org.eclipse.jgit.treewalk.filter.PathFilterGroup
+import org.eclipse.jgit.treewalk.filter.TreeFilter
 import org.eclipse.jgit.util.io.DisabledOutputStream
 
 /**
@@ -205,6 +209,77 @@ class GitUtil {
         null
     }
 
+    /**
+     * Find the last commit for each of the paths, using a single walk of the history from HEAD
+     * @param repo repository
+     * @param paths paths
+     * @return map of path to the last commit which changed it, paths which are not found are not included
+     */
+    static Map<String, RevCommit> lastCommitsForPaths(Repository repo, Collection<String> paths) {
+        Map<String, RevCommit> found = [:]
+        Set<String> remaining = new HashSet<>(paths.findAll { it })
+        if (!remaining) {
+            return found
+        }
+        def headId = repo.resolve(Constants.HEAD)
+        if (!headId) {
+            return found
+        }
+        final RevWalk walk = new RevWalk(repo)
+        try {
+            walk.sort(RevSort.COMMIT_TIME_DESC)
+            walk.markStart(walk.parseCommit(headId))
+            RevCommit commit
+            while (remaining && (commit = walk.next()) != null) {
+                def changed = changedPaths(walk, commit, remaining)
+                changed.each { path ->
+                    found[path] = commit
+                    remaining.remove(path)
+                }
+            }
+        } finally {
+            walk.close()
+        }
+        found
+    }
+
+    /**
+     * @return the subset of paths changed by the commit compared to its parents, a path is only changed in a merge
+     * commit if it differs from all parents
+     */
+    private static Set<String> changedPaths(RevWalk walk, RevCommit commit, Set<String> paths) {
+        Set<String> changed = null
+        def parents = commit.parents ?: ([null] as RevCommit[])
+        for (RevCommit parent : parents) {
+            Set<String> diff = new HashSet<>()
+            TreeWalk treeWalk = new TreeWalk(walk.objectReader)
+            try {
+                treeWalk.recursive = true
+                treeWalk.filter = AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF)
+                if (parent) {
+                    treeWalk.addTree(walk.parseCommit(parent).tree)
+                } else {
+                    treeWalk.addTree(new EmptyTreeIterator())
+                }
+                treeWalk.addTree(commit.tree)
+                while (treeWalk.next()) {
+                    diff << treeWalk.pathString
+                }
+            } finally {
+                treeWalk.close()
+            }
+            if (changed == null) {
+                changed = diff
+            } else {
+                changed.retainAll(diff)
+            }
+            if (!changed) {
+                break
+            }
+        }
+        changed
+    }
+
     static List<DiffEntry> listChanges(Git git, String oldRef, String newRef) {
         ObjectReader reader = git.getRepository().newObjectReader();
 
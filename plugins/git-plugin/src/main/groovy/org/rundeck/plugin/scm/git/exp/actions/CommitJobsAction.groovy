@@ -115,17 +115,35 @@ class CommitJobsAction extends BaseAction implements GitExportAction {
             ScmUserInfoMissing.fieldMissing("committerEmail")
         }
 
-        plugin.serializeAll(jobs, plugin.format, plugin.config.exportPreserve, plugin.config.exportOriginal)
+        Map<String, Long> timings = [:]
+        def serialized = plugin.serializeAll(
+                jobs,
+                plugin.format,
+                plugin.config.exportPreserve,
+                plugin.config.exportOriginal
+        )
+        timings.serialize = serialized.duration
+        timings.serializeWritten = serialized.written
+        timings.serializeSkipped = serialized.skipped
         String commitMessage = input[P_MESSAGE].toString()
+        long start = System.currentTimeMillis()
         Status status = plugin.git.status().call()
+        timings.status = System.currentTimeMillis() - start
         int pathcount=0
-        //add all changes to index
+        //add all changes to index in a single batch, skipping unchanged files
         if (jobs) {
-            AddCommand addCommand = plugin.git.add()
-            jobs.each {
-                addCommand.addFilepattern(plugin.relativePath(it))
+            def changedPaths = new HashSet<String>(status.untracked + status.modified)
+            def toAdd = jobs.collect { plugin.relativePath(it) }.findAll { changedPaths.contains(it) }
+            start = System.currentTimeMillis()
+            if (toAdd) {
+                AddCommand addCommand = plugin.git.add()
+                toAdd.each {
+                    addCommand.addFilepattern(it)
+                }
+                addCommand.call()
             }
-            addCommand.call()
+            timings.stage = System.currentTimeMillis() - start
+            timings.staged = (long) toAdd.size()
             pathcount+=jobs.size()
         }
         def rmfiles = new HashSet<String>(status.removed + status.missing)
@@ -153,8 +171,11 @@ class CommitJobsAction extends BaseAction implements GitExportAction {
         todelete.each {
             commit1.setOnly(it)
         }
+        start = System.currentTimeMillis()
         commit = commit1.call()
+        timings.commit = System.currentTimeMillis() - start
         result.success = true
+        result.timings = timings
         result.commit=new GitScmCommit(GitUtil.metaForCommit(commit))
         plugin.cleanJobStatusCache(jobs)
 
@@ -165,7 +186,11 @@ class CommitJobsAction extends BaseAction implements GitExportAction {
             }
         }
         if (result.success && input[P_PUSH] == 'true') {
-            return plugin.export(context, GitExportPlugin.PROJECT_PUSH_ACTION_ID, jobs, pathsToDelete, input)
+            def pushResult = plugin.export(context, GitExportPlugin.PROJECT_PUSH_ACTION_ID, jobs, pathsToDelete, input)
+            if (pushResult instanceof ScmExportResultImpl && !pushResult.timings) {
+                pushResult.timings = timings
+            }
+            return pushResult
         }
         result.id = commit?.name
 
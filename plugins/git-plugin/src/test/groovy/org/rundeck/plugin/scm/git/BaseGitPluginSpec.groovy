@@ -236,6 +236,71 @@ class BaseGitPluginSpec extends Specification {
         'yaml' | _
     }
 
+    def "serialize job with unchanged content does not rewrite file"() {
+        given:
+        Common config = new Common()
+        def base = new BaseGitPlugin(config)
+        base.mapper = Mock(JobFileMapper)
+        def job = Mock(JobExportReference) {
+            getVersion() >> 2L
+            getJobSerializer() >> Mock(JobSerializer) {
+                1 * serialize('xml', !null, _, _) >> { args ->
+                    args[1].write('data'.bytes)
+                }
+            }
+        }
+        def outfile = File.createTempFile("BaseGitPluginSpec", "serialize-job.temp")
+        outfile.deleteOnExit()
+        outfile.text = 'data'
+        outfile.setLastModified(1000L)
+
+        when:
+        def result = base.serialize(job, 'xml', true, false)
+
+        then:
+        1 * base.mapper.fileForJob(_) >> outfile
+        !result
+        outfile.text == 'data'
+        outfile.lastModified() == 1000L
+    }
+
+    def "serializeAll serializes jobs in parallel"() {
+        given:
+        Common config = new Common()
+        def base = new BaseGitPlugin(config)
+        base.serializeThreads = 3
+        def dir = File.createTempFile("BaseGitPluginSpec", "serialize-all")
+        dir.delete()
+        dir.mkdirs()
+        base.mapper = Mock(JobFileMapper) {
+            _ * fileForJob(_) >> { args -> new File(dir, args[0].id + '.xml') }
+        }
+        def jobs = (1..10).collect { num ->
+            Mock(JobExportReference) {
+                getId() >> 'job' + num
+                getVersion() >> 1L
+                getJobSerializer() >> Mock(JobSerializer) {
+                    1 * serialize('xml', !null, _, _) >> { args ->
+                        args[1].write(('data' + num).bytes)
+                    }
+                }
+            }
+        } as Set
+        new File(dir, 'job1.xml').text = 'data1'
+
+        when:
+        def result = base.serializeAll(jobs, 'xml', true, false)
+
+        then:
+        result.written == 9
+        result.skipped == 1
+        result.duration >= 0
+        (1..10).every { new File(dir, "job${it}.xml").text == 'data' + it }
+
+        cleanup:
+        dir.deleteDir()
+    }
+
     def "serialize job: cannot create parent dir"() {
         given:
         Common config = new Common()
@@ -464,6 +464,64 @@ class GitExportPluginSpec extends Specification {
         'blah'   | SynchState.CLEAN
     }
 
+    def "prepare jobs status computes the status of several jobs at once"() {
+        given:
+
+        def gitdir = new File(tempdir, 'scm')
+        def origindir = new File(tempdir, 'origin')
+        Export config = createTestConfig(gitdir, origindir)
+
+        //create a git dir
+        def git = createGit(origindir)
+        def commit1 = addCommitFile(origindir, git, 'a/b/name1-xyz1.xml', 'blah')
+        def commit2 = addCommitFile(origindir, git, 'a/b/name2-xyz2.xml', 'blah')
+
+        git.close()
+        def plugin = new GitExportPlugin(config)
+        plugin.initialize(Mock(ScmOperationContext))
+
+        def serializer1 = Mock(JobSerializer)
+        def serializer2 = Mock(JobSerializer)
+        def serializer3 = Mock(JobSerializer)
+        def jobref1 = Stub(JobScmReference) {
+            getJobName() >> 'name1'
+            getGroupPath() >> 'a/b'
+            getId() >> 'xyz1'
+            getVersion() >> 1
+            getJobSerializer() >> serializer1
+        }
+        def jobref2 = Stub(JobScmReference) {
+            getJobName() >> 'name2'
+            getGroupPath() >> 'a/b'
+            getId() >> 'xyz2'
+            getVersion() >> 1
+            getJobSerializer() >> serializer2
+        }
+        def jobref3 = Stub(JobScmReference) {
+            getJobName() >> 'name3'
+            getGroupPath() >> 'a/b'
+            getId() >> 'xyz3'
+            getVersion() >> 1
+            getJobSerializer() >> serializer3
+        }
+        when:
+        plugin.prepareJobsStatus([jobref1, jobref2, jobref3], [:])
+        def status1 = plugin.getJobStatus(jobref1)
+        def status2 = plugin.getJobStatus(jobref2)
+        def status3 = plugin.getJobStatus(jobref3)
+
+        then:
+        1 * serializer1.serialize('xml', _, _, _) >> { it[1].write('blah'.bytes) }
+        1 * serializer2.serialize('xml', _, _, _) >> { it[1].write('bloo'.bytes) }
+        1 * serializer3.serialize('xml', _, _, _) >> { it[1].write('data'.bytes) }
+        status1.synchState == SynchState.CLEAN
+        status1.commit.asMap().commitId == commit1.name
+        status2.synchState == SynchState.EXPORT_NEEDED
+        status2.commit.asMap().commitId == commit2.name
+        status3.synchState == SynchState.CREATE_NEEDED
+        status3.commit == null
+    }
+
     def "get file diff, new content"() {
         given:
 
@@ -72,4 +72,41 @@ class GitUtilSpec extends Specification {
         then:
         result2 == null
     }
+
+    def "lastCommitsForPaths matches lastCommitForPath"() {
+        given:
+        def origindir = new File(tempdir, 'origin')
+        Git git = BaseGitPluginSpec.createGit(origindir)
+        new File(origindir, "test1") << 'data'
+        new File(origindir, "test2") << 'data'
+        git.add().addFilepattern('test1').addFilepattern('test2').call()
+        RevCommit commit1 = git.commit().setAuthor('a', 'b@test.com').setMessage('abc').call()
+        new File(origindir, "test2") << 'more data'
+        new File(origindir, "dir").mkdir()
+        new File(origindir, "dir/test3") << 'data'
+        git.add().addFilepattern('test2').addFilepattern('dir/test3').call()
+        RevCommit commit2 = git.commit().setAuthor('a', 'b@test.com').setMessage('def').call()
+        def paths = ['test1', 'test2', 'dir/test3', 'missing']
+
+        when:
+        def result = GitUtil.lastCommitsForPaths(git.repository, paths)
+
+        then:
+        result == [test1: commit1, test2: commit2, 'dir/test3': commit2]
+        paths.each {
+            assert result[it] == GitUtil.lastCommitForPath(git.repository, git, it)
+        }
+    }
+
+    def "lastCommitsForPaths empty repo"() {
+        given:
+        def origindir = new File(tempdir, 'origin')
+        Git git = BaseGitPluginSpec.createGit(origindir)
+
+        when:
+        def result = GitUtil.lastCommitsForPaths(git.repository, ['test1'])
+
+        then:
+        result == [:]
+    }
 }
@@ -68,6 +68,8 @@ import com.dtolabs.rundeck.core.utils.RequestAwareLinkGenerator
 import com.dtolabs.rundeck.core.utils.cache.FileCache
 import com.dtolabs.rundeck.plugins.ServiceNameConstants
 import com.dtolabs.rundeck.server.plugins.AppExecutionPluginLoader
+import com.dtolabs.rundeck.server.plugins.ExecutionPluginInstanceCacheManager
+import com.dtolabs.rundeck.server.plugins.PluginCacheMetricsWriterImpl
 import com.dtolabs.rundeck.server.plugins.PluginCustomizer
 import com.dtolabs.rundeck.server.plugins.PluginFactoryBean
 import com.dtolabs.rundeck.server.plugins.RundeckEmbeddedPluginExtractor
@@ -126,6 +128,7 @@ import org.rundeck.app.data.project.ProjectScmMetadataComponent
 import org.rundeck.app.data.providers.GormExecReportDataProvider
 import org.rundeck.app.data.options.DefaultJobOptionUrlExpander
 import org.rundeck.app.data.options.DefaultRemoteJsonOptionRetriever
+import org.rundeck.app.data.options.RemoteOptionValuesCache
 import org.rundeck.app.data.providers.GormExecutionDataProvider
 import org.rundeck.app.data.providers.GormJobStatsDataProvider
 import org.rundeck.app.data.providers.GormPluginMetaDataProvider
@@ -255,6 +258,7 @@ beans={
                 metricRegistry:ref('metricRegistry'),
                 executionUtilService:ref('executionUtilService'),
                 jobSchedulerService:ref('jobSchedulerService'),
+                executionSupervisorService:ref('executionSupervisorService'),
                   authContextProvider:ref('rundeckAuthContextProvider'),
                 jobSchedulesService:ref('jobSchedulesService')]
         quartzScheduler=ref('quartzScheduler')
@@ -343,6 +347,13 @@ beans={
         executionServices = ref('rundeckBaseFrameworkExecutionServices')
     }
 
+    executionPluginInstanceCacheManager(ExecutionPluginInstanceCacheManager){
+        enabled = grailsApplication.config.getProperty("rundeck.execution.pluginInstanceCache.enabled", Boolean.class, true)
+        expirationTime = grailsApplication.config.getProperty("rundeck.execution.pluginInstanceCache.expire", Long.class, 10)
+        maximumSize = grailsApplication.config.getProperty("rundeck.execution.pluginInstanceCache.maximumSize", Long.class, 1000)
+        metricService = ref('metricService')
+    }
+
     rundeckappExecutionPluginsLoader(AppExecutionPluginLoader){
         pluginService=ref('pluginService')
         rundeckNodeSupport=ref('rundeckNodeSupport')
@@ -493,12 +504,18 @@ beans={
     //scan for script-based plugins
     scriptPluginScanner(ScriptPluginScanner, ref('pluginDirProvider'), cacheDir, ref('providerFileCache'))
 
+    pluginCacheMetricsWriter(PluginCacheMetricsWriterImpl) {
+        metricService = ref('metricService')
+    }
+
     //cache for plugins loaded via scanners
     filePluginCache(FilePluginCache, ref('providerFileCache')) {
         scanners = [
                 ref('jarPluginScanner'),
                 ref('scriptPluginScanner')
         ]
+        pluginDirProvider = ref('pluginDirProvider')
+        metricsWriter = ref('pluginCacheMetricsWriter')
     }
 
     rundeckPluginAdapter(PluginAdapterImpl){
@@ -576,6 +593,11 @@ beans={
     logFileStorageTaskExecutor(SimpleAsyncTaskExecutor, "LogFileStorageTask") {
         concurrencyLimit = 1 + application.config.getProperty("rundeck.execution.logs.fileStorage.storageTasks.concurrencyLimit", Integer.class, 10)
     }
+    logFileStorageUploadExecutor(ThreadPoolTaskExecutor) {
+        threadNamePrefix="LogFileStorageUpload"
+        corePoolSize= application.config.getProperty("rundeck.execution.logs.fileStorage.uploadTasks.poolSize", Integer.class, 10)
+        maxPoolSize= application.config.getProperty("rundeck.execution.logs.fileStorage.uploadTasks.poolSize", Integer.class, 10)
+    }
     logFileStorageTaskScheduler(ThreadPoolTaskScheduler) {
         threadNamePrefix="LogFileStorageScheduledTask"
         poolSize= application.config.getProperty("rundeck.execution.logs.fileStorage.scheduledTasks.poolSize", Integer.class, 5)
@@ -586,6 +608,28 @@ beans={
         maxPoolSize= application.config.getProperty("rundeck.execution.logs.fileStorage.removeTasks.poolSize", Integer.class, 5)
 
     }
+    executionSupervisorTaskScheduler(ThreadPoolTaskScheduler) {
+        threadNamePrefix="ExecutionSupervisorCheck"
+        poolSize=1
+    }
+    executionSupervisorTaskExecutor(SimpleAsyncTaskExecutor, "ExecutionSupervisorFinish") {
+        concurrencyLimit = application.config.getProperty("rundeck.execution.supervisor.finishTasks.concurrencyLimit", Integer.class, -1) //-1 for unbounded
+    }
+    workflowStateTaskExecutor(ThreadPoolTaskExecutor) {
+        threadNamePrefix="WorkflowStateTask"
+        corePoolSize= application.config.getProperty("rundeck.workflowService.stateTasks.poolSize", Integer.class, 4)
+        maxPoolSize= application.config.getProperty("rundeck.workflowService.stateTasks.poolSize", Integer.class, 4)
+    }
+    notificationTaskExecutor(ThreadPoolTaskExecutor) {
+        threadNamePrefix="NotificationTask"
+        corePoolSize= application.config.getProperty("rundeck.notification.threads.poolSize", Integer.class, 5)
+        maxPoolSize= application.config.getProperty("rundeck.notification.threads.poolSize", Integer.class, 5)
+        queueCapacity= application.config.getProperty("rundeck.notification.threads.queueCapacity", Integer.class, 1000)
+    }
+    notificationTaskScheduler(ThreadPoolTaskScheduler) {
+        threadNamePrefix="NotificationScheduledTask"
+        poolSize= application.config.getProperty("rundeck.notification.retry.poolSize", Integer.class, 2)
+    }
     nodeTaskExecutor(SimpleAsyncTaskExecutor,"NodeService-SourceLoader") {
         concurrencyLimit = application.config.getProperty("rundeck.nodeService.concurrencyLimit", Integer.class, 25) //-1 for unbounded
     }
@@ -613,6 +657,7 @@ beans={
     }
     rundeckJobYamlFormat(JobYAMLFormat) {
         trimSpacesFromLines = application.config.getProperty('rundeck.job.export.yaml.trimSpaces', Boolean)
+        streamCodePointLimit = application.config.getProperty('rundeck.jobsImport.yamlStreamCodePointLimit', Integer)
     }
     rundeckJobJsonFormat(JobJSONFormat) {
         trimSpacesFromLines = application.config.getProperty('rundeck.job.export.json.trimSpaces', Boolean)
@@ -630,9 +675,19 @@ beans={
         rundeckServerServiceProviderLoader = ref('rundeckServerServiceProviderLoader')
     }
 
+    remoteOptionValuesCache(RemoteOptionValuesCache) {
+        maxSize = application.config.getProperty("rundeck.jobs.options.remoteUrlCacheMaxSize", Integer.class, 1000)
+        maxConnections = application.config.getProperty("rundeck.jobs.options.remoteUrlMaxConnections", Integer.class, 50)
+        maxConnectionsPerRoute = application.config.getProperty("rundeck.jobs.options.remoteUrlMaxConnectionsPerRoute", Integer.class, 10)
+    }
+
     auditEventsService(AuditEventsService) {
         frameworkService = ref('frameworkService')
         metricService = ref('metricService')
+        queueCapacity = application.config.getProperty("rundeck.audit.events.queueCapacity", Integer.class, 10000)
+        overflowPolicy = application.config.getProperty("rundeck.audit.events.overflowPolicy", String.class, 'block')
+        batchSize = application.config.getProperty("rundeck.audit.events.batchSize", Integer.class, 100)
+        pluginThreads = application.config.getProperty("rundeck.audit.events.pluginThreads", Integer.class, 4)
     }
 
     scmJobImporter(ScmJobImporter)
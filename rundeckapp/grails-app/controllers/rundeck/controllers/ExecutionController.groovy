@@ -2171,13 +2171,31 @@ JSON response requires API v14.
 JSON response requires API v14.
 """,
         method='GET',
-        parameters = @Parameter(
-            name = "id",
-            description = "Execution ID",
-            in = ParameterIn.PATH,
-            required = true,
-            schema = @Schema(implementation = String)
-        )
+        parameters = [
+            @Parameter(
+                name = "id",
+                description = "Execution ID",
+                in = ParameterIn.PATH,
+                required = true,
+                schema = @Schema(implementation = String)
+            ),
+            @Parameter(
+                name = "since",
+                description = """Change sequence returned as `sequence` by a previous request. If the execution is running, 
+only the step and node states changed after it are returned in a `changes` list, each entry containing the `stepctx`, 
+the `node` name for node states, and the state. Otherwise the full state is returned.""",
+                in = ParameterIn.QUERY,
+                required = false,
+                schema = @Schema(implementation = Long)
+            ),
+            @Parameter(
+                name = "summary",
+                description = "If `true`, return the overall state and a summary for each node in `nodeSummaries`, without the step states.",
+                in = ParameterIn.QUERY,
+                required = false,
+                schema = @Schema(implementation = Boolean)
+            )
+        ]
     )
     @ApiResponse(
         responseCode = '200',
@@ -2438,7 +2456,27 @@ The timestamp format is ISO8601: `yyyy-MM-dd'T'HH:mm:ss'Z'`
             ])
         }
 
-        def loader = workflowService.requestState(e)
+        Long since = null
+        if (params.since) {
+            since = params.long('since')
+            if (since == null || since < 0) {
+                return apiService.renderErrorFormat(response, [
+                        status: HttpServletResponse.SC_BAD_REQUEST,
+                        code  : 'api.error.parameter.invalid',
+                        args  : [params.since, 'since', 'Not a change sequence'],
+                        format: response.format
+                ])
+            }
+        }
+        def loader
+        if (params.summary == 'true') {
+            //per-node summaries without step states
+            loader = workflowService.requestStateSummary(e, [], false)
+        } else if (since != null) {
+            loader = workflowService.requestStateDelta(e, since)
+        } else {
+            loader = workflowService.requestState(e)
+        }
         def state= loader.workflowState
         if(!loader.workflowState){
             if(loader.state in [ExecutionFileState.WAITING, ExecutionFileState.AVAILABLE_REMOTE,
@@ -61,6 +61,7 @@ import org.rundeck.core.auth.web.RdAuthorizeApplicationType
 import org.rundeck.core.auth.web.RdAuthorizeProject
 import rundeck.services.ApiService
 import rundeck.services.ArchiveOptions
+import rundeck.services.ArchiveRequestProgress
 import com.dtolabs.rundeck.util.JsonUtil
 import rundeck.services.ConfigurationService
 import rundeck.services.ExecutionService
@@ -69,6 +70,7 @@ import rundeck.services.PluginService
 import rundeck.services.ProjectService
 import rundeck.services.ProjectServiceException
 import rundeck.services.ScheduledExecutionService
+import rundeck.services.asyncimport.AsyncImportException
 import rundeck.services.asyncimport.AsyncImportService
 import webhooks.component.project.WebhooksProjectComponent
 import webhooks.exporter.WebhooksProjectExporter
@@ -354,7 +356,8 @@ class ProjectController extends ControllerBase{
             }
             projectService.releasePromise(session.user,token)
         }else {
-            def percentage = projectService.promiseSummary(session.user, token).percent()
+            def summary = projectService.promiseSummary(session.user, token)
+            def percentage = summary.percent()
 
             return withFormat {
                 html {
@@ -370,6 +373,9 @@ class ProjectController extends ControllerBase{
                         delegate.'token' token
                         delegate.ready null != outfile
                         delegate.'percentage' percentage
+                        if (summary instanceof ArchiveRequestProgress) {
+                            delegate.'bytes' summary.bytes
+                        }
                     }
                 }
             }
@@ -3180,7 +3186,9 @@ For example, to enable Webhook import, you could use `importWebhooks` and `whkRe
 Import schedules definitions:
 
 * `importComponents.Schedule%20Definitions=true`''', schema = @Schema(implementation = String.class)),
-                    @Parameter(name = 'importOpts.NAME.KEY', required = false, in = ParameterIn.QUERY, description = 'Set a component option. See `importComponents.NAME` parameter description', schema = @Schema(implementation = String.class))
+                    @Parameter(name = 'importOpts.NAME.KEY', required = false, in = ParameterIn.QUERY, description = 'Set a component option. See `importComponents.NAME` parameter description', schema = @Schema(implementation = String.class)),
+                    @Parameter(name = 'asyncImportResume', required = false, in = ParameterIn.QUERY, description = '''If true, resume an interrupted asynchronous import of executions from its last checkpoint.
+The request content is ignored.''', schema = @Schema(implementation = Boolean.class))
             ]
     )
     @Tags(
@@ -3288,6 +3296,24 @@ Note: `other_errors` included since API v35""",
             archiveParams.importScm=false
         }
 
+        if (archiveParams.asyncImportResume) {
+            try {
+                projectService.resumeAsyncImport(project.name, projectAuthContext, project)
+            } catch (AsyncImportException e) {
+                return apiService.renderErrorFormat(response,[
+                        status: HttpServletResponse.SC_BAD_REQUEST,
+                        code: 'api.error.async.import.resume.unavailable',
+                        args: [project.name],
+                        format:respFormat
+                ])
+            }
+            render(contentType: 'application/json'){
+                import_status 'successful'
+                successful true
+            }
+            return
+        }
+
         def stream = request.getInputStream()
         def len = request.getContentLength()
         if(0==len){
@@ -3453,7 +3479,9 @@ Note: `other_errors` included since API v35""",
                         [
                                 lastUpdate        : statusFileContent.lastUpdate,
                                 lastUpdated       : statusFileContent.lastUpdated,
-                                errors            : statusFileContent.errors ? statusFileContent.errors : "No errors."
+                                errors            : statusFileContent.errors ? statusFileContent.errors : "No errors.",
+                                importedRows      : statusFileContent.importedRows ?: 0,
+                                rowsPerSecond     : statusFileContent.rowsPerSecond ?: 0
                         ]
                 ) as JSON
         )
@@ -3724,8 +3724,29 @@ Each job entry contains:
         if (request.api_version > ApiVersions.V43) {
             supportedFormats<<'json'
         }
+        def changeinfo = [user: session.user,method:'apiJobsImport']
+        //nb: loadJobs will get correct project auth context
+        UserAndRolesAuthContext authContext = rundeckAuthContextProcessor.getAuthContextForSubject(session.subject)
+        def option = params.uuidOption
+        boolean streaming = scheduledExecutionService.isStreamingJobImport()
+        def parseInput = { input, String format ->
+            if (streaming) {
+                //decode and load jobs in batches
+                return scheduledExecutionService.streamImportJobs(
+                    input,
+                    format,
+                    params.project,
+                    params.dupeOption,
+                    option,
+                    changeinfo,
+                    authContext,
+                    (params?.validateJobref == 'true')
+                )
+            }
+            scheduledExecutionService.parseUploadedFile(input, format)
+        }
         if(request.format in supportedFormats){
-            parseresult = scheduledExecutionService.parseUploadedFile(request.getInputStream(), request.format)
+            parseresult = parseInput(request.getInputStream(), request.format)
         }else if (!apiService.requireParameters(params,response,['xmlBatch'])) {
             return
         }else if(!(fileformat in supportedFormats)){
@@ -3743,10 +3764,10 @@ Each job entry contains:
                         code: 'api.error.jobs.import.missing-file', args: null])
             }
             def file = request.getFile("xmlBatch")
-            parseresult = scheduledExecutionService.parseUploadedFile(file.getInputStream(), fileformat)
+            parseresult = parseInput(file.getInputStream(), fileformat)
         }else if (params.xmlBatch) {
             String fileContent = params.xmlBatch
-            parseresult = scheduledExecutionService.parseUploadedFile(fileContent, fileformat)
+            parseresult = parseInput(fileContent, fileformat)
         }else{
             return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
                     code: 'api.error.jobs.import.missing-file', args: null])
@@ -3760,16 +3781,17 @@ Each job entry contains:
             return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
                     code: 'api.error.jobs.import.invalid', args: [fileformat,parseresult.error]])
         }
-        def jobset = parseresult.jobset
+        def loadresults
+        if (streaming) {
+            loadresults = parseresult
+        } else {
+            def jobset = parseresult.jobset
 
-        jobset.each{it.job.project=params.project}
+            jobset.each{it.job.project=params.project}
 
-        def changeinfo = [user: session.user,method:'apiJobsImport']
-        //nb: loadJobs will get correct project auth context
-        UserAndRolesAuthContext authContext = rundeckAuthContextProcessor.getAuthContextForSubject(session.subject)
-        def option = params.uuidOption
-        def loadresults = scheduledExecutionService.loadImportedJobs(jobset,params.dupeOption, option, changeinfo, authContext,
-                (params?.validateJobref=='true'))
+            loadresults = scheduledExecutionService.loadImportedJobs(jobset,params.dupeOption, option, changeinfo, authContext,
+                    (params?.validateJobref=='true'))
+        }
         scheduledExecutionService.issueJobChangeEvents(loadresults.jobChangeEvents)
 
         def jobs = loadresults.jobs
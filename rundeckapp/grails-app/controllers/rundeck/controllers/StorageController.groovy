@@ -163,7 +163,7 @@ class StorageController extends ControllerBase{
     }
 
     private def renderDirectory(HttpServletRequest request, HttpServletResponse response, Resource resource,
-                                Set<Resource<ResourceMeta>> dirlist) {
+                                Collection<Resource<ResourceMeta>> dirlist) {
         def controller = this
         withFormat {
             '*'  {
@@ -772,14 +772,28 @@ Authorization required: `read` for the `key` resource
 Authorization under the key path `project/{project}` can be granted at the project context.
 ''',
         tags = ['key storage'],
-        parameters = @Parameter(
-            name = 'path',
-            in = ParameterIn.PATH,
-            description = "Path and Key file name. Can be a directory path such as `subdir/` or include a filename `subdir/file.password`",
-            schema=@Schema(type='string'),
-            allowReserved = true,
-            allowEmptyValue = true
-        ),
+        parameters = [
+            @Parameter(
+                name = 'path',
+                in = ParameterIn.PATH,
+                description = "Path and Key file name. Can be a directory path such as `subdir/` or include a filename `subdir/file.password`",
+                schema=@Schema(type='string'),
+                allowReserved = true,
+                allowEmptyValue = true
+            ),
+            @Parameter(
+                name = 'offset',
+                in = ParameterIn.QUERY,
+                description = 'For a directory, the 0-indexed offset of the first result to return. Subdirectories are listed first, then keys, each ordered by name.',
+                schema = @Schema(type = 'integer')
+            ),
+            @Parameter(
+                name = 'max',
+                in = ParameterIn.QUERY,
+                description = 'For a directory, the maximum number of results to return. If unspecified, all results after the offset are returned.',
+                schema = @Schema(type = 'integer')
+            )
+        ],
         responses = [
             @ApiResponse(
             responseCode = "200",
@@ -898,7 +912,9 @@ Authorization under the key path `project/{project}` can be granted at the proje
             def resource = storageService.getResource(authContext, resourcePath)
             if (resource.directory) {
                 //list directory and render resources
-                def dirlist = storageService.listDir(authContext, resourcePath)
+                def dirlist = (null != storageParams.offset || null != storageParams.max) ?
+                    storageService.listDirPage(authContext, resourcePath, storageParams.offset ?: 0, storageParams.max ?: 0) :
+                    storageService.listDir(authContext, resourcePath)
                 return renderDirectory(request, response, resource,dirlist)
             } else {
                 return renderResourceFile(request, response, resource, forceDownload)
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rundeck
+
+import com.dtolabs.rundeck.app.support.DomainIndexHelper
+
+/**
+ * A pending retry of a webhook notification which failed to send, stored so that it can be resumed after a restart
+ */
+class NotificationRetry {
+    String url
+    String format
+    String payload
+    String eventTrigger
+    String status
+    String executionId
+    String httpMethod
+    Integer attempts
+    Date nextAttempt
+    String serverNodeUUID
+
+    Date dateCreated
+    Date lastUpdated
+
+    static constraints = {
+        url maxSize: 2048
+        format nullable: true, maxSize: 255
+        payload nullable: true
+        eventTrigger maxSize: 255
+        status nullable: true, maxSize: 255
+        executionId maxSize: 255
+        httpMethod nullable: true, maxSize: 255
+        serverNodeUUID nullable: true, size: 36..36
+    }
+
+    static mapping = {
+        payload type: 'text'
+        DomainIndexHelper.generate(delegate) {
+            index 'NOTIFICATION_RETRY_IDX_SERVER', ['serverNodeUUID']
+        }
+    }
+}
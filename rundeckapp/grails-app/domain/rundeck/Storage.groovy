@@ -18,6 +18,7 @@ package rundeck
 
 import com.dtolabs.rundeck.app.support.DomainIndexHelper
 import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.commons.codec.digest.DigestUtils
 import org.rundeck.app.data.model.v1.storage.RundeckStorage
 import org.rundeck.storage.api.Path
 import org.rundeck.storage.api.PathUtil
@@ -37,6 +38,10 @@ class Storage implements RundeckStorage{
      * Unique sha1 of namespace+dir+name to prevent duplicate
      */
     String pathSha
+    /**
+     * sha1 of namespace+dir, indexed for listing the contents of a directory
+     */
+    String dirSha
     byte[] data
     Date dateCreated
     Date lastUpdated
@@ -47,11 +52,22 @@ class Storage implements RundeckStorage{
         name(nullable: false, blank: false, maxSize: 1024)
         dir(nullable: true, blank: true, maxSize: 2048)
         pathSha(nullable: false, blank: false, size: 40..40, unique: true)
+        dirSha(nullable: true, blank: false, size: 40..40)
+    }
+
+    /**
+     * @param namespace namespace
+     * @param path path string
+     * @return sha1 of the namespace and path, used to look up entries by directory
+     */
+    static String shaForPath(String namespace, String path) {
+        DigestUtils.sha1Hex((namespace ?: '') + ':' + (path ?: ''))
     }
 
     private void setupSha() {
         dir = dir ?: ''
         pathSha = ((namespace ?: '') + ':' + getPath().path).encodeAsSHA1()
+        dirSha = shaForPath(namespace, dir)
     }
     def beforeInsert() {
         setupSha()
@@ -74,6 +90,7 @@ class Storage implements RundeckStorage{
 
         DomainIndexHelper.generate(delegate) {
             index 'STORAGE_IDX_NAMESPACE', ['namespace']
+            index 'STORAGE_IDX_DIR_SHA', ['dirSha']
         }
     }
     //ignore fake property 'storageMeta' and 'path' and do not store it
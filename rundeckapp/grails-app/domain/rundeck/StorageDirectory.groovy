@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rundeck
+
+import com.dtolabs.rundeck.app.support.DomainIndexHelper
+import org.rundeck.storage.api.Path
+import org.rundeck.storage.api.PathUtil
+
+/**
+ * Index of the directories containing {@link Storage} entries, with one row for each directory and its parent
+ * directory, so that the subdirectories of a directory can be listed without scanning the storage contents. The index
+ * is maintained by the storage data provider, in the same transaction as the storage entry write.
+ */
+class StorageDirectory {
+    String namespace
+    /**
+     * parent directory path
+     */
+    String dir
+    String name
+    /**
+     * sha1 of namespace+dir, same as {@link Storage#dirSha} for entries in the parent directory
+     */
+    String dirSha
+    /**
+     * sha1 of namespace+dir+name, same as {@link Storage#dirSha} for entries in this directory
+     */
+    String pathSha
+
+    static constraints = {
+        namespace(nullable: true, blank: true, size: 0..255)
+        name(nullable: false, blank: false, maxSize: 1024)
+        dir(nullable: true, blank: true, maxSize: 2048)
+        dirSha(nullable: false, blank: false, size: 40..40)
+        pathSha(nullable: false, blank: false, size: 40..40)
+    }
+
+    static mapping = {
+        id name: 'pathSha', generator: 'assigned'
+        version false
+        dir type: 'string'
+        name type: 'string'
+
+        DomainIndexHelper.generate(delegate) {
+            index 'STORAGE_DIR_IDX_DIR_SHA', ['dirSha']
+        }
+    }
+
+    static transients = ['path']
+
+    private void setupSha() {
+        dir = dir ?: ''
+        dirSha = Storage.shaForPath(namespace, dir)
+        pathSha = Storage.shaForPath(namespace, getPath().path)
+    }
+
+    def beforeValidate() {
+        setupSha()
+    }
+
+    def beforeInsert() {
+        setupSha()
+    }
+
+    Path getPath() {
+        return PathUtil.asPath((dir ? (dir + '/') : '') + name)
+    }
+
+    /**
+     * Add index entries for the directory and its parents, if they do not exist. The nearest existing directory is
+     * locked, so that it cannot be pruned before the transaction completes.
+     * @param ns namespace
+     * @param dir directory path
+     */
+    static void indexDirectory(String ns, String dir) {
+        List<String> missing = []
+        String current = dir ?: ''
+        while (current && !lockDirectory(ns, current)) {
+            missing << current
+            current = PathUtil.parentPathString(current)
+        }
+        missing.reverse().each { String path ->
+            forPath(ns, path).save(insert: true, flush: true)
+        }
+    }
+
+    /**
+     * Remove index entries for the directory and its parents, if they are empty. Each directory is locked before it
+     * is checked, so that a concurrent write of an entry within it is seen.
+     * @param ns namespace
+     * @param dir directory path
+     */
+    static void pruneDirectory(String ns, String dir) {
+        String current = dir ?: ''
+        while (current) {
+            StorageDirectory entry = lockDirectory(ns, current)
+            if (!entry || Storage.countByDirSha(entry.pathSha) > 0 || countByDirSha(entry.pathSha) > 0) {
+                return
+            }
+            entry.delete(flush: true)
+            current = PathUtil.parentPathString(current)
+        }
+    }
+
+    private static StorageDirectory lockDirectory(String ns, String path) {
+        String sha = Storage.shaForPath(ns, path)
+        createCriteria().get {
+            eq('pathSha', sha)
+            lock(true)
+        } as StorageDirectory
+    }
+
+    /**
+     * @param namespace namespace
+     * @param path directory path
+     * @return new directory entry for the path
+     */
+    static StorageDirectory forPath(String namespace, String path) {
+        def path1 = PathUtil.asPath(path)
+        new StorageDirectory(namespace: namespace, dir: PathUtil.parentPathString(path1.path), name: path1.name)
+    }
+}
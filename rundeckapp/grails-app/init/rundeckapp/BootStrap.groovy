@@ -51,6 +51,7 @@ class BootStrap {
     def grailsApplication
     def scheduledExecutionService
     def executionService
+    def executionSupervisorService
     def executionUtilService
     def frameworkService
     def workflowService
@@ -396,6 +397,9 @@ class BootStrap {
         metricRegistry.register(MetricRegistry.name("rundeck.scheduler.quartz","threadPoolSize"),new CallableGauge<Integer>({
             quartzScheduler.getMetaData().threadPoolSize
         }))
+        metricRegistry.register(MetricRegistry.name("rundeck.scheduler.supervisor","runningExecutions"),new CallableGauge<Integer>({
+            executionSupervisorService.runningCount
+        }))
         def counter = metricRegistry.counter(MetricRegistry.name("rundeck.scheduler.quartz", "scheduledJobs"))
         quartzScheduler.getListenerManager().addSchedulerListener(new MetricsSchedulerListener(counter))
 
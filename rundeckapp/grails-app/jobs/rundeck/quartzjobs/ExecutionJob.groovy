@@ -23,6 +23,7 @@ import com.dtolabs.rundeck.core.authorization.UserAndRolesAuthContext
 import com.dtolabs.rundeck.core.common.IFramework
 import com.dtolabs.rundeck.core.dispatcher.DataContextUtils
 import com.dtolabs.rundeck.core.dispatcher.ExecutionState
+import com.dtolabs.rundeck.core.execution.ServiceThreadBase
 import com.dtolabs.rundeck.core.execution.WorkflowExecutionServiceThread
 import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionResult
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult
@@ -40,6 +41,7 @@ import rundeck.Execution
 import rundeck.ScheduledExecution
 import rundeck.data.util.OptionsParserUtil
 import rundeck.services.*
+import rundeck.services.execution.SupervisedExecution
 import rundeck.services.execution.ThresholdValue
 import rundeck.services.logging.LoggingThreshold
 
@@ -54,6 +56,7 @@ class ExecutionJob implements InterruptableJob {
     public static final long DEFAULT_STATS_RETRY_DELAY = 1000
     public static final int DEFAULT_FINALIZE_RETRY_MAX = 10
     public static final long DEFAULT_FINALIZE_RETRY_DELAY = 5000
+    public static final int KILL_LIMIT = 100
 
     /**
      * max retry count for updating Job stats when execution completes
@@ -74,9 +77,9 @@ class ExecutionJob implements InterruptableJob {
      * millisecond delay between retries to finalize execution state
      */
     long finalizeRetryDelay = DEFAULT_FINALIZE_RETRY_DELAY
-    def boolean wasInterrupted
-    def boolean wasThreshold
-    def boolean wasTimeout
+    volatile boolean wasInterrupted
+    volatile boolean wasThreshold
+    volatile boolean wasTimeout
     GrailsApplication grailsApplication
     Long executionId
     static triggers = {
@@ -119,7 +122,6 @@ class ExecutionJob implements InterruptableJob {
     }
 
     void execute_internal(JobExecutionContext context) {
-        boolean success=false
         RunContext initMap
         try{
             initMap= initialize(context,context.jobDetail.jobDataMap)
@@ -155,16 +157,33 @@ class ExecutionJob implements InterruptableJob {
             return
         }
         RunResult result = null
-        def statusString=null
         try {
             if(!wasInterrupted){
-                result = executeCommand(initMap)
-                success=result.success
-                statusString=Execution.isCustomStatusString(result.result?.statusString)?result.result?.statusString:null
+                RunMonitor monitor = beginCommand(initMap)
+                if (!monitor) {
+                    result = new RunResult(success: false)
+                } else if (superviseCommand(context, initMap, monitor)) {
+                    //the supervisor will finish the execution when the workflow thread completes
+                    return
+                } else {
+                    result = waitForCommand(initMap, monitor)
+                }
             }
         }catch(Throwable t){
             log.error("Failed execution ${initMap.execution.id} : ${t.message?t.message:'no message'}",t)
         }
+        finishRun(context, initMap, result)
+    }
+
+    /**
+     * Save the final state of the execution
+     * @param context quartz job context
+     * @param initMap run context
+     * @param result result of the command, or null if it failed
+     */
+    void finishRun(JobExecutionContext context, RunContext initMap, RunResult result) {
+        boolean success = result?.success ?: false
+        def statusString = Execution.isCustomStatusString(result?.result?.statusString) ? result.result.statusString : null
         saveState(
                 context.jobDetail.jobDataMap,
                 initMap.executionService,
@@ -203,6 +222,7 @@ class ExecutionJob implements InterruptableJob {
         AuthContextProvider authContextProvider
         JobSchedulesService jobSchedulesService
         JobSchedulerService jobSchedulerService
+        ExecutionSupervisorService executionSupervisorService
         long timeout
         Execution execution
         IFramework framework
@@ -242,6 +262,7 @@ class ExecutionJob implements InterruptableJob {
         initMap.authContextProvider = requireEntry(jobDataMap, "authContextProvider", AuthContextProvider)
         initMap.jobSchedulesService = requireEntry(jobDataMap, "jobSchedulesService", JobSchedulesService)
         initMap.jobSchedulerService = requireEntry(jobDataMap, "jobSchedulerService", JobSchedulerService)
+        initMap.executionSupervisorService = getEntry(jobDataMap, "executionSupervisorService", ExecutionSupervisorService)
         initMap.frameworkService = frameworkService
         initMap.framework = frameworkService.rundeckFramework
         if (initMap.scheduledExecution?.timeout){
@@ -366,9 +387,76 @@ class ExecutionJob implements InterruptableJob {
         ExecutionService.AsyncStarted execmap
         WorkflowExecutionResult result
     }
+    /**
+     * State of a running command, checked periodically until the workflow thread completes
+     */
+    @CompileStatic
+    static class RunMonitor{
+        ExecutionService.AsyncStarted execmap
+        long startTime
+        long timeoutms
+        long avgDurationThreshold
+        boolean avgNotificationSent
+        boolean stop
+        boolean success = true
+        int killcount
+    }
+
+    /**
+     * Execution handed off to the ExecutionSupervisorService
+     */
+    @CompileStatic
+    static class SupervisedRun implements SupervisedExecution{
+        ExecutionJob job
+        JobExecutionContext context
+        RunContext runContext
+        RunMonitor monitor
+
+        @Override
+        ServiceThreadBase getThread() {
+            monitor.execmap.thread
+        }
+
+        @Override
+        void check() {
+            //called by the supervisor threads, which have no session
+            Execution.withNewSession {
+                job.checkCommand(runContext, monitor)
+            }
+        }
+
+        @Override
+        void interrupt() {
+            job.interrupt()
+        }
+
+        @Override
+        void complete() {
+            job.completeSupervised(context, runContext, monitor)
+        }
+    }
+
+    /**
+     * Start the command and wait for it to complete
+     * @param runContext run context
+     * @return result
+     */
     @CompileStatic
     RunResult executeCommand(RunContext runContext) {
-        def success = true
+        RunMonitor monitor = beginCommand(runContext)
+        if (!monitor) {
+            return new RunResult(success: false)
+        }
+        return waitForCommand(runContext, monitor)
+    }
+
+    /**
+     * Start the command
+     * @param runContext run context
+     * @return monitor for the running command, or null if it failed to start
+     */
+    @CompileStatic
+    RunMonitor beginCommand(RunContext runContext) {
         ExecutionService.AsyncStarted execmap
         try {
             execmap = runContext.executionService.executeAsyncBegin(
@@ -386,16 +474,13 @@ class ExecutionJob implements InterruptableJob {
         }
         if (!execmap) {
             //failed to start
-            return new RunResult(success: false)
+            return null
         }
-        def timeoutms = 1000 * runContext.timeout
-        def shouldCheckTimeout = timeoutms > 0
-        long startTime = System.currentTimeMillis()
-        int killcount = 0;
-        def killLimit = 100
-        def WorkflowExecutionServiceThread thread = execmap.thread
-        def Consumer<Long> periodicCheck = execmap.periodicCheck
-        def ThresholdValue threshold = execmap.threshold
+        def monitor = new RunMonitor(
+            execmap: execmap,
+            timeoutms: 1000 * runContext.timeout,
+            startTime: System.currentTimeMillis()
+        )
         long jobAverageDuration=0
         if(runContext.scheduledExecution){
             ScheduledExecution.withTransaction {
@@ -403,17 +488,45 @@ class ExecutionJob implements InterruptableJob {
             }
         }
 
+        monitor.avgDurationThreshold = getNotifyAvgDurationThreshold(
+            runContext.scheduledExecution?.notifyAvgDurationThreshold?:"0",
+            jobAverageDuration,
+            execmap.thread?.context?.dataContext
+        )
+        return monitor
+    }
 
-        def boolean avgNotificationSent = false
-        def boolean stop=false
-
-
-        def jobAverageDurationFinal = getNotifyAvgDurationThreshold(runContext.scheduledExecution?.notifyAvgDurationThreshold?:"0",
-                                                                    jobAverageDuration,
-                                                                    thread?.context?.dataContext
-                                    )
+    /**
+     * Hand off the running command to the execution supervisor if it is enabled
+     * @return true if the command is supervised
+     */
+    @CompileStatic
+    boolean superviseCommand(JobExecutionContext context, RunContext runContext, RunMonitor monitor) {
+        def supervisor = runContext.executionSupervisorService
+        if (!supervisor?.enabled) {
+            return false
+        }
+        try {
+            runContext.executionService.releaseThreadStreams(monitor.execmap)
+            supervisor.supervise(
+                executionId,
+                context,
+                new SupervisedRun(job: this, context: context, runContext: runContext, monitor: monitor)
+            )
+            return true
+        } catch (Throwable t) {
+            log.error("Execution ${executionId} could not be supervised, waiting for it to complete: ${t.message}", t)
+            return false
+        }
+    }
 
-        def context = execmap?.thread?.context
+    /**
+     * Wait for the command to complete in the current thread, performing the periodic checks
+     * @return result
+     */
+    @CompileStatic
+    RunResult waitForCommand(RunContext runContext, RunMonitor monitor) {
+        def WorkflowExecutionServiceThread thread = monitor.execmap.thread
         boolean never=true
         while (thread.isAlive() || never) {
             never=false
@@ -422,50 +535,71 @@ class ExecutionJob implements InterruptableJob {
             } catch (InterruptedException e) {
                 //do nada
             }
-            def duration = System.currentTimeMillis() - startTime
-            if(!avgNotificationSent && jobAverageDurationFinal>0){
-                if(duration > jobAverageDurationFinal){
-                    runContext.executionService.avgDurationExceeded(
-                            execmap.scheduledExecution.uuid,
-                            [
-                                    execution: execmap.execution,
-                                    context:context
-                            ]
-                    )
-                    avgNotificationSent=true
-                }
-            }
-            periodicCheck?.accept(duration)
-            if (
-            !wasInterrupted
-                    && !wasTimeout
-                    && shouldCheckTimeout
-                    && duration > timeoutms
-            ) {
-                wasTimeout = true
-                interrupt()
-                success=false
-            }else if(threshold && threshold.isThresholdExceeded()){
-                if(threshold.action == LoggingThreshold.ACTION_HALT) {
-                    wasThreshold = true
-                    success = false
-                    stop = true
-                }
-            }
-            if (wasInterrupted || stop) {
-                if (killcount < killLimit) {
-                    //send wave after wave
-                    thread.abort()
-                    Thread.yield();
-                    killcount++;
-                } else {
-                    //reached pre-set kill limit, so shut down
-                    thread.stop()
-                }
-            }
+            checkCommand(runContext, monitor)
         }
+        return endCommand(runContext, monitor)
+    }
 
+    /**
+     * Perform the periodic checks for the running command: average duration notification, log checkpoint, timeout,
+     * and log output threshold, and abort the thread if it was interrupted
+     */
+    @CompileStatic
+    void checkCommand(RunContext runContext, RunMonitor monitor) {
+        def execmap = monitor.execmap
+        def WorkflowExecutionServiceThread thread = execmap.thread
+        def ThresholdValue threshold = execmap.threshold
+        def duration = System.currentTimeMillis() - monitor.startTime
+        if(!monitor.avgNotificationSent && monitor.avgDurationThreshold>0){
+            if(duration > monitor.avgDurationThreshold){
+                runContext.executionService.avgDurationExceeded(
+                        execmap.scheduledExecution.uuid,
+                        [
+                                execution: execmap.execution,
+                                context:thread?.context
+                        ]
+                )
+                monitor.avgNotificationSent=true
+            }
+        }
+        execmap.periodicCheck?.accept(duration)
+        if (
+        !wasInterrupted
+                && !wasTimeout
+                && monitor.timeoutms > 0
+                && duration > monitor.timeoutms
+        ) {
+            wasTimeout = true
+            interrupt()
+            monitor.success=false
+        }else if(threshold && threshold.isThresholdExceeded()){
+            if(threshold.action == LoggingThreshold.ACTION_HALT) {
+                wasThreshold = true
+                monitor.success = false
+                monitor.stop = true
+            }
+        }
+        if (wasInterrupted || monitor.stop) {
+            if (monitor.killcount < KILL_LIMIT) {
+                //send wave after wave
+                thread.abort()
+                Thread.yield();
+                monitor.killcount++;
+            } else {
+                //reached pre-set kill limit, so shut down
+                thread.stop()
+            }
+        }
+    }
 
+    /**
+     * Finish the command after the workflow thread has completed
+     * @return result
+     */
+    @CompileStatic
+    RunResult endCommand(RunContext runContext, RunMonitor monitor) {
+        def execmap = monitor.execmap
+        def WorkflowExecutionServiceThread thread = execmap.thread
         Retried retried = withRetry(
             finalizeRetryMax,
             finalizeRetryDelay,
@@ -480,16 +614,39 @@ class ExecutionJob implements InterruptableJob {
         }
 
         log.debug(
-                "ExecutionJob: execution successful? " + (success && thread.isSuccessful()) +
+                "ExecutionJob: execution successful? " + (monitor.success && thread.isSuccessful()) +
                         ", interrupted? " +
                         wasInterrupted +
                         ", " +
                         "timeout? " +
                         wasTimeout
-                        +" threshold? "+threshold
+                        +" threshold? "+execmap.threshold
         )
 
-        return new RunResult(success: success && thread.isSuccessful(), execmap: execmap, result: thread.result)
+        return new RunResult(success: monitor.success && thread.isSuccessful(), execmap: execmap, result: thread.result)
+    }
+
+    /**
+     * Finish a supervised command after the workflow thread has completed, called by the execution supervisor
+     */
+    void completeSupervised(JobExecutionContext context, RunContext runContext, RunMonitor monitor) {
+        Execution.withNewSession {
+            //the session of the quartz job which started the execution has been closed
+            runContext.execution = Execution.get(executionId) ?: runContext.execution
+            monitor.execmap.execution = runContext.execution
+            if (runContext.scheduledExecution) {
+                runContext.scheduledExecution = ScheduledExecution.get(runContext.scheduledExecution.id) ?:
+                                                runContext.scheduledExecution
+                monitor.execmap.scheduledExecution = runContext.scheduledExecution
+            }
+            RunResult result = null
+            try {
+                result = endCommand(runContext, monitor)
+            } catch (Throwable t) {
+                log.error("Failed execution ${executionId} : ${t.message ? t.message : 'no message'}", t)
+            }
+            finishRun(context, runContext, result)
+        }
     }
     /**
      * Execute a closure and if a throwable is thrown, retry a specified number of times with intermediate thread sleep
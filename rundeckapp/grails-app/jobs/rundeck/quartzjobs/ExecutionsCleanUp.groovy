@@ -2,10 +2,12 @@ package rundeck.quartzjobs
 
 import com.dtolabs.rundeck.app.support.ExecutionQuery
 import org.apache.commons.io.FileUtils
+import org.grails.plugins.metricsweb.MetricService
 import org.quartz.InterruptableJob
 import org.quartz.JobExecutionContext
 import org.quartz.JobExecutionException
 import org.quartz.UnableToInterruptJobException
+import org.rundeck.app.data.providers.DBReferencedExecutionSupport
 import org.rundeck.app.data.providers.v1.execution.ReferencedExecutionDataProvider
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -13,9 +15,27 @@ import rundeck.Execution
 import rundeck.services.*
 import rundeck.services.jobs.ResolvedAuthJobService
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.function.Supplier
+
 class ExecutionsCleanUp implements InterruptableJob {
     static Logger logger = LoggerFactory.getLogger(ExecutionsCleanUp)
     boolean wasInterrupted
+    /**
+     * Number of executions deleted together, with a single statement per related table
+     */
+    int deleteBatchSize = 100
+    /**
+     * Max seconds spent deleting executions per run, the remaining ones are deleted in the next run. 0 for no limit
+     */
+    int maxRuntime = 0
+    /**
+     * Number of threads deleting local execution files
+     */
+    int fileDeleteThreads = 4
+    MetricService metricService
 
     void interrupt() throws UnableToInterruptJobException {
         wasInterrupted = true
@@ -40,6 +60,12 @@ class ExecutionsCleanUp implements InterruptableJob {
         logger.info("Minimum executions to keep: ${minimumExecutionToKeep}")
         logger.info("Maximum size of deletions: ${maximumDeletionSize ?: '500 (default)'}")
 
+        deleteBatchSize = Math.max(1, intValue(context.jobDetail.jobDataMap.get('deleteBatchSize'), deleteBatchSize))
+        maxRuntime = intValue(context.jobDetail.jobDataMap.get('maxRuntime'), maxRuntime)
+        fileDeleteThreads = Math.max(1, intValue(context.jobDetail.jobDataMap.get('fileDeleteThreads'), fileDeleteThreads))
+        def ms = context.jobDetail.jobDataMap.get('metricService')
+        metricService = ms instanceof MetricService ? ms : null
+
         ExecutionService executionService = fetchExecutionService(context.jobDetail.jobDataMap)
         FileUploadService fileUploadService = fetchFileUploadService(context.jobDetail.jobDataMap)
         LogFileStorageService logFileStorageService = fetchLogFileStorageService(context.jobDetail.jobDataMap)
@@ -58,25 +84,196 @@ class ExecutionsCleanUp implements InterruptableJob {
     private Map deleteBulkExecutionIds(List<Long> execs, FileUploadService fileUploadService,
                                 LogFileStorageService logFileStorageService, ReferencedExecutionDataProvider referencedExecutionDataProvider, ReportService reportService) {
         def failures=[]
-        def failed=false
         def count=0
+        def skipped=0
+        long deadline = maxRuntime > 0 ? System.currentTimeMillis() + maxRuntime * 1000L : 0
+        List<Long> ids = []
         for (Long exec : execs) {
-            def result
             if (!exec) {
-                result = [success: false, message: 'Execution Not found: ' + exec, id: exec]
+                failures << [success: false, message: 'Execution Not found: ' + exec, id: exec]
             } else {
-                result = deleteExecution(exec, fileUploadService, logFileStorageService, referencedExecutionDataProvider, reportService)
-                result.id = exec
+                ids << exec
+            }
+        }
+        ExecutorService fileDeleteExecutor = Executors.newFixedThreadPool(fileDeleteThreads)
+        List<CompletableFuture<Map>> fileDeletes = []
+        try {
+            List<List<Long>> batches = ids.collate(deleteBatchSize)
+            for (int i = 0; i < batches.size(); i++) {
+                if (wasInterrupted || deadline && System.currentTimeMillis() > deadline) {
+                    skipped = batches.drop(i).sum { it.size() } as int
+                    logger.info(
+                        "${wasInterrupted ? 'Interrupted' : 'Max runtime reached'}, ${skipped} executions will be deleted in the next run"
+                    )
+                    break
+                }
+                Map result = deleteExecutionBatch(batches[i], fileUploadService, logFileStorageService, referencedExecutionDataProvider, reportService)
+                count += result.successTotal
+                failures.addAll(result.failures)
+                List<File> files = result.files
+                if (files) {
+                    fileDeletes << CompletableFuture.supplyAsync({ deleteFiles(files) } as Supplier<Map>, fileDeleteExecutor)
+                }
+            }
+            int deletedFiles = 0
+            long deletedBytes = 0
+            fileDeletes.each { future ->
+                Map deleted = future.join()
+                deletedFiles += deleted.count
+                deletedBytes += deleted.bytes
+            }
+            logger.info("Deleted ${deletedFiles} execution files, ${deletedBytes} bytes reclaimed")
+            metricService?.counter(this.class.name + '.cleanup', 'executionsDeleted')?.inc(count)
+            metricService?.counter(this.class.name + '.cleanup', 'filesDeleted')?.inc(deletedFiles)
+            metricService?.counter(this.class.name + '.cleanup', 'bytesReclaimed')?.inc(deletedBytes)
+        } finally {
+            fileDeleteExecutor.shutdown()
+        }
+
+        return [success:!failures, failures:failures, successTotal:count, skippedTotal: skipped]
+    }
+
+    /**
+     * Delete a batch of executions in one transaction. Referenced executions and reports are deleted with a single
+     * delete per table, job file records are found with one query and deleted individually. Removal of the stored
+     * files is requested after the transaction commits. If the batch fails the executions are deleted individually.
+     * @return map with successTotal, failures, and the local files to delete
+     */
+    private Map deleteExecutionBatch(List<Long> execIds, FileUploadService fileUploadService, LogFileStorageService logFileStorageService, ReferencedExecutionDataProvider referencedExecutionDataProvider, ReportService reportService) {
+        def failures = []
+        List<Execution> execs = []
+        List<File> files = []
+        try {
+            Map<Long, Execution> found = Execution.findAllByIdInList(execIds).collectEntries { [it.id, it] }
+            for (Long execId : execIds) {
+                Execution e = found[execId]
+                if (!e) {
+                    failures << [error: 'failure', message: "Failed to delete execution {{Execution ${execId}}}: not found", success: false, id: execId]
+                } else if (e.dateCompleted == null && e.dateStarted != null) {
+                    failures << [error: 'running', message: "Failed to delete execution {{Execution ${e.id}}}: The execution is currently running", success: false, id: execId]
+                } else {
+                    execs << e
+                }
             }
-            if(!result.success){
-                failed=true
-                failures<<result
-            }else{
+            if (!execs) {
+                return [successTotal: 0, failures: failures, files: files]
+            }
+            Map<Execution, Collection<String>> filetypes = [:]
+            execs.each { e ->
+                filetypes[e] = executionFiletypes(e, logFileStorageService)
+                files.addAll(collectExecutionFiles(e, filetypes[e], logFileStorageService))
+            }
+            Execution.withTransaction {
+                List<Long> deleteIds = execs*.id
+                if (referencedExecutionDataProvider instanceof DBReferencedExecutionSupport) {
+                    ((DBReferencedExecutionSupport) referencedExecutionDataProvider).deleteByExecutionIds(deleteIds)
+                } else {
+                    deleteIds.each { referencedExecutionDataProvider.deleteByExecutionId(it) }
+                }
+                //delete all reports
+                reportService.deleteByExecutions(execs)
+                //delete all job file records
+                fileUploadService.deleteRecordsForExecutions(execs)
+                //find executions that are a retry for these
+                Execution.findAllByRetryExecutionInList(execs).each { e2 ->
+                    e2.retryExecution = null
+                }
+                execs.each { it.delete() }
+                Execution.withSession { it.flush() }
+            }
+            filetypes.each { e, types ->
+                removeStoredFiles(e, types, logFileStorageService)
+            }
+            logger.info("Deleted executions: ${execs*.id}")
+            return [successTotal: execs.size(), failures: failures, files: files]
+        } catch (Exception ex) {
+            logger.warn("Failed to delete executions ${execIds} in batch, deleting individually: ${ex.message}")
+            logger.debug("Failed to delete executions in batch", ex)
+            Execution.withSession { it.clear() }
+        }
+        def count = 0
+        failures = []
+        for (Long execId : execIds) {
+            Map result = deleteExecution(execId, fileUploadService, logFileStorageService, referencedExecutionDataProvider, reportService)
+            if (result.success) {
                 count++
+            } else {
+                result.id = execId
+                failures << result
             }
         }
+        return [successTotal: count, failures: failures, files: []]
+    }
 
-        return [success:!failed, failures:failures, successTotal:count]
+    private Collection<String> executionFiletypes(Execution e, LogFileStorageService logFileStorageService) {
+        logFileStorageService.getExecutionFiles(e, [], false)?.keySet() ?: []
+    }
+
+    /**
+     * Collect the local files of the execution
+     * @return local files to delete
+     */
+    private List<File> collectExecutionFiles(
+            Execution e,
+            Collection<String> filetypes,
+            LogFileStorageService logFileStorageService
+    ) {
+        List<File> files = []
+        filetypes.each { ftype ->
+
+            def localFile = logFileStorageService.getFileForExecutionFiletype(e, ftype, false, false)
+            if (null != localFile && localFile.exists()) {
+                files << localFile
+            }
+
+            def partialFile = logFileStorageService.getFileForExecutionFiletype(e, ftype, false, true)
+            if (null != partialFile && partialFile.exists()) {
+                files << partialFile
+            }
+        }
+        files
+    }
+
+    /**
+     * Request removal of the remote log files of a deleted execution, and stop tracking its retrieved files. Errors are
+     * logged, as the execution is already deleted.
+     */
+    private void removeStoredFiles(
+            Execution e,
+            Collection<String> filetypes,
+            LogFileStorageService logFileStorageService
+    ) {
+        filetypes.each { ftype ->
+            try {
+                logFileStorageService.removeRetrievedFile(e, ftype)
+
+                def resultDeleteRemote = logFileStorageService.removeRemoteLogFile(e, ftype)
+                if(!resultDeleteRemote.started){
+                    logger.debug(resultDeleteRemote.error)
+                }
+            } catch (Exception ex) {
+                logger.warn("Failed to remove stored ${ftype} file of deleted execution ${e.id}: ${ex.message}")
+            }
+        }
+    }
+
+    /**
+     * Delete the files
+     * @return map with count of deleted files, and bytes reclaimed
+     */
+    private Map deleteFiles(List<File> files) {
+        def count = 0
+        long bytes = 0
+        files.each { file ->
+            long length = file.length()
+            if (!FileUtils.deleteQuietly(file)) {
+                logger.warn("Failed to delete execution file: ${file.absolutePath}")
+            } else {
+                count++
+                bytes += length
+            }
+        }
+        [count: count, bytes: bytes]
     }
 
     private Map deleteExecution(Long execId, FileUploadService fileUploadService, LogFileStorageService logFileStorageService, ReferencedExecutionDataProvider referencedExecutionDataProvider, ReportService reportService){
@@ -92,29 +289,8 @@ class ExecutionsCleanUp implements InterruptableJob {
 
             //delete all reports
             reportService.deleteByExecution(e)
-            def executionFiles = logFileStorageService.getExecutionFiles(e, [], false)
-
-            List<File> files = []
-            def execs = []
-            //aggregate all files to delete
-            execs << e
-            executionFiles.each { ftype, executionFile ->
-
-                def localFile = logFileStorageService.getFileForExecutionFiletype(e, ftype, false, false)
-                if (null != localFile && localFile.exists()) {
-                    files << localFile
-                }
-
-                def partialFile = logFileStorageService.getFileForExecutionFiletype(e, ftype, false, true)
-                if (null != partialFile && partialFile.exists()) {
-                    files << partialFile
-                }
-
-                def resultDeleteRemote = logFileStorageService.removeRemoteLogFile(e, ftype)
-                if(!resultDeleteRemote.started){
-                    logger.debug(resultDeleteRemote.error)
-                }
-            }
+            Collection<String> filetypes = executionFiletypes(e, logFileStorageService)
+            List<File> files = collectExecutionFiles(e, filetypes, logFileStorageService)
             //delete all job file records
             fileUploadService.deleteRecordsForExecution(e)
 
@@ -125,6 +301,7 @@ class ExecutionsCleanUp implements InterruptableJob {
                 e2.retryExecution=null
             }
             e.delete(flush: true)
+            removeStoredFiles(e, filetypes, logFileStorageService)
             //delete all files
             def deletedfiles = 0
             files.each { file ->
@@ -263,8 +440,9 @@ class ExecutionsCleanUp implements InterruptableJob {
                     }
                 }
                 Integer successTotal = (Integer) result.get("successTotal")
+                Integer skippedTotal = (Integer) result.get("skippedTotal")
                 logger.info("Deleted ${successTotal} of ${collectedExecutions.size()} executions")
-                if(successTotal<collectedExecutions.size()){
+                if(successTotal + skippedTotal < collectedExecutions.size()){
                     logger.error("Some executions weren't deleted")
                 }
                 return successTotal
@@ -273,6 +451,10 @@ class ExecutionsCleanUp implements InterruptableJob {
         return 0
     }
 
+    private static int intValue(def value, int defval) {
+        value ? Integer.parseInt(value.toString()) : defval
+    }
+
     private ExecutionService fetchExecutionService(def jobDataMap) {
         def es = jobDataMap.get("executionService")
         if (es==null) {
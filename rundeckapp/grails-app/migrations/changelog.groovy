@@ -117,4 +117,6 @@ databaseChangeLog = {
         include file: 'core/DBChangelogPrimaryKey.groovy'
         include file: 'core/BaseReportSpi.groovy'
         include file: 'core/RemoveFilters-5.0.groovy'
+        include file: 'core/StorageDirectory.groovy'
+        include file: 'core/NotificationRetry.groovy'
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+databaseChangeLog = {
+
+    changeSet(author: "rundeckdev", id: "create-notification-retry") {
+        preConditions(onFail: "MARK_RAN") {
+            not {
+                tableExists(tableName: "notification_retry")
+            }
+        }
+
+        createTable(tableName: "notification_retry") {
+            column(autoIncrement: "true", name: "id", type: '${number.type}') {
+                constraints(nullable: "false", primaryKey: "true", primaryKeyName: "notification_retryPK")
+            }
+
+            column(name: "version", type: '${number.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "url", type: '${varchar2048.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "format", type: '${varchar255.type}')
+
+            column(name: "payload", type: '${text.type}')
+
+            column(name: "event_trigger", type: '${varchar255.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "status", type: '${varchar255.type}')
+
+            column(name: "execution_id", type: '${varchar255.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "http_method", type: '${varchar255.type}')
+
+            column(name: "attempts", type: '${int.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "next_attempt", type: '${timestamp.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "server_nodeuuid", type: '${varchar36.type}')
+
+            column(name: "date_created", type: '${timestamp.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "last_updated", type: '${timestamp.type}') {
+                constraints(nullable: "false")
+            }
+        }
+    }
+
+    changeSet(author: "rundeckdev", id: "create-notification-retry-server-index") {
+        preConditions(onFail: "MARK_RAN") {
+            not {
+                indexExists(tableName: "notification_retry", indexName: "NOTIFICATION_RETRY_IDX_SERVER")
+            }
+        }
+        createIndex(indexName: "NOTIFICATION_RETRY_IDX_SERVER", tableName: "notification_retry") {
+            column(name: "server_nodeuuid")
+        }
+    }
+}
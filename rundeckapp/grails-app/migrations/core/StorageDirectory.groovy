@@ -0,0 +1,103 @@
+import org.apache.commons.codec.digest.DigestUtils
+
+databaseChangeLog = {
+    changeSet(author: "rundeckdev", id: "add-storage-dir-sha") {
+        preConditions(onFail: "MARK_RAN") {
+            not {
+                columnExists(tableName: "storage", columnName: 'dir_sha')
+            }
+        }
+        addColumn(tableName: "storage") {
+            column(name: 'dir_sha', type: '${varchar40.type}')
+        }
+    }
+
+    changeSet(author: "rundeckdev", id: "create-storage-directory") {
+        preConditions(onFail: "MARK_RAN") {
+            not {
+                tableExists(tableName: "storage_directory")
+            }
+        }
+        createTable(tableName: "storage_directory") {
+            column(name: "path_sha", type: '${varchar40.type}') {
+                constraints(nullable: "false", primaryKey: "true", primaryKeyName: "storage_directoryPK")
+            }
+
+            column(name: "namespace", type: '${varchar255.type}')
+
+            column(name: "dir", type: '${varchar2048.type}')
+
+            column(name: "name", type: '${varchar1024.type}') {
+                constraints(nullable: "false")
+            }
+
+            column(name: "dir_sha", type: '${varchar40.type}') {
+                constraints(nullable: "false")
+            }
+        }
+    }
+
+    changeSet(author: "rundeckdev", id: "populate-storage-directory") {
+        preConditions(onFail: "MARK_RAN") {
+            tableExists(tableName: "storage")
+            tableExists(tableName: "storage_directory")
+        }
+        grailsChange {
+            change {
+                def sha = { String ns, String path -> DigestUtils.sha1Hex((ns ?: '') + ':' + (path ?: '')) }
+                def entries = []
+                sql.eachRow("select distinct namespace, dir from storage") { row ->
+                    entries << [row.namespace as String, (row.dir ?: '') as String]
+                }
+                def directories = new HashMap<String, List<String>>()
+                entries.each { List<String> entry ->
+                    String ns = entry[0]
+                    String dir = entry[1]
+                    def nsCondition = ns == null ? 'namespace is null' : 'namespace = ?'
+                    def dirCondition = dir ? 'dir = ?' : "(dir is null or dir = '')"
+                    def params = [sha(ns, dir)]
+                    if (ns != null) {
+                        params << ns
+                    }
+                    if (dir) {
+                        params << dir
+                    }
+                    sql.executeUpdate("update storage set dir_sha = ? where ${nsCondition} and ${dirCondition}".toString(), params)
+
+                    def parts = dir ? dir.split('/') : new String[0]
+                    for (int i = parts.length; i > 0; i--) {
+                        def path = parts[0..<i].join('/')
+                        def pathSha = sha(ns, path)
+                        if (directories.containsKey(pathSha)) {
+                            break
+                        }
+                        def parent = parts[0..<(i - 1)].join('/')
+                        directories[pathSha] = [ns, parent, parts[i - 1], sha(ns, parent)]
+                    }
+                }
+                directories.each { String pathSha, List<String> values ->
+                    sql.executeInsert(
+                        "insert into storage_directory (path_sha, namespace, dir, name, dir_sha) values (?, ?, ?, ?, ?)",
+                        [pathSha] + values
+                    )
+                }
+            }
+            rollback {
+            }
+        }
+    }
+
+    changeSet(author: "rundeckdev", id: "create-storage-dir-sha-indexes") {
+        preConditions(onFail: "MARK_RAN") {
+            not {
+                indexExists(tableName: "storage", indexName: "STORAGE_IDX_DIR_SHA")
+            }
+        }
+        createIndex(indexName: "STORAGE_IDX_DIR_SHA", tableName: "storage") {
+            column(name: "dir_sha")
+        }
+        createIndex(indexName: "STORAGE_DIR_IDX_DIR_SHA", tableName: "storage_directory") {
+            column(name: "dir_sha")
+        }
+    }
+}
@@ -31,6 +31,7 @@ import groovy.transform.TypeCheckingMode
 import org.apache.commons.lang3.exception.ExceptionUtils
 import org.rundeck.app.data.model.v1.storage.RundeckStorage
 import org.rundeck.app.data.model.v1.storage.SimpleStorageBuilder
+import org.rundeck.app.data.providers.storage.IndexedStorageDataProvider
 import org.rundeck.app.data.providers.v1.storage.StorageDataProvider
 import org.rundeck.spi.data.DataAccessException
 import org.rundeck.storage.api.HasInputStream
@@ -174,6 +175,9 @@ class DbStorageService implements NamespacedStorage{
     @Override
     @GrailsCompileStatic(TypeCheckingMode.SKIP)
     Set<Resource<ResourceMeta>> listDirectory(String ns,Path path) {
+        if (storageDataProvider instanceof IndexedStorageDataProvider) {
+            return (listIndexedSubdirs(ns, path, 0, 0) + listIndexedResources(ns, path, 0, 0)) as Set
+        }
         def foundset=new HashSet<String>()
         def pathkey= path.path ? (path.path + '/') : ''
         storageDataProvider.listDirectory(ns, path.path).collect {
@@ -196,6 +200,9 @@ class DbStorageService implements NamespacedStorage{
     @Override
     @GrailsCompileStatic(TypeCheckingMode.SKIP)
     Set<Resource<ResourceMeta>> listDirectorySubdirs(String ns,Path path) {
+        if (storageDataProvider instanceof IndexedStorageDataProvider) {
+            return listIndexedSubdirs(ns, path, 0, 0) as Set
+        }
         def foundset = new HashSet<String>()
         def pathkey = path.path ? (path.path + '/') : ''
         storageDataProvider.listDirectorySubdirs(ns, path.path).collect {
@@ -213,6 +220,53 @@ class DbStorageService implements NamespacedStorage{
         return listDirectorySubdirs(ns,PathUtil.asPath(path))
     }
 
+    /**
+     * List a page of the directory contents, subdirectories first and then resources, each ordered by name
+     * @param ns namespace
+     * @param path directory path
+     * @param offset first result
+     * @param max max results, or 0 for all results
+     * @return page of resources
+     */
+    @Override
+    List<Resource<ResourceMeta>> listDirectoryPage(String ns, Path path, int offset, int max) {
+        if (!(storageDataProvider instanceof IndexedStorageDataProvider)) {
+            def sorted = listDirectory(ns, path).sort { Resource<ResourceMeta> a, Resource<ResourceMeta> b ->
+                (b.directory <=> a.directory) ?: (a.path.name <=> b.path.name)
+            }
+            return sorted.drop(offset).take(max > 0 ? max : sorted.size())
+        }
+        def provider = (IndexedStorageDataProvider) storageDataProvider
+        long subdirCount = provider.countDirectorySubdirs(ns ?: null, path.path)
+        List<Resource<ResourceMeta>> result = []
+        if (offset < subdirCount) {
+            result.addAll(listIndexedSubdirs(ns, path, offset, max))
+        }
+        if (max > 0 && result.size() >= max) {
+            return result
+        }
+        int resourceOffset = (int) Math.max(0L, offset - subdirCount)
+        int resourceMax = max > 0 ? max - result.size() : 0
+        result.addAll(listIndexedResources(ns, path, resourceOffset, resourceMax))
+        return result
+    }
+
+    List<Resource<ResourceMeta>> listDirectoryPage(String ns, String path, int offset, int max) {
+        return listDirectoryPage(ns, PathUtil.asPath(path), offset, max)
+    }
+
+    private List<Resource<ResourceMeta>> listIndexedSubdirs(String ns, Path path, int offset, int max) {
+        ((IndexedStorageDataProvider) storageDataProvider).
+            listDirectorySubdirPaths(ns ?: null, path.path, offset, max).
+            collect { String dir -> loadDir(PathUtil.asPath(dir)) }
+    }
+
+    private List<Resource<ResourceMeta>> listIndexedResources(String ns, Path path, int offset, int max) {
+        ((IndexedStorageDataProvider) storageDataProvider).
+            listDirectoryResources(ns ?: null, path.path, offset, max).
+            collect { RundeckStorage storage1 -> loadResource(storage1) }
+    }
+
     @Override
     boolean deleteResource(String ns,Path path) {
         RundeckStorage storage1 = findResource(ns,path)
@@ -53,6 +53,7 @@ import com.dtolabs.rundeck.core.jobs.JobLifecycleStatus
 import com.dtolabs.rundeck.core.jobs.JobPreExecutionEvent
 import com.dtolabs.rundeck.core.logging.*
 import com.dtolabs.rundeck.core.plugins.PluginConfiguration
+import com.dtolabs.rundeck.core.storage.keys.CachingKeyStorageTree
 import com.dtolabs.rundeck.core.storage.keys.KeyStorageTree
 import com.dtolabs.rundeck.core.utils.NodeSet
 import com.dtolabs.rundeck.core.utils.OptsUtil
@@ -1008,6 +1009,21 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
         ScheduledExecution scheduledExecution
         ThresholdValue threshold
         Consumer<Long> periodicCheck
+        /**
+         * System out/err streams released from the thread which started the execution, see {@link #releaseThreadStreams}
+         */
+        OutputStream threadOut
+        OutputStream threadErr
+    }
+
+    /**
+     * Remove the System out/err streams bound to the current thread when the execution was started, so that the
+     * execution can be finished by another thread
+     * @param execMap started execution
+     */
+    void releaseThreadStreams(AsyncStarted execMap) {
+        execMap.threadOut = sysThreadBoundOut.removeThreadStream()
+        execMap.threadErr = sysThreadBoundErr.removeThreadStream()
     }
     /**
      * starts an execution in a separate thread, returning a map of [thread:Thread, loghandler:LogHandler, threshold:Threshold]
@@ -1055,6 +1071,8 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
             metricService.markMeter(this.class.name,'executionAdhocStartMeter')
         }
         boolean logsInstalled=false
+        boolean started=false
+        CachingKeyStorageTree cachingStorageTree=null
         try{
             def jobcontext=exportContextForExecution(execution, grailsLinkGenerator)
             loghandler.openStream()
@@ -1179,6 +1197,13 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
                     workflowLogManager,
                     secureOptionNodeDeferred
             )
+            if (configurationService.getBoolean('execution.keyStorageCache.enabled', true)) {
+                //cache key storage reads for all nodes and steps of the execution
+                cachingStorageTree = storageService.cachingStorageTreeWithContext(authContext)
+                executioncontext = ExecutionContextImpl.builder(executioncontext)
+                    .storageTree(cachingStorageTree)
+                    .build()
+            }
 
             fileUploadService.executionBeforeStart(
                     new ExecutionPrepareEvent(
@@ -1234,6 +1259,7 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
             )
 
             thread.start()
+            started=true
             log.debug("started thread")
             return new AsyncStarted(
                     thread            : thread,
@@ -1254,6 +1280,11 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
             }
             loghandler.close()
             return null
+        } finally {
+            if (!started) {
+                //the tree is released by saveExecutionState once a started execution finishes
+                cachingStorageTree?.close()
+            }
         }
     }
 
@@ -2016,6 +2047,7 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
                 if (null != partialFile && partialFile.exists()) {
                     files << partialFile
                 }
+                logFileStorageService.removeRetrievedFile(e, ftype)
 
                 def resultDeleteRemote = logFileStorageService.removeRemoteLogFile(e, ftype)
                 if(!resultDeleteRemote.started){
@@ -3064,13 +3096,31 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
      */
     @CompileStatic
     def saveExecutionState(schedId, exId, Map props, AsyncStarted execmap, Map retryContext) {
-        def event = Execution.withNewTransaction {
-            saveCompletedExecution_currentTransaction(schedId, exId, props, execmap, retryContext)
+        try {
+            def event = Execution.withNewTransaction {
+                saveCompletedExecution_currentTransaction(schedId, exId, props, execmap, retryContext)
+            }
+
+            // To avoid the possibility of "stuck" executions, it is important that notifications are not processed
+            // until the transaction that updates the execution to "completed" status has committed.
+            triggerJobCompleteNotifications(execmap, event)
+        } finally {
+            releaseExecutionStorageTree(execmap)
         }
+    }
 
-        // To avoid the possibility of "stuck" executions, it is important that notifications are not processed
-        // until the transaction that updates the execution to "completed" status has committed.
-        triggerJobCompleteNotifications(execmap, event)
+    /**
+     * Zero and discard key storage content cached for the execution, and record the cache metrics
+     * @param execmap
+     */
+    void releaseExecutionStorageTree(AsyncStarted execmap) {
+        def storageTree = execmap?.thread?.context?.storageTree
+        if (storageTree instanceof CachingKeyStorageTree) {
+            CachingKeyStorageTree cachingTree = (CachingKeyStorageTree) storageTree
+            metricService?.counter(this.class.name + '.keyStorageCache', 'hitCount')?.inc(cachingTree.hitCount)
+            metricService?.counter(this.class.name + '.keyStorageCache', 'missCount')?.inc(cachingTree.missCount)
+            cachingTree.close()
+        }
     }
 
     /**
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rundeck.services
+
+import groovy.transform.CompileStatic
+import org.quartz.JobExecutionContext
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.core.task.TaskExecutor
+import org.springframework.scheduling.TaskScheduler
+import rundeck.services.execution.SupervisedExecution
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Tracks all running executions launched by the ExecutionJob, performs their periodic checks from a single scheduled
+ * task, and finishes each execution on a separate thread when its workflow thread completes. This allows the Quartz
+ * job to return its worker thread as soon as the execution has started.
+ *
+ * Since the Quartz scheduler no longer waits for these executions when it is shut down, the service waits for the
+ * supervised executions to finish when it is destroyed, unless execution.supervisor.waitOnShutdown is false.
+ */
+class ExecutionSupervisorService implements DisposableBean {
+    static transactional = false
+    public static final String CONFIG_ENABLED = 'execution.supervisor.enabled'
+    public static final String CONFIG_CHECK_INTERVAL = 'execution.supervisor.checkInterval'
+    public static final String CONFIG_WAIT_ON_SHUTDOWN = 'execution.supervisor.waitOnShutdown'
+    public static final long DEFAULT_CHECK_INTERVAL = 1000
+
+    ConfigurationService configurationService
+    TaskScheduler executionSupervisorTaskScheduler
+    TaskExecutor executionSupervisorTaskExecutor
+
+    private final Map<Long, Supervised> supervised = new ConcurrentHashMap<>()
+    private final AtomicInteger finishing = new AtomicInteger()
+    private ScheduledFuture<?> checkTask
+
+    @CompileStatic
+    static class Supervised {
+        Long executionId
+        JobExecutionContext context
+        SupervisedExecution execution
+    }
+
+    /**
+     * @return true if executions should be handed off to the supervisor
+     */
+    boolean isEnabled() {
+        configurationService.getBoolean(CONFIG_ENABLED, true)
+    }
+
+    /**
+     * Begin supervising a running execution
+     * @param executionId execution ID
+     * @param context context of the quartz job which launched the execution
+     * @param execution execution
+     */
+    void supervise(Long executionId, JobExecutionContext context, SupervisedExecution execution) {
+        def entry = new Supervised(executionId: executionId, context: context, execution: execution)
+        supervised.put(executionId, entry)
+        startChecks()
+        execution.thread.onComplete { finish(entry) }
+    }
+
+    private synchronized void startChecks() {
+        if (checkTask == null) {
+            long interval = configurationService.getLong(CONFIG_CHECK_INTERVAL, DEFAULT_CHECK_INTERVAL)
+            checkTask = executionSupervisorTaskScheduler.scheduleWithFixedDelay(this.&checkAll as Runnable, interval)
+        }
+    }
+
+    /**
+     * Perform the periodic checks for all running executions, and finish the executions which have completed
+     */
+    @CompileStatic
+    void checkAll() {
+        for (Supervised entry : supervised.values()) {
+            try {
+                if (!entry.execution.thread.isAlive()) {
+                    finish(entry)
+                } else {
+                    synchronized (entry) {
+                        entry.execution.check()
+                    }
+                }
+            } catch (Throwable t) {
+                log.error("Execution ${entry.executionId} supervisor check failed: ${t.message}", t)
+            }
+        }
+    }
+
+    /**
+     * Finish the execution once, on the task executor
+     */
+    @CompileStatic
+    private void finish(Supervised entry) {
+        if (!supervised.remove(entry.executionId, entry)) {
+            return
+        }
+        finishing.incrementAndGet()
+        executionSupervisorTaskExecutor.execute {
+            try {
+                //completion listeners are called by the thread before it exits
+                def thread = entry.execution.thread
+                if (thread != Thread.currentThread()) {
+                    thread.join()
+                }
+                synchronized (entry) {
+                    entry.execution.check()
+                }
+                entry.execution.complete()
+            } catch (Throwable t) {
+                log.error("Execution ${entry.executionId} failed to finish: ${t.message}", t)
+            } finally {
+                finishing.decrementAndGet()
+            }
+        }
+    }
+
+    /**
+     * Interrupt a supervised execution
+     * @param fireInstanceId quartz fire instance ID of the job which launched the execution
+     * @return true if the execution was found
+     */
+    boolean interrupt(String fireInstanceId) {
+        def entry = supervised.values().find { it.context?.fireInstanceId == fireInstanceId }
+        if (!entry) {
+            return false
+        }
+        entry.execution.interrupt()
+        true
+    }
+
+    /**
+     * @param executionId execution ID
+     * @return quartz context of the job which launched the supervised execution, or null if it is not running
+     */
+    JobExecutionContext findJobExecutionContext(Long executionId) {
+        supervised.get(executionId)?.context
+    }
+
+    /**
+     * @return number of running executions
+     */
+    int getRunningCount() {
+        supervised.size()
+    }
+
+    /**
+     * Wait for the supervised executions to finish, as the Quartz scheduler waits for its running jobs on shutdown
+     */
+    @Override
+    void destroy() throws Exception {
+        if (!configurationService.getBoolean(CONFIG_WAIT_ON_SHUTDOWN, true)) {
+            return
+        }
+        while (supervised.size() + finishing.get() > 0) {
+            log.info("Waiting for ${supervised.size() + finishing.get()} running executions to finish before shutdown")
+            Thread.sleep(1000)
+        }
+    }
+}
@@ -151,6 +151,8 @@ class ExecutionUtilService {
         } finally {
             sysThreadBoundOut.removeThreadStream()?.close()
             sysThreadBoundErr.removeThreadStream()?.close()
+            execMap.threadOut?.close()
+            execMap.threadErr?.close()
             loghandler.close()
         }
     }
@@ -301,6 +301,10 @@ class FileUploadService {
         JobFileRecord.findAllByExecution(e).each this.&deleteRecord
     }
 
+    def deleteRecordsForExecutions(List<Execution> executions) {
+        JobFileRecord.findAllByExecutionInList(executions).each this.&deleteRecord
+    }
+
     def deleteRecordsForScheduledExecution(ScheduledExecution job) {
         JobFileRecord.findAllByJobId(job.extid).each this.&deleteRecord
     }
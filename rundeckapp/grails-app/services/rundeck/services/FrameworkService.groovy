@@ -394,8 +394,11 @@ class FrameworkService implements ApplicationContextAware, ClusterInfoService, F
                                 frameworkService      : this,
                                 jobSchedulerService   : jobSchedulerService,
                                 referencedExecutionDataProvider: referencedExecutionDataProvider,
-                                reportService         : reportService
-                                
+                                reportService         : reportService,
+                                metricService         : metricService,
+                                deleteBatchSize       : configurationService.getInteger('executionCleaner.deleteBatchSize', 100),
+                                maxRuntime            : configurationService.getInteger('executionCleaner.maxRuntime', 0),
+                                fileDeleteThreads     : configurationService.getInteger('executionCleaner.fileDeleteThreads', 4)
                         ])
             }
         }
@@ -17,8 +17,11 @@
 package rundeck.services
 
 import com.codahale.metrics.Counter
+import com.codahale.metrics.Meter
+import com.codahale.metrics.Timer
 import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogReader
 import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogWriter
+import com.dtolabs.rundeck.app.internal.logging.RangedStreamingLogReader
 import com.dtolabs.rundeck.core.logging.internal.RundeckLogFormat
 import com.dtolabs.rundeck.app.internal.workflow.PeriodicFileChecker
 import com.dtolabs.rundeck.core.dispatcher.DataContextUtils
@@ -33,9 +36,15 @@ import com.dtolabs.rundeck.core.plugins.configuration.PropertyResolverFactory
 import com.dtolabs.rundeck.core.plugins.configuration.PropertyScope
 import com.dtolabs.rundeck.plugins.logging.ExecutionFileStoragePlugin
 import com.dtolabs.rundeck.server.plugins.services.ExecutionFileStoragePluginProviderService
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.Weigher
+import com.google.common.util.concurrent.UncheckedExecutionException
 import grails.events.EventPublisher
 import grails.gorm.transactions.Transactional
 import grails.web.mapping.LinkGenerator
+import org.apache.commons.io.IOUtils
+import org.apache.commons.io.input.BoundedInputStream
 import org.hibernate.sql.JoinType
 import org.rundeck.app.config.ConfigService
 import org.rundeck.app.config.SysConfigProp
@@ -61,12 +70,15 @@ import rundeck.services.logging.ExecutionFileUtil
 import rundeck.services.logging.ExecutionLogReader
 import rundeck.services.logging.LogFileLoader
 import rundeck.services.logging.MultiFileStorageRequestImpl
+import rundeck.services.logging.RetrievedFileCache
 
 import javax.validation.constraints.NotNull
 import java.nio.file.Files
 import java.nio.file.StandardCopyOption
 import java.util.concurrent.*
+import java.util.concurrent.atomic.AtomicLong
 import java.util.function.Consumer
+import java.util.function.LongFunction
 import java.util.function.Supplier
 
 /**
@@ -76,7 +88,8 @@ import java.util.function.Supplier
  * "scheduledExecutor" runs delayed tasks for retrying at a later time, OR runs periodic queue processing of resumed tasks
  *     this depends on whether using 'periodic' or 'delayed' strategy, default 'periodic'.
  * "retryIncompleteRequests" queue for resumed incomplete requests
- * "storageRequests" blocking queue for storage requests
+ * "storageRequests" priority blocking queue for storage requests
+ * "logFileStorageUploadExecutor" stores the files of a single storage request in parallel
  * "retrievalRequests" blocking queue for retrieval requests
  */
 class LogFileStorageService
@@ -95,6 +108,7 @@ class LogFileStorageService
     def frameworkService
     AsyncListenableTaskExecutor logFileTaskExecutor
     AsyncListenableTaskExecutor logFileStorageTaskExecutor
+    TaskExecutor logFileStorageUploadExecutor
     TaskScheduler logFileStorageTaskScheduler
     TaskExecutor logFileStorageDeleteRemoteTask
     def executorService
@@ -117,9 +131,18 @@ class LogFileStorageService
     private Set<Long> failedRequests = new HashSet<>()
     private Map<Long,List<String>> failures = new HashMap<>()
     /**
-     * Queue of log storage requests, processed by {@link #runStorageRequest(java.util.Map)}
+     * Queue of log storage requests, processed by {@link #runStorageRequest(java.util.Map)} in the order of
+     * {@link #STORAGE_REQUEST_ORDER}
      */
-    private BlockingQueue<Map> storageRequests = new LinkedBlockingQueue<Map>()
+    private BlockingQueue<Map> storageRequests = new PriorityBlockingQueue<Map>(11, STORAGE_REQUEST_ORDER)
+    /**
+     * Sequence of queued storage requests, orders requests with the same priority first in first out
+     */
+    private AtomicLong storageRequestSequence = new AtomicLong()
+    /**
+     * Permits for concurrent store calls to each storage plugin, keyed by plugin name
+     */
+    private ConcurrentHashMap<String, Semaphore> pluginStoragePermits = new ConcurrentHashMap<String, Semaphore>()
     /**
      * Queue of log retrieval requests, processed by {@link #runRetrievalRequest(java.util.Map)}
      */
@@ -133,6 +156,32 @@ class LogFileStorageService
      * Currently running requests
      */
     private Queue<Map> running = new ConcurrentLinkedQueue<Map>()
+    /**
+     * Length of the partial snapshots already stored for running executions, keyed by "[execId]:[filetype]"
+     */
+    protected ConcurrentHashMap<String, Long> partialStoredOffsets = new ConcurrentHashMap<String, Long>()
+    /**
+     * Keys of {@link #partialStoredOffsets} with a partial storage request in progress
+     */
+    private Set<String> partialStoresRunning = ConcurrentHashMap.newKeySet()
+    /**
+     * File types which are only appended to while the execution is running, partial storage of these types can append
+     * to the previous snapshot if supported by the plugin
+     */
+    static final Set<String> APPENDABLE_FILETYPES = Collections.unmodifiableSet([LoggingService.LOG_FILE_FILETYPE] as Set)
+    /**
+     * Blocks of stored log files read via range retrieval, keyed by "[execId]:[filetype]:[block index]"
+     */
+    private Cache<String, byte[]> remoteLogBlockCache
+    /**
+     * Stored length of completed execution logs read via range retrieval, keyed by "[execId]:[filetype]", or -1 if
+     * the storage plugin cannot read ranges of the file
+     */
+    private Cache<String, Long> rangedLogLengthCache
+    /**
+     * Execution files retrieved into the local logs directory, evicted when exceeding the configured size
+     */
+    private RetrievedFileCache retrievedFileCache
     /**
      * Map of log retrieval actions
      */
@@ -147,6 +196,15 @@ class LogFileStorageService
         defaultValue '5'
     }
 
+    static final SysConfigProp STORAGE_PLUGIN_CONCURRENCY_LIMIT = config {
+        key 'rundeck.execution.logs.fileStorage.storageTasks.pluginConcurrencyLimit'
+        label 'Storage Plugin Concurrency Limit'
+        description 'Max number of concurrent store calls to the log file storage plugin, across all storage tasks and files. 0 for no limit'
+        datatype 'integer'
+        defaultValue '0'
+        restart true
+    }
+
     static final SysConfigProp RETRIEVAL_CONCURRENCY_LIMIT = config {
         key 'rundeck.execution.logs.fileStorage.retrievalTasks.concurrencyLimit'
         label 'Retrieval Concurrency Limit'
@@ -163,6 +221,14 @@ class LogFileStorageService
         defaultValue 'periodic'
     }
 
+    static final SysConfigProp RESUME_INCOMPLETE_BATCH_SIZE = config {
+        key 'rundeck.logFileStorageService.resumeIncomplete.batchSize'
+        label 'Resume Incomplete Batch Size'
+        description 'Max number of resumed incomplete requests queued for storage each period when using the periodic strategy. 0 to use the storage concurrency limit'
+        datatype 'integer'
+        defaultValue '0'
+    }
+
     static final SysConfigProp STORAGE_RETRY_COUNT = config {
         key 'rundeck.execution.logs.fileStorage.storageRetryCount'
         label 'Max Storage Retry Count'
@@ -264,10 +330,51 @@ class LogFileStorageService
         restart true
     }
 
+    static final SysConfigProp RANGE_RETRIEVAL_ENABLED = config {
+        key 'rundeck.execution.logs.fileStorage.rangeRetrieval.enabled'
+        label 'Range Retrieval Enabled'
+        description 'Whether to read stored logs directly from the storage plugin using ranged reads, if the plugin supports it, instead of retrieving the whole file'
+        datatype 'boolean'
+        defaultValue 'true'
+    }
+
+    static final SysConfigProp RANGE_RETRIEVAL_BLOCK_SIZE = config {
+        key 'rundeck.execution.logs.fileStorage.rangeRetrieval.blockSize'
+        label 'Range Retrieval Block Size'
+        description 'Size of the ranges read from the storage plugin, in file size string in the form \'###[tgkm][b]\''
+        datatype 'String'
+        defaultValue '1m'
+        restart true
+    }
+
+    static final SysConfigProp RANGE_RETRIEVAL_CACHE_SIZE = config {
+        key 'rundeck.execution.logs.fileStorage.rangeRetrieval.cacheSize'
+        label 'Range Retrieval Cache Size'
+        description 'Maximum size of the in-memory cache of ranges read from the storage plugin, in file size string in the form \'###[tgkm][b]\''
+        datatype 'String'
+        defaultValue '64m'
+        restart true
+    }
+
+    /**
+     * Time after a retrieved file is used during which it is not evicted, to allow readers to open it
+     */
+    static final long RETRIEVED_FILE_IN_USE_MILLIS = 60000
+
+    static final SysConfigProp RETRIEVED_FILES_MAX_SIZE = config {
+        key 'rundeck.execution.logs.fileStorage.retrievedFiles.maxSize'
+        label 'Retrieved Files Max Size'
+        description 'Maximum total size of execution files retrieved from log storage kept in the local logs directory, least recently used files are deleted when exceeded. File size string in the form \'###[tgkm][b]\', or 0 for no limit'
+        datatype 'String'
+        defaultValue '0'
+    }
+
     List<SysConfigProp> systemConfigProps = Collections.unmodifiableList([
         STORAGE_CONCURRENCY_LIMIT,
+        STORAGE_PLUGIN_CONCURRENCY_LIMIT,
         RETRIEVAL_CONCURRENCY_LIMIT,
         RESUME_INCOMPLETE_STRATEGY,
+        RESUME_INCOMPLETE_BATCH_SIZE,
         STORAGE_RETRY_COUNT,
         STORAGE_RETRY_DELAY,
         CANCEL_ON_STORAGE_FAILURE,
@@ -280,7 +387,11 @@ class LogFileStorageService
         CHECKPOINT_FILESIZE_MINIMUM,
         CHECKPOINT_FILESIZE_INCREMENT,
         FILE_STORAGE_PLUGIN,
-        STARTUP_RESUMEMODE
+        STARTUP_RESUMEMODE,
+        RANGE_RETRIEVAL_ENABLED,
+        RANGE_RETRIEVAL_BLOCK_SIZE,
+        RANGE_RETRIEVAL_CACHE_SIZE,
+        RETRIEVED_FILES_MAX_SIZE
     ])
 
 
@@ -307,9 +418,11 @@ class LogFileStorageService
             logFileStorageTaskExecutor.execute {
                 storageRunningCounter?.inc()
                 running << task
+                Timer.Context timer = task.partial ? null : storageTimer?.time()
                 try {
                     runStorageRequest(task)
                 } finally {
+                    timer?.stop()
                     running.remove(task)
                     storageRunningCounter?.dec()
                 }
@@ -381,18 +494,52 @@ class LogFileStorageService
     Counter getStoragePartialCounter() {
         metricService?.counter(this.class.name + ".storageRequests", "partial")
     }
+    Counter getStoragePartialBytesCounter() {
+        metricService?.counter(this.class.name + ".storageRequests", "partialBytes")
+    }
+    Counter getStoragePartialBytesSkippedCounter() {
+        metricService?.counter(this.class.name + ".storageRequests", "partialBytesSkipped")
+    }
     Counter getStorageSuccessCounter(){
         metricService?.counter(this.class.name + ".storageRequests","succeeded")
     }
     Counter getStorageFailedCounter(){
         metricService?.counter(this.class.name + ".storageRequests","failed")
     }
+    Timer getStorageTimer() {
+        metricService?.timer(this.class.name + ".storageRequests", "storageTimer")
+    }
+    Meter getStorageBytesMeter() {
+        metricService?.meter(this.class.name + ".storageRequests", "storedBytes")
+    }
+
+    Counter getRangeRetrievalBlocksCounter() {
+        metricService?.counter(this.class.name + ".retrievalRequests", "rangeBlocks")
+    }
+    Counter getRangeRetrievalBytesCounter() {
+        metricService?.counter(this.class.name + ".retrievalRequests", "rangeBytes")
+    }
+
+    Counter getRetrievedFilesHitCounter() {
+        metricService?.counter(this.class.name + ".retrievedFiles", "hits")
+    }
+    Counter getRetrievedFilesMissCounter() {
+        metricService?.counter(this.class.name + ".retrievedFiles", "misses")
+    }
+    Counter getRetrievedFilesEvictedCounter() {
+        metricService?.counter(this.class.name + ".retrievedFiles", "evicted")
+    }
+    Counter getRetrievedFilesEvictedBytesCounter() {
+        metricService?.counter(this.class.name + ".retrievedFiles", "evictedBytes")
+    }
 
     List getCurrentRetrievalRequests(){
         return new ArrayList(retrievalRequests)
     }
     List getCurrentStorageRequests(){
-        return new ArrayList(storageRequests)
+        List list = new ArrayList(storageRequests)
+        list.sort(STORAGE_REQUEST_ORDER)
+        return list
     }
     List getCurrentRequests(){
         return new ArrayList(running)
@@ -440,7 +587,14 @@ class LogFileStorageService
 
                 files = getExecutionFiles(execution, typelist, true)
                 try {
-                    def (didsucceed, failuremap) = storeLogFiles(typelist, task.storage, task.id, files, true)
+                    def (didsucceed, failuremap) = storeLogFiles(
+                            typelist,
+                            task.storage,
+                            task.id,
+                            files,
+                            true,
+                            execution.id
+                    )
                     success = didsucceed
                     if (success) {
                         log.debug("Partial: Storage request [ID#${task.id}]: succeeded")
@@ -460,6 +614,7 @@ class LogFileStorageService
         long retryMax = 30000
         Execution.withNewSession {
             Execution execution = execUuid ? Execution.findByUuid(execUuid) : Execution.get(execId)
+            clearPartialStoredOffsets(execution.id)
             def files = getExecutionFiles(execution, typelist, false)
 
             try {
@@ -579,11 +734,80 @@ class LogFileStorageService
                 logFileRetrievalResults.remove(task.id)
             }
             logFileRetrievalRequests.remove(task.id)
+            if (success && !task.partial && result.file) {
+                getRetrievedFileCache().add(task.id, result.file)
+                evictRetrievedFiles()
+            }
             running.remove(task)
             result
         }
         CompletableFuture.<RetrieveFileResult> supplyAsync(supplier, logFileTaskExecutor)
     }
+    /**
+     * Return the configured number of resumed incomplete requests to queue each period
+     * @return
+     */
+    int getConfiguredResumeBatchSize() {
+        def size = configurationService.getInteger(RESUME_INCOMPLETE_BATCH_SIZE, 0)
+        if (size < 1) {
+            size = configurationService.getInteger(STORAGE_CONCURRENCY_LIMIT, 5)
+        }
+        size > 0 ? size : 1
+    }
+
+    /**
+     * Priority of a storage request, lower values are processed first: requests for newly completed executions, then
+     * partial storage of running executions, then retries, then incomplete requests resumed from a previous run
+     * @param task storage task
+     * @return priority
+     */
+    static int storagePriority(Map task) {
+        if (task.resumed) {
+            return 3
+        }
+        if (task.partial) {
+            return 1
+        }
+        task.count ? 2 : 0
+    }
+
+    /**
+     * Orders storage requests by priority, then by the order they were queued
+     */
+    static final Comparator<Map> STORAGE_REQUEST_ORDER = { Map a, Map b ->
+        (storagePriority(a) <=> storagePriority(b)) ?: ((a.sequence ?: 0L) as long) <=> ((b.sequence ?: 0L) as long)
+    } as Comparator<Map>
+
+    /**
+     * Call the storage plugin within the configured plugin concurrency limit
+     * @param action plugin call
+     * @return result of the action
+     */
+    private <T> T withStoragePermit(Closure<T> action) {
+        Semaphore permits = getPluginStoragePermits()
+        if (null == permits) {
+            return action.call()
+        }
+        permits.acquire()
+        try {
+            return action.call()
+        } finally {
+            permits.release()
+        }
+    }
+
+    /**
+     * @return permits for the configured plugin, or null if there is no limit
+     */
+    private Semaphore getPluginStoragePermits() {
+        int limit = configurationService?.getInteger(STORAGE_PLUGIN_CONCURRENCY_LIMIT, 0) ?: 0
+        String pluginName = getConfiguredPluginName()
+        if (limit < 1 || !pluginName) {
+            return null
+        }
+        pluginStoragePermits.computeIfAbsent(pluginName) { new Semaphore(limit, true) }
+    }
+
     /**
      * Return the configured retry count
      * @return
@@ -820,6 +1044,7 @@ class LogFileStorageService
         def total = storageTotalCounter.count
         def partialCount = storagePartialCounter.count
         def running = storageRunningCounter.count
+        def backlog = queuedRequests + queuedRetries + queuedIncomplete
 
         def incomplete = incompleteRequests
 
@@ -836,7 +1061,10 @@ class LogFileStorageService
                 missingCount   : missing,
                 running        : running,
                 partialCount   : partialCount,
-                retriesCount   : retries
+                retriesCount   : retries,
+                backlogCount   : backlog,
+                storedBytes    : storageBytesMeter?.count ?: 0,
+                storageRate    : storageTimer?.oneMinuteRate ?: 0
         ]
         data
     }
@@ -860,11 +1088,16 @@ class LogFileStorageService
         }
     }
     /**
-     * resume task, triggered periodically, consumes a single request id from the queue if present
-     * and processes it by scheduling storage operation immediately
+     * resume task, triggered periodically, consumes a batch of request ids from the queue if present
+     * and processes them by scheduling storage operations immediately. No requests are consumed while the storage
+     * queue still holds a full batch.
      * @return
      */
     def dequeueIncompleteLogStorage() {
+        int batch = getConfiguredResumeBatchSize() - storageRequests.size()
+        if (batch < 1) {
+            return
+        }
         def taskId = null
         try {
             taskId = retryIncompleteRequests.poll(30, TimeUnit.SECONDS)
@@ -873,7 +1106,17 @@ class LogFileStorageService
         if(!taskId){
             return
         }
-        storageQueueCounter?.dec()
+        List<Long> taskIds = [taskId]
+        retryIncompleteRequests.drainTo(taskIds, batch - 1)
+        storageQueueCounter?.dec(taskIds.size())
+        taskIds.each { requeueIncompleteLogStorage(it) }
+    }
+
+    /**
+     * Schedule storage of a resumed incomplete request immediately
+     * @param taskId request id
+     */
+    private void requeueIncompleteLogStorage(Long taskId) {
         log.debug("dequeueIncompleteLogStorage, processing ${taskId}")
         Long invalidId
         String serverUuid
@@ -892,7 +1135,7 @@ class LogFileStorageService
             def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolverFactory(e.project))
             if (null != plugin && pluginSupportsStorage(plugin)) {
                 //re-queue storage request immediately, pass -1 to skip counter increment
-                storeLogFileAsync(e.id.toString() + ":" + request.filetype, plugin, request, -1)
+                storeLogFileAsync(e.id.toString() + ":" + request.filetype, plugin, request, -1, true)
             } else {
                 log.error(
                         "cannot re-queue incomplete log storage request for execution ${e.id}, plugin was not available: ${getConfiguredPluginName()}"
@@ -1063,7 +1306,7 @@ class LogFileStorageService
                 def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolverFactory(e.project))
                 if(null!=plugin && pluginSupportsStorage(plugin)) {
                     //re-queue storage request
-                    storeLogFileAsync(e.id.toString() + ":" + request.filetype, plugin, request, delay)
+                    storeLogFileAsync(e.id.toString() + ":" + request.filetype, plugin, request, delay, true)
                     delay += delayInc
                     count++
                 }else{
@@ -1427,6 +1670,23 @@ class LogFileStorageService
         false
     }
 
+    def pluginSupportsPartialAppend(Object plugin) {
+        if (!pluginSupportsPartialStorage(plugin)) {
+            return false
+        }
+        ((ExecutionFileStorageOptions) plugin).partialAppendSupported
+    }
+
+    def pluginSupportsRangeRetrieval(Object plugin) {
+        if (!pluginSupportsRetrieve(plugin)) {
+            return false
+        }
+        if (plugin instanceof ExecutionFileStorageOptions) {
+            return ((ExecutionFileStorageOptions) plugin).rangeRetrieveSupported
+        }
+        false
+    }
+
     def pluginSupportsPartialRetrieval(Object plugin) {
         if (!pluginSupportsRetrieve(plugin)) {
             return false
@@ -1578,6 +1838,12 @@ class LogFileStorageService
      * @param resolver @return
      */
     ExecutionLogReader requestLogFileReader(Execution e, String filetype, boolean performLoad = true) {
+        if (performLoad) {
+            def ranged = requestRangedLogFileReader(e, filetype)
+            if (ranged) {
+                return ranged
+            }
+        }
         def loader= requestLogFileLoad(e, filetype, performLoad)
         def reader=null
         if (loader.file && loader.state.isAvailableOrPartial()) {
@@ -1590,6 +1856,151 @@ class LogFileStorageService
         )
     }
 
+    /**
+     * Return a reader for a completed execution log which is only available from the storage plugin, which reads
+     * ranges of the stored file on demand instead of retrieving the whole file
+     * @param e execution
+     * @param filetype filetype
+     * @return reader, or null if the log is available locally or range retrieval is not supported or enabled
+     */
+    ExecutionLogReader requestRangedLogFileReader(Execution e, String filetype) {
+        if (filetype != LoggingService.LOG_FILE_FILETYPE || e.dateCompleted == null) {
+            return null
+        }
+        if (!configurationService.getBoolean(RANGE_RETRIEVAL_ENABLED, true)) {
+            return null
+        }
+        String lengthKey = partialOffsetKey(e.id, filetype)
+        Long cachedLength = getRangedLogLengthCache().getIfPresent(lengthKey)
+        if (cachedLength != null) {
+            return cachedLength < 0 ? null : createRangedLogReader(e, filetype, cachedLength, null)
+        }
+        def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolverFactory(e.project))
+        if (!plugin || !pluginSupportsRangeRetrieval(plugin)) {
+            getRangedLogLengthCache().put(lengthKey, -1L)
+            return null
+        }
+        def loader = requestLogFileLoad(e, filetype, false)
+        if (loader.state != ExecutionFileState.AVAILABLE_REMOTE) {
+            return null
+        }
+        long length
+        try {
+            length = plugin.getStoredLength(filetype)
+        } catch (IOException | ExecutionFileStorageException ex) {
+            log.warn("Unable to determine stored length for ${e.id}:${filetype}, retrieving whole file: ${ex.message}")
+            return null
+        }
+        getRangedLogLengthCache().put(lengthKey, length < 0 ? -1L : length)
+        if (length < 0) {
+            return null
+        }
+        return createRangedLogReader(e, filetype, length, plugin)
+    }
+
+    /**
+     * Create a reader for a stored log file which reads blocks of the file from the cache or the storage plugin
+     * @param e execution
+     * @param filetype filetype
+     * @param length stored length
+     * @param plugin initialized plugin, or null to initialize it when a block is not cached
+     * @return reader
+     */
+    private ExecutionLogReader createRangedLogReader(
+            Execution e,
+            String filetype,
+            long length,
+            ExecutionFileStorage plugin
+    )
+    {
+        int blockSize = getRangeRetrievalBlockSize()
+        String keyPrefix = e.id.toString() + ':' + filetype + ':'
+        ExecutionFileStorage storage = plugin
+        LongFunction<byte[]> blocks = { long index ->
+            long offset = index * blockSize
+            getRemoteLogBlock(filetype, keyPrefix + index, offset, (int) Math.min(blockSize, length - offset)) {
+                if (null == storage) {
+                    storage = getConfiguredPluginForExecution(
+                            e,
+                            frameworkService.getFrameworkPropertyResolverFactory(e.project)
+                    )
+                    if (null == storage) {
+                        throw new IOException("Log storage plugin is not available for ${keyPrefix}")
+                    }
+                }
+                storage
+            }
+        }
+        def reader = new RangedStreamingLogReader(blocks, blockSize, length, e.dateCompleted, "UTF-8", rundeckLogFormat)
+        return new ExecutionLogReader(state: ExecutionFileState.AVAILABLE, reader: reader)
+    }
+
+    /**
+     * Return a block of a stored file from the cache, or read it from the storage plugin
+     * @param filetype filetype
+     * @param key cache key
+     * @param offset offset of the block
+     * @param length length of the block
+     * @param plugin returns the storage plugin, called only if the block is not cached
+     * @return content
+     * @throws IOException if the block cannot be read
+     */
+    private byte[] getRemoteLogBlock(
+            String filetype,
+            String key,
+            long offset,
+            int length,
+            Supplier<ExecutionFileStorage> plugin
+    ) throws IOException
+    {
+        try {
+            return getRemoteLogBlockCache().get(key) {
+                def out = new ByteArrayOutputStream(length)
+                plugin.get().retrieveRange(filetype, out, offset, length)
+                rangeRetrievalBlocksCounter?.inc()
+                rangeRetrievalBytesCounter?.inc(out.size())
+                out.toByteArray()
+            }
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            throw new IOException("Failed to read stored file range [${key}]: ${ex.cause?.message}", ex.cause)
+        }
+    }
+
+    private synchronized Cache<String, byte[]> getRemoteLogBlockCache() {
+        if (null == remoteLogBlockCache) {
+            remoteLogBlockCache = CacheBuilder.newBuilder().
+                    maximumWeight(configurationService.getFileSize(RANGE_RETRIEVAL_CACHE_SIZE, 64L * 1024 * 1024)).
+                    weigher({ String key, byte[] value -> value.length } as Weigher<String, byte[]>).
+                    build()
+        }
+        remoteLogBlockCache
+    }
+
+    private synchronized Cache<String, Long> getRangedLogLengthCache() {
+        if (null == rangedLogLengthCache) {
+            rangedLogLengthCache = CacheBuilder.newBuilder().
+                    maximumSize(1000).
+                    expireAfterAccess(10, TimeUnit.MINUTES).
+                    build()
+        }
+        rangedLogLengthCache
+    }
+
+    /**
+     * Forget the stored length and blocks of a stored file read via range retrieval
+     * @param execId execution ID
+     * @param filetype filetype
+     */
+    private void invalidateRangedLog(Long execId, String filetype) {
+        String key = partialOffsetKey(execId, filetype)
+        getRangedLogLengthCache().invalidate(key)
+        getRemoteLogBlockCache().asMap().keySet().removeIf { String blockKey -> blockKey.startsWith(key + ':') }
+    }
+
+    int getRangeRetrievalBlockSize() {
+        (int) Math.min(Integer.MAX_VALUE, Math.max(1024L, configurationService.getFileSize(RANGE_RETRIEVAL_BLOCK_SIZE, 1024L * 1024)))
+    }
+
     def LogFileLoader requestFileLoad(ExecutionReference e, String filetype, boolean performLoad)
             throws ExecutionNotFound {
         requestLogFileLoad(getExecutionByReferenceOrFail(e), filetype, performLoad)
@@ -1665,6 +2076,9 @@ class LogFileStorageService
         switch (state) {
             case ExecutionFileState.AVAILABLE:
                 file = getFileForExecutionFiletype(e, filetype, useStoredPath, false)
+                if (getRetrievedFileCache().touch(logFileRetrievalKey(e, filetype))) {
+                    retrievedFilesHitCounter?.inc()
+                }
                 break
             case ExecutionFileState.AVAILABLE_PARTIAL:
                 file = getFileForExecutionFiletype(e, filetype, useStoredPath, true)
@@ -1676,6 +2090,7 @@ class LogFileStorageService
                 break
             case ExecutionFileState.AVAILABLE_REMOTE:
                 if (performLoad) {
+                    retrievedFilesMissCounter?.inc()
                     if (async) {
                         CompletableFuture<RetrieveFileResult> promise = new CompletableFuture<RetrieveFileResult>()
                         CompletableFuture<LogFileLoader> resultFuture = promise.thenApply(
@@ -1719,6 +2134,44 @@ class LogFileStorageService
         )
     }
 
+    private synchronized RetrievedFileCache getRetrievedFileCache() {
+        if (null == retrievedFileCache) {
+            retrievedFileCache = new RetrievedFileCache(
+                    maxBytes: configurationService?.getFileSize(RETRIEVED_FILES_MAX_SIZE, 0) ?: 0,
+                    inUseMillis: RETRIEVED_FILE_IN_USE_MILLIS
+            )
+        }
+        retrievedFileCache
+    }
+
+    /**
+     * Delete the least recently used retrieved files until the total size is within the configured maximum. Files with
+     * a retrieval request in progress, or recently returned to a reader, are not deleted.
+     */
+    void evictRetrievedFiles() {
+        def evicted = getRetrievedFileCache().evict { String key ->
+            !logFileRetrievalRequests.containsKey(key) && !logFileRetrievalRequests.containsKey(key + ':part')
+        }
+        evicted.each { RetrievedFileCache.Entry entry ->
+            if (entry.file.exists() && !entry.file.delete()) {
+                log.warn("Unable to delete retrieved file ${entry.file} for ${entry.key}")
+                return
+            }
+            log.debug("Evicted retrieved file ${entry.file} for ${entry.key} (${entry.size} bytes)")
+            retrievedFilesEvictedCounter?.inc()
+            retrievedFilesEvictedBytesCounter?.inc(entry.size)
+        }
+    }
+
+    /**
+     * Stop tracking the retrieved file of an execution, when the execution files are deleted
+     * @param e execution
+     * @param filetype filetype
+     */
+    void removeRetrievedFile(Execution e, String filetype) {
+        getRetrievedFileCache().remove(logFileRetrievalKey(e, filetype))
+    }
+
     /**
      * Return a key to identify a request
      * @param execution
@@ -1893,12 +2346,14 @@ class LogFileStorageService
      * @param storage the storage method
      * @param executionLogStorage the persisted object that records the result
      * @param delay seconds to delay the request
+     * @param resumed true if the request is an incomplete request resumed from a previous run
      */
     private void storeLogFileAsync(
             String id,
             ExecutionFileStorage storage,
             LogFileStorageRequestData executionLogStorage,
-            int delay = 0
+            int delay = 0,
+            boolean resumed = false
     )
     {
         queueLogStorageRequest(
@@ -1910,7 +2365,8 @@ class LogFileStorageService
                         requestId: executionLogStorage.id,
                         execId   : executionLogStorage.executionId,
                         executionUuid: executionLogStorage.executionUuid,
-                        partial  : false
+                        partial  : false,
+                        resumed  : resumed
                 ],
                 delay
         )
@@ -1968,6 +2424,7 @@ class LogFileStorageService
             if (!task.partial) {
                 storageQueueCounter?.inc()
             }
+            task.sequence = storageRequestSequence.incrementAndGet()
             storageRequests << task
         }
     }
@@ -2029,7 +2486,8 @@ class LogFileStorageService
             ExecutionFileStorage storage,
             String ident,
             Map<String, ExecutionFile> files,
-            boolean partial = false
+            boolean partial = false,
+            Long execId = null
     )
     {
         log.debug("Storage request [ID#${ident}], start, type ${filter}")
@@ -2040,10 +2498,23 @@ class LogFileStorageService
         def list = [:]
         def List<ExecutionFile> deletions=[]
         if (storage instanceof ExecutionMultiFileStorage) {
-            list = storeMultiLogFiles(files, storage, ident, partial)
+            list = storeMultiLogFiles(files, storage, ident, partial, execId)
+        } else if (files.size() > 1 && logFileStorageUploadExecutor) {
+            Map<String, CompletableFuture<List>> uploads = files.collectEntries { String type, ExecutionFile file ->
+                Supplier<List> upload = { ->
+                    storeSingleLogFile(file.localFile, type, storage, ident, partial, execId) as List
+                }
+                [type, CompletableFuture.supplyAsync(upload, logFileStorageUploadExecutor)]
+            }
+            uploads.each { type, upload ->
+                def (result, message) = upload.join()
+                if (!result) {
+                    list[type] = message
+                }
+            }
         } else {
             files.each { type, file ->
-                def (result, message) = storeSingleLogFile(file.localFile, type, storage, ident, partial)
+                def (result, message) = storeSingleLogFile(file.localFile, type, storage, ident, partial, execId)
                 if (!result) {
                     list[type]=message
                 }
@@ -2057,6 +2528,9 @@ class LogFileStorageService
                 deletions << files[it]
             }
         }
+        if (!partial && deletions) {
+            storageBytesMeter?.mark(deletions.sum { it.localFile.length() } as long)
+        }
         boolean canRetrieve = pluginSupportsRetrieve(storage)
         deletions.each{
             deleteExecutionFilePerPolicy(it, canRetrieve)
@@ -2077,7 +2551,8 @@ class LogFileStorageService
             Map<String, ExecutionFile> files,
             ExecutionMultiFileStorage storage,
             String ident,
-            boolean partial = false
+            boolean partial = false,
+            Long execId = null
     )
     {
         log.debug("Storage request storeMultiLogFiles [ID#${ident}], start")
@@ -2088,13 +2563,49 @@ class LogFileStorageService
 
         def request = new MultiFileStorageRequestImpl(files: localfiles, completed: !partial)
 
-        storage.storeMultiple(request)
+        Set<String> appendKeys = []
+        if (partial && execId != null && pluginSupportsPartialAppend(storage)) {
+            files.keySet().findAll { it in APPENDABLE_FILETYPES }.each { String filetype ->
+                String key = partialOffsetKey(execId, filetype)
+                if (!beginPartialStore(key)) {
+                    //previous checkpoint is still being stored
+                    localfiles.remove(filetype)
+                    return
+                }
+                appendKeys << key
+                long length = localfiles[filetype].length()
+                long offset = takePartialStoredOffset(key, length)
+                if (offset > 0 && offset == length) {
+                    //no new content
+                    partialStoredOffsets.put(key, length)
+                    localfiles.remove(filetype)
+                    return
+                }
+                request.offsets[filetype] = offset
+                request.lengths[filetype] = length
+            }
+        }
+        try {
+            if (localfiles) {
+                withStoragePermit { storage.storeMultiple(request) }
+            }
+        } finally {
+            appendKeys.each { endPartialStore(it) }
+        }
 
         //determine results
         files.keySet().each { String filetype ->
+            if (!localfiles.containsKey(filetype)) {
+                return
+            }
             def succeeded = request.completion[filetype]
             if (!succeeded) {
                 failures[filetype] = request.errors[filetype]?:('No failure message (filetype: ' + filetype + ')')
+            } else if (request.lengths.containsKey(filetype)) {
+                long offset = request.offsets[filetype]
+                long length = request.lengths[filetype]
+                partialStoredOffsets.put(partialOffsetKey(execId, filetype), length)
+                recordPartialStoredBytes(offset, length)
             }
         }
 
@@ -2110,7 +2621,8 @@ class LogFileStorageService
             String filetype,
             ExecutionFileStorage storage,
             String ident,
-            boolean partial = false
+            boolean partial = false,
+            Long execId = null
     )
     {
         log.debug("Storage request [ID#${ident}], start")
@@ -2118,24 +2630,140 @@ class LogFileStorageService
         String message=null
         Date lastModified = new Date(file.lastModified())
         long length = file.length()
+        String appendKey = null
+        if (partial && execId != null && filetype in APPENDABLE_FILETYPES && pluginSupportsPartialAppend(storage)) {
+            appendKey = partialOffsetKey(execId, filetype)
+            if (!beginPartialStore(appendKey)) {
+                log.debug("Storage request [ID#${ident}], skipped: previous checkpoint is still being stored")
+                return [true, "No message"]
+            }
+        }
         try{
-            file.withInputStream { input ->
-                if (partial) {
-                    success = storage.partialStore(filetype, input, length, lastModified)
-                } else {
-                    success = storage.store(filetype, input, length, lastModified)
+            withStoragePermit {
+                file.withInputStream { input ->
+                    if (appendKey) {
+                        success = partialStoreAppend(appendKey, filetype, storage, input, length, lastModified)
+                    } else if (partial) {
+                        success = storage.partialStore(filetype, input, length, lastModified)
+                    } else {
+                        success = storage.store(filetype, input, length, lastModified)
+                    }
+                    message="No message"
                 }
-                message="No message"
             }
         }catch (Throwable e) {
             log.error("Storage request [ID#${ident}] error: ${e.message}")
             log.debug("Storage request [ID#${ident}] error: ${e.message}", e)
             message=e.message
+        } finally {
+            if (appendKey) {
+                endPartialStore(appendKey)
+            }
         }
         log.debug("Storage request [ID#${ident}], finish: ${success}")
         return [success,message]
     }
 
+    /**
+     * Store the new content of an appendable file since the last partial storage, or the whole file if it was not
+     * previously stored
+     * @param key partial offset key
+     * @param input file input
+     * @param length length of the file to store
+     * @return true if successful
+     */
+    private boolean partialStoreAppend(
+            String key,
+            String filetype,
+            ExecutionFileStorage storage,
+            InputStream input,
+            long length,
+            Date lastModified
+    )
+    {
+        long offset = takePartialStoredOffset(key, length)
+        if (offset > 0 && offset == length) {
+            //no new content
+            partialStoredOffsets.put(key, length)
+            return true
+        }
+        boolean success
+        if (offset > 0) {
+            IOUtils.skipFully(input, offset)
+            success = storage.partialStoreAppend(
+                    filetype,
+                    new BoundedInputStream(input, length - offset),
+                    offset,
+                    length - offset,
+                    lastModified
+            )
+        } else {
+            success = storage.partialStore(filetype, new BoundedInputStream(input, length), length, lastModified)
+        }
+        if (success) {
+            partialStoredOffsets.put(key, length)
+            recordPartialStoredBytes(offset, length)
+        }
+        success
+    }
+
+    /**
+     * Mark a partial storage request as in progress
+     * @param key partial offset key
+     * @return false if a request for the key is already in progress
+     */
+    private boolean beginPartialStore(String key) {
+        synchronized (partialStoresRunning) {
+            partialStoresRunning.add(key)
+        }
+    }
+
+    /**
+     * Mark a partial storage request as finished
+     * @param key partial offset key
+     */
+    private void endPartialStore(String key) {
+        synchronized (partialStoresRunning) {
+            partialStoresRunning.remove(key)
+            partialStoresRunning.notifyAll()
+        }
+    }
+
+    private static String partialOffsetKey(Long execId, String filetype) {
+        execId.toString() + ':' + filetype
+    }
+
+    /**
+     * Remove the stored offset, so that a failed storage attempt will cause the next checkpoint to store the whole file
+     * @param key partial offset key
+     * @param length current file length
+     * @return the stored offset, or 0 if there is none or the file is shorter than it
+     */
+    private long takePartialStoredOffset(String key, long length) {
+        Long offset = partialStoredOffsets.remove(key)
+        offset != null && offset <= length ? offset : 0
+    }
+
+    private void recordPartialStoredBytes(long offset, long length) {
+        getStoragePartialBytesCounter()?.inc(length - offset)
+        getStoragePartialBytesSkippedCounter()?.inc(offset)
+    }
+
+    /**
+     * Remove the partial storage offsets for the execution, after waiting for its partial storage requests in progress
+     * to finish, so that they cannot store an offset again after it is removed
+     * @param execId execution ID
+     */
+    void clearPartialStoredOffsets(Long execId) {
+        String prefix = execId.toString() + ':'
+        synchronized (partialStoresRunning) {
+            while (partialStoresRunning.any { String key -> key.startsWith(prefix) }) {
+                partialStoresRunning.wait(1000)
+            }
+            partialStoredOffsets.keySet().removeIf { String key -> key.startsWith(prefix) }
+        }
+    }
+
     /**
      * Retrieves a log file for the given execution using a storage method
      * @param execution
@@ -2196,6 +2824,7 @@ class LogFileStorageService
      * @return Map containing success: true/false, and error: String indicating the error if there was one
      */
    Map removeRemoteLogFile(Execution e, String filetype, int delay=0) {
+        invalidateRangedLog(e.id, filetype)
         def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolverFactory(e.project))
 
        if(!plugin){
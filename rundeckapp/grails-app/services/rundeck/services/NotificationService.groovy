@@ -36,7 +36,6 @@ import com.dtolabs.rundeck.plugins.notification.NotificationPlugin
 import com.dtolabs.rundeck.core.plugins.DescribedPlugin
 import com.dtolabs.rundeck.core.plugins.ValidatedPlugin
 import com.dtolabs.rundeck.server.plugins.services.NotificationPluginProviderService
-import grails.async.Promises
 import grails.converters.JSON
 import grails.events.annotation.Subscriber
 import grails.gorm.transactions.Transactional
@@ -49,6 +48,10 @@ import org.apache.commons.codec.binary.Hex
 import org.apache.commons.codec.digest.DigestUtils
 import org.apache.http.HttpResponse
 import org.apache.http.auth.UsernamePasswordCredentials
+import org.apache.http.impl.client.CloseableHttpClient
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler
+import org.apache.http.impl.client.HttpClients
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager
 import org.rundeck.app.AppConstants
 import org.rundeck.app.data.model.v1.execution.ExecutionData
 import org.rundeck.app.data.providers.v1.user.UserDataProvider
@@ -56,10 +59,13 @@ import org.rundeck.app.data.providers.v1.execution.ExecutionDataProvider
 import org.rundeck.app.data.providers.v1.job.JobDataProvider
 import org.rundeck.app.spi.RundeckSpiBaseServicesProvider
 import org.rundeck.app.spi.Services
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.ApplicationContextAware
+import org.springframework.core.task.TaskRejectedException
 import rundeck.Execution
 import rundeck.Notification
+import rundeck.NotificationRetry
 import rundeck.ScheduledExecution
 import com.dtolabs.rundeck.core.execution.logstorage.ExecutionFileState
 import rundeck.data.notification.SendNotificationEvent
@@ -67,8 +73,9 @@ import rundeck.data.util.ExecReportUtil
 
 import java.security.MessageDigest
 import java.text.SimpleDateFormat
+import java.util.concurrent.Future
 import java.util.concurrent.TimeUnit
-import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicBoolean
 
 /*
  * NotificationService.java
@@ -78,13 +85,14 @@ import java.util.concurrent.TimeoutException
  * $Id$
  */
 
-public class NotificationService implements ApplicationContextAware{
+public class NotificationService implements ApplicationContextAware, DisposableBean{
     boolean transactional = false
 
     static final String POST = "post"
     static final String GET = "get"
 
     def defaultThreadTO = 120000
+    private static CloseableHttpClient sharedHttpClient
     def grailsLinkGenerator
 
     ApplicationContext applicationContext
@@ -101,6 +109,9 @@ public class NotificationService implements ApplicationContextAware{
     def featureService
     def configurationService
     def storageService
+    def metricService
+    def notificationTaskExecutor
+    def notificationTaskScheduler
     UserDataProvider userDataProvider
     ExecutionDataProvider executionDataProvider
 
@@ -181,30 +192,73 @@ public class NotificationService implements ApplicationContextAware{
     @Transactional
     void asyncTriggerJobNotification(String trigger, schedUuid, Map content){
         if(trigger && schedUuid){
-            if(featureService.featurePresent(Features.NOTIFICATIONS_OWN_THREAD)){
-                def notificationTask = Promises.task {
-                    ScheduledExecution.withNewTransaction {
-                        ScheduledExecution scheduledExecution = ScheduledExecution.findByUuid(schedUuid)
-                        if(null != scheduledExecution) {
-                            triggerJobNotification(trigger, scheduledExecution, content)
+            if(featureService.featurePresent(Features.NOTIFICATIONS_OWN_THREAD) && notificationTaskExecutor){
+                queueJobNotification(trigger, schedUuid, content)
+            }else{
+                triggerJobNotificationForUuid(trigger, schedUuid, content)
+            }
+
+        }
+    }
+
+    private void triggerJobNotificationForUuid(String trigger, schedUuid, Map content) {
+        ScheduledExecution.withNewTransaction {
+            ScheduledExecution scheduledExecution = ScheduledExecution.findByUuid(schedUuid)
+            if(null != scheduledExecution){
+                triggerJobNotification(trigger, scheduledExecution, content)
+            }
+        }
+    }
+
+    /**
+     * Queue the notification to be sent by the notification thread pool without waiting for it. If the queue is full
+     * the notification is sent in the calling thread. Notifications which do not complete within the
+     * notification.threadTimeOut are cancelled.
+     */
+    private void queueJobNotification(String trigger, schedUuid, Map content) {
+        long queuedAt = System.nanoTime()
+        //the execution is loaded again by the worker in its own session
+        Long executionId = content?.execution instanceof Execution ? ((Execution) content.execution).id : null
+        Map queuedContent = executionId ? content.findAll { it.key != 'execution' } : content
+        metricService?.counter(this.class.name + ".notifications", "queued")?.inc()
+        AtomicBoolean started = new AtomicBoolean(false)
+        Future<?> future
+        try {
+            future = notificationTaskExecutor.submit({
+                started.set(true)
+                metricService?.counter(this.class.name + ".notifications", "queued")?.dec()
+                try {
+                    ScheduledExecution.withNewSession {
+                        Map workerContent = queuedContent
+                        if (executionId) {
+                            workerContent = queuedContent + [execution: Execution.get(executionId)]
                         }
+                        triggerJobNotificationForUuid(trigger, schedUuid, workerContent)
                     }
+                } catch (Throwable t) {
+                    log.error("Error sending notification ${trigger} for job ${schedUuid}: ${t.message}", t)
+                } finally {
+                    metricService?.timer(this.class.name + ".notifications", "deliveryTimer")?.
+                        update(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS)
                 }
-                try{
-                    notificationTask.get(configurationService.getLong("notification.threadTimeOut", defaultThreadTO), TimeUnit.MILLISECONDS)
-                }catch(TimeoutException toe){
-                    log.error("Error sending notification " , toe)
-                    notificationTask.cancel(true)
-                }
-            }else{
-                ScheduledExecution.withNewTransaction {
-                    ScheduledExecution scheduledExecution = ScheduledExecution.findByUuid(schedUuid)
-                    if(null != scheduledExecution){
-                        triggerJobNotification(trigger, scheduledExecution, content)
+            } as Runnable)
+        } catch (TaskRejectedException e) {
+            metricService?.counter(this.class.name + ".notifications", "queued")?.dec()
+            metricService?.markMeter(this.class.name + ".notifications", "rejected")
+            log.warn("Notification queue is full, sending notification ${trigger} for job ${schedUuid} in the calling thread")
+            triggerJobNotificationForUuid(trigger, schedUuid, content)
+            return
+        }
+        long timeout = configurationService.getLong("notification.threadTimeOut", defaultThreadTO)
+        if (timeout > 0 && notificationTaskScheduler) {
+            notificationTaskScheduler.schedule({
+                if (future.cancel(true)) {
+                    if (started.compareAndSet(false, true)) {
+                        metricService?.counter(this.class.name + ".notifications", "queued")?.dec()
                     }
+                    log.error("Notification ${trigger} for job ${schedUuid} was cancelled after timeout of ${timeout}ms")
                 }
-            }
-
+            } as Runnable, new Date(System.currentTimeMillis() + timeout))
         }
     }
 
@@ -558,10 +612,11 @@ public class NotificationService implements ApplicationContextAware{
                         //perform token expansion within URL.
                         String newurlstr=expandWebhookNotificationUrl(urlstr,exec,source,trigger, content?.export)
                         try{
-                            def result= postDataUrl(newurlstr, n.format,payloadStr, trigger, state, exec.id.toString(), method)
+                            def result= sendWebhookNotification(newurlstr, n.format,payloadStr, trigger, state, exec.id.toString(), method)
                             if(!result.success){
                                 webhookfailure=true
-                                log.error("Notification failed [${n.eventTrigger},${state},${exec.id}]; URL ${newurlstr}: ${result.error}")
+                                log.error("Notification failed [${n.eventTrigger},${state},${exec.id}]; URL ${newurlstr}: ${result.error}" +
+                                          (result.retryScheduled ? "; retry scheduled" : ""))
                             }else if (log.traceEnabled) {
                                 log.trace("Notification succeeded [${n.eventTrigger},${state},${exec.id}]; URL ${newurlstr}")
                             }
@@ -868,69 +923,254 @@ public class NotificationService implements ApplicationContextAware{
         return srcUrl
     }
 
-    static Map postDataUrl(String url, String format, String payload, String trigger, String status, String id, String httpMethod = POST, rptCount=1, backoff=2){
-        int count=0;
-        int wait=1000;
-        int timeout=15
+    /**
+     * Post a webhook notification using the shared http client, and schedule a retry if it fails and
+     * notification.retry.count is set
+     * @return result map, with retryScheduled:true if the notification will be retried
+     */
+    Map sendWebhookNotification(String url, String format, String payload, String trigger, String status, String id, String httpMethod) {
+        long start = System.nanoTime()
+        Map result = postDataUrl(url, format, payload, trigger, status, id, httpMethod)
+        metricService?.timer(this.class.name + ".webhooks", "requestTimer")?.update(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+        if (result.success) {
+            metricService?.markMeter(this.class.name + ".webhooks", "succeeded")
+            return result
+        }
+        metricService?.markMeter(this.class.name + ".webhooks", "failed")
+        if (scheduleWebhookRetry(url, format, payload, trigger, status, id, httpMethod)) {
+            result = result + [retryScheduled: true]
+        }
+        result
+    }
+
+    int getWebhookRetryCount() {
+        configurationService?.getInteger("notification.retry.count", 0) ?: 0
+    }
+
+    /**
+     * @param attempts retry attempt number starting at 1
+     * @return time of the retry attempt, using notification.retry.delay and notification.retry.backoff
+     */
+    Date nextWebhookRetryDate(int attempts) {
+        long delay = configurationService.getLong("notification.retry.delay", 30000L)
+        int backoff = configurationService.getInteger("notification.retry.backoff", 2)
+        new Date(System.currentTimeMillis() + delay * ((long) Math.pow(Math.max(backoff, 1), attempts - 1)))
+    }
+
+    private String getRetryServerNodeUUID() {
+        frameworkService.isClusterModeEnabled() ? frameworkService.serverUUID : null
+    }
+
+    /**
+     * Store a pending retry for a failed webhook, and schedule it
+     * @return true if the retry was scheduled
+     */
+    @PackageScope
+    boolean scheduleWebhookRetry(String url, String format, String payload, String trigger, String status, String id, String httpMethod) {
+        if (webhookRetryCount < 1 || !notificationTaskScheduler) {
+            return false
+        }
+        NotificationRetry retry = NotificationRetry.withNewTransaction {
+            def pending = new NotificationRetry(
+                url: url,
+                format: format,
+                payload: payload,
+                eventTrigger: trigger,
+                status: status,
+                executionId: id,
+                httpMethod: httpMethod,
+                attempts: 1,
+                nextAttempt: nextWebhookRetryDate(1),
+                serverNodeUUID: retryServerNodeUUID
+            )
+            pending.save(flush: true) ? pending : null
+        }
+        if (!retry) {
+            log.error("Unable to store webhook notification retry for execution ${id}")
+            return false
+        }
+        scheduleWebhookRetryTask(retry.id, retry.nextAttempt)
+        true
+    }
+
+    private void scheduleWebhookRetryTask(Long retryId, Date nextAttempt) {
+        metricService?.counter(this.class.name + ".webhooks", "retriesPending")?.inc()
+        notificationTaskScheduler.schedule({ runWebhookRetry(retryId) } as Runnable, nextAttempt)
+    }
+
+    /**
+     * Attempt a stored webhook retry, and reschedule it if it fails and attempts remain
+     * @param retryId retry ID
+     */
+    @PackageScope
+    void runWebhookRetry(Long retryId) {
+        metricService?.counter(this.class.name + ".webhooks", "retriesPending")?.dec()
+        NotificationRetry retry = NotificationRetry.withNewSession { NotificationRetry.get(retryId) }
+        if (!retry) {
+            return
+        }
+        Map result
+        try {
+            result = postDataUrl(
+                retry.url,
+                retry.format,
+                retry.payload,
+                retry.eventTrigger,
+                retry.status,
+                retry.executionId,
+                retry.httpMethod ?: POST
+            )
+        } catch (Throwable t) {
+            result = [success: false, error: t.message]
+        }
+        Date nextAttempt = null
+        NotificationRetry.withNewTransaction {
+            retry = NotificationRetry.get(retryId)
+            if (!retry) {
+                return
+            }
+            if (result.success) {
+                metricService?.markMeter(this.class.name + ".webhooks", "retrySucceeded")
+                retry.delete(flush: true)
+            } else if (retry.attempts >= webhookRetryCount) {
+                metricService?.markMeter(this.class.name + ".webhooks", "retryFailed")
+                log.error(
+                    "Notification failed [${retry.eventTrigger},${retry.status},${retry.executionId}]; " +
+                    "URL ${retry.url}: giving up after ${retry.attempts} retries: ${result.error}"
+                )
+                retry.delete(flush: true)
+            } else {
+                retry.attempts = retry.attempts + 1
+                retry.nextAttempt = nextWebhookRetryDate(retry.attempts)
+                retry.save(flush: true)
+                nextAttempt = retry.nextAttempt
+            }
+        }
+        if (nextAttempt) {
+            scheduleWebhookRetryTask(retryId, nextAttempt)
+        }
+    }
+
+    /**
+     * Schedule webhook retries stored before the last shutdown
+     */
+    @Subscriber('rundeck.bootstrap')
+    void resumeWebhookRetries() {
+        if (!notificationTaskScheduler) {
+            return
+        }
+        String serverNodeUUID = retryServerNodeUUID
+        List pending = NotificationRetry.withNewSession {
+            NotificationRetry.createCriteria().list {
+                if (serverNodeUUID) {
+                    eq('serverNodeUUID', serverNodeUUID)
+                } else {
+                    isNull('serverNodeUUID')
+                }
+                projections {
+                    property('id')
+                    property('nextAttempt')
+                }
+            }
+        }
+        if (pending) {
+            log.info("Resuming ${pending.size()} webhook notification retries")
+        }
+        pending.each { row ->
+            scheduleWebhookRetryTask(row[0] as Long, row[1] as Date)
+        }
+    }
+
+    /**
+     * @return http client with a pooled keep-alive connection manager, shared by webhook notifications
+     */
+    static synchronized CloseableHttpClient getSharedHttpClient() {
+        if (null == sharedHttpClient) {
+            def connectionManager = new PoolingHttpClientConnectionManager()
+            connectionManager.maxTotal = Holders.config.getProperty(
+                "rundeck.notification.http.maxConnections",
+                Integer.class,
+                50
+            )
+            connectionManager.defaultMaxPerRoute = Holders.config.getProperty(
+                "rundeck.notification.http.maxConnectionsPerRoute",
+                Integer.class,
+                10
+            )
+            int retryCount = Holders.config.getProperty("rundeck.notification.http.retryCount", Integer.class, 3)
+            sharedHttpClient = HttpClients.custom().
+                setConnectionManager(connectionManager).
+                setRetryHandler(new DefaultHttpRequestRetryHandler(retryCount, false)).
+                evictExpiredConnections().
+                evictIdleConnections(60, TimeUnit.SECONDS).
+                build()
+        }
+        sharedHttpClient
+    }
+
+    static synchronized void closeSharedHttpClient() {
+        if (null != sharedHttpClient) {
+            sharedHttpClient.close()
+            sharedHttpClient = null
+        }
+    }
+
+    @Override
+    void destroy() throws Exception {
+        closeSharedHttpClient()
+    }
+
+    /**
+     * Send a webhook request once. Failed requests are retried by {@link #sendWebhookNotification} on the
+     * notification task scheduler.
+     */
+    static Map postDataUrl(String url, String format, String payload, String trigger, String status, String id, String httpMethod = POST){
+        int timeout=Holders.config.getProperty("rundeck.notification.http.timeout", Integer.class, 15)
         boolean complete=false;
         def resultCode
         def resultReason
         def error
         String contentType = format == "json" ? "application/json" : "text/xml"
         String secureDigest = createSecureDigest(url,trigger,id)
-        for(count=0;count<rptCount;count++){
-            if(count>0){
-                //wait
-                try {
-                    Thread.sleep(wait)
-                } catch (InterruptedException e) {
-                }
-                wait *= backoff
-            }
-            HttpClient<HttpResponse> httpClient = new ApacheHttpClient()
-            httpClient.setFollowRedirects(true)
-            httpClient.setTimeout(timeout*1000)
-
-            try{
-                URL urlo = new URL(url)
-                httpClient.setUri(urlo.toURI())
-                if(urlo.userInfo){
-                    UsernamePasswordCredentials cred = new UsernamePasswordCredentials(urlo.userInfo)
-                    httpClient.setBasicAuthCredentials(cred.userName,cred.password)
-                }
-            }catch(MalformedURLException e){
-                throw new Exception("Failed to configure base URL for authentication: "+e.getMessage(),e)
+        HttpClient<HttpResponse> httpClient = new ApacheHttpClient(getSharedHttpClient())
+        httpClient.setFollowRedirects(true)
+        httpClient.setTimeout(timeout*1000)
+
+        try{
+            URL urlo = new URL(url)
+            httpClient.setUri(urlo.toURI())
+            if(urlo.userInfo){
+                UsernamePasswordCredentials cred = new UsernamePasswordCredentials(urlo.userInfo)
+                httpClient.setBasicAuthCredentials(cred.userName,cred.password)
             }
+        }catch(MalformedURLException e){
+            throw new Exception("Failed to configure base URL for authentication: "+e.getMessage(),e)
+        }
 
-            if(httpMethod != GET) {
-                httpClient.setMethod(HttpClient.Method.POST)
-                httpClient.addPayload(contentType,payload)
-            }
+        if(httpMethod != GET) {
+            httpClient.setMethod(HttpClient.Method.POST)
+            httpClient.addPayload(contentType,payload)
+        }
 
-            httpClient.addHeader("X-RunDeck-Notification-Trigger", trigger)
-            httpClient.addHeader("X-RunDeck-Notification-Execution-ID", id)
-            httpClient.addHeader("X-RunDeck-Notification-Execution-Status", status)
-            if(secureDigest) httpClient.addHeader("X-RunDeck-Notification-SHA256-Digest", secureDigest)
-            try {
-                httpClient.execute { response ->
-                    resultCode = response.statusLine.statusCode
-                    resultReason = response.statusLine.reasonPhrase
-                    if (resultCode >= 200 && resultCode <= 300) {
-                        complete=true
-                    } else {
-                        error="server response: ${resultCode} ${resultReason}"
-                    }
+        httpClient.addHeader("X-RunDeck-Notification-Trigger", trigger)
+        httpClient.addHeader("X-RunDeck-Notification-Execution-ID", id)
+        httpClient.addHeader("X-RunDeck-Notification-Execution-Status", status)
+        if(secureDigest) httpClient.addHeader("X-RunDeck-Notification-SHA256-Digest", secureDigest)
+        try {
+            httpClient.execute { response ->
+                resultCode = response.statusLine.statusCode
+                resultReason = response.statusLine.reasonPhrase
+                if (resultCode >= 200 && resultCode <= 300) {
+                    complete=true
+                } else {
+                    error="server response: ${resultCode} ${resultReason}"
                 }
-            }catch (Throwable e){
-                error="Error making request: "+e.message
             }
-            if(complete){
-                break
-            }
-
+        }catch (Throwable e){
+            error="Error making request: "+e.message
         }
         if(!complete){
-            return [success:complete,error:"Unable to ${httpMethod?.toUpperCase()} notification after ${count} tries: ${trigger} for execution ${id} (${status}): ${error}"]
+            return [success:complete,error:"Unable to ${httpMethod?.toUpperCase()} notification: ${trigger} for execution ${id} (${status}): ${error}"]
         }
         return [success:complete]
     }
@@ -33,12 +33,14 @@ import com.dtolabs.rundeck.core.plugins.configuration.Validator
 import com.dtolabs.rundeck.net.api.RundeckClient
 import com.dtolabs.rundeck.net.model.ErrorDetail
 import com.dtolabs.rundeck.net.model.ErrorResponse
+import com.dtolabs.rundeck.util.ProgressOutputStream
 import com.dtolabs.rundeck.util.XmlParserUtil
 import com.dtolabs.rundeck.util.ZipBuilder
 import com.dtolabs.rundeck.util.ZipReader
 import com.google.common.cache.Cache
 import com.google.common.cache.CacheBuilder
 import com.google.common.cache.RemovalNotification
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import grails.async.Promises
 import grails.compiler.GrailsCompileStatic
 import grails.events.EventPublisher
@@ -63,6 +65,7 @@ import org.rundeck.app.components.project.ProjectMetadataComponent
 import org.rundeck.app.data.model.v1.report.RdExecReport
 import org.rundeck.app.data.model.v1.report.dto.SaveReportRequest
 import rundeck.data.report.SaveReportRequestImpl
+import org.rundeck.app.data.providers.PagedExecReportDataProvider
 import org.rundeck.app.data.providers.v1.report.ExecReportDataProvider
 import org.rundeck.app.services.ExecutionFile
 import org.rundeck.app.services.ExecutionFileProducer
@@ -91,6 +94,10 @@ import webhooks.component.project.WebhooksProjectComponent
 import java.lang.annotation.Annotation
 import java.text.ParseException
 import java.text.SimpleDateFormat
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.jar.Attributes
 import java.util.jar.JarOutputStream
 import java.util.jar.Manifest
@@ -107,6 +114,10 @@ import retrofit2.Response
 class ProjectService implements InitializingBean, ExecutionFileProducer, EventPublisher {
     public static final String EXECUTION_XML_LOG_FILETYPE = 'execution.xml'
     public static final String PROJECT_BASEDIR_PROPS_PLACEHOLDER = '%PROJECT_BASEDIR%'
+    public static final int EXPORT_PAGE_SIZE_DEFAULT = 200
+    public static final int EXPORT_JOBS_PARALLELISM_DEFAULT = 4
+    public static final int IMPORT_BATCH_SIZE_DEFAULT = 200
+    public static final int IMPORT_PARALLELISM_DEFAULT = 4
     final String executionFileType = EXECUTION_XML_LOG_FILETYPE
 
     def grailsApplication
@@ -366,6 +377,16 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
      * @throws ProjectServiceException if an error occurs
      */
     def loadExecutions(xmlinput, String projectName, Map jobIdMap = null, skipJobIds = []) throws ProjectServiceException {
+        buildExecutions(parseExecutions(xmlinput), projectName, jobIdMap, skipJobIds)
+    }
+
+    /**
+     * Parse executions XML, does not access the database
+     * @param xmlinput xml source
+     * @return list of execution data maps
+     * @throws ProjectServiceException if an error occurs
+     */
+    List<Map> parseExecutions(xmlinput) throws ProjectServiceException {
         Node doc = parseXml(xmlinput)
         if (!doc) {
             throw new ProjectServiceException("XML Document could not be parsed.")
@@ -376,56 +397,73 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
         if (!doc.execution || doc.execution.size() < 1) {
             throw new ProjectServiceException("No 'executions/execution' element was found")
         }
+        def ecount = 0
+        doc.execution.collect { enode ->
+            def object = XmlParserUtil.toObject(enode, false)
+            if (!(object instanceof Map)) {
+                throw new ProjectServiceException("Unexpected data type for Execution($ecount): " + object.class.name)
+            }
+            JobsXMLCodec.convertXmlWorkflowToMap(object.workflow)
+            ecount++
+            object
+        }
+    }
 
+    /**
+     * Create Executions from parsed execution data
+     * @param objects execution data maps
+     * @param projectName project name
+     * @param jobIdMap map of UUID/ScheduledExecution IDs to new UUIDs for reassigning execution to jobs
+     * @param skipJobIds list of UUID/job id to skip execution import
+     * @return map data: 'executions' list of Executions that were parsed, 'execidmap' map of new Executions to the
+     * input IDs from the XML, 'retryidmap' map of new Executions to old the 'retry' execution ID
+     * @throws ProjectServiceException if an error occurs
+     */
+    Map buildExecutions(List<Map> objects, String projectName, Map jobIdMap = null, skipJobIds = [])
+            throws ProjectServiceException {
         def execlist = []
         def execidmap = [:]
         def retryidmap = [:]
         def ecount = 0
-        doc.execution.each { enode ->
-            def object = XmlParserUtil.toObject(enode, false)
-            if (object instanceof Map) {
-                JobsXMLCodec.convertXmlWorkflowToMap(object.workflow)
-                //remap job id if necessary
-                def se = null
-                if (object.jobId && jobIdMap && jobIdMap[object.jobId]) {
-                    se = scheduledExecutionService.getByIDorUUID(jobIdMap[object.jobId])
-                } else if (object.jobId && skipJobIds && skipJobIds.contains(object.jobId)) {
-                    log.debug("Execution skipped ${object.id} for job ${object.jobId}")
-                    return
-                } else if (object.jobId) {
-                    //look for same ID
-                    def found = scheduledExecutionService.getByIDorUUID(object.jobId)
-                    if (found && found.project == projectName) {
-                        se = found
-                    }
-
-                }
-                if (object.id) {
-                    object.id = XmlParserUtil.stringToInt(object.id, -1)
-                }
-                //convert dates
-                convertStringsToDates(object, ['dateStarted', 'dateCompleted'], "Execution($ecount) ID ${object.id}")
-                if (!(object.dateCompleted instanceof Date)) {
-                    object.dateCompleted = new Date()
-                    object.status = 'false'
-                    object.cancelled = true
-                    object.abortedby = 'system'
+        objects.each { Map object ->
+            //remap job id if necessary
+            def se = null
+            if (object.jobId && jobIdMap && jobIdMap[object.jobId]) {
+                se = scheduledExecutionService.getByIDorUUID(jobIdMap[object.jobId])
+            } else if (object.jobId && skipJobIds && skipJobIds.contains(object.jobId)) {
+                log.debug("Execution skipped ${object.id} for job ${object.jobId}")
+                return
+            } else if (object.jobId) {
+                //look for same ID
+                def found = scheduledExecutionService.getByIDorUUID(object.jobId)
+                if (found && found.project == projectName) {
+                    se = found
                 }
-                def retryExecId = XmlParserUtil.stringToInt(object.remove('retryExecutionId'), 0)
-                try {
-                    def newexec = Execution.fromMap(object, se)
-                    execidmap[newexec] = object.id
-                    if (retryExecId) {
-                        retryidmap[newexec] = retryExecId
-                    }
-                    execlist << newexec
-                } catch (Throwable e) {
-                    throw new ProjectServiceException("Unable to create Execution($ecount): " + e.getMessage(), e)
+
+            }
+            if (object.id) {
+                object.id = XmlParserUtil.stringToInt(object.id, -1)
+            }
+            //convert dates
+            convertStringsToDates(object, ['dateStarted', 'dateCompleted'], "Execution($ecount) ID ${object.id}")
+            if (!(object.dateCompleted instanceof Date)) {
+                object.dateCompleted = new Date()
+                object.status = 'false'
+                object.cancelled = true
+                object.abortedby = 'system'
+            }
+            def retryExecId = XmlParserUtil.stringToInt(object.remove('retryExecutionId'), 0)
+            try {
+                def newexec = Execution.fromMap(object, se)
+                execidmap[newexec] = object.id
+                if (retryExecId) {
+                    retryidmap[newexec] = retryExecId
                 }
-                ecount++
-            } else {
-                throw new ProjectServiceException("Unexpected data type for Execution($ecount): " + object.class.name)
+                execlist << newexec
+            } catch (Throwable e) {
+                throw new ProjectServiceException("Unable to create Execution($ecount): " + e.getMessage(), e)
             }
+            ecount++
         }
         [executions: execlist, execidmap: execidmap, retryidmap: retryidmap]
     }
@@ -807,7 +845,10 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
         manifest.mainAttributes.putValue('Rundeck-Archive-Project-Name', project.name)
         manifest.mainAttributes.putValue('Rundeck-Archive-Export-Date', sdf.format(new Date()))
 
-        def zip = new JarOutputStream(stream, manifest)
+        def progressStream = listener instanceof ByteProgressListener ?
+            new ProgressOutputStream(stream, ((ByteProgressListener) listener).&bytesWritten) :
+            stream
+        def zip = new JarOutputStream(progressStream, manifest)
         try {
             exportProjectToStream(project, framework, zip, listener, options, authContext)
         } finally {
@@ -894,21 +935,15 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
             sortOrder.each { compName ->
 
                 if (compName == BuiltinExportComponents.jobs.name() && isExportJobs) {
-                    def jobs = ScheduledExecution.findAllByProject(projectName)
                     dir('jobs/') {
-                        jobs.each { ScheduledExecution job ->
-                            zip.file("job-${job.extid.encodeAsURL()}.xml") { Writer writer ->
-                                exportJob job, writer, stripJobRef
-                                listener?.inc('export', 1)
-                            }
-                        }
+                        exportJobs(zip, projectName, stripJobRef, listener)
                     }
                 } else if (compName == BuiltinExportComponents.executions.name()) {
-                    List<Execution> execs = []
-                    List<RdExecReport> reports = []
+                    List<Long> execIds = null
+                    long execCount = 0
                     if (options.executionsOnly) {
                         //find execs
-                        List<Long> execIds = []
+                        execIds = []
                         options.executionIds.each {
                             if (it instanceof Long) {
                                 execIds << it
@@ -916,43 +951,48 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
                                 execIds << Long.parseLong(it)
                             }
                         }
-                        execs = Execution.findAllByProjectAndIdInList(projectName, execIds)
-                        reports = execReportDataProvider.findAllByProjectAndExecutionUuidInList(projectName, execs.collect{it.uuid})
+                        execCount = execIds ? Execution.countByProjectAndIdInList(projectName, execIds) : 0
                     } else if (isExportExecutions) {
-                        execs = Execution.findAllByProject(projectName)
-                        reports = execReportDataProvider.findAllByProject(projectName)
+                        execCount = Execution.countByProject(projectName)
                     }
-                    List<JobFileRecord> jobfilerecords = []
 
-                    if (execs) {
+                    if (execCount > 0) {
+                        List<String> execUuids = []
                         dir('executions/') {
                             //export executions
                             //export execution logs
                             String remotePathTemplate = null
-                            execs.each { Execution exec ->
-                                if(remotePathTemplate == null)
-                                    remotePathTemplate = logFileStorageService.getStorePathTemplateForExecution(exec)
+                            eachExecutionPage(projectName, execIds) { List<Execution> execs ->
+                                execs.each { Execution exec ->
+                                    if (remotePathTemplate == null)
+                                        remotePathTemplate = logFileStorageService.getStorePathTemplateForExecution(exec)
 
-                                exportExecution zip, exec, "execution-${exec.id}.xml", remotePathTemplate
+                                    exportExecution zip, exec, "execution-${exec.id}.xml", remotePathTemplate
 
-                                jobfilerecords.addAll JobFileRecord.findAllByExecution(exec)
+                                    if (execIds != null) {
+                                        execUuids << exec.uuid
+                                    }
 
-                                listener?.inc('export', 3)
+                                    listener?.inc('export', 3)
+                                }
                             }
                         }
 
                         dir('jobfiles/') {
-                            jobfilerecords.each { JobFileRecord record ->
-                                exportFileRecord zip, record, "filerecord-${record.id}.xml"
+                            eachJobFileRecordPage(projectName, execIds) { List<JobFileRecord> records ->
+                                records.each { JobFileRecord record ->
+                                    exportFileRecord zip, record, "filerecord-${record.id}.xml"
+                                }
                             }
                         }
                         //export history
 
                         dir('reports/') {
-                            reports.each { RdExecReport report ->
-                                exportHistoryReport zip, report, "report-${report.id}.xml"
-                                def a = report.toMap()
-                                listener?.inc('export', 1)
+                            eachReportPage(projectName, execIds != null ? execUuids : null) { List<RdExecReport> reports ->
+                                reports.each { RdExecReport report ->
+                                    exportHistoryReport zip, report, "report-${report.id}.xml"
+                                    listener?.inc('export', 1)
+                                }
                             }
                         }
                     }
@@ -1046,6 +1086,211 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
 
     }
 
+    /**
+     * @return number of executions, reports or jobs to load at once when exporting
+     */
+    int getExportPageSize() {
+        configurationService?.getInteger('projectExport.pageSize', EXPORT_PAGE_SIZE_DEFAULT) ?: EXPORT_PAGE_SIZE_DEFAULT
+    }
+
+    /**
+     * Clear the hibernate session, to release entities loaded for a page of export entries
+     */
+    private void clearSession() {
+        Execution.withSession { session -> session.clear() }
+    }
+
+    /**
+     * Export job definitions for the project. Jobs are serialized concurrently using
+     * projectExport.jobs.parallelism threads, and written to the archive in order.
+     * @param zip zip builder
+     * @param projectName project
+     * @param stripJobRef strip job ref option
+     * @param listener progress listener
+     */
+    void exportJobs(ZipBuilder zip, String projectName, String stripJobRef, ProgressListener listener) {
+        List<Long> jobIds = ScheduledExecution.createCriteria().list {
+            eq('project', projectName)
+            projections {
+                property('id')
+            }
+            order('id', 'asc')
+        } as List<Long>
+        int parallelism = configurationService?.getInteger(
+            'projectExport.jobs.parallelism',
+            EXPORT_JOBS_PARALLELISM_DEFAULT
+        ) ?: 1
+        if (parallelism <= 1) {
+            jobIds.collate(exportPageSize).each { List<Long> ids ->
+                ScheduledExecution.getAll(ids).each { ScheduledExecution job ->
+                    zip.file("job-${job.extid.encodeAsURL()}.xml") { Writer writer ->
+                        exportJob job, writer, stripJobRef
+                        listener?.inc('export', 1)
+                    }
+                }
+                clearSession()
+            }
+            return
+        }
+        def executor = Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder().setNameFormat("ProjectExport-jobs-${projectName}-%d").setDaemon(true).build()
+        )
+        Deque<Future<List<String>>> pending = new ArrayDeque<>()
+        def writeNext = {
+            List<String> result
+            try {
+                result = pending.removeFirst().get()
+            } catch (ExecutionException e) {
+                throw new ProjectServiceException("Failed to export job: ${e.cause?.message}", e.cause)
+            }
+            zip.file(result[0], result[1])
+            listener?.inc('export', 1)
+        }
+        try {
+            jobIds.each { Long id ->
+                pending.addLast(
+                    executor.submit(
+                        {
+                            ScheduledExecution.withNewSession {
+                                ScheduledExecution job = ScheduledExecution.get(id)
+                                def writer = new StringWriter()
+                                exportJob job, writer, stripJobRef
+                                ["job-${job.extid.encodeAsURL()}.xml".toString(), writer.toString()]
+                            }
+                        } as Callable<List<String>>
+                    )
+                )
+                //bound the number of serialized jobs held in memory
+                while (pending.size() >= parallelism * 2) {
+                    writeNext()
+                }
+            }
+            while (pending) {
+                writeNext()
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    /**
+     * Call the handler with pages of executions ordered by ID, clearing the session after each page
+     * @param projectName project
+     * @param execIds execution IDs to include, or null to include all executions in the project
+     * @param handler called with a list of executions
+     */
+    void eachExecutionPage(String projectName, List<Long> execIds, Closure handler) {
+        int max = exportPageSize
+        if (execIds != null) {
+            execIds.toSorted().collate(max).each { List<Long> ids ->
+                def execs = Execution.findAllByProjectAndIdInList(projectName, ids, [sort: 'id', order: 'asc'])
+                if (execs) {
+                    handler(execs)
+                }
+                clearSession()
+            }
+            return
+        }
+        Long lastId = null
+        while (true) {
+            List<Execution> execs = Execution.createCriteria().list {
+                eq('project', projectName)
+                if (lastId != null) {
+                    gt('id', lastId)
+                }
+                order('id', 'asc')
+                maxResults(max)
+            } as List<Execution>
+            if (!execs) {
+                break
+            }
+            lastId = execs.last().id
+            handler(execs)
+            clearSession()
+            if (execs.size() < max) {
+                break
+            }
+        }
+    }
+
+    /**
+     * Call the handler with pages of job file records for executions in the project, clearing the session after each
+     * page
+     * @param projectName project
+     * @param execIds execution IDs to include, or null to include records for all executions in the project
+     * @param handler called with a list of job file records
+     */
+    void eachJobFileRecordPage(String projectName, List<Long> execIds, Closure handler) {
+        int max = exportPageSize
+        List<List<Long>> execIdPages = execIds != null ? execIds.toSorted().collate(max) : [null]
+        for (List<Long> ids : execIdPages) {
+            Long lastId = null
+            while (true) {
+                List<JobFileRecord> records = JobFileRecord.createCriteria().list {
+                    execution {
+                        eq('project', projectName)
+                        if (ids != null) {
+                            'in'('id', ids)
+                        }
+                    }
+                    if (lastId != null) {
+                        gt('id', lastId)
+                    }
+                    order('id', 'asc')
+                    maxResults(max)
+                } as List<JobFileRecord>
+                if (!records) {
+                    break
+                }
+                lastId = records.last().id
+                handler(records)
+                clearSession()
+                if (records.size() < max) {
+                    break
+                }
+            }
+        }
+    }
+
+    /**
+     * Call the handler with pages of reports, clearing the session after each page
+     * @param projectName project
+     * @param execUuids execution UUIDs to include, or null to include all reports in the project
+     * @param handler called with a list of reports
+     */
+    void eachReportPage(String projectName, List<String> execUuids, Closure handler) {
+        int max = exportPageSize
+        if (execUuids != null) {
+            execUuids.collate(max).each { List<String> uuids ->
+                def reports = execReportDataProvider.findAllByProjectAndExecutionUuidInList(projectName, uuids)
+                if (reports) {
+                    handler(reports)
+                }
+                clearSession()
+            }
+            return
+        }
+        if (!(execReportDataProvider instanceof PagedExecReportDataProvider)) {
+            handler(execReportDataProvider.findAllByProject(projectName))
+            return
+        }
+        def pagedProvider = (PagedExecReportDataProvider) execReportDataProvider
+        Long lastId = null
+        while (true) {
+            List<RdExecReport> reports = pagedProvider.findAllByProjectAfterId(projectName, lastId, max)
+            if (!reports) {
+                break
+            }
+            lastId = reports.last().id
+            handler(reports)
+            clearSession()
+            if (reports.size() < max) {
+                break
+            }
+        }
+    }
+
     public String getFilesystemProjectsBasedir(IFramework framework, IRundeckProject project) {
         if (framework instanceof IFilesystemFramework) {
             return new File(framework.getFrameworkProjectsBaseDir(), project.name).absolutePath
@@ -1115,13 +1360,16 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
      * @param authContext authentication context
      * @param input input stream of zip data
      * @param options import options, [jobUUIDBehavior: (replace/preserve), importExecutions: (true/false)]
+     * @param checkpoint records the executions, reports and file records committed by the import, entries already
+     * recorded are not imported again, or null
      */
     def importToProject(
             IRundeckProject project,
             IFramework framework,
             UserAndRolesAuthContext authContext,
             InputStream input,
-            ProjectArchiveImportRequest options
+            ProjectArchiveImportRequest options,
+            ProjectImportCheckpoint checkpoint = null
     ) throws ProjectServiceException {
         ZipReader zip = new ZipReader(new ZipInputStream(input))
 //        zip.debug=true
@@ -1384,11 +1632,20 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
                             jobIdMap,
                             skipJobIds,
                             execxmlmap,
-                            execerrors
+                            execerrors,
+                            checkpoint
                     )
                     //load reports
-                    importReportsToProject(reportxml, jobsByOldId, reportxmlnames, execidmap, projectName, execerrors)
-                    importFileRecordsToProject(jfrecords, jobIdMap, jfrecordnames, execidmap, execerrors)
+                    importReportsToProject(
+                            reportxml,
+                            jobsByOldId,
+                            reportxmlnames,
+                            execidmap,
+                            projectName,
+                            execerrors,
+                            checkpoint
+                    )
+                    importFileRecordsToProject(jfrecords, jobIdMap, jfrecordnames, execidmap, execerrors, checkpoint)
 
                 } else if (sortKey == BuiltinImportComponents.config.name() && (importConfig || importNodes) && configtemp) {
                     importProjectConfig(configtemp, project, framework, importConfig, importNodes)
@@ -1674,48 +1931,83 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
      * @param reportxmlnames
      * @param execidmap
      * @param projectName
+     * @param checkpoint records committed reports, or null
      */
-    private void importReportsToProject(ArrayList reportxml, jobsByOldId, reportxmlnames, Map execidmap, projectName, loadjoberrors) {
-        def loadedreports = []
-        def execids = new ArrayList<Long>(execidmap.values())
-        reportxml.each { rxml ->
-            SaveReportRequestImpl report
-            try {
-                report = loadHistoryReport(rxml, execidmap, jobsByOldId, reportxmlnames[rxml])
-            } catch (ProjectServiceException e) {
-                loadjoberrors << "[${reportxmlnames[rxml]}] ${e.message}"
-                log.debug("[${reportxmlnames[rxml]}] ${e.message}", e)
-                log.error("[${reportxmlnames[rxml]}] ${e.message}")
-                return
-            }
-            if (!report) {
-                log.debug("[${reportxmlnames[rxml]}] Report skipped: no matching execution imported.")
-                return
+    private void importReportsToProject(
+            ArrayList reportxml,
+            jobsByOldId,
+            reportxmlnames,
+            Map execidmap,
+            projectName,
+            loadjoberrors,
+            ProjectImportCheckpoint checkpoint = null
+    ) {
+        long loadedreports = 0
+        Set<Long> reported = new HashSet<>(checkpoint?.reportedExecutions ?: [])
+        reportxml.findAll { !checkpoint?.reports?.contains(reportxmlnames[it]) }.collate(importBatchSize).each { batch ->
+            Set<String> batchNames = []
+            Set<Long> batchReported = []
+            Execution.withNewTransaction {
+                batch.each { rxml ->
+                    SaveReportRequestImpl report
+                    try {
+                        report = loadHistoryReport(rxml, execidmap, jobsByOldId, reportxmlnames[rxml])
+                    } catch (ProjectServiceException e) {
+                        loadjoberrors << "[${reportxmlnames[rxml]}] ${e.message}"
+                        log.debug("[${reportxmlnames[rxml]}] ${e.message}", e)
+                        log.error("[${reportxmlnames[rxml]}] ${e.message}")
+                        return
+                    }
+                    batchNames << reportxmlnames[rxml].toString()
+                    if (!report) {
+                        log.debug("[${reportxmlnames[rxml]}] Report skipped: no matching execution imported.")
+                        return
+                    }
+                    report.project = projectName
+                    def response = execReportDataProvider.saveReport(report)
+                    if (!response.isSaved) {
+                        log.error("[${reportxmlnames[rxml]}] Unable to save report: ${response.errors}")
+                        return
+                    }
+                    batchReported << response.report.executionId
+                }
             }
-            report.project = projectName
-            def response = execReportDataProvider.saveReport(report)
-            if (!response.isSaved) {
-                log.error("[${reportxmlnames[rxml]}] Unable to save report: ${response.errors}")
-                return
+            clearSession()
+            reported.addAll(batchReported)
+            loadedreports += batchReported.size()
+            if (checkpoint) {
+                checkpoint.reports.addAll(batchNames)
+                checkpoint.reportedExecutions.addAll(batchReported)
+                checkpoint.committed(batchReported.size())
             }
-            execids.remove(response.report.executionId)
-            loadedreports << response.report
         }
         //generate reports for executions without matching reports
-        execids.each { eid ->
-            def execution = Execution.get(eid)
-            if(!execution) {
-                log.error("Execution not found with id: ${eid}")
-                return
+        def execids = execidmap.values().findAll { !reported.contains(it as Long) }.collect { it as Long }
+        execids.collate(importBatchSize).each { List<Long> batch ->
+            Set<Long> batchReported = []
+            Execution.withNewTransaction {
+                batch.each { eid ->
+                    def execution = Execution.get(eid)
+                    if (!execution) {
+                        log.error("Execution not found with id: ${eid}")
+                        return
+                    }
+                    def saveReportResponse = execReportDataProvider.saveReport(ExecReportUtil.buildSaveReportRequest(execution, execution.scheduledExecution))
+                    if (!saveReportResponse.isSaved) {
+                        log.error("Unable to save generated report: ${saveReportResponse.errors} (execution ${eid})")
+                        return
+                    }
+                    batchReported << eid
+                }
             }
-            def saveReportResponse = execReportDataProvider.saveReport(ExecReportUtil.buildSaveReportRequest(execution, execution.scheduledExecution))
-            if (!saveReportResponse.isSaved) {
-                log.error("Unable to save generated report: ${saveReportResponse.errors} (execution ${eid})")
-                return
+            clearSession()
+            loadedreports += batchReported.size()
+            if (checkpoint) {
+                checkpoint.reportedExecutions.addAll(batchReported)
+                checkpoint.committed(batchReported.size())
             }
-            loadedreports << saveReportResponse.report
         }
-        log.info("Loaded ${loadedreports.size()} reports")
+        log.info("Loaded ${loadedreports} reports")
     }
     /**
      * Import job file records.
@@ -1723,35 +2015,49 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
      * @param jobIdMap
      * @param recordfilenames
      * @param execidmap
-     * @param projectName
+     * @param checkpoint records committed file records, or null
      */
     private List<JobFileRecord> importFileRecordsToProject(
             ArrayList recordfiles,
             jobIdMap,
             recordfilenames,
             Map execidmap,
-            loadjoberrors
+            loadjoberrors,
+            ProjectImportCheckpoint checkpoint = null
     ) {
         def loadedreports = []
-        recordfiles.each { rxml ->
-            def report
-            try {
-                report = loadJobFileRecord(rxml, execidmap, jobIdMap, recordfilenames[rxml])
-            } catch (ProjectServiceException e) {
-                loadjoberrors << "[${recordfilenames[rxml]}] ${e.message}"
-                log.debug("[${recordfilenames[rxml]}] ${e.message}", e)
-                log.error("[${recordfilenames[rxml]}] ${e.message}")
-                return
-            }
-            if (!report) {
-                log.debug("[${recordfilenames[rxml]}] File Record skipped: no matching execution imported.")
-                return
+        recordfiles.findAll { !checkpoint?.fileRecords?.contains(recordfilenames[it]) }.collate(importBatchSize).each { batch ->
+            Set<String> batchNames = []
+            int batchSaved = 0
+            Execution.withNewTransaction {
+                batch.each { rxml ->
+                    def report
+                    try {
+                        report = loadJobFileRecord(rxml, execidmap, jobIdMap, recordfilenames[rxml])
+                    } catch (ProjectServiceException e) {
+                        loadjoberrors << "[${recordfilenames[rxml]}] ${e.message}"
+                        log.debug("[${recordfilenames[rxml]}] ${e.message}", e)
+                        log.error("[${recordfilenames[rxml]}] ${e.message}")
+                        return
+                    }
+                    batchNames << recordfilenames[rxml].toString()
+                    if (!report) {
+                        log.debug("[${recordfilenames[rxml]}] File Record skipped: no matching execution imported.")
+                        return
+                    }
+                    if (!report.save()) {
+                        log.error("[${recordfilenames[rxml]}] Unable to save job file record: ${report.errors}")
+                        return
+                    }
+                    loadedreports << report
+                    batchSaved++
+                }
             }
-            if (!report.save()) {
-                log.error("[${recordfilenames[rxml]}] Unable to save job file record: ${report.errors}")
-                return
+            clearSession()
+            if (checkpoint) {
+                checkpoint.fileRecords.addAll(batchNames)
+                checkpoint.committed(batchSaved)
             }
-            loadedreports << report
         }
 
         log.info("Loaded ${loadedreports.size()} file records: " + recordfilenames.values())
@@ -1759,122 +2065,183 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
     }
 
     /**
-     * import executions, return a map from old execution ID to new ID
+     * @return number of archive entries imported in a single transaction
+     */
+    int getImportBatchSize() {
+        configurationService?.getInteger('projectImport.batchSize', IMPORT_BATCH_SIZE_DEFAULT) ?: IMPORT_BATCH_SIZE_DEFAULT
+    }
+
+    /**
+     * import executions, return a map from old execution ID to new ID.
+     *
+     * Execution files are imported in batches of projectImport.batchSize, each batch is parsed concurrently using
+     * projectImport.parallelism threads, and then saved in a single transaction.
      * @param execxml
      * @param execout
      * @param projectName
      * @param framework
      * @param jobIdMap
      * @param skipJobIds list of Job IDs to skip execution import
+     * @param checkpoint records committed executions, the archive entries recorded in it are not imported again, or
+     * null
      * @return map from old execution ID to new ID
      */
     private Map importExecutionsToProject(ArrayList execxml, Map<String, File> execout, projectName,
-                                          IFramework framework, jobIdMap, skipJobIds, Map execxmlmap, execerrors = []) {
+                                          IFramework framework, jobIdMap, skipJobIds, Map execxmlmap, execerrors = [],
+                                          ProjectImportCheckpoint checkpoint = null) {
         // map from old execution ID to new ID
         def execidmap = [:]
-        def oldidtoexec = [:]
-        def retryexecs = [:]
-        def loadexecresults = []
-        //load executions, and move/rewrite outputfile names
-        execxml.each { File exml ->
-            def results
-            try {
-                results = loadExecutions(exml, projectName, jobIdMap, skipJobIds)
-            } catch (ProjectServiceException e) {
-                log.debug("[${execxmlmap[exml]}] ${e.message}", e)
-                execerrors << "[${execxmlmap[exml]}] ${e.message}"
-                return
-            }
-            def execlist = results.executions
-            def oldids = results.execidmap
-            retryexecs.putAll(results.retryidmap)
-            execlist.each { Execution e ->
-                e.project = projectName
-                if (e.orchestrator && !e.orchestrator.save()) {
-                    execerrors << "[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}"
-                    log.error("[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}")
-                    return
-                }
-                if (e.workflow && !e.workflow.save()) {
-                    execerrors << "[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}"
-                    log.error("[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}")
-                    return
-                }
-                if (!e.save(flush: true)) {
-                    execerrors << "[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}"
-                    log.error("[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}")
-                    return
-                }
-                loadexecresults << e
-                if (oldids[e]) {
-                    execidmap[oldids[e]] = e.id
-                    oldidtoexec[oldids[e]] = e
+        // map from new execution ID to old retry execution ID
+        Map<Long, Object> retryexecs = [:]
+        checkpoint?.executions?.each { String oldid, Long newid ->
+            execidmap[Integer.valueOf(oldid)] = newid
+        }
+        checkpoint?.retries?.each { String newid, String oldid ->
+            retryexecs[Long.valueOf(newid)] = Integer.valueOf(oldid)
+        }
+        long loadexecresults = 0
+        int parallelism = configurationService?.getInteger('projectImport.parallelism', IMPORT_PARALLELISM_DEFAULT) ?: 1
+        def executor = Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder().setNameFormat("ProjectImport-executions-${projectName}-%d").setDaemon(true).build()
+        )
+        //sort by entry name so that the import order does not depend on the archive order
+        List<File> pending = execxml.findAll { !checkpoint?.executionFiles?.contains(execxmlmap[it]) }.sort {
+            execxmlmap[it]
+        }
+        try {
+            pending.collate(importBatchSize).each { List<File> batch ->
+                //parse the batch concurrently
+                List<Future<List<Map>>> parsed = batch.collect { File exml ->
+                    executor.submit({ parseExecutions(exml) } as Callable<List<Map>>)
                 }
-                //check outputfile exists in mapping
-                String oldOutputFilePath = e.outputfilepath
-                if (oldOutputFilePath) {
-                    if(e.isRemoteOutputfilepath()){
-                        log.warn("Log file for imported execution \"${e.id}\" is not present in archive. This logs will be loaded when accessed if its path \"${e.outputfilepath}\" is present in configured log storage")
-                    } else if (execout[oldOutputFilePath]) {
-                        File oldfile = execout[oldOutputFilePath]
-                        //move to appropriate location and update outputfilepath
-                        File newfile = logFileStorageService.getFileForExecutionFiletype(
-                                e,
-                                LoggingService.LOG_FILE_FILETYPE,
-                                false,
-                                false
-                        )
+                Map batchidmap = [:]
+                Map<Long, Object> batchretries = [:]
+                int batchSaved = 0
+                Execution.withNewTransaction {
+                    batch.eachWithIndex { File exml, int index ->
+                        def results
                         try {
-                            FileUtils.moveFile(oldfile, newfile)
-                        } catch (IOException exc) {
-                            execerrors << "Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
-                            log.error("Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                            try {
+                                results = buildExecutions(parsed[index].get(), projectName, jobIdMap, skipJobIds)
+                            } catch (ExecutionException e) {
+                                throw e.cause
+                            }
+                        } catch (ProjectServiceException e) {
+                            log.debug("[${execxmlmap[exml]}] ${e.message}", e)
+                            execerrors << "[${execxmlmap[exml]}] ${e.message}"
+                            return
                         }
-                        e.outputfilepath = newfile.absolutePath
-                    }
-                }
-                if (!oldOutputFilePath || !(execout[oldOutputFilePath] || e.isRemoteOutputfilepath())){
-                    execerrors << "New execution ${e.id}, NO matching outfile: ${e.outputfilepath}. It might be present in configured remote log storage plugin."
-                    log.error("New execution ${e.id}, NO matching outfile: ${e.outputfilepath}. It might be present in configured remote log storage plugin.")
-                }
+                        def execlist = results.executions
+                        def oldids = results.execidmap
+                        execlist.each { Execution e ->
+                            e.project = projectName
+                            if (e.orchestrator && !e.orchestrator.save()) {
+                                execerrors << "[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}"
+                                log.error("[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}")
+                                return
+                            }
+                            if (e.workflow && !e.workflow.save()) {
+                                execerrors << "[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}"
+                                log.error("[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}")
+                                return
+                            }
+                            if (!e.save()) {
+                                execerrors << "[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}"
+                                log.error("[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}")
+                                return
+                            }
+                            loadexecresults++
+                            batchSaved++
+                            if (oldids[e]) {
+                                batchidmap[oldids[e]] = e.id
+                            }
+                            if (results.retryidmap[e]) {
+                                batchretries[e.id] = results.retryidmap[e]
+                            }
+                            //check outputfile exists in mapping
+                            String oldOutputFilePath = e.outputfilepath
+                            if (oldOutputFilePath) {
+                                if(e.isRemoteOutputfilepath()){
+                                    log.warn("Log file for imported execution \"${e.id}\" is not present in archive. This logs will be loaded when accessed if its path \"${e.outputfilepath}\" is present in configured log storage")
+                                } else if (execout[oldOutputFilePath]) {
+                                    File oldfile = execout[oldOutputFilePath]
+                                    //move to appropriate location and update outputfilepath
+                                    File newfile = logFileStorageService.getFileForExecutionFiletype(
+                                            e,
+                                            LoggingService.LOG_FILE_FILETYPE,
+                                            false,
+                                            false
+                                    )
+                                    try {
+                                        FileUtils.moveFile(oldfile, newfile)
+                                    } catch (IOException exc) {
+                                        execerrors << "Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
+                                        log.error("Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                                    }
+                                    e.outputfilepath = newfile.absolutePath
+                                }
+                            }
+                            if (!oldOutputFilePath || !(execout[oldOutputFilePath] || e.isRemoteOutputfilepath())){
+                                execerrors << "New execution ${e.id}, NO matching outfile: ${e.outputfilepath}. It might be present in configured remote log storage plugin."
+                                log.error("New execution ${e.id}, NO matching outfile: ${e.outputfilepath}. It might be present in configured remote log storage plugin.")
+                            }
 
-                //copy state.json file
-                if (execout["state-${oldids[e]}.state.json"]) {
-                    File statefile = execout["state-${oldids[e]}.state.json"]
-                    String filename = logFileStorageService.getFileForExecutionFiletype(
-                            e,
-                            WorkflowService.STATE_FILE_FILETYPE,
-                            false,
-                            false
-                    )
-                    File newfile = new File(filename)
-                    try {
-                        FileUtils.moveFile(statefile, newfile)
-                    } catch (IOException exc) {
-                        execerrors << "Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
-                        log.error("Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                            //copy state.json file
+                            if (execout["state-${oldids[e]}.state.json"]) {
+                                File statefile = execout["state-${oldids[e]}.state.json"]
+                                String filename = logFileStorageService.getFileForExecutionFiletype(
+                                        e,
+                                        WorkflowService.STATE_FILE_FILETYPE,
+                                        false,
+                                        false
+                                )
+                                File newfile = new File(filename)
+                                try {
+                                    FileUtils.moveFile(statefile, newfile)
+                                } catch (IOException exc) {
+                                    execerrors << "Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
+                                    log.error("Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                                }
+                            }
+                        }
                     }
                 }
+                clearSession()
+                execidmap.putAll(batchidmap)
+                retryexecs.putAll(batchretries)
+                if (checkpoint) {
+                    batchidmap.each { oldid, Long newid -> checkpoint.executions[oldid.toString()] = newid }
+                    batchretries.each { Long newid, oldid -> checkpoint.retries[newid.toString()] = oldid.toString() }
+                    batch.each { checkpoint.executionFiles << execxmlmap[it].toString() }
+                    checkpoint.committed(batchSaved)
+                }
             }
+        } finally {
+            executor.shutdownNow()
         }
         //reassign retry execution links
-        loadexecresults.each { Execution e ->
-            if (retryexecs[e]) {
-                Execution retryExec = oldidtoexec[retryexecs[e]]
-                if (retryExec) {
-                    e.retryExecution = retryExec
-                    if (!e.save()) {
-                        execerrors << "Unable to update execution retry link: ${e.errors} (Execution ${e.id})"
-                        log.error("Unable to update execution retry link: ${e.errors} (Execution ${e.id})")
-                        return
+        if (retryexecs) {
+            Execution.withNewTransaction {
+                retryexecs.each { Long id, oldRetryId ->
+                    Execution e = Execution.get(id)
+                    Execution retryExec = execidmap[oldRetryId] ? Execution.get(execidmap[oldRetryId]) : null
+                    if (e && retryExec) {
+                        e.retryExecution = retryExec
+                        if (!e.save()) {
+                            execerrors << "Unable to update execution retry link: ${e.errors} (Execution ${e.id})"
+                            log.error("Unable to update execution retry link: ${e.errors} (Execution ${e.id})")
+                        }
+                    } else {
+                        execerrors << "Failed to link retry for ${id} to ${oldRetryId}"
+                        log.error("Failed to link retry for ${id} to ${oldRetryId}")
                     }
-                } else {
-                    execerrors << "Failed to link retry for ${e.id} to ${retryexecs[e]}"
-                    log.error("Failed to link retry for ${e.id} to ${retryexecs[e]}")
                 }
             }
+            clearSession()
+            checkpoint?.retries?.clear()
         }
-        log.info("Loaded ${loadexecresults.size()} executions, map: ${execidmap}")
+        log.info("Loaded ${loadexecresults} executions, map: ${execidmap}")
         execidmap
     }
 
@@ -2037,7 +2404,8 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
     }
 
     /**
-     * Starts async import milestones 1 and 2.
+     * Starts async import milestones 2 and 3. Milestone 3 is reserved before it starts, so that it cannot run twice
+     * for the same project.
      *
      * @param projectName
      * @param authContext
@@ -2055,7 +2423,15 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
                 notify(AsyncImportEvents.ASYNC_IMPORT_EVENT_MILESTONE_2, projectName, authContext, project)
                 break
             case AsyncImportMilestone.M3_IMPORTING.milestoneNumber:
-                notify(AsyncImportEvents.ASYNC_IMPORT_EVENT_MILESTONE_3, projectName, authContext, project)
+                if (!asyncImportService.reserveBundledExecutionsImport(projectName)) {
+                    throw new AsyncImportException("Async import files import for project: ${projectName} is already in progress.")
+                }
+                try {
+                    notify(AsyncImportEvents.ASYNC_IMPORT_EVENT_MILESTONE_3, projectName, authContext, project)
+                } catch (Exception e) {
+                    asyncImportService.releaseBundledExecutionsImport(projectName)
+                    throw e
+                }
                 break
             default:
                 throw new AsyncImportException("Invalid milestone number: ${asyncImportStep} please, provide a valid async import milestone number.")
@@ -2128,6 +2504,21 @@ class ProjectService implements InitializingBean, ExecutionFileProducer, EventPu
         return incomplete
     }
 
+    /**
+     * Resume an interrupted async import operation for given project, from the last checkpoint.
+     *
+     * @param projectName
+     * @param authContext
+     * @param project
+     */
+    void resumeAsyncImport(String projectName, AuthContext authContext, IRundeckProject project) {
+        if (!asyncImportService.canResumeAsyncImport(projectName)) {
+            throw new AsyncImportException("Async import for project: ${projectName} cannot be resumed.")
+        }
+        projectLogger.info("Resuming async project import for project: ${projectName}")
+        beginAsyncImportMilestone(projectName, authContext, project, AsyncImportMilestone.M3_IMPORTING.milestoneNumber)
+    }
+
     /**
      * Restart a complete async import operation for given project.
      *
@@ -2234,12 +2625,87 @@ interface ProgressListener {
     void inc(String key,long count)
     void done()
 }
+/**
+ * Receives the number of bytes written to an archive
+ */
+interface ByteProgressListener {
+    void bytesWritten(long count)
+}
+/**
+ * Records the archive entries committed by a project import, so that an interrupted import can be resumed
+ * without importing the same entries twice
+ */
+class ProjectImportCheckpoint {
+    /**
+     * map of archive execution ID to imported execution ID
+     */
+    Map<String, Long> executions = new HashMap<>()
+    /**
+     * names of committed execution files
+     */
+    Set<String> executionFiles = new HashSet<>()
+    /**
+     * map of imported execution ID to archive ID of the retry execution, for links not yet restored
+     */
+    Map<String, String> retries = new HashMap<>()
+    /**
+     * names of imported report files
+     */
+    Set<String> reports = new HashSet<>()
+    /**
+     * IDs of imported executions which have a report
+     */
+    Set<Long> reportedExecutions = new HashSet<>()
+    /**
+     * names of imported job file record files
+     */
+    Set<String> fileRecords = new HashSet<>()
+    /**
+     * called with the checkpoint and the number of rows saved after each batch is committed
+     */
+    Closure listener
+
+    void committed(long count) {
+        listener?.call(this, count)
+    }
+
+    Map toMap() {
+        [
+            executions        : new HashMap<>(executions),
+            executionFiles    : new ArrayList<>(executionFiles),
+            retries           : new HashMap<>(retries),
+            reports           : new ArrayList<>(reports),
+            reportedExecutions: new ArrayList<>(reportedExecutions),
+            fileRecords       : new ArrayList<>(fileRecords)
+        ]
+    }
+
+    static ProjectImportCheckpoint fromMap(Map map) {
+        def checkpoint = new ProjectImportCheckpoint()
+        map?.executions?.each { k, v -> checkpoint.executions[k.toString()] = v as Long }
+        map?.executionFiles?.each { checkpoint.executionFiles << it.toString() }
+        map?.retries?.each { k, v -> checkpoint.retries[k.toString()] = v.toString() }
+        map?.reports?.each { checkpoint.reports << it.toString() }
+        map?.reportedExecutions?.each { checkpoint.reportedExecutions << (it as Long) }
+        map?.fileRecords?.each { checkpoint.fileRecords << it.toString() }
+        checkpoint
+    }
+}
 interface ProgressSummary {
     int percent()
 }
-class ArchiveRequestProgress implements ProgressSummary,ProgressListener{
+class ArchiveRequestProgress implements ProgressSummary,ProgressListener,ByteProgressListener{
     Map<String,Long> totals=new HashMap<String,Long>()
     Map<String,Long> counts=new HashMap<String,Long>()
+    /**
+     * bytes written to the archive
+     */
+    volatile long bytes
+
+    @Override
+    void bytesWritten(final long count) {
+        bytes += count
+    }
 
 
     @Override
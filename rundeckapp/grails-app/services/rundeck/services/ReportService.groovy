@@ -530,6 +530,26 @@ class ReportService  {
         return rundeckAuthContextEvaluator.authorizeProjectResources(authContext,resHS, constraints, project)
     }
 
+    /**
+     * Delete the reports for a batch of executions, with bulk deletes if supported by the data provider
+     * @param executions executions
+     */
+    def deleteByExecutions(List<? extends ExecutionData> executions) {
+        if (!(execReportDataProvider instanceof DBExecReportSupport)) {
+            executions.each { deleteByExecution(it) }
+            return
+        }
+        DBExecReportSupport support = (DBExecReportSupport) execReportDataProvider
+        List<String> uuids = executions.findAll { it.uuid }*.uuid
+        List<Long> ids = executions.findAll { !it.uuid }.collect { it.internalId as Long }
+        if (uuids) {
+            support.deleteAllByExecutionUuids(uuids)
+        }
+        if (ids) {
+            support.deleteAllByExecutionIds(ids)
+        }
+    }
+
     def deleteByExecution(ExecutionData e) {
         if (e.uuid) {
             execReportDataProvider.deleteAllByExecutionUuid(e.uuid)
@@ -125,6 +125,7 @@ import rundeck.data.job.RdJobBrowseItem
 import rundeck.data.quartz.QuartzJobSpecifier
 import rundeck.data.validation.validators.AnyDomainEmailValidator
 import org.rundeck.app.jobs.options.JobOptionConfigRemoteUrl
+import org.rundeck.app.data.options.RemoteOptionValuesCache
 import rundeck.quartzjobs.ExecutionJob
 import rundeck.quartzjobs.ExecutionsCleanUp
 import rundeck.services.audit.AuditEventsService
@@ -215,6 +216,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
     def executionUtilService
     FileUploadService fileUploadService
     JobSchedulerService jobSchedulerService
+    ExecutionSupervisorService executionSupervisorService
     JobLifecycleComponentService jobLifecycleComponentService
     ExecutionLifecycleComponentService executionLifecycleComponentService
     SchedulesManager jobSchedulesService
@@ -224,6 +226,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
     ConfigurationService configurationService
     UserDataProvider userDataProvider
     JobDataProvider jobDataProvider
+    RemoteOptionValuesCache remoteOptionValuesCache
     UserService userService
     RdJobService rdJobService
     FeatureService featureService
@@ -1503,6 +1506,10 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                 }
             }
         }
+        if (!found) {
+            //the quartz job returns after handing off the execution to the supervisor
+            found = executionSupervisorService?.findJobExecutionContext(e.id)?.fireInstanceId
+        }
 
         return found
     }
@@ -1520,12 +1527,16 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                 found = jexec
             }
         }
+        if (!found) {
+            found = executionSupervisorService?.findJobExecutionContext(id)
+        }
 
         return found
     }
 
     /**
-     * Interrupt a running quartz job if present or optinoally delete from scheduler if not
+     * Interrupt a running quartz job, or the supervised execution it started, if present or optinoally delete from
+     * scheduler if not
      * @param quartzIntanceId quartz fire instance Id
      * @param jobName
      * @param groupName
@@ -1539,7 +1550,10 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
             boolean deleteFromScheduler = false
     )
     {
-        def didCancel = quartzIntanceId ? quartzScheduler.interrupt(quartzIntanceId) : false
+        def didCancel = quartzIntanceId ?
+                        (quartzScheduler.interrupt(quartzIntanceId) ||
+                         executionSupervisorService?.interrupt(quartzIntanceId)) :
+                        false
 
         /** If the job has not started yet, it will not be included in currently executing jobs **/
         if (!didCancel && deleteFromScheduler) {
@@ -3723,6 +3737,155 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         }
         return [jobset: jobset]
     }
+
+    /**
+     * @return true if jobs should be imported with {@link #streamImportJobs}
+     */
+    boolean isStreamingJobImport() {
+        configurationService.getBoolean('jobs.import.streaming.enabled', true)
+    }
+
+    /**
+     * Decode jobs from the input one at a time and load them in batches, each batch in a new transaction, so that
+     * the whole input is not held in memory. Jobs which cannot be decoded are reported in the errjobs result. If the
+     * input cannot be parsed after some batches were committed, the remaining decoded jobs are loaded and the parse
+     * error is reported as a failed entry, so that the result lists the jobs which were saved.
+     * @param input either an inputStream, a Reader, a File, or a String
+     * @param fileformat format
+     * @param project project for the jobs
+     * @return map of load results as for {@link #loadImportedJobs}, or a map with error or errorCode if the input
+     * could not be parsed before any job was saved
+     */
+    @NotTransactional
+    def streamImportJobs(
+            input,
+            String fileformat,
+            String project,
+            String option,
+            String uuidOption,
+            Map changeinfo,
+            UserAndRolesAuthContext authContext,
+            Boolean validateJobref = false
+    ) {
+        int batchSize = Math.max(1, configurationService.getInteger('jobs.import.batchSize', 100))
+        def results = [jobs: [], jobsi: [], errjobs: [], skipjobs: [], jobChangeEvents: [], idMap: [:]]
+        List<ImportedJob<ScheduledExecution>> batch = []
+        List<Integer> entries = []
+        int lastEntry = 0
+        boolean committed = false
+        def loadBatch = {
+            if (!batch) {
+                return
+            }
+            def loaded = ScheduledExecution.withNewTransaction {
+                loadImportedJobs(batch, option, uuidOption, changeinfo, authContext, validateJobref)
+            }
+            //release the loaded jobs from the session
+            ScheduledExecution.withSession { session ->
+                session.flush()
+                session.clear()
+            }
+            ['jobsi', 'errjobs', 'skipjobs'].each { key ->
+                loaded[key].each { Map result ->
+                    result.entrynum = entries[result.entrynum - 1]
+                    results[key] << result
+                }
+            }
+            results.jobs.addAll(loaded.jobs)
+            results.jobChangeEvents.addAll(loaded.jobChangeEvents)
+            results.idMap.putAll(loaded.idMap)
+            batch = []
+            entries = []
+            committed = true
+        }
+        Reader reader = null
+        try {
+            if (input instanceof Reader) {
+                reader = input
+            } else if (input instanceof InputStream) {
+                reader = new InputStreamReader(input, 'UTF-8')
+            } else if (input instanceof File) {
+                reader = new InputStreamReader(new FileInputStream(input), 'UTF-8')
+            } else {
+                reader = new StringReader(input.toString())
+            }
+            rundeckJobDefinitionManager.decodeFormatEach(
+                    fileformat,
+                    reader,
+                    { int entry, ImportedJob<ScheduledExecution> imported ->
+                        lastEntry = entry
+                        imported.job.project = project
+                        batch << imported
+                        entries << entry
+                        if (batch.size() >= batchSize) {
+                            loadBatch()
+                        }
+                    },
+                    { int entry, JobDefinitionException e ->
+                        lastEntry = entry
+                        log.warn("Error parsing upload Job $fileformat entry $entry: ${e.message}")
+                        results.errjobs << [
+                                scheduledExecution: new ScheduledExecution(project: project),
+                                entrynum          : entry,
+                                errmsg            : e.message
+                        ]
+                    }
+            )
+            loadBatch()
+        } catch (UnsupportedFormatException e) {
+            log.debug("Unsupported format requested for Job definition: $fileformat", e)
+            return [errorCode: 'api.error.jobs.import.format.unsupported', args: [fileformat]]
+        } catch (JobDefinitionException e) {
+            log.warn("Error parsing upload Job $fileformat", e)
+            if (!committed) {
+                return [error: "${e}"]
+            }
+            log.error("Error parsing upload Job $fileformat after loading ${results.jobs.size()} jobs: ${e}")
+            loadBatch()
+            results.errjobs << [
+                    scheduledExecution: new ScheduledExecution(project: project),
+                    entrynum          : lastEntry + 1,
+                    errmsg            : "${e}"
+            ]
+        } finally {
+            if (input instanceof File) {
+                reader?.close()
+            }
+        }
+        refetchImportedJobs(results, batchSize)
+        results
+    }
+
+    /**
+     * Replace the jobs saved by {@link #streamImportJobs}, which were detached when the session was cleared, with
+     * jobs loaded in the current session
+     * @param results load results
+     * @param batchSize number of jobs to load per query
+     */
+    private void refetchImportedJobs(Map results, int batchSize) {
+        Map<Long, ScheduledExecution> fetched = [:]
+        results.jobs.findAll { it?.id }*.id.unique().collate(batchSize).each { List<Long> ids ->
+            ScheduledExecution.getAll(ids).each { ScheduledExecution job ->
+                if (job) {
+                    fetched[job.id] = job
+                }
+            }
+        }
+        def refetch = { ScheduledExecution job ->
+            job?.id && fetched[job.id] ? fetched[job.id] : job
+        }
+        results.jobs = results.jobs.collect(refetch)
+        ['jobsi', 'skipjobs'].each { key ->
+            results[key].each { Map result ->
+                result.scheduledExecution = refetch(result.scheduledExecution)
+            }
+        }
+        results.jobChangeEvents.each { event ->
+            if (event instanceof StoredJobChangeEvent) {
+                event.job = refetch(event.job)
+            }
+        }
+    }
     /**
      * Validate workflow command error handler types, return true if valid
      * @param workflow
@@ -4016,6 +4179,8 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         int timeout = 10
         int contimeout = 0
         int retryCount = 5
+        int cacheTtl = configurationService.getInteger("jobs.options.remoteUrlCacheTtl", 0)
+        int cacheStale = configurationService.getInteger("jobs.options.remoteUrlCacheStale", 0)
         int httpResponseCode = 0
 
         if (configurationService.getString("jobs.options.remoteUrlTimeout")) {
@@ -4088,6 +4253,26 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                     )
                 }
             }
+            if (urlanchor['cacheTtl']) {
+                try {
+                    cacheTtl = Integer.parseInt(urlanchor['cacheTtl'])
+                } catch (NumberFormatException e) {
+                    log.warn(
+                            "URL cacheTtl ${urlanchor['cacheTtl']} is not a valid integer: "
+                                    + e.message
+                    )
+                }
+            }
+            if (urlanchor['cacheStale']) {
+                try {
+                    cacheStale = Integer.parseInt(urlanchor['cacheStale'])
+                } catch (NumberFormatException e) {
+                    log.warn(
+                            "URL cacheStale ${urlanchor['cacheStale']} is not a valid integer: "
+                                    + e.message
+                    )
+                }
+            }
         }
 
         int count = retryCount
@@ -4103,8 +4288,9 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                 def projectConfig = framework.frameworkProjectMgr.loadProjectConfig(scheduledExecution.project)
                 boolean disableRemoteOptionJsonCheck = projectConfig.hasProperty(REMOTE_OPTION_DISABLE_JSON_CHECK)
 
-                remoteResult = ScheduledExecutionController.getRemoteJSON({->new ApacheHttpClient()}, srcUrl, configRemoteUrl, timeout, contimeout, retryCount, disableRemoteOptionJsonCheck)
-                result = remoteResult.json
+                remoteResult = loadRemoteJSON(srcUrl, configRemoteUrl, timeout, contimeout, retryCount, disableRemoteOptionJsonCheck, cacheTtl, cacheStale)
+                //copy the list, the result may be shared with other requests via the cache
+                result = remoteResult.json instanceof Collection ? new ArrayList(remoteResult.json) : remoteResult.json
                 if (remoteResult.stats) {
                     remoteStats.putAll(remoteResult.stats)
                     if(remoteResult.stats.httpStatusCode){
@@ -4190,6 +4376,39 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         ]
     }
 
+    /**
+     * Request remote option values, using the shared cache if available
+     * @param cacheTtl seconds to cache the result
+     * @param cacheStale seconds after the TTL to return a cached result while it is refreshed
+     * @return result of {@link ScheduledExecutionController#getRemoteJSON}
+     */
+    private Map loadRemoteJSON(
+            String srcUrl,
+            JobOptionConfigRemoteUrl configRemoteUrl,
+            int timeout,
+            int contimeout,
+            int retryCount,
+            boolean disableRemoteOptionJsonCheck,
+            int cacheTtl,
+            int cacheStale
+    ) {
+        if (!remoteOptionValuesCache) {
+            return ScheduledExecutionController.getRemoteJSON({->new ApacheHttpClient()}, srcUrl, configRemoteUrl, timeout, contimeout, retryCount, disableRemoteOptionJsonCheck)
+        }
+        String key = RemoteOptionValuesCache.cacheKey(srcUrl, configRemoteUrl, disableRemoteOptionJsonCheck)
+        remoteOptionValuesCache.get(key, cacheTtl, cacheStale) {
+            ScheduledExecutionController.getRemoteJSON(
+                    { -> new ApacheHttpClient(remoteOptionValuesCache.sharedHttpClient) },
+                    srcUrl,
+                    configRemoteUrl,
+                    timeout,
+                    contimeout,
+                    retryCount,
+                    disableRemoteOptionJsonCheck
+            ) as Map
+        }
+    }
+
     /**
      * It sorts the url options based on the option label
      * @param List optionValues
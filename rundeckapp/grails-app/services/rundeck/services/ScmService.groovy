@@ -929,17 +929,32 @@ class ScmService {
     static class LazySerializer implements JobSerializer {
         ScheduledExecution job
         RundeckJobDefinitionManager rundeckJobDefinitionManager
+        final Thread owner = Thread.currentThread()
 
         @Override
         void serialize(final String format, final OutputStream outputStream) throws IOException {
-            rundeckJobDefinitionManager.createJobSerializer(job).serialize(format, outputStream)
+            createJobSerializer().serialize(format, outputStream)
         }
 
         @Override
         void serialize(final String format, final OutputStream os, final boolean preserveUuid, String sourceId)
                 throws IOException
         {
-            rundeckJobDefinitionManager.createJobSerializer(job).serialize(format, os, preserveUuid, sourceId)
+            createJobSerializer().serialize(format, os, preserveUuid, sourceId)
+        }
+
+        /**
+         * Plugins may serialize jobs in parallel, so when called from another thread the job is loaded in a new
+         * session
+         */
+        private JobSerializer createJobSerializer() {
+            if (Thread.currentThread() == owner || !job.id) {
+                return rundeckJobDefinitionManager.createJobSerializer(job)
+            }
+            ScheduledExecution.withNewSession {
+                def loaded = ScheduledExecution.get(job.id) ?: job
+                rundeckJobDefinitionManager.createJobSerializer(loaded)
+            }
         }
     }
 
@@ -1239,7 +1254,7 @@ class ScmService {
         def status = [:]
         def plugin = getLoadedExportPluginFor project
         if (plugin) {
-            jobs.each { job ->
+            List<JobExportReference> jobReferences = jobs.collect { job ->
                 def jobPluginMeta = null
                 if (!jobsPluginMeta) {
                     jobPluginMeta = getJobPluginMeta(job, STORAGE_NAME_EXPORT)
@@ -1247,9 +1262,20 @@ class ScmService {
                     jobPluginMeta = jobsPluginMeta.get(job.uuid)
                 }
 
-                def jobReference = exportJobRef(job, jobPluginMeta)
-
+                exportJobRef(job, jobPluginMeta)
+            }
+            Map<String, String> originalPaths = [:]
+            jobReferences.each { jobReference ->
                 def originalPath = getRenamedPathForJobId(jobReference.project, jobReference.id)
+                if (originalPath) {
+                    originalPaths[jobReference.id] = originalPath
+                }
+            }
+            //allow the plugin to compute status for all jobs at once
+            plugin.prepareJobsStatus(jobReferences, originalPaths)
+
+            jobReferences.each { jobReference ->
+                def originalPath = originalPaths[jobReference.id]
                 JobState jobState = plugin.getJobStatus(jobReference, originalPath)
                 status[jobReference.id] = jobState
 
@@ -1418,7 +1444,16 @@ class ScmService {
         forgetDeletedPaths(project, deletePaths)
         forgetRenamedJobs(project, jobrefs*.id)
         log.debug("result: ${result}")
-        [valid: true, commitId: result.id, message: result.message, extendedMessage: result.extendedMessage]
+        if (result.timings) {
+            log.debug("export action ${actionId} for ${project} timings: ${result.timings}")
+        }
+        [
+            valid          : true,
+            commitId       : result.id,
+            message        : result.message,
+            extendedMessage: result.extendedMessage,
+            timings        : result.timings
+        ]
     }
 
     ScmUserInfo lookupUserInfo(final String username) {
@@ -20,10 +20,13 @@ import com.dtolabs.rundeck.core.authorization.AuthContext
 import com.dtolabs.rundeck.core.common.FrameworkProject
 import com.dtolabs.rundeck.core.storage.AuthStorageContextProvider
 import com.dtolabs.rundeck.core.storage.AuthStorageTree
+import com.dtolabs.rundeck.core.storage.ResourceMeta
 import com.dtolabs.rundeck.core.storage.StorageUtil
+import com.dtolabs.rundeck.core.storage.keys.CachingKeyStorageTree
 import com.dtolabs.rundeck.core.storage.keys.KeyStorageTree
 import com.dtolabs.rundeck.core.storage.keys.KeyStorageUtil
 import org.rundeck.storage.api.PathUtil
+import org.rundeck.storage.api.Resource
 import org.rundeck.storage.data.DataUtil
 
 /**
@@ -61,6 +64,21 @@ class StorageService {
         authRundeckStorageTree.listDirectory(context, PathUtil.asPath(path))
     }
 
+    /**
+     * List a page of the authorized directory contents, subdirectories first and then resources, each ordered by name
+     * @param context auth context
+     * @param path directory path
+     * @param offset first result
+     * @param max max results, or 0 for all results
+     * @return page of resources
+     */
+    List<Resource<ResourceMeta>> listDirPage(AuthContext context, String path, int offset, int max) {
+        def sorted = authRundeckStorageTree.listDirectory(context, PathUtil.asPath(path)).sort { Resource<ResourceMeta> a, Resource<ResourceMeta> b ->
+            (b.directory <=> a.directory) ?: (a.path.name <=> b.path.name)
+        }
+        return sorted.drop(offset).take(max > 0 ? max : sorted.size())
+    }
+
     def delResource(AuthContext context, String path) {
         authRundeckStorageTree.deleteResource(context, PathUtil.asPath(path))
     }
@@ -72,4 +90,14 @@ class StorageService {
     def KeyStorageTree storageTreeWithContext(AuthContext ctx) {
         KeyStorageUtil.keyStorageWrapper StorageUtil.resolvedTree(ctx, authRundeckStorageTree)
     }
+
+    /**
+     * Return a tree using the authorization context, which caches resource content read through it. The tree
+     * should be closed when no longer used.
+     * @param ctx auth context
+     * @return StorageTree
+     */
+    def CachingKeyStorageTree cachingStorageTreeWithContext(AuthContext ctx) {
+        KeyStorageUtil.cachingKeyStorageWrapper StorageUtil.resolvedTree(ctx, authRundeckStorageTree)
+    }
 }
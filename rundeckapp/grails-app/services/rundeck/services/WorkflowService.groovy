@@ -21,6 +21,7 @@ import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowState
 import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowStateImpl
 import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowStateListener
 import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowStepStateImpl
+import com.dtolabs.rundeck.app.internal.workflow.QueuedWorkflowStateListener
 import com.dtolabs.rundeck.app.internal.workflow.WorkflowStateListenerAction
 import com.dtolabs.rundeck.app.internal.workflow.ExceptionHandlingMutableWorkflowState
 import com.dtolabs.rundeck.app.support.ExecutionContext
@@ -55,6 +56,7 @@ import rundeck.services.workflow.StateMapping
 
 import java.nio.file.Files
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
 
 class WorkflowService implements ApplicationContextAware{
     public static final String STATE_FILE_FILETYPE = "state.json"
@@ -74,6 +76,14 @@ class WorkflowService implements ApplicationContextAware{
      * in-memory states of executions while executions are running
      */
     Map<Long, WorkflowState> activeStates = new ConcurrentHashMap<>()
+    /**
+     * single-writer state updaters of running executions
+     */
+    Map<Long, QueuedWorkflowStateListener> activeStateUpdaters = new ConcurrentHashMap<>()
+    /**
+     * Executor for applying state changes of running executions
+     */
+    Executor workflowStateTaskExecutor
     /**
      * initialized in bootstrap
      */
@@ -213,16 +223,6 @@ class WorkflowService implements ApplicationContextAware{
         def mutablestate = new MutableWorkflowStateListener(state)
         def chain = [mutablestate]
         def File outfile = getStateFileForExecution(execution)
-        chain << new WorkflowStateListenerAction(
-                onWorkflowExecutionStateChanged: { ExecutionState executionState, Date timestamp, List<String> nodeSet ->
-                    if (executionState.completedState) {
-                        persistExecutionState(execution.id, state, outfile, true)
-                    }
-                },
-                onStepStateChanged: { StepIdentifier identifier, StepStateChange stepStateChange, Date timestamp ->
-                    persistExecutionState(execution.id, state, outfile)
-                }
-        )
         if (Environment.getCurrent() == Environment.DEVELOPMENT) {
             chain << new WorkflowStateListenerAction(onWorkflowExecutionStateChanged: {
                 ExecutionState executionState, Date timestamp, List<String> nodeSet ->
@@ -231,7 +231,18 @@ class WorkflowService implements ApplicationContextAware{
                     }
             })
         }
-        new WorkflowExecutionStateListenerAdapter(chain)
+        //state changes are applied in order by a single writer, and persisted once per batch of changes
+        def updater = new QueuedWorkflowStateListener(
+                listeners: chain,
+                executor: workflowStateTaskExecutor,
+                onApplied: { boolean stepChanged, boolean completed ->
+                    if (completed || stepChanged) {
+                        persistExecutionState(id, state, outfile, completed)
+                    }
+                }
+        )
+        activeStateUpdaters.put(id, updater)
+        new WorkflowExecutionStateListenerAdapter([updater])
     }
 
     /**
@@ -257,15 +268,27 @@ class WorkflowService implements ApplicationContextAware{
         if(finalState){
             stateCache.put(id, data)
             activeStates.remove(id)
+            activeStateUpdaters.remove(id)
         }
         log.debug("${id}: execution state.json persisted to file.")
     }
 
     def Map serializeStateJson(Long id, WorkflowState state, File file) {
-        def data = stateMapping.mapOf(id, state)
+        def data = readActiveState(id) { stateMapping.mapOf(id, state) }
         serializeStateDataJson(id, data, file)
     }
 
+    /**
+     * Read the active state of an execution without seeing a partially applied state change
+     * @param id execution ID
+     * @param reader closure to read the state
+     * @return result of the closure
+     */
+    public <T> T readActiveState(Long id, Closure<T> reader) {
+        def updater = activeStateUpdaters[id]
+        updater ? updater.read(reader) : reader.call()
+    }
+
     def Map serializeStateDataJson(Long id, Map data, File file) {
         file.withWriter { w ->
             w << data.encodeAsJSON()
@@ -289,7 +312,12 @@ class WorkflowService implements ApplicationContextAware{
         //look for active state
         def state1 = activeStates[e.id]
         if (state1) {
-            def state= stateMapping.mapOf(e.id, state1)
+            def state = readActiveState(e.id) {
+                long sequence = stateMapping.currentSequence()
+                def data = stateMapping.mapOf(e.id, state1)
+                data.sequence = sequence
+                data
+            }
             return new WorkflowStateFileLoader(workflowState: state, state: ExecutionFileState.AVAILABLE)
         }
 
@@ -313,6 +341,22 @@ class WorkflowService implements ApplicationContextAware{
         return new WorkflowStateFileLoader(workflowState: statemap, state: loader.state, errorCode: loader.errorCode,
                 errorData: loader.errorData, file: loader.file)
     }
+    /**
+     * Return the step and node states changed after the given change sequence if the execution is running,
+     * otherwise the full state as returned by {@link #requestState(rundeck.Execution, boolean)}
+     * @param e execution
+     * @param since change sequence from a previous state response
+     * @param performLoad if true, perform remote file transfer
+     */
+    WorkflowStateFileLoader requestStateDelta(Execution e, long since, boolean performLoad = true) {
+        def state1 = activeStates[e.id]
+        if (state1) {
+            def state = readActiveState(e.id) { stateMapping.deltaOf(e.id, state1, since) }
+            return new WorkflowStateFileLoader(workflowState: state, state: ExecutionFileState.AVAILABLE)
+        }
+        return requestState(e, performLoad)
+    }
+
     /**
      * Summarize the data for only the selected nodes
      * @param e execution
@@ -333,8 +377,10 @@ class WorkflowService implements ApplicationContextAware{
         //look for active state
         def state1 = activeStates[e.id]
         if (state1) {
-            def state= stateMapping.mapOf(e.id, state1)
+            long sequence = stateMapping.currentSequence()
+            def state = readActiveState(e.id) { stateMapping.mapOf(e.id, state1) }
             state=stateMapping.summarize(new HashMap(state),nodes,selectedOnly,stepStates)
+            state.sequence = sequence
             return new WorkflowStateFileLoader(workflowState: state, state: ExecutionFileState.AVAILABLE)
         }
 
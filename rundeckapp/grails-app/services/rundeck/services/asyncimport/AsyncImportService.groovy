@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory
 import org.springframework.transaction.annotation.Propagation
 import rundeck.services.ConfigurationService
 import rundeck.services.FrameworkService
+import rundeck.services.ProjectImportCheckpoint
 import rundeck.services.ProjectService
 
 import java.nio.charset.StandardCharsets
@@ -24,6 +25,7 @@ import java.nio.file.NoSuchFileException
 import java.nio.file.Path
 import java.nio.file.Paths
 import java.nio.file.StandardCopyOption
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Predicate
 import java.util.stream.Collectors
 import java.util.zip.ZipEntry
@@ -62,6 +64,11 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
     static final String STATE_FILE_PREFIX = 'state-'
     static final String STATE_FILE_EXT = '.state.json'
 
+    /**
+     * Projects with the Files Import milestone in progress in this server
+     */
+    private final Set<String> bundledExecutionsImports = ConcurrentHashMap.newKeySet()
+
     /**
      *
      * Creates the status file that will be the main report to inform about the whole process,
@@ -430,6 +437,8 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
 
         logger.debug("Starting to distribute executions.")
 
+        updatedStatus.milestone = AsyncImportMilestone.M2_DISTRIBUTION.name
+        updatedStatus.milestoneNumber = AsyncImportMilestone.M2_DISTRIBUTION.milestoneNumber
         updatedStatus.lastUpdate = "Starting to distribute executions."
         saveAsyncImportStatusForProject(projectName,updatedStatus)
 
@@ -571,10 +580,13 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
      * This method is asynchronous and only will be triggered by the completion of milestone 2 through an event emission,
      * it:
      * a) Iterates the executions bundles in distributed_executions path of the working directory and for each one:
-     *  1) Copy each bundle to the model project in the working directory
-     *  2) Zip the model project and parse it as an input stream to feed "importToProject"
-     *  3) Calls "importToProject"
-     *  4) Remove the zip and start over until the last bundle is imported.
+     *  1) Zip the model project together with the bundle and parse it as an input stream to feed "importToProject"
+     *  2) Calls "importToProject", which commits the executions in batches and records them in a checkpoint
+     *  3) Records the checkpoint and the import rate in the status file after each batch
+     *  4) Records the bundle as completed, removes it and the zip and start over until the last bundle is imported.
+     *
+     * If the process is interrupted it can be triggered again: completed bundles are skipped, and the entries of the
+     * bundle being imported which were already committed are not imported again.
      *
      * @param projectName - String
      * @param authContext - AuthContext
@@ -585,6 +597,18 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
             final String projectName,
             AuthContext authContext,
             IRundeckProject project
+    ){
+        try {
+            importBundledExecutions(projectName, authContext, project)
+        } finally {
+            releaseBundledExecutionsImport(projectName)
+        }
+    }
+
+    private void importBundledExecutions(
+            final String projectName,
+            AuthContext authContext,
+            IRundeckProject project
     ){
         def updatedStatus = getAsyncImportStatusForProject(projectName)
         if( updatedStatus == null ){
@@ -597,6 +621,8 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
             throw new MissingPropertyException("No project name passed in event.")
         }
 
+        updatedStatus.milestone = AsyncImportMilestone.M3_IMPORTING.name
+        updatedStatus.milestoneNumber = AsyncImportMilestone.M3_IMPORTING.milestoneNumber
         updatedStatus.lastUpdate = "Files upload operation started...."
         saveAsyncImportStatusForProject(projectName,updatedStatus)
 
@@ -609,6 +635,10 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
                 importExecutions  : true
         ] as ProjectArchiveParams
 
+        Set<String> completedBundles = new LinkedHashSet<>(updatedStatus.completedBundles ?: [])
+        long startRows = updatedStatus.importedRows ?: 0
+        long startTime = System.currentTimeMillis()
+
         try {
             logger.debug("Iterating execution bundles.")
 
@@ -616,7 +646,6 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
             saveAsyncImportStatusForProject(projectName,updatedStatus)
 
             def distributedExecutionsFullPath = Paths.get("${BASE_WORKING_DIR.toString()}${projectName}${File.separator}${DISTRIBUTED_EXECUTIONS_FILENAME}")
-            Path firstDir
             def executionBundles = null
             try {
                 executionBundles = getExecutionBundles(distributedExecutionsFullPath)
@@ -628,37 +657,43 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
                     updatedStatus.lastUpdate = "A total of ${executionBundles.size()} execution bundles found, iterating in progress.."
                     saveAsyncImportStatusForProject(projectName,updatedStatus)
 
-                    executionBundles.forEach{ bundle ->
+                    executionBundles.eachWithIndex{ Path bundle, int index ->
+                        String bundleName = bundle.fileName.toString()
+                        if (completedBundles.contains(bundleName)) {
+                            // imported before the process was interrupted
+                            deleteNonEmptyDir(bundle.toString())
+                            return
+                        }
                         if (!Files.exists(bundle) || !Files.isDirectory(bundle)) {
                             throw new AsyncImportException("Bundle corrupted or not a directory.")
                         }
-                        firstDir = bundle
                         def modelProjectFullPath = Paths.get("${BASE_WORKING_DIR.toString()}${projectName}${File.separator}${MODEL_PROJECT_NAME_SUFFIX}")
-                        def modelProjectExecutionsContainerPath = Paths.get("${modelProjectFullPath}${File.separator}${MODEL_PROJECT_INTERNAL_PREFIX}${projectName}")
+                        def zippedFilename = "${BASE_WORKING_DIR}${projectName}${File.separator}${bundleName}${MODEL_PROJECT_NAME_EXT}"
                         try {
-                            try {
-                                Files.move(firstDir, modelProjectExecutionsContainerPath.resolve(EXECUTION_DIR_NAME), StandardCopyOption.REPLACE_EXISTING)
-                            } catch (NoSuchFileException ignored) {
-                                logger.error(ignored.stackTrace.toString())
-                                throw ignored
-                            }
-
-                            def zippedFilename = "${BASE_WORKING_DIR}${projectName}${File.separator}${firstDir.fileName}${MODEL_PROJECT_NAME_EXT}"
-
                             try(FileOutputStream fos = new FileOutputStream(zippedFilename)){
-
-                                ZipOutputStream zos = new ZipOutputStream(fos)
-
-                                zipDir(modelProjectFullPath.toString(), "", zos)
-
+                                new ZipOutputStream(fos).withCloseable { ZipOutputStream zos ->
+                                    zipDir(modelProjectFullPath.toString(), "", zos)
+                                    zipDir(
+                                            bundle.toString(),
+                                            "${MODEL_PROJECT_INTERNAL_PREFIX}${projectName}/${EXECUTION_DIR_NAME}/",
+                                            zos
+                                    )
+                                }
                             }catch(IOException ignored){
                                 logger.error(ignored.stackTrace.toString())
                                 throw ignored
                             }
 
+                            def checkpoint = ProjectImportCheckpoint.fromMap(
+                                    updatedStatus.bundle == bundleName ? updatedStatus.checkpoint : null
+                            )
+                            checkpoint.listener = { ProjectImportCheckpoint committed, long count ->
+                                saveImportCheckpoint(projectName, updatedStatus, bundleName, committed, count, startRows, startTime)
+                            }
+
                             def result
 
-                            updatedStatus.lastUpdate = "Uploading execution bundle #${firstDir.fileName}, ${executionBundles.size() - 1} bundles remaining."
+                            updatedStatus.lastUpdate = "Uploading execution bundle #${bundleName}, ${executionBundles.size() - index - 1} bundles remaining."
                             saveAsyncImportStatusForProject(projectName,updatedStatus)
 
                             new FileInputStream(zippedFilename).withCloseable { fis -> {
@@ -668,40 +703,32 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
                                             framework,
                                             authContext as UserAndRolesAuthContext,
                                             fis,
-                                            options
+                                            options,
+                                            checkpoint
                                     )
                                 } catch (IOException e) {
-                                    logger.error("Unexpected error while importting bundle: ${firstDir.fileName}")
-                                    throw new AsyncImportException("Unexpected error while importting bundle: ${firstDir.fileName}", e)
+                                    logger.error("Unexpected error while importting bundle: ${bundleName}")
+                                    throw new AsyncImportException("Unexpected error while importting bundle: ${bundleName}", e)
                                 }
                             }}
 
-                            if (result.success) {
-                                def modelProjectExecutionsContainerFullPath = Paths.get("${modelProjectExecutionsContainerPath}${File.separator}${EXECUTION_DIR_NAME}")
-                                try {
-                                    if (Files.exists(modelProjectExecutionsContainerFullPath) && Files.isDirectory(modelProjectExecutionsContainerFullPath)) {
-                                        deleteNonEmptyDir(modelProjectExecutionsContainerFullPath.toString())
-                                    } else {
-                                        throw new FileNotFoundException("Executions directory don't exist or is not a directory.")
-                                    }
-                                    if (Files.exists(Paths.get(zippedFilename))) {
-                                        Files.delete(Paths.get(zippedFilename))
-                                    } else {
-                                        throw new FileNotFoundException("Zipped model project not found.")
-                                    }
-                                } catch (Exception e) {
-                                    updatedStatus.errors = appendErrorsInStatus(updatedStatus.errors, e.message)
-                                    saveAsyncImportStatusForProject(projectName, updatedStatus)
-                                    throw e
-                                }
-                            }
                             if (result.execerrors) {
                                 updatedStatus.errors = appendErrorsInStatus(updatedStatus.errors, "${result.execerrors?.toString()}")
                                 saveAsyncImportStatusForProject(projectName, updatedStatus)
                             }
+                            if (result.success) {
+                                completedBundles << bundleName
+                                updatedStatus.completedBundles = new ArrayList<>(completedBundles)
+                                updatedStatus.bundle = null
+                                updatedStatus.checkpoint = null
+                                saveAsyncImportStatusForProject(projectName, updatedStatus)
+                                deleteNonEmptyDir(bundle.toString())
+                            }
                         } catch (Exception e) {
                             updatedStatus.errors = appendErrorsInStatus(updatedStatus.errors, e.message)
                             saveAsyncImportStatusForProject(projectName, updatedStatus)
+                        } finally {
+                            Files.deleteIfExists(Paths.get(zippedFilename))
                         }
                     }
                 }else{
@@ -729,6 +756,69 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
         }
     }
 
+    /**
+     * Records the checkpoint of the bundle being imported and the import rate in the status file, called after each
+     * batch of the bundle is committed.
+     *
+     * @param projectName
+     * @param status - status to update
+     * @param bundle - name of the bundle being imported
+     * @param checkpoint - checkpoint of the bundle
+     * @param count - number of rows saved by the committed batch
+     * @param startRows - number of rows imported when the milestone started
+     * @param startTime - time the milestone started
+     */
+    void saveImportCheckpoint(
+            String projectName,
+            AsyncImportStatusDTO status,
+            String bundle,
+            ProjectImportCheckpoint checkpoint,
+            long count,
+            long startRows,
+            long startTime
+    ){
+        status.importedRows = (status.importedRows ?: 0) + count
+        long elapsed = System.currentTimeMillis() - startTime
+        status.rowsPerSecond = elapsed > 0 ? ((status.importedRows - startRows) * 1000).intdiv(elapsed) : 0
+        status.bundle = bundle
+        status.checkpoint = checkpoint.toMap()
+        status.lastUpdate = "Importing execution bundle #${bundle}: ${status.importedRows} entries imported, ${status.rowsPerSecond} entries/second."
+        saveAsyncImportStatusForProject(projectName, status)
+    }
+
+    /**
+     * Reserves the Files Import milestone for the project, the reservation is released when the milestone ends.
+     *
+     * @param projectName
+     * @return false if the Files Import milestone of the project is already in progress
+     */
+    boolean reserveBundledExecutionsImport(String projectName) {
+        return bundledExecutionsImports.add(projectName)
+    }
+
+    /**
+     * Releases the Files Import milestone reservation for the project.
+     *
+     * @param projectName
+     */
+    void releaseBundledExecutionsImport(String projectName) {
+        bundledExecutionsImports.remove(projectName)
+    }
+
+    /**
+     * Checks if an interrupted async import can be resumed, only the Files Import milestone can be resumed.
+     *
+     * @param projectName
+     * @return true if the import is in the Files Import milestone, it is not in progress and the execution bundles are
+     * present
+     */
+    boolean canResumeAsyncImport(String projectName) {
+        def status = getAsyncImportStatusForProject(projectName)
+        return status?.milestoneNumber == AsyncImportMilestone.M3_IMPORTING.milestoneNumber &&
+                !bundledExecutionsImports.contains(projectName) &&
+                Files.exists(Paths.get("${BASE_WORKING_DIR.toString()}${projectName}${File.separator}${DISTRIBUTED_EXECUTIONS_FILENAME}"))
+    }
+
     /**
      * Takes a list of files and creates them
      *
@@ -782,7 +872,9 @@ class AsyncImportService implements AsyncImportStatusFileOperations, EventPublis
      */
     static void zipDir(String unzippedFilepath, String zippedFilePath, ZipOutputStream zos) throws IOException {
         File dir = new File(unzippedFilepath)
-        for (File file : dir.listFiles()) {
+        File[] files = dir.listFiles() ?: new File[0]
+        Arrays.sort(files)
+        for (File file : files) {
             if (file.isDirectory()) {
                 zipDir(file.getAbsolutePath(), zippedFilePath + file.getName() + "/", zos)
             } else {
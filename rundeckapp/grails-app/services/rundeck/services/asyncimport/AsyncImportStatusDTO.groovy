@@ -12,6 +12,26 @@ class AsyncImportStatusDTO {
     String errors;
     String lastUpdate;
     String jobUuidOption;
+    /**
+     * Names of the execution bundles which have been imported
+     */
+    List<String> completedBundles;
+    /**
+     * Name of the execution bundle being imported
+     */
+    String bundle;
+    /**
+     * Entries of the bundle being imported which have been committed
+     */
+    Map checkpoint;
+    /**
+     * Number of archive entries imported
+     */
+    Long importedRows;
+    /**
+     * Import rate of archive entries per second
+     */
+    Long rowsPerSecond;
 
     AsyncImportStatusDTO(){}
 
@@ -34,5 +54,10 @@ class AsyncImportStatusDTO {
         this.errors = newStatus.errors
         this.lastUpdate = newStatus.lastUpdate
         this.jobUuidOption = newStatus.jobUuidOption
+        this.completedBundles = newStatus.completedBundles
+        this.bundle = newStatus.bundle
+        this.checkpoint = newStatus.checkpoint
+        this.importedRows = newStatus.importedRows
+        this.rowsPerSecond = newStatus.rowsPerSecond
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rundeck.services.execution
+
+import com.dtolabs.rundeck.core.execution.ServiceThreadBase
+
+/**
+ * A running execution tracked by the ExecutionSupervisorService
+ */
+interface SupervisedExecution {
+    /**
+     * @return the thread running the workflow
+     */
+    ServiceThreadBase getThread()
+
+    /**
+     * Perform the periodic checks for the running execution, such as timeout and log threshold
+     */
+    void check()
+
+    /**
+     * Request the execution to be interrupted, it will be aborted by subsequent checks
+     */
+    void interrupt()
+
+    /**
+     * Finish the execution after the thread has completed
+     */
+    void complete()
+}
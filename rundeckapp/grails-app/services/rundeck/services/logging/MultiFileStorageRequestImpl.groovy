@@ -19,6 +19,8 @@ package rundeck.services.logging
 import com.dtolabs.rundeck.core.logging.MultiFileStorageRequest
 import com.dtolabs.rundeck.core.logging.MultiFileStorageRequestErrors
 import com.dtolabs.rundeck.core.logging.StorageFile
+import org.apache.commons.io.IOUtils
+import org.apache.commons.io.input.BoundedInputStream
 
 /**
  * Created by greg on 11/12/15.
@@ -27,6 +29,14 @@ class MultiFileStorageRequestImpl implements MultiFileStorageRequestErrors {
     Map<String, File> files
     Map<String, Boolean> completion = [:]
     Map<String, String> errors = [:]
+    /**
+     * Offset of the content to append for partial storage, by filetype
+     */
+    Map<String, Long> offsets = [:]
+    /**
+     * File length to store, by filetype
+     */
+    Map<String, Long> lengths = [:]
     boolean completed=true
 
     @Override
@@ -50,7 +60,13 @@ class MultiFileStorageRequestImpl implements MultiFileStorageRequestErrors {
         if (!files[filetype]) {
             return null
         }
-        new StorageFileImpl(filetype: filetype, file: files[filetype], complete: completed)
+        new StorageFileImpl(
+                filetype: filetype,
+                file: files[filetype],
+                complete: completed,
+                offset: offsets[filetype] ?: 0L,
+                fileLength: lengths[filetype]
+        )
     }
 }
 
@@ -58,15 +74,30 @@ class StorageFileImpl implements StorageFile {
     String filetype
     File file
     boolean complete
+    long offset
+    /**
+     * length of the file to store, or null to store the current length
+     */
+    Long fileLength
 
     @Override
     InputStream getInputStream() {
-        new FileInputStream(file)
+        if (fileLength == null) {
+            return new FileInputStream(file)
+        }
+        def input = new FileInputStream(file)
+        try {
+            IOUtils.skipFully(input, offset)
+        } catch (IOException e) {
+            input.close()
+            throw e
+        }
+        new BoundedInputStream(input, fileLength - offset)
     }
 
     @Override
     long getLength() {
-        file.length()
+        fileLength != null ? fileLength - offset : file.length()
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rundeck.services.logging
+
+import groovy.transform.CompileStatic
+
+import java.util.function.Predicate
+
+/**
+ * Tracks execution files retrieved from log storage into the local logs directory, and selects the least recently
+ * used files to delete when their total size exceeds the budget. Files are only tracked after a complete retrieval, so
+ * local files of running executions and of executions not yet stored are never tracked.
+ */
+@CompileStatic
+class RetrievedFileCache {
+    /**
+     * Maximum total size of tracked files, or 0 for no limit
+     */
+    long maxBytes
+    /**
+     * Entries added or used within this time are not evicted, so that files returned to readers are not deleted
+     * before the reader opens them
+     */
+    long inUseMillis
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true)
+    private long totalBytes
+
+    static class Entry {
+        final String key
+        final File file
+        final long size
+        long used
+
+        Entry(String key, File file, long size, long used) {
+            this.key = key
+            this.file = file
+            this.size = size
+            this.used = used
+        }
+    }
+
+    /**
+     * Track a retrieved file
+     * @param key key
+     * @param file local file
+     */
+    synchronized void add(String key, File file) {
+        def previous = entries.remove(key)
+        if (previous) {
+            totalBytes -= previous.size
+        }
+        def entry = new Entry(key, file, file.length(), System.currentTimeMillis())
+        entries.put(key, entry)
+        totalBytes += entry.size
+    }
+
+    /**
+     * Mark a tracked file as used
+     * @param key key
+     * @return true if the file is tracked
+     */
+    synchronized boolean touch(String key) {
+        def entry = entries.get(key)
+        if (entry) {
+            entry.used = System.currentTimeMillis()
+        }
+        entry != null
+    }
+
+    /**
+     * Stop tracking a file without deleting it
+     * @param key key
+     */
+    synchronized void remove(String key) {
+        def previous = entries.remove(key)
+        if (previous) {
+            totalBytes -= previous.size
+        }
+    }
+
+    /**
+     * Remove least recently used entries until the total size is within the budget, except entries used within the
+     * in use time
+     * @param evictable tests whether the entry with the key can be evicted
+     * @return removed entries, whose files should be deleted
+     */
+    synchronized List<Entry> evict(Predicate<String> evictable) {
+        List<Entry> evicted = []
+        if (maxBytes <= 0 || totalBytes <= maxBytes) {
+            return evicted
+        }
+        long inUseSince = System.currentTimeMillis() - inUseMillis
+        def iterator = entries.values().iterator()
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            def entry = iterator.next()
+            if (entry.used > inUseSince || !evictable.test(entry.key)) {
+                continue
+            }
+            iterator.remove()
+            totalBytes -= entry.size
+            evicted << entry
+        }
+        evicted
+    }
+
+    /**
+     * @return total size of tracked files
+     */
+    synchronized long getTotalBytes() {
+        totalBytes
+    }
+
+    /**
+     * @return number of tracked files
+     */
+    synchronized int getSize() {
+        entries.size()
+    }
+}
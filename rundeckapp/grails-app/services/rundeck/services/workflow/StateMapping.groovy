@@ -16,6 +16,9 @@
 
 package rundeck.services.workflow
 
+import com.dtolabs.rundeck.app.internal.workflow.MutableStepState
+import com.dtolabs.rundeck.app.internal.workflow.MutableStepStateImpl
+import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowState
 import com.dtolabs.rundeck.core.execution.workflow.state.ExecutionState
 import com.dtolabs.rundeck.core.execution.workflow.state.StateUtils
 import com.dtolabs.rundeck.core.execution.workflow.state.StepIdentifier
@@ -219,6 +222,78 @@ class StateMapping {
         return [executionId: id, nodes: nodestates, serverNode: workflowState.serverNode] + map
     }
 
+    /**
+     * @return the current change sequence of running workflow states
+     */
+    long currentSequence() {
+        MutableStepStateImpl.currentSequence()
+    }
+
+    /**
+     * Return the overall state of a running workflow, and the list of step and node states which changed after the
+     * given change sequence. Each change entry contains the "stepctx", the "node" name for a node state, and the
+     * state. The "targetNodes" and "allNodes" are included if they changed after the sequence. The returned
+     * "sequence" can be used as the "since" value for the next request.
+     * @param id execution id
+     * @param workflowState running workflow state
+     * @param since change sequence, or 0 for all states
+     * @return map
+     */
+    Map deltaOf(Long id, WorkflowState workflowState, long since) {
+        //changes made while collecting will be returned again by the next request
+        long sequence = currentSequence()
+        def changes = []
+        collectChanges(workflowState, null, since, changes)
+        def map = [
+                executionId   : id,
+                serverNode    : workflowState.serverNode,
+                since         : since,
+                sequence      : sequence,
+                executionState: workflowState.executionState.toString(),
+                completed     : workflowState.executionState.isCompletedState(),
+                stepCount     : workflowState.stepCount,
+                updateTime    : encodeDate(workflowState.updateTime),
+                startTime     : encodeDate(workflowState.startTime),
+                endTime       : encodeDate(workflowState.endTime),
+                changes       : changes,
+        ]
+        if (nodesChangedSince(workflowState, since)) {
+            map.targetNodes = workflowState.nodeSet
+            map.allNodes = workflowState.allNodes
+        }
+        map
+    }
+
+    private void collectChanges(WorkflowState workflowState, StepIdentifier parent, long since, List changes) {
+        workflowState.stepStates.each { collectChanges(it, parent, since, changes) }
+    }
+
+    private void collectChanges(WorkflowStepState state, StepIdentifier parent, long since, List changes) {
+        def stepctx = stepctxToString(parent, state.stepIdentifier)
+        if (changedSince(state.stepState, since)) {
+            changes << ([stepctx: stepctx] + mapOf(state.stepState))
+        }
+        state.nodeStateMap?.each { String node, StepState nstate ->
+            if (changedSince(nstate, since)) {
+                changes << ([stepctx: stepctx, node: node] + mapOf(nstate))
+            }
+        }
+        if (state.hasSubWorkflow()) {
+            StepIdentifier ident = parent ? StateUtils.stepIdentifier(parent.context + state.stepIdentifier.context) :
+                state.stepIdentifier
+            collectChanges(state.subWorkflowState, ident, since, changes)
+        }
+        state.parameterizedStateMap?.values()?.each { collectChanges(it, parent, since, changes) }
+    }
+
+    private static boolean nodesChangedSince(WorkflowState state, long since) {
+        since <= 0 || !(state instanceof MutableWorkflowState) || ((MutableWorkflowState) state).nodesSequence > since
+    }
+
+    private static boolean changedSince(StepState state, long since) {
+        !(state instanceof MutableStepState) || ((MutableStepState) state).sequence > since
+    }
+
     /**
      * Return a map containing:
      *
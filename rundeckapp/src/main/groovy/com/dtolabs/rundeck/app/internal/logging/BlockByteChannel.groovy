@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.app.internal.logging
+
+import groovy.transform.CompileStatic
+
+import java.nio.ByteBuffer
+import java.nio.channels.NonWritableChannelException
+import java.nio.channels.SeekableByteChannel
+import java.util.function.LongFunction
+
+/**
+ * Read only channel over content of a known length stored in fixed size blocks, which allows seeking backwards from
+ * the end of the content while only loading the blocks which are read.
+ */
+@CompileStatic
+class BlockByteChannel implements SeekableByteChannel {
+    private final long length
+    private final BlockInputStream stream
+    private boolean open = true
+
+    /**
+     * @param blocks loads the block for an index
+     * @param blockSize block size
+     * @param length content length
+     */
+    BlockByteChannel(LongFunction<byte[]> blocks, int blockSize, long length) {
+        this.length = length
+        this.stream = new BlockInputStream(blocks, blockSize, length, 0)
+    }
+
+    @Override
+    int read(ByteBuffer dst) throws IOException {
+        byte[] buf = new byte[Math.min(dst.remaining(), 8192)]
+        int count = 0
+        while (dst.hasRemaining()) {
+            int read = stream.read(buf, 0, Math.min(buf.length, dst.remaining()))
+            if (read < 0) {
+                return count > 0 ? count : -1
+            }
+            dst.put(buf, 0, read)
+            count += read
+        }
+        count
+    }
+
+    @Override
+    int write(ByteBuffer src) throws IOException {
+        throw new NonWritableChannelException()
+    }
+
+    @Override
+    long position() throws IOException {
+        stream.position
+    }
+
+    @Override
+    SeekableByteChannel position(long newPosition) throws IOException {
+        stream.seek(newPosition)
+        this
+    }
+
+    @Override
+    long size() throws IOException {
+        length
+    }
+
+    @Override
+    SeekableByteChannel truncate(long size) throws IOException {
+        throw new NonWritableChannelException()
+    }
+
+    @Override
+    boolean isOpen() {
+        open
+    }
+
+    @Override
+    void close() throws IOException {
+        open = false
+        stream.close()
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.app.internal.logging
+
+import groovy.transform.CompileStatic
+
+import java.util.function.LongFunction
+
+/**
+ * Input stream reading content of a known length from fixed size blocks, loaded on demand by block index. Every block
+ * except the last must have the full block size.
+ */
+@CompileStatic
+class BlockInputStream extends InputStream {
+    private final LongFunction<byte[]> blocks
+    private final int blockSize
+    private final long length
+    private long position
+    private long blockIndex = -1
+    private byte[] block
+
+    /**
+     * @param blocks loads the block for an index
+     * @param blockSize block size
+     * @param length content length
+     * @param position initial position
+     */
+    BlockInputStream(LongFunction<byte[]> blocks, int blockSize, long length, long position) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize)
+        }
+        this.blocks = blocks
+        this.blockSize = blockSize
+        this.length = length
+        this.position = Math.min(Math.max(0L, position), length)
+    }
+
+    /**
+     * @return number of bytes readable from the current block, or -1 at the end of the content
+     */
+    private int currentBlock() {
+        if (position >= length) {
+            return -1
+        }
+        long index = position.intdiv(blockSize).longValue()
+        if (index != blockIndex || block == null) {
+            block = blocks.apply(index)
+            blockIndex = index
+        }
+        int blockOffset = (int) (position - index * blockSize)
+        int remaining = block.length - blockOffset
+        remaining > 0 ? remaining : -1
+    }
+
+    @Override
+    int read() throws IOException {
+        if (currentBlock() < 0) {
+            return -1
+        }
+        int value = block[(int) (position - blockIndex * blockSize)] & 0xff
+        position++
+        value
+    }
+
+    @Override
+    int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0
+        }
+        int available = currentBlock()
+        if (available < 0) {
+            return -1
+        }
+        int count = Math.min(len, available)
+        System.arraycopy(block, (int) (position - blockIndex * blockSize), b, off, count)
+        position += count
+        count
+    }
+
+    @Override
+    long skip(long n) throws IOException {
+        long skipped = Math.max(0L, Math.min(n, length - position))
+        position += skipped
+        skipped
+    }
+
+    @Override
+    int available() throws IOException {
+        if (block != null && position < length) {
+            long blockOffset = position - blockIndex * blockSize
+            if (blockOffset >= 0 && blockOffset < block.length) {
+                return (int) (block.length - blockOffset)
+            }
+        }
+        0
+    }
+
+    /**
+     * @return current position
+     */
+    long getPosition() {
+        position
+    }
+
+    /**
+     * Move to a new position, the current block is kept if the position is within it
+     * @param position new position
+     */
+    void seek(long position) {
+        this.position = Math.min(Math.max(0L, position), length)
+    }
+
+    @Override
+    void close() throws IOException {
+        block = null
+    }
+}
@@ -25,6 +25,7 @@ import com.dtolabs.rundeck.core.logging.internal.DefaultLogEvent
 import com.dtolabs.rundeck.core.utils.Utility
 import rundeck.services.ExecutionService
 
+import java.nio.channels.SeekableByteChannel
 import java.text.ParseException
 import java.text.SimpleDateFormat
 
@@ -240,4 +241,18 @@ class LegacyLogEventLineIterator implements LogEventIterator{
         }
         seek
     }
+
+    /**
+     * Seek backwards within the log content to the specified entry index from the end.
+     * @param channel log content
+     * @param count
+     * @return
+     */
+    public static long seekBackwards(SeekableByteChannel channel, int count){
+        long seek=Utility.seekBack(channel, count + 2, "^^^${lSep}", null)
+        if (seek>0){
+            seek += "^^^${lSep}".getBytes("UTF-8").length
+        }
+        seek
+    }
 }
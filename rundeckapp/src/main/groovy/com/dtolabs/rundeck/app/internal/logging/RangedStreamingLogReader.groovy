@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.app.internal.logging
+
+import com.dtolabs.rundeck.core.logging.LogEvent
+import com.dtolabs.rundeck.core.logging.LogEventIterator
+import com.dtolabs.rundeck.core.logging.ReverseSeekingStreamingLogReader
+import com.dtolabs.rundeck.core.logging.internal.RundeckLogFormat
+import com.dtolabs.utils.StreamLineIterator
+
+import java.util.function.LongFunction
+
+/**
+ * Reads a log file of known length from fixed size blocks, such as ranges retrieved from a log storage plugin, without
+ * requiring a local copy of the file. Reverse seeking reads blocks backwards from the end of the file.
+ */
+class RangedStreamingLogReader implements ReverseSeekingStreamingLogReader {
+    final long totalSize
+    final Date lastModified
+    private final LongFunction<byte[]> blocks
+    private final int blockSize
+    private String encoding
+    RundeckLogFormat rundeckLogFormat
+    private LogEventIterator iterator
+
+    /**
+     * @param blocks loads the block for an index
+     * @param blockSize block size
+     * @param totalSize length of the log file
+     * @param lastModified modification time of the log file
+     */
+    RangedStreamingLogReader(
+            LongFunction<byte[]> blocks,
+            int blockSize,
+            long totalSize,
+            Date lastModified,
+            String encoding,
+            RundeckLogFormat rundeckLogFormat
+    )
+    {
+        this.blocks = blocks
+        this.blockSize = blockSize
+        this.totalSize = totalSize
+        this.lastModified = lastModified
+        this.encoding = encoding
+        this.rundeckLogFormat = rundeckLogFormat
+    }
+
+    private boolean detectFormat() {
+        def reader = new BufferedReader(new InputStreamReader(new BlockInputStream(blocks, blockSize, totalSize, 0), 'UTF-8'))
+        try {
+            return RundeckLogFormat.detectFormat(reader.readLine())
+        } finally {
+            reader.close()
+        }
+    }
+
+    @Override
+    void openStream(Long offset) {
+        if (null != iterator) {
+            throw new IllegalStateException("Already open")
+        }
+        long start = offset ?: 0
+        def lines = new StreamLineIterator(new BlockInputStream(blocks, blockSize, totalSize, start), start, encoding)
+        if (detectFormat()) {
+            iterator = new LogEventLineIterator(lines, rundeckLogFormat)
+        } else {
+            def legacy = new LegacyLogEventLineIterator(lines)
+            legacy.referenceDate = lastModified
+            iterator = legacy
+        }
+    }
+
+    @Override
+    void openStreamFromReverseOffset(Long offset) {
+        if (null != iterator) {
+            throw new IllegalStateException("Already open")
+        }
+        long seek
+        def channel = new BlockByteChannel(blocks, blockSize, totalSize)
+        try {
+            if (detectFormat()) {
+                seek = rundeckLogFormat.seekBackwards(channel, offset.intValue())
+            } else {
+                seek = LegacyLogEventLineIterator.seekBackwards(channel, offset.intValue())
+            }
+        } finally {
+            channel.close()
+        }
+        openStream(Math.max(0L, seek))
+    }
+
+    @Override
+    boolean hasNext() {
+        if (null == iterator) {
+            throw new IllegalStateException("Not open")
+        }
+        return iterator.hasNext()
+    }
+
+    @Override
+    LogEvent next() {
+        if (null == iterator) {
+            throw new IllegalStateException("Not open")
+        }
+        return iterator.next()
+    }
+
+    @Override
+    void remove() {
+        if (null == iterator) {
+            throw new IllegalStateException("Not open")
+        }
+        iterator.remove()
+    }
+
+    @Override
+    void close() throws IOException {
+        if (null == iterator) {
+            throw new IllegalStateException("Not open")
+        }
+        iterator.close()
+    }
+
+    @Override
+    boolean isComplete() {
+        if (null == iterator) {
+            throw new IllegalStateException("Not open")
+        }
+        return iterator.isComplete()
+    }
+
+    @Override
+    long getOffset() {
+        if (null == iterator) {
+            throw new IllegalStateException("Not open")
+        }
+        return iterator.getOffset()
+    }
+}
@@ -67,6 +67,16 @@ class DelegateMutableWorkflowState implements MutableWorkflowState {
         return delegate.getMutableNodeStates()
     }
 
+    @Override
+    long getNodesSequence() {
+        delegate.getNodesSequence()
+    }
+
+    @Override
+    void touchNodes() {
+        delegate.touchNodes()
+    }
+
     @Override
     List<String> getNodeSet() {
         delegate.getNodeSet()
@@ -63,4 +63,14 @@ public interface MutableStepState extends StepState, MutableExecutionState {
      */
     void setEndTime(Date startTime)
 
+    /**
+     * @return sequence number of the last change to this state, greater values indicate later changes
+     */
+    long getSequence()
+
+    /**
+     * Record a change made to the state in place, such as to the metadata map
+     */
+    void touch()
+
 }
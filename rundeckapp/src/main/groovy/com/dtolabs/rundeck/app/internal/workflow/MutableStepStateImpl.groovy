@@ -19,6 +19,8 @@ package com.dtolabs.rundeck.app.internal.workflow
 import com.dtolabs.rundeck.core.execution.workflow.state.ExecutionState
 import com.dtolabs.rundeck.core.execution.workflow.state.StepStateImpl
 
+import java.util.function.LongConsumer
+
 /**
  * $INTERFACE is ...
  * User: greg
@@ -26,15 +28,83 @@ import com.dtolabs.rundeck.core.execution.workflow.state.StepStateImpl
  * Time: 10:46 AM
  */
 class MutableStepStateImpl implements MutableStepState {
+    /**
+     * Change sequence shared by all step states, so that changes can be ordered across executions and sub workflows.
+     * A sequence is stored under the same lock used to read the current sequence, so a reader never gets a current
+     * sequence greater than a sequence which is not yet stored.
+     */
+    private static final Object SEQUENCE_LOCK = new Object()
+    private static long lastSequence
     ExecutionState executionState;
     Map metadata;
     String errorMessage;
     Date startTime
     Date updateTime
     Date endTime
+    private volatile long sequence
 
     MutableStepStateImpl() {
         executionState=ExecutionState.WAITING
+        touch()
+    }
+
+    /**
+     * @return the latest change sequence assigned to any step state
+     */
+    static long currentSequence() {
+        synchronized (SEQUENCE_LOCK) {
+            lastSequence
+        }
+    }
+
+    /**
+     * Assign the next change sequence
+     * @param store called with the new sequence under the sequence lock
+     */
+    static void nextSequence(LongConsumer store) {
+        synchronized (SEQUENCE_LOCK) {
+            store.accept(++lastSequence)
+        }
+    }
+
+    @Override
+    long getSequence() {
+        sequence
+    }
+
+    @Override
+    void touch() {
+        nextSequence { long next -> sequence = next }
+    }
+
+    void setExecutionState(ExecutionState executionState) {
+        this.@executionState = executionState
+        touch()
+    }
+
+    void setMetadata(Map metadata) {
+        this.@metadata = metadata
+        touch()
+    }
+
+    void setErrorMessage(String errorMessage) {
+        this.@errorMessage = errorMessage
+        touch()
+    }
+
+    void setStartTime(Date startTime) {
+        this.@startTime = startTime
+        touch()
+    }
+
+    void setUpdateTime(Date updateTime) {
+        this.@updateTime = updateTime
+        touch()
+    }
+
+    void setEndTime(Date endTime) {
+        this.@endTime = endTime
+        touch()
     }
 
     @Override
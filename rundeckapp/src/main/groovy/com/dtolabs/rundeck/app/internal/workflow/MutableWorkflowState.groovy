@@ -64,4 +64,14 @@ public interface MutableWorkflowState extends WorkflowState, MutableExecutionSta
 
 
     public Map<String,? extends MutableWorkflowNodeState> getMutableNodeStates();
+
+    /**
+     * @return change sequence of the last change to the target nodes or all nodes
+     */
+    long getNodesSequence();
+
+    /**
+     * Record a change to the target nodes or all nodes
+     */
+    void touchNodes();
 }
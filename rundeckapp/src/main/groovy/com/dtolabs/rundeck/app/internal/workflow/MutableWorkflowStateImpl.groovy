@@ -39,6 +39,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
     final Map<String, MutableWorkflowNodeState> mutableNodeStates;
     private StepIdentifier parentStepId
     def String serverNode
+    private volatile long nodesSequence
 
     MutableWorkflowStateImpl(List<String> nodeSet, long stepCount) {
         this(nodeSet,stepCount,null)
@@ -56,6 +57,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
             this.mutableNodeSet.addAll(nodeSet)
         }
         this.mutableAllNodes.addAll(mutableNodeSet)
+        touchNodes()
         this.stepCount = stepCount
         mutableStepStates = new ConcurrentHashMap<>(steps ?: [:])
         for (int i = 1; i <= stepCount; i++) {
@@ -128,6 +130,16 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
         return mutableAllNodes
     }
 
+    @Override
+    long getNodesSequence() {
+        return nodesSequence
+    }
+
+    @Override
+    void touchNodes() {
+        MutableStepStateImpl.nextSequence { long next -> nodesSequence = next }
+    }
+
     @Override
     synchronized void touchStateForStep(StepIdentifier identifier, int index, StepStateChange stepStateChange,
                                          Date timestamp) {
@@ -213,6 +225,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
                 }
             }
             toUpdateComplete*.metadata << stepStateChange.stepState.metadata
+            toUpdateComplete*.touch()
         }
 
         toTouch.addAll(toUpdateComplete)
@@ -263,6 +276,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
         if(stepStateChange.stepState.metadata) {
             if (toUpdate.metadata) {
                 toUpdate.metadata << stepStateChange.stepState.metadata
+                toUpdate.touch()
             }else{
                 toUpdate.metadata = stepStateChange.stepState.metadata
             }
@@ -599,6 +613,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
 
         if (null != nodenames && (null == mutableNodeSet || mutableNodeSet.size() < 1)) {
             mutableNodeSet = new CopyOnWriteArrayList<>(nodenames)
+            touchNodes()
             def mutableNodeStates=parent.mutableNodeStates
             def allNodes=parent.allNodes
             mutableNodeSet.each { node ->
@@ -606,6 +621,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
                 def nodeState = mutableNodeStates[node]
                 if(!allNodes.contains(node)){
                     allNodes<<node
+                    parent.touchNodes()
                 }
                 mutableStepStates.each { int ident, MutableWorkflowStepState wfStepState ->
                     if (wfStepState.nodeStep) {
@@ -620,6 +636,7 @@ class MutableWorkflowStateImpl implements MutableWorkflowState {
             nodenames.each { node ->
                 if (!allNodes.contains(node)) {
                     allNodes << node
+                    parent.touchNodes()
                 }
             }
         }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.app.internal.workflow
+
+import com.dtolabs.rundeck.core.execution.workflow.state.ExecutionState
+import com.dtolabs.rundeck.core.execution.workflow.state.StepIdentifier
+import com.dtolabs.rundeck.core.execution.workflow.state.StepStateChange
+import com.dtolabs.rundeck.core.execution.workflow.state.WorkflowStateListener
+import groovy.transform.CompileStatic
+import groovy.util.logging.Slf4j
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.locks.ReentrantLock
+import java.util.concurrent.locks.ReentrantReadWriteLock
+
+/**
+ * Queues state change events for a single execution and applies them in order to the delegate listeners from a
+ * single writer, so that the threads reporting changes do not wait on the state. Events are applied by a task on
+ * the executor, or by the reporting thread if no executor is set and no other thread is applying events.
+ * A completed workflow state flushes all queued events before returning.
+ * <p/>
+ * Listeners are invoked while holding the write lock, use {@link #read(groovy.lang.Closure)} to read the state
+ * without seeing a partially applied change.
+ */
+@CompileStatic
+@Slf4j
+class QueuedWorkflowStateListener implements WorkflowStateListener {
+    /**
+     * Listeners to apply events to, in order
+     */
+    List<WorkflowStateListener> listeners = []
+    /**
+     * Executor for applying events, if null they are applied by the reporting thread
+     */
+    Executor executor
+    /**
+     * Called after each batch of events is applied, outside of the write lock, with arguments (boolean stepChanged,
+     * boolean completed). stepChanged is true if the batch included a step state change, and completed is true if the
+     * workflow state was completed.
+     */
+    Closure onApplied
+
+    private final ConcurrentLinkedQueue<Event> queue = new ConcurrentLinkedQueue<>()
+    private final ReentrantLock writer = new ReentrantLock()
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock()
+    private final AtomicBoolean scheduled = new AtomicBoolean(false)
+
+    @Override
+    void stepStateChanged(StepIdentifier identifier, StepStateChange stepStateChange, Date timestamp) {
+        submit new Event(true, false, { WorkflowStateListener listener ->
+            listener.stepStateChanged(identifier, stepStateChange, timestamp)
+        })
+    }
+
+    @Override
+    void workflowExecutionStateChanged(ExecutionState executionState, Date timestamp, List<String> nodenames) {
+        submit new Event(false, executionState.completedState, { WorkflowStateListener listener ->
+            listener.workflowExecutionStateChanged(executionState, timestamp, nodenames)
+        })
+        if (executionState.completedState) {
+            flush()
+        }
+    }
+
+    @Override
+    void subWorkflowExecutionStateChanged(
+        StepIdentifier identifier,
+        ExecutionState executionState,
+        Date timestamp,
+        List<String> nodeNames
+    )
+    {
+        submit new Event(false, false, { WorkflowStateListener listener ->
+            listener.subWorkflowExecutionStateChanged(identifier, executionState, timestamp, nodeNames)
+        })
+    }
+
+    /**
+     * Read the state while no events are being applied
+     * @param reader closure
+     * @return result of the closure
+     */
+    public <T> T read(Closure<T> reader) {
+        stateLock.readLock().lock()
+        try {
+            return reader.call()
+        } finally {
+            stateLock.readLock().unlock()
+        }
+    }
+
+    /**
+     * Apply all queued events on the current thread, waiting for any other writer to finish
+     */
+    void flush() {
+        writer.lock()
+        try {
+            drain()
+        } finally {
+            writer.unlock()
+        }
+    }
+
+    /**
+     * @return number of events waiting to be applied
+     */
+    int getPending() {
+        queue.size()
+    }
+
+    private void submit(Event event) {
+        queue.add(event)
+        if (executor != null) {
+            schedule()
+        } else {
+            tryDrain()
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute {
+                scheduled.set(false)
+                tryDrain()
+                if (!queue.isEmpty()) {
+                    schedule()
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply queued events unless another thread is doing so, rechecking the queue after releasing the writer in
+     * case events were added after that thread's last check
+     */
+    private void tryDrain() {
+        while (!queue.isEmpty() && writer.tryLock()) {
+            try {
+                drain()
+            } finally {
+                writer.unlock()
+            }
+        }
+    }
+
+    /**
+     * Apply batches of queued events until the queue is empty, requires the writer lock
+     */
+    private void drain() {
+        List<Event> batch = []
+        while (true) {
+            Event event
+            while ((event = queue.poll()) != null) {
+                batch << event
+            }
+            if (!batch) {
+                return
+            }
+            boolean stepChanged = false
+            boolean completed = false
+            stateLock.writeLock().lock()
+            try {
+                for (Event item : batch) {
+                    stepChanged |= item.stepChanged
+                    completed |= item.completed
+                    for (WorkflowStateListener listener : listeners) {
+                        try {
+                            item.apply.call(listener)
+                        } catch (Throwable t) {
+                            log.error("Failed to apply workflow state change: ${t.message}", t)
+                        }
+                    }
+                }
+            } finally {
+                stateLock.writeLock().unlock()
+            }
+            batch.clear()
+            if (onApplied != null) {
+                try {
+                    onApplied.call(stepChanged, completed)
+                } catch (Throwable t) {
+                    log.error("Failed to handle applied workflow state changes: ${t.message}", t)
+                }
+            }
+        }
+    }
+
+    private static class Event {
+        final boolean stepChanged
+        final boolean completed
+        final Closure apply
+
+        Event(boolean stepChanged, boolean completed, Closure apply) {
+            this.stepChanged = stepChanged
+            this.completed = completed
+            this.apply = apply
+        }
+    }
+}
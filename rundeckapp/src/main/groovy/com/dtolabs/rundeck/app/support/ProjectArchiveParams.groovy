@@ -54,6 +54,7 @@ class ProjectArchiveParams implements ProjectArchiveImportRequest, Validateable{
     String url
     Boolean preserveuuid
     Boolean asyncImport
+    Boolean asyncImportResume
 
     static constraints={
         project(matches: FrameworkResource.VALID_RESOURCE_NAME_REGEX)
@@ -80,6 +81,7 @@ class ProjectArchiveParams implements ProjectArchiveImportRequest, Validateable{
         url(nullable: true)
         preserveuuid(nullable: true)
         asyncImport(nullable: true)
+        asyncImportResume(nullable: true)
     }
 
     void cleanComponentOpts(){
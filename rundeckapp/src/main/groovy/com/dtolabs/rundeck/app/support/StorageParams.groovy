@@ -29,12 +29,22 @@ class StorageParams implements Validateable{
     String fileName
     String inputType
     String uploadKeyType
+    /**
+     * first result of a directory listing
+     */
+    Integer offset
+    /**
+     * max results of a directory listing
+     */
+    Integer max
     static constraints={
         resourcePath(nullable: true, matches: /^\/?((?!\.\.(\/|$))[a-zA-Z0-9,\.+_-][\sa-zA-Z0-9,\.+_-]*?\/?)+$/)
         relativePath(nullable: true, matches: /^\/?((?!\.\.(\/|$))[a-zA-Z0-9,\.+_-][\sa-zA-Z0-9,\.+_-]*?\/?)+$/)
         fileName(nullable: true, matches: /^(?!\.\.(\/|$))[a-zA-Z0-9,\.+_-][\sa-zA-Z0-9,\.+_-]*$/)
         inputType(nullable: true, inList: ['file','text'])
         uploadKeyType(nullable: true,inList: ['private','public','password'])
+        offset(nullable: true, min: 0)
+        max(nullable: true, min: 0)
     }
 
     void requireRoot(String rootPath) {
@@ -21,6 +21,7 @@ import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepExecutionI
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepExecutionService
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepExecutor
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepPluginAdapter
+import com.dtolabs.rundeck.core.plugins.ConfiguredPlugin
 import com.dtolabs.rundeck.core.plugins.PluginConfigureService
 import com.dtolabs.rundeck.plugins.step.NodeStepPlugin
 import com.dtolabs.rundeck.plugins.step.StepPlugin
@@ -52,6 +53,7 @@ class AppExecutionPluginLoader implements IExecutionProviders, ApplicationContex
     @Autowired IFrameworkNodes rundeckNodeSupport
     @Autowired NodeProviderName nodeProviderName
     @Autowired RundeckPluginBlocklist rundeckPluginBlocklist
+    @Autowired(required = false) ExecutionPluginInstanceCacheManager executionPluginInstanceCacheManager
     private Framework rundeckFramework
     private IExecutionProviders rundeckBaseFrameworkExecutionProviders
     ApplicationContext applicationContext
@@ -110,7 +112,7 @@ class AppExecutionPluginLoader implements IExecutionProviders, ApplicationContex
             return frameworkProviders.getFileCopierForNodeAndProject(node, context);
         }
 
-        def configured = pluginService.configurePlugin(copiername, [:], context.getFrameworkProject(), framework, FileCopier)
+        def configured = configureForExecution(context, copiername, [:], FileCopier)
         if (null == configured) {
             throw new ExecutionServiceException("Could not load FileCopier provider: ${copiername}: not found")
         }
@@ -123,7 +125,7 @@ class AppExecutionPluginLoader implements IExecutionProviders, ApplicationContex
         String provider = nodeProviderName.getProviderNameForNodeAndProject(node, context.getFrameworkProject(), NodeExecutor)
 
 
-        def configured = pluginService.configurePlugin(provider, [:], context.getFrameworkProject(), framework, NodeExecutor)
+        def configured = configureForExecution(context, provider, [:], NodeExecutor)
         if (null == configured) {
             throw new ExecutionServiceException("Could not load NodeExecutor provider: ${provider}: not found")
         }
@@ -151,8 +153,7 @@ class AppExecutionPluginLoader implements IExecutionProviders, ApplicationContex
         }
 
         //plugin adapted
-        def configured = pluginService
-            .configurePlugin(item.nodeStepType, config, project, framework, NodeStepPlugin)
+        def configured = configureForExecution(context, item.nodeStepType, config, NodeStepPlugin)
         if (null == configured) {
             throw new ExecutionServiceException("Could not load Node Step provider: ${item.nodeStepType}: not found")
         }
@@ -160,6 +161,23 @@ class AppExecutionPluginLoader implements IExecutionProviders, ApplicationContex
         return NodeStepPluginAdapter.CONVERT_TO_NODE_STEP_EXECUTOR.convert(plugin, plugin.blankIfUnexpanded())
     }
 
+    /**
+     * Configure the plugin, reusing an instance already configured for the execution if the plugin allows it
+     */
+    private <T> ConfiguredPlugin<T> configureForExecution(
+        ExecutionContext context,
+        String provider,
+        Map<String, Object> config,
+        Class<T> type
+    ) {
+        Closure<ConfiguredPlugin<T>> configure = {
+            pluginService.configurePlugin(provider, config, context.getFrameworkProject(), framework, type)
+        }
+        if (null == executionPluginInstanceCacheManager) {
+            return configure.call()
+        }
+        return executionPluginInstanceCacheManager.configurePlugin(context, provider, type, config, configure)
+    }
 
     @Override
     NodeDispatcher getNodeDispatcherForContext(final ExecutionContext context) throws ExecutionServiceException {
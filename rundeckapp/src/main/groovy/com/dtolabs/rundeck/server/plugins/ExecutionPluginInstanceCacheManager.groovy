@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.server.plugins
+
+import com.dtolabs.rundeck.core.execution.ExecutionContext
+import com.dtolabs.rundeck.core.plugins.ConfiguredPlugin
+import com.dtolabs.rundeck.core.plugins.PluginInstanceReuse
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.util.concurrent.UncheckedExecutionException
+import grails.events.annotation.Subscriber
+import groovy.transform.CompileStatic
+import groovy.transform.EqualsAndHashCode
+import groovy.util.logging.Slf4j
+import org.grails.plugins.metricsweb.MetricService
+import org.springframework.beans.factory.InitializingBean
+import rundeck.services.Util
+import rundeck.services.events.ExecutionCompleteEvent
+
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Caches configured plugin instances for an execution, for plugins which declare they can be reused via
+ * {@link PluginInstanceReuse}. Plugins without the flag are configured on each request as before.
+ */
+@Slf4j
+@CompileStatic
+class ExecutionPluginInstanceCacheManager implements InitializingBean {
+    private final static long EXPIRATION_TIME_DEFAULT = 10
+    private final static long MAXIMUM_SIZE_DEFAULT = 1000
+
+    boolean enabled
+    /**
+     * Minutes to keep an unused entry
+     */
+    long expirationTime
+    long maximumSize
+    MetricService metricService
+    private Cache<InstanceKey, Entry> instanceCache
+
+    @Override
+    void afterPropertiesSet() throws Exception {
+        instanceCache = CacheBuilder.newBuilder()
+            .expireAfterAccess(expirationTime ?: EXPIRATION_TIME_DEFAULT, TimeUnit.MINUTES)
+            .maximumSize(maximumSize ?: MAXIMUM_SIZE_DEFAULT)
+            .recordStats()
+            .build()
+        Util.addCacheMetrics(this.class.name + ".instanceCache", metricService?.getMetricRegistry(), instanceCache)
+    }
+
+    /**
+     * Return a configured plugin, reusing a cached instance for the execution if the plugin allows it
+     * @param context execution context
+     * @param provider provider name
+     * @param type plugin type
+     * @param config instance configuration
+     * @param configure creates the configured plugin, may return null
+     * @return configured plugin, or null
+     */
+    public <T> ConfiguredPlugin<T> configurePlugin(
+        ExecutionContext context,
+        String provider,
+        Class<T> type,
+        Map<String, Object> config,
+        Closure<ConfiguredPlugin<T>> configure
+    ) {
+        String executionId = getExecutionId(context)
+        if (!enabled || !executionId) {
+            return configure.call()
+        }
+        def key = new InstanceKey(
+            executionId,
+            context.frameworkProject,
+            type.name,
+            provider,
+            config ? new HashMap<String, Object>(config) : [:]
+        )
+        ConfiguredPlugin<T> created = null
+        Entry entry
+        try {
+            entry = instanceCache.get(key, {
+                created = configure.call()
+                new Entry(
+                    created != null && PluginInstanceReuse.isInstanceReusableForExecution(created.instance) ?
+                    created :
+                    null
+                )
+            })
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.cause instanceof RuntimeException) {
+                throw (RuntimeException) e.cause
+            }
+            throw e
+        }
+        if (entry.configured != null) {
+            return (ConfiguredPlugin<T>) entry.configured
+        }
+        if (created != null) {
+            return created
+        }
+        return configure.call()
+    }
+
+    @Subscriber('executionComplete')
+    void executionComplete(ExecutionCompleteEvent e) {
+        if (enabled && e.execution?.id) {
+            invalidateExecution(e.execution.id.toString())
+        }
+    }
+
+    /**
+     * Remove all entries for the execution
+     * @param executionId execution ID
+     */
+    void invalidateExecution(String executionId) {
+        instanceCache?.asMap()?.keySet()?.removeIf { InstanceKey key -> key.executionId == executionId }
+    }
+
+    static String getExecutionId(ExecutionContext context) {
+        if (context.execution?.id) {
+            return context.execution.id
+        }
+        context.dataContext?.get('job')?.get('execid')
+    }
+
+    @EqualsAndHashCode
+    static final class InstanceKey {
+        final String executionId
+        final String project
+        final String type
+        final String provider
+        final Map<String, Object> config
+
+        InstanceKey(String executionId, String project, String type, String provider, Map<String, Object> config) {
+            this.executionId = executionId
+            this.project = project
+            this.type = type
+            this.provider = provider
+            this.config = config
+        }
+    }
+
+    /**
+     * Cached configured plugin, or null if the plugin does not allow reuse
+     */
+    static final class Entry {
+        final ConfiguredPlugin configured
+
+        Entry(ConfiguredPlugin configured) {
+            this.configured = configured
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.server.plugins
+
+import com.dtolabs.rundeck.core.plugins.PluginCacheMetricsWriter
+import org.grails.plugins.metricsweb.MetricService
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Writes plugin cache metrics to the metric registry
+ */
+class PluginCacheMetricsWriterImpl implements PluginCacheMetricsWriter {
+    MetricService metricService
+
+    @Override
+    void markMeter(String classname, String metricName) {
+        metricService?.markMeter(classname, metricName)
+    }
+
+    @Override
+    void updateTimer(String classname, String metricName, long duration, TimeUnit unit) {
+        metricService?.timer(classname, metricName)?.update(duration, unit)
+    }
+}
@@ -56,7 +56,7 @@ class ExecutionFileStoragePluginBuilder extends ScriptPluginBuilder implements P
             handlers[name] = list[0]
             return true
         }
-        if (name in ['store', 'partialStore'] && list.size() == 1 && list[0] instanceof Closure) {
+        if (name in ['store', 'partialStore', 'partialStoreAppend'] && list.size() == 1 && list[0] instanceof Closure) {
             if (!ScriptExecutionFileStoragePlugin.validStoreClosure(list[0])) {
                 logger.error("Invalid trigger closure: ${name}, unexpected parameter set: ${list[0].parameterTypes}")
                 throw new MissingMethodException(name.toString(), getClass(), list.toArray(), false);
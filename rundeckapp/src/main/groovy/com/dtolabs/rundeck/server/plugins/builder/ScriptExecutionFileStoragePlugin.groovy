@@ -38,6 +38,7 @@ class ScriptExecutionFileStoragePlugin
     Map<String, ? extends Object> pluginContext
     boolean storeSupported
     boolean partialStoreSupported
+    boolean partialAppendSupported
     boolean retrieveSupported
     boolean partialRetrieveSupported
 
@@ -59,6 +60,7 @@ class ScriptExecutionFileStoragePlugin
         this.pluginContext = context
         this.storeSupported = handlers['store'] ? true : false
         this.partialStoreSupported = handlers['partialStore'] ? true : false
+        this.partialAppendSupported = partialStoreSupported && handlers['partialStoreAppend'] ? true : false
         this.partialRetrieveSupported = handlers['partialAvailable'] && handlers['partialRetrieve'] ? true : false
         this.retrieveSupported = (handlers['available'] != null && handlers['retrieve'] != null)
     }
@@ -178,6 +180,24 @@ class ScriptExecutionFileStoragePlugin
         return execStoreClosure(binding, filetype, 'partialStore')
     }
 
+    boolean partialStoreAppend(String filetype, InputStream stream, long offset, long length, Date lastModified)
+            throws IOException, ExecutionFileStorageException
+    {
+        if (!partialAppendSupported) {
+            throw new IllegalStateException("partialStoreAppend is not supported")
+        }
+        logger.debug("partialStoreAppend($filetype, $offset) ${pluginContext}")
+        def binding = [
+                configuration: configuration,
+                context      : pluginContext + (filetype ? [filetype: filetype] : [:]),
+                stream       : stream,
+                offset       : offset,
+                length       : length,
+                lastModified : lastModified
+        ]
+        return execStoreClosure(binding, filetype, 'partialStoreAppend')
+    }
+
     private Object execStoreClosure(
             LinkedHashMap<String, Object> binding,
             String filetype,
@@ -24,6 +24,8 @@ import com.dtolabs.rundeck.plugins.descriptions.PluginDescription
 import com.dtolabs.rundeck.plugins.descriptions.PluginProperty
 import com.dtolabs.rundeck.plugins.storage.StoragePlugin
 import com.dtolabs.rundeck.server.storage.NamespacedStorage
+import org.rundeck.storage.api.Path
+import org.rundeck.storage.api.Resource
 import org.rundeck.storage.api.Tree
 import org.rundeck.storage.impl.DelegateTree
 
@@ -53,4 +55,18 @@ class DbStoragePlugin extends DelegateTree<ResourceMeta> implements StoragePlugi
         }
         return delegateTree;
     }
+
+    /**
+     * List a page of the directory contents, subdirectories first and then resources, each ordered by name
+     * @param path directory path
+     * @param offset first result
+     * @param max max results, or 0 for all results
+     * @return page of resources
+     */
+    List<Resource<ResourceMeta>> listDirectoryPage(Path path, int offset, int max) {
+        if (null == namespacedStorage) {
+            throw new IllegalArgumentException("namespacedStorage is not set")
+        }
+        namespacedStorage.listDirectoryPage(namespace ?: null, path, offset, max)
+    }
 }
@@ -18,6 +18,13 @@ package com.dtolabs.rundeck.server.storage;
 
 import com.dtolabs.rundeck.core.storage.ExtTree;
 import com.dtolabs.rundeck.core.storage.ResourceMeta;
+import org.rundeck.storage.api.Path;
+import org.rundeck.storage.api.Resource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * NamespacedStorage extends Tree with a String parameter for a namespace.
@@ -27,4 +34,26 @@ import com.dtolabs.rundeck.core.storage.ResourceMeta;
  */
 public interface NamespacedStorage extends ExtTree<String, ResourceMeta> {
 
+    /**
+     * List a page of the directory contents, subdirectories first and then resources, each ordered by name. The
+     * default implementation lists the whole directory and returns a page of the result.
+     *
+     * @param namespace namespace
+     * @param path      directory path
+     * @param offset    first result
+     * @param max       max results, or 0 for all results
+     *
+     * @return page of resources
+     */
+    default List<Resource<ResourceMeta>> listDirectoryPage(String namespace, Path path, int offset, int max) {
+        List<Resource<ResourceMeta>> sorted = new ArrayList<>(listDirectory(namespace, path));
+        sorted.sort(
+                Comparator.comparing((Resource<ResourceMeta> r) -> !r.isDirectory())
+                          .thenComparing(r -> r.getPath().getName())
+        );
+        return sorted.stream()
+                     .skip(Math.max(0, offset))
+                     .limit(max > 0 ? max : Long.MAX_VALUE)
+                     .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.util
+
+import groovy.transform.CompileStatic
+
+/**
+ * Output stream which counts bytes written, and reports the count to a callback after each interval of bytes and
+ * when flushed or closed
+ */
+@CompileStatic
+class ProgressOutputStream extends FilterOutputStream {
+    public static final long DEFAULT_INTERVAL = 64 * 1024
+
+    private final Closure progress
+    private final long interval
+    private long count
+    private long reported
+
+    /**
+     * @param out output stream
+     * @param interval number of bytes between progress reports
+     * @param progress called with the number of bytes written since the last report
+     */
+    ProgressOutputStream(OutputStream out, long interval, Closure progress) {
+        super(out)
+        this.interval = interval
+        this.progress = progress
+    }
+
+    ProgressOutputStream(OutputStream out, Closure progress) {
+        this(out, DEFAULT_INTERVAL, progress)
+    }
+
+    /**
+     * @return total bytes written
+     */
+    long getCount() {
+        count
+    }
+
+    @Override
+    void write(int b) throws IOException {
+        out.write(b)
+        count++
+        checkReport()
+    }
+
+    @Override
+    void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len)
+        count += len
+        checkReport()
+    }
+
+    @Override
+    void flush() throws IOException {
+        super.flush()
+        report()
+    }
+
+    @Override
+    void close() throws IOException {
+        try {
+            super.close()
+        } finally {
+            report()
+        }
+    }
+
+    private void checkReport() {
+        if (count - reported >= interval) {
+            report()
+        }
+    }
+
+    private void report() {
+        long delta = count - reported
+        if (delta > 0) {
+            reported = count
+            progress.call(delta)
+        }
+    }
+}
@@ -28,6 +28,14 @@ import org.springframework.context.ApplicationContext
 import org.springframework.context.ApplicationContextAware
 import rundeck.codecs.JobsXMLCodec
 
+import javax.xml.stream.XMLEventReader
+import javax.xml.stream.XMLEventWriter
+import javax.xml.stream.XMLInputFactory
+import javax.xml.stream.XMLOutputFactory
+import javax.xml.stream.XMLStreamException
+import javax.xml.stream.events.StartElement
+import javax.xml.stream.events.XMLEvent
+
 /**
  * Definition for jobs XML format
  */
@@ -90,6 +98,111 @@ class JobXMLFormat implements JobFormat, ApplicationContextAware {
         return doc.job.collect { convertXmapToJobMap(convertNodeToXMap(it)) }
     }
 
+    /**
+     * Decode jobs with a streaming parser, so that only a single job element is held in memory at a time
+     */
+    @Override
+    @CompileStatic(TypeCheckingMode.SKIP)
+    void decodeEach(final Reader reader, final JobFormat.DecodeHandler handler) throws JobDefinitionException {
+        XMLEventReader events
+        try {
+            events = createInputFactory().createXMLEventReader(reader)
+        } catch (XMLStreamException e) {
+            throw new JobDefinitionException("Unable to parse xml: ${e}")
+        }
+        try {
+            StartElement root = nextStartElement(events)
+            if (!root) {
+                throw new JobDefinitionException("XML Document could not be parsed.")
+            }
+            if (root.name.localPart != 'joblist') {
+                throw new JobDefinitionException("Document root tag was not 'joblist': '${root.name.localPart}'")
+            }
+            XmlParser parser = new XmlParser()
+            XMLOutputFactory outputFactory = XMLOutputFactory.newInstance()
+            outputFactory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true)
+            int entry = 0
+            StartElement element
+            while ((element = nextStartElement(events))) {
+                String fragment = readElement(element, events, outputFactory)
+                if (element.name.localPart != 'job') {
+                    continue
+                }
+                entry++
+                Map jobMap
+                try {
+                    jobMap = convertXmapToJobMap(convertNodeToXMap(parser.parseText(fragment)))
+                } catch (JobDefinitionException e) {
+                    handler.failed(entry, e)
+                    continue
+                } catch (Exception e) {
+                    handler.failed(entry, new JobDefinitionException("Unable to parse job: ${e}", e))
+                    continue
+                }
+                handler.decoded(entry, jobMap)
+            }
+            if (!entry) {
+                throw new JobDefinitionException("No 'job' element was found")
+            }
+        } catch (XMLStreamException e) {
+            throw new JobDefinitionException("Unable to parse xml: ${e}")
+        } finally {
+            events.close()
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance()
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false)
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false)
+        factory
+    }
+
+    /**
+     * @return the next start element at the current depth, or null if the end of the enclosing element is reached
+     */
+    private static StartElement nextStartElement(XMLEventReader events) throws XMLStreamException {
+        while (events.hasNext()) {
+            XMLEvent event = events.nextEvent()
+            if (event.isStartElement()) {
+                return event.asStartElement()
+            }
+            if (event.isEndElement()) {
+                return null
+            }
+        }
+        null
+    }
+
+    /**
+     * Read the element content from the event reader
+     * @param start start element
+     * @param events reader positioned after the start element
+     * @param outputFactory factory for writing the element
+     * @return xml text of the element
+     */
+    private static String readElement(
+            StartElement start,
+            XMLEventReader events,
+            XMLOutputFactory outputFactory
+    ) throws XMLStreamException {
+        def writer = new StringWriter()
+        XMLEventWriter out = outputFactory.createXMLEventWriter(writer)
+        out.add(start)
+        int depth = 1
+        while (depth > 0) {
+            XMLEvent event = events.nextEvent()
+            if (event.isStartElement()) {
+                depth++
+            } else if (event.isEndElement()) {
+                depth--
+            }
+            out.add(event)
+        }
+        out.close()
+        writer.toString()
+    }
+
     /**
      * Convert canonical map to Xmap
      * @param map canonical map
@@ -25,6 +25,16 @@ import org.yaml.snakeyaml.DumperOptions
 import org.yaml.snakeyaml.LoaderOptions
 import org.yaml.snakeyaml.Yaml
 import org.yaml.snakeyaml.constructor.SafeConstructor
+import org.yaml.snakeyaml.emitter.Emitter
+import org.yaml.snakeyaml.error.YAMLException
+import org.yaml.snakeyaml.events.CollectionEndEvent
+import org.yaml.snakeyaml.events.CollectionStartEvent
+import org.yaml.snakeyaml.events.DocumentEndEvent
+import org.yaml.snakeyaml.events.DocumentStartEvent
+import org.yaml.snakeyaml.events.Event
+import org.yaml.snakeyaml.events.SequenceEndEvent
+import org.yaml.snakeyaml.events.SequenceStartEvent
+import org.yaml.snakeyaml.events.StreamEndEvent
 import org.yaml.snakeyaml.nodes.Node
 import org.yaml.snakeyaml.nodes.ScalarNode
 import org.yaml.snakeyaml.nodes.Tag
@@ -39,6 +49,11 @@ class JobYAMLFormat implements JobFormat {
     final String format = 'yaml'
 
     Boolean trimSpacesFromLines = false
+    /**
+     * Maximum code points of the whole stream read by {@link #decodeEach}, each job document is loaded with the
+     * default limit
+     */
+    Integer streamCodePointLimit = Integer.MAX_VALUE
 
     @Override
     @CompileStatic(TypeCheckingMode.SKIP)
@@ -54,6 +69,82 @@ class JobYAMLFormat implements JobFormat {
         data.each (JobYAMLFormat.&convertJobNotifications)
         return data
     }
+
+    /**
+     * Decode jobs from the parser events, so that only a single job is constructed at a time
+     */
+    @Override
+    @CompileStatic(TypeCheckingMode.SKIP)
+    void decodeEach(final Reader reader, final JobFormat.DecodeHandler handler) throws JobDefinitionException {
+        def streamOptions = new LoaderOptions()
+        streamOptions.codePointLimit = streamCodePointLimit ?: Integer.MAX_VALUE
+        Yaml parser = new Yaml(streamOptions)
+        Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()))
+        try {
+            Iterator<Event> events = parser.parse(reader).iterator()
+            Event streamStart = events.next()
+            Event documentStart = events.hasNext() ? events.next() : null
+            if (!(documentStart instanceof DocumentStartEvent) || !(events.next() instanceof SequenceStartEvent)) {
+                throw new JobDefinitionException("Yaml: Expected list data")
+            }
+            int entry = 0
+            Event event
+            while (!((event = events.next()) instanceof SequenceEndEvent)) {
+                List<Event> item = readItem(event, events)
+                entry++
+                def data
+                try {
+                    data = yaml.load(emitItem(streamStart, documentStart, item))
+                } catch (YAMLException e) {
+                    handler.failed(entry, new JobDefinitionException("Yaml: Unable to load job: ${e.message}", e))
+                    continue
+                }
+                if (!(data instanceof Map)) {
+                    handler.failed(entry, new JobDefinitionException("Yaml: Expected list of Maps"))
+                    continue
+                }
+                convertJobNotifications(data)
+                handler.decoded(entry, data)
+            }
+        } catch (YAMLException e) {
+            throw new JobDefinitionException("Yaml: Unable to parse: ${e.message}", e)
+        }
+    }
+
+    /**
+     * @param first first event of the list item
+     * @param events remaining events
+     * @return all events for the list item
+     */
+    private static List<Event> readItem(Event first, Iterator<Event> events) {
+        List<Event> item = [first]
+        int depth = first instanceof CollectionStartEvent ? 1 : 0
+        while (depth > 0) {
+            Event event = events.next()
+            if (event instanceof CollectionStartEvent) {
+                depth++
+            } else if (event instanceof CollectionEndEvent) {
+                depth--
+            }
+            item << event
+        }
+        item
+    }
+
+    /**
+     * @return the list item as a yaml document
+     */
+    private static String emitItem(Event streamStart, Event documentStart, List<Event> item) {
+        def writer = new StringWriter()
+        def emitter = new Emitter(writer, new DumperOptions())
+        def end = item.last()
+        ([streamStart, documentStart] + item + [
+                new DocumentEndEvent(end.endMark, end.endMark, false),
+                new StreamEndEvent(end.endMark, end.endMark)
+        ]).each { emitter.emit(it) }
+        writer.toString()
+    }
+
     static void convertJobNotifications(Map jobMap){
         Map notifTriggers = jobMap['notification'] as Map
         if(notifTriggers) {
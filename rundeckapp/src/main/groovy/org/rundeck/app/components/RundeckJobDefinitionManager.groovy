@@ -425,6 +425,37 @@ class RundeckJobDefinitionManager implements JobDefinitionManager<ScheduledExecu
         createJobs(jobMaps)
     }
 
+    /**
+     * Decode jobs one at a time, without loading the whole input
+     * @param format format name
+     * @param reader input
+     * @param handler called with the entry number and the ImportedJob for each job
+     * @param errorHandler called with the entry number and the JobDefinitionException for each job which could not
+     * be decoded
+     * @throws JobDefinitionException if the input cannot be parsed
+     */
+    void decodeFormatEach(String format, Reader reader, Closure handler, Closure errorHandler)
+            throws JobDefinitionException {
+        getFormat(format).decodeEach(reader, new JobFormat.DecodeHandler() {
+            @Override
+            void decoded(int entry, Map jobMap) {
+                ImportedJob<ScheduledExecution> imported
+                try {
+                    imported = jobFromMap(jobMap)
+                } catch (Exception e) {
+                    errorHandler.call(entry, new JobDefinitionException("Unable to create Job: " + e.getMessage(), e))
+                    return
+                }
+                handler.call(entry, imported)
+            }
+
+            @Override
+            void failed(int entry, JobDefinitionException error) {
+                errorHandler.call(entry, error)
+            }
+        })
+    }
+
     /**
      * Create an imported job from job and associations
      * @param job
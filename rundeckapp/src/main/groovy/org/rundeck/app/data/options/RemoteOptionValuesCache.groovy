@@ -0,0 +1,195 @@
+package org.rundeck.app.data.options
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import groovy.util.logging.Slf4j
+import org.apache.commons.codec.digest.DigestUtils
+import org.apache.http.impl.client.CloseableHttpClient
+import org.apache.http.impl.client.HttpClients
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager
+import org.rundeck.app.jobs.options.JobOptionConfigRemoteUrl
+import org.springframework.beans.factory.DisposableBean
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.Supplier
+
+/**
+ * Shared cache of remote option values results, keyed by the expanded URL and the authentication used to request it.
+ * Concurrent requests for the same key share a single fetch. Results older than the TTL but within the stale period
+ * are returned immediately while they are refreshed in the background. Only successful results are cached.
+ */
+@Slf4j
+class RemoteOptionValuesCache implements DisposableBean {
+    /**
+     * Max number of cached results
+     */
+    int maxSize = 1000
+    /**
+     * Max number of pooled http connections
+     */
+    int maxConnections = 50
+    /**
+     * Max number of pooled http connections per host
+     */
+    int maxConnectionsPerRoute = 10
+    /**
+     * Number of threads refreshing stale results
+     */
+    int refreshThreads = 2
+
+    private Cache<String, Entry> cache
+    private final ConcurrentHashMap<String, CompletableFuture<Map>> inflight = new ConcurrentHashMap<>()
+    private ExecutorService refreshExecutor
+    private CloseableHttpClient sharedHttpClient
+
+    static class Entry {
+        final Map result
+        final long loadedAt
+
+        Entry(Map result, long loadedAt) {
+            this.result = result
+            this.loadedAt = loadedAt
+        }
+    }
+
+    /**
+     * Build a cache key for a remote options request, secrets are included as a digest
+     * @param url expanded URL
+     * @param configRemoteUrl authentication config, or null
+     * @param disableJsonCheck whether the content type check is disabled
+     * @return key
+     */
+    static String cacheKey(String url, JobOptionConfigRemoteUrl configRemoteUrl, boolean disableJsonCheck) {
+        def parts = [
+                url,
+                configRemoteUrl?.authenticationType?.name(),
+                configRemoteUrl?.username,
+                configRemoteUrl?.keyName,
+                configRemoteUrl?.apiTokenReporter?.name(),
+                configRemoteUrl?.password,
+                configRemoteUrl?.token,
+                configRemoteUrl?.jsonFilter,
+                disableJsonCheck.toString()
+        ]
+        DigestUtils.sha256Hex(parts.collect { it ?: '' }.join('\u0000'))
+    }
+
+    /**
+     * Return the result for the key, fetching it if it is not cached or has expired
+     * @param key cache key
+     * @param ttl seconds a result is fresh, or 0 to only share concurrent fetches
+     * @param stale seconds after the TTL a result is still returned while it is refreshed in the background
+     * @param fetch fetches the result
+     * @return result
+     */
+    Map get(String key, int ttl, int stale, Supplier<Map> fetch) {
+        if (ttl > 0) {
+            Entry entry = getCache().getIfPresent(key)
+            if (entry) {
+                long age = System.currentTimeMillis() - entry.loadedAt
+                if (age < TimeUnit.SECONDS.toMillis(ttl)) {
+                    return entry.result
+                }
+                if (age < TimeUnit.SECONDS.toMillis(ttl + Math.max(0, stale))) {
+                    refresh(key, fetch)
+                    return entry.result
+                }
+            }
+        }
+        try {
+            return load(key, ttl > 0, fetch, null).join()
+        } catch (CompletionException e) {
+            throw e.cause ?: e
+        }
+    }
+
+    private void refresh(String key, Supplier<Map> fetch) {
+        load(key, true, fetch, getRefreshExecutor()).exceptionally { Throwable t ->
+            log.warn("Failed refreshing remote option values: ${t.message}")
+            null
+        }
+    }
+
+    /**
+     * Start a fetch for the key unless one is already in progress
+     * @param cacheResult whether to cache a successful result
+     * @param executor executor for the fetch, or null to fetch in the current thread
+     */
+    private CompletableFuture<Map> load(String key, boolean cacheResult, Supplier<Map> fetch, ExecutorService executor) {
+        CompletableFuture<Map> created = new CompletableFuture<>()
+        CompletableFuture<Map> existing = inflight.putIfAbsent(key, created)
+        if (existing) {
+            return existing
+        }
+        Runnable task = {
+            try {
+                Map result = fetch.get()
+                if (cacheResult && result && !result.error) {
+                    getCache().put(key, new Entry(result, System.currentTimeMillis()))
+                }
+                created.complete(result)
+            } catch (Throwable t) {
+                created.completeExceptionally(t)
+            } finally {
+                inflight.remove(key, created)
+            }
+        }
+        if (executor) {
+            executor.execute(task)
+        } else {
+            task.run()
+        }
+        created
+    }
+
+    /**
+     * Remove all cached results
+     */
+    void invalidateAll() {
+        getCache().invalidateAll()
+    }
+
+    private synchronized Cache<String, Entry> getCache() {
+        if (null == cache) {
+            cache = CacheBuilder.newBuilder().maximumSize(maxSize).build()
+        }
+        cache
+    }
+
+    private synchronized ExecutorService getRefreshExecutor() {
+        if (null == refreshExecutor) {
+            refreshExecutor = Executors.newFixedThreadPool(Math.max(1, refreshThreads))
+        }
+        refreshExecutor
+    }
+
+    /**
+     * @return http client with a pooled keep-alive connection manager, shared by remote option values requests
+     */
+    synchronized CloseableHttpClient getSharedHttpClient() {
+        if (null == sharedHttpClient) {
+            def connectionManager = new PoolingHttpClientConnectionManager()
+            connectionManager.maxTotal = maxConnections
+            connectionManager.defaultMaxPerRoute = maxConnectionsPerRoute
+            sharedHttpClient = HttpClients.custom().
+                setConnectionManager(connectionManager).
+                evictExpiredConnections().
+                evictIdleConnections(60, TimeUnit.SECONDS).
+                build()
+        }
+        sharedHttpClient
+    }
+
+    @Override
+    synchronized void destroy() throws Exception {
+        refreshExecutor?.shutdownNow()
+        refreshExecutor = null
+        sharedHttpClient?.close()
+        sharedHttpClient = null
+    }
+}
@@ -1,8 +1,12 @@
 package org.rundeck.app.data.providers
 
 /**
- * Support for deleting all exec reports by execution id
+ * Support for deleting all exec reports by execution id, or for a batch of executions
  */
 interface DBExecReportSupport {
     void deleteAllByExecutionId(Long id)
+
+    void deleteAllByExecutionIds(Collection<Long> ids)
+
+    void deleteAllByExecutionUuids(Collection<String> executionUuids)
 }
@@ -0,0 +1,8 @@
+package org.rundeck.app.data.providers
+
+/**
+ * Support for deleting all referenced executions for a batch of executions
+ */
+interface DBReferencedExecutionSupport {
+    void deleteByExecutionIds(Collection<Long> ids)
+}
@@ -8,7 +8,6 @@ import org.rundeck.app.data.model.v1.report.RdExecReport
 import org.rundeck.app.data.model.v1.report.dto.SaveReportRequest
 import org.rundeck.app.data.model.v1.report.dto.SaveReportResponse
 import rundeck.data.report.SaveReportResponseImpl
-import org.rundeck.app.data.providers.v1.report.ExecReportDataProvider
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.ApplicationContext
 import org.springframework.context.MessageSource
@@ -19,7 +18,7 @@ import rundeck.services.ConfigurationService
 import javax.sql.DataSource
 
 @CompileStatic(TypeCheckingMode.SKIP)
-class GormExecReportDataProvider implements ExecReportDataProvider, DBExecReportSupport {
+class GormExecReportDataProvider implements PagedExecReportDataProvider, DBExecReportSupport {
     @Autowired
     ConfigurationService configurationService
     @Autowired
@@ -67,6 +66,18 @@ class GormExecReportDataProvider implements ExecReportDataProvider, DBExecReport
         return ExecReport.findAllByProject(projectName)
     }
 
+    @Override
+    List<RdExecReport> findAllByProjectAfterId(String projectName, Long afterId, int max) {
+        return ExecReport.createCriteria().list {
+            eq('project', projectName)
+            if (afterId != null) {
+                gt('id', afterId)
+            }
+            order('id', 'asc')
+            maxResults(max)
+        } as List<RdExecReport>
+    }
+
     @Override
     List<RdExecReport> findAllByStatus(String status) {
         return ExecReport.findAllByStatus(status)
@@ -188,6 +199,16 @@ class GormExecReportDataProvider implements ExecReportDataProvider, DBExecReport
         }
     }
 
+    @Override
+    void deleteAllByExecutionIds(Collection<Long> ids) {
+        ExecReport.executeUpdate('delete from ExecReport where executionId in (:ids)', [ids: ids])
+    }
+
+    @Override
+    void deleteAllByExecutionUuids(Collection<String> executionUuids) {
+        ExecReport.executeUpdate('delete from ExecReport where executionUuid in (:uuids)', [uuids: executionUuids])
+    }
+
     def applyExecutionCriteria(RdExecQuery query, delegate, boolean isJobs=true, String seId=null, List<String> execUuids=[]){
         def eqfilters = [
                 stat: 'status',
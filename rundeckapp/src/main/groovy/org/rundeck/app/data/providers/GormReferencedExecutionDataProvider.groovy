@@ -8,7 +8,7 @@ import rundeck.ReferencedExecution
 import rundeck.ScheduledExecution
 import rundeck.services.JobSchedulerService
 
-class GormReferencedExecutionDataProvider implements ReferencedExecutionDataProvider{
+class GormReferencedExecutionDataProvider implements ReferencedExecutionDataProvider, DBReferencedExecutionSupport {
     @Override
     Long updateOrCreateReference(Long refId, String jobUuid, Long execId, String status) {
         if(refId){
@@ -53,6 +53,11 @@ class GormReferencedExecutionDataProvider implements ReferencedExecutionDataProv
 
     }
 
+    @Override
+    void deleteByExecutionIds(Collection<Long> ids) {
+        ReferencedExecution.executeUpdate('delete from ReferencedExecution where execution.id in (:ids)', [ids: ids])
+    }
+
     @Override
     void deleteByJobUuid(String jobUuid) {
         ReferencedExecution.findAllByJobUuid(jobUuid).each {re ->
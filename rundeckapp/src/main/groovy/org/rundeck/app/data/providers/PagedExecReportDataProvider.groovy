@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.app.data.providers
+
+import org.rundeck.app.data.model.v1.report.RdExecReport
+import org.rundeck.app.data.providers.v1.report.ExecReportDataProvider
+
+/**
+ * Report data provider which can page through the reports of a project
+ */
+interface PagedExecReportDataProvider extends ExecReportDataProvider {
+    /**
+     * List reports for a project ordered by ID
+     * @param projectName project
+     * @param afterId list reports with an ID greater than this, or null to start from the first report
+     * @param max max results
+     * @return reports
+     */
+    List<RdExecReport> findAllByProjectAfterId(String projectName, Long afterId, int max)
+}
@@ -11,6 +11,7 @@ import org.rundeck.storage.api.PathUtil
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.MessageSource
 import rundeck.Storage
+import rundeck.StorageDirectory
 import rundeck.services.data.StorageDataService
 
 import javax.transaction.Transactional
@@ -18,7 +19,7 @@ import javax.transaction.Transactional
 @GrailsCompileStatic
 @Slf4j
 @Transactional
-class GormStorageDataProvider implements StorageDataProvider {
+class GormStorageDataProvider implements IndexedStorageDataProvider {
     @Autowired
     StorageDataService storageDataService
     @Autowired
@@ -41,6 +42,7 @@ class GormStorageDataProvider implements StorageDataProvider {
                     data: data.getData())
             s.setStorageMeta(data.getStorageMeta())
             try {
+                StorageDirectory.indexDirectory(s.namespace, dir)
                 if (storageDataService.save(s)) {
                     return s.getId()
                 } else {
@@ -62,6 +64,8 @@ class GormStorageDataProvider implements StorageDataProvider {
             }
             String dir = data.dir
             String name = data.name
+            String oldNamespace = storage.namespace
+            String oldDir = storage.dir ?: ''
             Map<String, String> existingMeta = storage.storageMeta ?: [:]
             storage.storageMeta = existingMeta + metadata
             storage.namespace = data.getNamespace()
@@ -69,8 +73,15 @@ class GormStorageDataProvider implements StorageDataProvider {
             storage.dir = dir
             storage.data = data.getData()
             storage.lastUpdated = new Date()
+            boolean moved = storage.namespace != oldNamespace || (dir ?: '') != oldDir
             try {
+                if (moved) {
+                    StorageDirectory.indexDirectory(storage.namespace, dir)
+                }
                 storage.save(flush: true)
+                if (moved) {
+                    StorageDirectory.pruneDirectory(oldNamespace, oldDir)
+                }
             } catch (Exception e) {
                 throw new DataAccessException("Error: could not update project ${source.id}: ${e}", e)
             }
@@ -86,13 +97,54 @@ class GormStorageDataProvider implements StorageDataProvider {
             }
             try {
                 storage.delete(flush: true)
+                StorageDirectory.pruneDirectory(storage.namespace, storage.dir)
             } catch (Exception e) {
                 throw new DataAccessException("Could not delete storage ${source.id}: ${e}", e)
             }
         }
     }
+    @GrailsCompileStatic(TypeCheckingMode.SKIP)
     List<RundeckStorage> findAllByNamespaceAndDir(String namespace, String path) {
-        storageDataService.findAllByNamespaceAndDir(namespace, path, [sort:'name',order:'desc']) as List<RundeckStorage>
+        Storage.findAllByDirSha(Storage.shaForPath(namespace, path), [sort: 'name', order: 'desc']) as List<RundeckStorage>
+    }
+
+    @Override
+    @GrailsCompileStatic(TypeCheckingMode.SKIP)
+    List<RundeckStorage> listDirectoryResources(String ns, String dir, int offset, int max) {
+        Storage.createCriteria().list {
+            eq('dirSha', Storage.shaForPath(ns, dir))
+            if (offset > 0) {
+                firstResult(offset)
+            }
+            if (max > 0) {
+                maxResults(max)
+            }
+            order('name', 'asc')
+        } as List<RundeckStorage>
+    }
+
+    @Override
+    @GrailsCompileStatic(TypeCheckingMode.SKIP)
+    List<String> listDirectorySubdirPaths(String ns, String dir, int offset, int max) {
+        StorageDirectory.createCriteria().list {
+            eq('dirSha', Storage.shaForPath(ns, dir))
+            projections {
+                property('name')
+            }
+            if (offset > 0) {
+                firstResult(offset)
+            }
+            if (max > 0) {
+                maxResults(max)
+            }
+            order('name', 'asc')
+        }.collect { String name -> dir ? (dir + '/' + name) : name }
+    }
+
+    @Override
+    @GrailsCompileStatic(TypeCheckingMode.SKIP)
+    long countDirectorySubdirs(String ns, String dir) {
+        StorageDirectory.countByDirSha(Storage.shaForPath(ns, dir))
     }
 
     @Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rundeck.app.data.providers.storage
+
+import org.rundeck.app.data.model.v1.storage.RundeckStorage
+import org.rundeck.app.data.providers.v1.storage.StorageDataProvider
+
+/**
+ * Storage data provider with an index of directories, allowing the direct children of a directory to be
+ * listed and paged without loading the entries below it.
+ */
+interface IndexedStorageDataProvider extends StorageDataProvider {
+    /**
+     * List resources directly within a directory, ordered by name
+     * @param ns namespace
+     * @param dir directory path
+     * @param offset first result
+     * @param max max results, or 0 for all results
+     * @return resources
+     */
+    List<RundeckStorage> listDirectoryResources(String ns, String dir, int offset, int max)
+
+    /**
+     * List the paths of the subdirectories directly within a directory, ordered by name
+     * @param ns namespace
+     * @param dir directory path
+     * @param offset first result
+     * @param max max results, or 0 for all results
+     * @return subdirectory paths
+     */
+    List<String> listDirectorySubdirPaths(String ns, String dir, int offset, int max)
+
+    /**
+     * @param ns namespace
+     * @param dir directory path
+     * @return count of subdirectories directly within the directory
+     */
+    long countDirectorySubdirs(String ns, String dir)
+}
@@ -3,6 +3,7 @@ package rundeck.services.audit
 import com.dtolabs.rundeck.core.audit.ActionTypes
 import com.dtolabs.rundeck.core.audit.AuditEvent
 import com.dtolabs.rundeck.core.audit.ResourceTypes
+import com.dtolabs.rundeck.plugins.audit.AuditEventBatchListener
 import com.dtolabs.rundeck.plugins.audit.AuditEventListener
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -13,6 +14,22 @@ public final class AuditEventDispatcher {
 
     private AuditEventDispatcher() {}
 
+    /**
+     * Dispatch a batch of events to a listener, at once if it is a batch listener, or one event at a time.
+     */
+    static dispatchBatchToListener(List<AuditEvent> events, AuditEventListener listener) {
+        if (!(listener instanceof AuditEventBatchListener)) {
+            events.each { dispatchToListener(it, listener) }
+            return
+        }
+        try {
+            ((AuditEventBatchListener) listener).onEvents(events)
+        }
+        catch (Exception e) {
+            LOG.error("Error dispatching events to handler plugin: " + e.getMessage(), e)
+        }
+    }
+
     /**
      * Dispatch an event to a listener.
      */
@@ -0,0 +1,143 @@
+package rundeck.services.audit
+
+import com.dtolabs.rundeck.core.audit.AuditEvent
+import groovy.transform.CompileStatic
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.Consumer
+
+/**
+ * Bounded queue of audit events, drained in batches by a single task at a time on the executor.
+ */
+@CompileStatic
+class AuditEventQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditEventQueue.class)
+
+    /**
+     * Behavior when an event is published and the queue is full
+     */
+    static enum OverflowPolicy {
+        /**
+         * Wait for space in the queue
+         */
+        BLOCK,
+        /**
+         * Discard the published event
+         */
+        DROP_NEWEST,
+        /**
+         * Discard the oldest queued event
+         */
+        DROP_OLDEST
+
+        static OverflowPolicy forName(String name) {
+            name ? valueOf(name.trim().toUpperCase().replace('-', '_')) : BLOCK
+        }
+    }
+
+    static class Entry {
+        final AuditEvent event
+        final long queuedNanos
+
+        Entry(AuditEvent event, long queuedNanos) {
+            this.event = event
+            this.queuedNanos = queuedNanos
+        }
+    }
+
+    private final ArrayBlockingQueue<Entry> queue
+    private final OverflowPolicy overflowPolicy
+    private final int batchSize
+    private final Executor executor
+    private final Consumer<List<Entry>> dispatcher
+    private final AtomicBoolean scheduled = new AtomicBoolean()
+
+    /**
+     * @param capacity max number of queued events
+     * @param overflowPolicy behavior when the queue is full
+     * @param batchSize max number of events dispatched at once
+     * @param executor runs the drain task
+     * @param dispatcher receives each batch
+     */
+    AuditEventQueue(
+            int capacity,
+            OverflowPolicy overflowPolicy,
+            int batchSize,
+            Executor executor,
+            Consumer<List<Entry>> dispatcher
+    )
+    {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity))
+        this.overflowPolicy = overflowPolicy
+        this.batchSize = Math.max(1, batchSize)
+        this.executor = executor
+        this.dispatcher = dispatcher
+    }
+
+    /**
+     * Queue an event for dispatch
+     * @param event event
+     * @return number of events discarded due to overflow
+     */
+    int offer(AuditEvent event) {
+        def entry = new Entry(event, System.nanoTime())
+        int dropped = 0
+        switch (overflowPolicy) {
+            case OverflowPolicy.BLOCK:
+                queue.put(entry)
+                break
+            case OverflowPolicy.DROP_NEWEST:
+                if (!queue.offer(entry)) {
+                    dropped++
+                }
+                break
+            case OverflowPolicy.DROP_OLDEST:
+                while (!queue.offer(entry)) {
+                    if (queue.poll() != null) {
+                        dropped++
+                    }
+                }
+                break
+        }
+        schedule()
+        dropped
+    }
+
+    /**
+     * @return number of queued events
+     */
+    int size() {
+        queue.size()
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute({ -> drain() } as Runnable)
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<Entry> batch = new ArrayList<>(batchSize)
+            queue.drainTo(batch, batchSize)
+            if (batch.isEmpty()) {
+                scheduled.set(false)
+                //an event queued after the drain but before the flag was cleared must not be left behind
+                if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return
+                }
+                continue
+            }
+            try {
+                dispatcher.accept(batch)
+            } catch (Exception e) {
+                LOG.error("Error dispatching audit events: " + e.getMessage(), e)
+            }
+        }
+    }
+}
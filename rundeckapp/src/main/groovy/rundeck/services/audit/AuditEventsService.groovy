@@ -1,6 +1,7 @@
 package rundeck.services.audit
 
 import com.codahale.metrics.Counter
+import com.codahale.metrics.Timer
 import com.dtolabs.rundeck.core.audit.*
 import com.dtolabs.rundeck.core.common.Framework
 import com.dtolabs.rundeck.core.plugins.ConfiguredPlugin
@@ -34,7 +35,9 @@ import rundeck.services.FrameworkService
 
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
 import java.util.function.Function
 import java.util.stream.Collectors
 
@@ -55,7 +58,26 @@ class AuditEventsService
 
     private ContextACLManager<AppACLContext> aclFileManagerService
     protected AsyncTaskExecutor asyncTaskExecutor
+    protected ThreadPoolTaskExecutor pluginTaskExecutor
     protected final CopyOnWriteArrayList<AuditEventListener> internalListeners = new CopyOnWriteArrayList<>()
+    private volatile AuditEventQueue eventQueue
+
+    /**
+     * Max number of events waiting for dispatch
+     */
+    int queueCapacity = 10000
+    /**
+     * Behavior when the queue is full, see {@link AuditEventQueue.OverflowPolicy}
+     */
+    String overflowPolicy = 'block'
+    /**
+     * Max number of events delivered to listeners at once
+     */
+    int batchSize = 100
+    /**
+     * Number of threads delivering events to plugins in parallel
+     */
+    int pluginThreads = 4
 
     protected volatile Map<String, DescribedPlugin> installedPlugins = null
     Counter userLoginSuccess
@@ -262,6 +284,84 @@ class AuditEventsService
     }
 
 
+    /**
+     * Returns the event queue, created on first use with the configured settings.
+     * @return
+     */
+    protected AuditEventQueue getEventQueue() {
+        if (eventQueue == null) {
+            synchronized (this) {
+                if (eventQueue == null) {
+                    pluginTaskExecutor = new ThreadPoolTaskExecutor()
+                    pluginTaskExecutor.setThreadNamePrefix("AuditEventPlugin")
+                    pluginTaskExecutor.setCorePoolSize(Math.max(1, pluginThreads))
+                    pluginTaskExecutor.setMaxPoolSize(Math.max(1, pluginThreads))
+                    pluginTaskExecutor.initialize()
+                    eventQueue = new AuditEventQueue(
+                            queueCapacity,
+                            AuditEventQueue.OverflowPolicy.forName(overflowPolicy),
+                            batchSize,
+                            asyncTaskExecutor,
+                            this.&deliverEvents
+                    )
+                }
+            }
+        }
+        eventQueue
+    }
+
+    /**
+     * Deliver a batch of events to the internal listeners in order, and to each plugin in parallel.
+     */
+    @PackageScope
+    void deliverEvents(List<AuditEventQueue.Entry> entries) {
+        queuedCounter?.dec(entries.size())
+        List<AuditEvent> events = Collections.unmodifiableList(entries*.event)
+
+        // dispatch internal listeners.
+        internalListeners.each { listener ->
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dispatching " + events.size() + " events to internal listener {" + listener + "}")
+            }
+            AuditEventDispatcher.dispatchBatchToListener(events, listener)
+        }
+
+        // dispatch to plugins
+        def plugins = this.listenerPlugins.values()
+        if (plugins.size() > 1) {
+            CompletableFuture.allOf(plugins.collect { plugin ->
+                CompletableFuture.runAsync({ dispatchToPlugin(events, plugin) }, pluginTaskExecutor)
+            } as CompletableFuture[]).join()
+        } else {
+            plugins.each { dispatchToPlugin(events, it) }
+        }
+
+        Timer latency = latencyTimer
+        if (latency) {
+            long now = System.nanoTime()
+            entries.each { latency.update(now - it.queuedNanos, TimeUnit.NANOSECONDS) }
+        }
+    }
+
+    private void dispatchToPlugin(List<AuditEvent> events, DescribedPlugin<AuditEventListenerPlugin> plugin) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Dispatching " + events.size() + " events to plugin handler {" + plugin.name + "}")
+        }
+        AuditEventDispatcher.dispatchBatchToListener(events, plugin.instance)
+    }
+
+    Counter getQueuedCounter() {
+        metricService?.counter(this.class.name + ".events", "queued")
+    }
+
+    Counter getDroppedCounter() {
+        metricService?.counter(this.class.name + ".events", "dropped")
+    }
+
+    Timer getLatencyTimer() {
+        metricService?.timer(this.class.name + ".events", "latency")
+    }
+
     /**
      * Dispatch the event.
      */
@@ -289,26 +389,12 @@ class AuditEventsService
         if (LOG.isDebugEnabled())
             LOG.debug("Dispatching audit event: " + event)
 
-        asyncTaskExecutor.execute {
-
-            // dispatch internal listeners.
-            internalListeners.each { listener ->
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Dispatching event to internal listener {" + listener + "}: " + event)
-                }
-                AuditEventDispatcher.dispatchToListener(event, listener)
-            }
-
-            // dispatch to plugins
-            this.listenerPlugins
-                    .values().stream()
-                    .peek {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Dispatching event to plugin handler {" + it.name + "}: " + event)
-                        }
-                    }
-                    .map { it.instance }
-                    .forEach { AuditEventDispatcher.dispatchToListener(event, it) }
+        queuedCounter?.inc()
+        int dropped = getEventQueue().offer(event)
+        if (dropped > 0) {
+            LOG.warn("Audit event queue is full, dropped " + dropped + " events")
+            queuedCounter?.dec(dropped)
+            droppedCounter?.inc(dropped)
         }
     }
 
@@ -0,0 +1,147 @@
+package com.dtolabs.rundeck.app.internal.logging
+
+import com.dtolabs.rundeck.core.logging.LogEvent
+import com.dtolabs.rundeck.core.logging.LogLevel
+import com.dtolabs.rundeck.core.logging.internal.RundeckLogFormat
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.util.function.LongFunction
+
+class RangedStreamingLogReaderSpec extends Specification {
+
+    static String logContent(int count) {
+        def format = new RundeckLogFormat()
+        def sb = new StringBuilder()
+        sb << format.outputBegin() << '\n'
+        count.times { i ->
+            sb << format.outputEvent(
+                Stub(LogEvent) {
+                    getEventType() >> 'log'
+                    getLoglevel() >> LogLevel.NORMAL
+                    getMessage() >> "message ${i}".toString()
+                    getDatetime() >> new Date(1000L * i)
+                    getMetadata() >> [node: 'node' + i]
+                }
+            ) << '\n'
+        }
+        sb << format.outputFinish() << '\n'
+        sb.toString()
+    }
+
+    @Unroll
+    def "reads the same events and offsets as the file reader with block size #blockSize"() {
+        given:
+            byte[] content = logContent(5).getBytes('UTF-8')
+            def file = Files.createTempFile('test', '.rdlog').toFile()
+            file.deleteOnExit()
+            file.bytes = content
+            List<Long> loaded = []
+            LongFunction<byte[]> blocks = { long index ->
+                loaded << index
+                int start = (int) (index * blockSize)
+                Arrays.copyOfRange(content, start, Math.min(content.length, start + blockSize))
+            }
+            def expected = new FSStreamingLogReader(file, 'UTF-8', new RundeckLogFormat())
+            def reader = new RangedStreamingLogReader(
+                blocks,
+                blockSize,
+                content.length,
+                new Date(),
+                'UTF-8',
+                new RundeckLogFormat()
+            )
+
+        when:
+            expected.openStream(0)
+            def first = expected.next()
+            long offset = expected.offset
+            List<String> expectedMessages = expected.collect { it.message }
+            expected.close()
+
+            reader.openStream(offset)
+            List<String> messages = reader.collect { it.message }
+            boolean complete = reader.complete
+            long endOffset = reader.offset
+            reader.close()
+
+        then:
+            first.message == 'message 0'
+            messages == expectedMessages
+            messages.size() == 4
+            complete
+            endOffset == content.length
+            reader.totalSize == content.length
+            loaded.every { it >= 0 && it * blockSize < content.length }
+
+        where:
+            blockSize | _
+            7         | _
+            64        | _
+            4096      | _
+    }
+
+    @Unroll
+    def "reverse offset reads the same last events as the file reader with block size #blockSize"() {
+        given:
+            byte[] content = logContent(10).getBytes('UTF-8')
+            def file = Files.createTempFile('test', '.rdlog').toFile()
+            file.deleteOnExit()
+            file.bytes = content
+            List<Long> loaded = []
+            LongFunction<byte[]> blocks = { long index ->
+                loaded << index
+                int start = (int) (index * blockSize)
+                Arrays.copyOfRange(content, start, Math.min(content.length, start + blockSize))
+            }
+            def expected = new FSStreamingLogReader(file, 'UTF-8', new RundeckLogFormat())
+            def reader = new RangedStreamingLogReader(
+                blocks,
+                blockSize,
+                content.length,
+                new Date(),
+                'UTF-8',
+                new RundeckLogFormat()
+            )
+
+        when:
+            expected.openStreamFromReverseOffset(3)
+            List<String> expectedMessages = expected.collect { it.message }
+            expected.close()
+
+            reader.openStreamFromReverseOffset(3)
+            List<String> messages = reader.collect { it.message }
+            reader.close()
+
+        then:
+            expectedMessages.size() < 10
+            expectedMessages.last() == 'message 9'
+            messages == expectedMessages
+            loaded.every { it >= 0 && it * blockSize < content.length }
+
+        where:
+            blockSize | _
+            7         | _
+            64        | _
+            4096      | _
+    }
+
+    def "block stream reads across blocks and stops at the content length"() {
+        given:
+            byte[] content = 'abcdefghij'.getBytes('UTF-8')
+            LongFunction<byte[]> blocks = { long index ->
+                int start = (int) (index * 4)
+                Arrays.copyOfRange(content, start, Math.min(content.length, start + 4))
+            }
+
+        when:
+            def stream = new BlockInputStream(blocks, 4, content.length, 2)
+            def text = new String(stream.bytes, 'UTF-8')
+
+        then:
+            text == 'cdefghij'
+            stream.position == content.length
+            stream.read() == -1
+    }
+}
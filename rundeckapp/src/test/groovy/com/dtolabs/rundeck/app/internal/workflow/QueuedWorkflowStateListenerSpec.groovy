@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Rundeck, Inc. (http://rundeck.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtolabs.rundeck.app.internal.workflow
+
+import com.dtolabs.rundeck.core.execution.workflow.state.ExecutionState
+import com.dtolabs.rundeck.core.execution.workflow.state.WorkflowStateListener
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+
+import static com.dtolabs.rundeck.core.execution.workflow.state.StateUtils.*
+
+class QueuedWorkflowStateListenerSpec extends Specification {
+
+    def "changes are applied in order by the reporting thread without an executor"() {
+        given:
+            def date = new Date()
+            def delegate = Mock(WorkflowStateListener)
+            def applied = []
+            def listener = new QueuedWorkflowStateListener(
+                listeners: [delegate],
+                onApplied: { boolean stepChanged, boolean completed -> applied << [stepChanged, completed] }
+            )
+
+        when:
+            listener.workflowExecutionStateChanged(ExecutionState.RUNNING, date, ['a'])
+            listener.stepStateChanged(stepIdentifier(1), stepStateChange(stepState(ExecutionState.RUNNING), 'a'), date)
+            listener.workflowExecutionStateChanged(ExecutionState.SUCCEEDED, date, ['a'])
+
+        then:
+            1 * delegate.workflowExecutionStateChanged(ExecutionState.RUNNING, date, ['a'])
+
+        then:
+            1 * delegate.stepStateChanged(stepIdentifier(1), _, date)
+
+        then:
+            1 * delegate.workflowExecutionStateChanged(ExecutionState.SUCCEEDED, date, ['a'])
+            applied == [[false, false], [true, false], [false, true]]
+            listener.pending == 0
+    }
+
+    def "changes are applied in batches by a single executor task"() {
+        given:
+            def date = new Date()
+            def delegate = Mock(WorkflowStateListener)
+            List<Runnable> tasks = []
+            def applied = []
+            def listener = new QueuedWorkflowStateListener(
+                listeners: [delegate],
+                executor: { Runnable r -> tasks << r } as Executor,
+                onApplied: { boolean stepChanged, boolean completed -> applied << [stepChanged, completed] }
+            )
+
+        when:
+            listener.stepStateChanged(stepIdentifier(1), stepStateChange(stepState(ExecutionState.RUNNING), 'a'), date)
+            listener.stepStateChanged(stepIdentifier(1), stepStateChange(stepState(ExecutionState.RUNNING), 'b'), date)
+
+        then:
+            0 * delegate._
+            tasks.size() == 1
+            listener.pending == 2
+
+        when:
+            tasks[0].run()
+
+        then:
+            2 * delegate.stepStateChanged(stepIdentifier(1), _, date)
+            applied == [[true, false]]
+            listener.pending == 0
+    }
+
+    def "completed workflow state flushes queued changes before returning"() {
+        given:
+            def date = new Date()
+            def delegate = Mock(WorkflowStateListener)
+            def applied = []
+            def listener = new QueuedWorkflowStateListener(
+                listeners: [delegate],
+                executor: { Runnable r -> } as Executor,
+                onApplied: { boolean stepChanged, boolean completed -> applied << [stepChanged, completed] }
+            )
+
+        when:
+            listener.stepStateChanged(stepIdentifier(1), stepStateChange(stepState(ExecutionState.SUCCEEDED), 'a'), date)
+            listener.workflowExecutionStateChanged(ExecutionState.SUCCEEDED, date, ['a'])
+
+        then:
+            1 * delegate.stepStateChanged(stepIdentifier(1), _, date)
+
+        then:
+            1 * delegate.workflowExecutionStateChanged(ExecutionState.SUCCEEDED, date, ['a'])
+            applied == [[true, true]]
+            listener.pending == 0
+    }
+
+    def "failed change does not prevent later changes"() {
+        given:
+            def date = new Date()
+            def delegate = Mock(WorkflowStateListener)
+            def listener = new QueuedWorkflowStateListener(listeners: [delegate])
+
+        when:
+            listener.stepStateChanged(stepIdentifier(1), stepStateChange(stepState(ExecutionState.RUNNING), 'a'), date)
+            listener.stepStateChanged(stepIdentifier(2), stepStateChange(stepState(ExecutionState.RUNNING), 'a'), date)
+
+        then:
+            1 * delegate.stepStateChanged(stepIdentifier(1), _, date) >> { throw new IllegalStateException('test') }
+            1 * delegate.stepStateChanged(stepIdentifier(2), _, date)
+    }
+}
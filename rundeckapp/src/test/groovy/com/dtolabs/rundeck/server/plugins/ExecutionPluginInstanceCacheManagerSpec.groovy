@@ -0,0 +1,92 @@
+package com.dtolabs.rundeck.server.plugins
+
+import com.dtolabs.rundeck.core.execution.ExecutionContext
+import com.dtolabs.rundeck.core.execution.ExecutionReference
+import com.dtolabs.rundeck.core.plugins.ConfiguredPlugin
+import com.dtolabs.rundeck.core.plugins.Plugin
+import com.dtolabs.rundeck.plugins.descriptions.PluginMetadata
+import spock.lang.Specification
+
+class ExecutionPluginInstanceCacheManagerSpec extends Specification {
+
+    @Plugin(name = 'reusable', service = 'WorkflowNodeStep')
+    @PluginMetadata(key = 'instanceReuse', value = 'execution')
+    static class ReusablePlugin {
+    }
+
+    @Plugin(name = 'notreusable', service = 'WorkflowNodeStep')
+    static class NotReusablePlugin {
+    }
+
+    ExecutionContext mkcontext(String execId) {
+        Mock(ExecutionContext) {
+            getExecution() >> Mock(ExecutionReference) {
+                getId() >> execId
+            }
+            getFrameworkProject() >> 'aproject'
+        }
+    }
+
+    def "reusable plugin is configured once per execution and config"() {
+        given:
+            def sut = new ExecutionPluginInstanceCacheManager(enabled: true)
+            sut.afterPropertiesSet()
+            int count = 0
+            def configure = { new ConfiguredPlugin<Object>(new ReusablePlugin(), [count: ++count]) }
+            def context = mkcontext('1')
+        when:
+            def result1 = sut.configurePlugin(context, 'reusable', Object, [a: 'b'], configure)
+            def result2 = sut.configurePlugin(context, 'reusable', Object, [a: 'b'], configure)
+            def result3 = sut.configurePlugin(context, 'reusable', Object, [a: 'c'], configure)
+            def result4 = sut.configurePlugin(mkcontext('2'), 'reusable', Object, [a: 'b'], configure)
+        then:
+            count == 3
+            result1.is(result2)
+            !result1.is(result3)
+            !result1.is(result4)
+    }
+
+    def "plugin without reuse flag is configured each time"() {
+        given:
+            def sut = new ExecutionPluginInstanceCacheManager(enabled: true)
+            sut.afterPropertiesSet()
+            int count = 0
+            def configure = { new ConfiguredPlugin<Object>(new NotReusablePlugin(), [count: ++count]) }
+            def context = mkcontext('1')
+        when:
+            def result1 = sut.configurePlugin(context, 'notreusable', Object, [a: 'b'], configure)
+            def result2 = sut.configurePlugin(context, 'notreusable', Object, [a: 'b'], configure)
+        then:
+            count == 2
+            !result1.is(result2)
+    }
+
+    def "disabled does not cache"() {
+        given:
+            def sut = new ExecutionPluginInstanceCacheManager(enabled: false)
+            sut.afterPropertiesSet()
+            int count = 0
+            def configure = { new ConfiguredPlugin<Object>(new ReusablePlugin(), [count: ++count]) }
+            def context = mkcontext('1')
+        when:
+            sut.configurePlugin(context, 'reusable', Object, [a: 'b'], configure)
+            sut.configurePlugin(context, 'reusable', Object, [a: 'b'], configure)
+        then:
+            count == 2
+    }
+
+    def "invalidate execution removes entries"() {
+        given:
+            def sut = new ExecutionPluginInstanceCacheManager(enabled: true)
+            sut.afterPropertiesSet()
+            int count = 0
+            def configure = { new ConfiguredPlugin<Object>(new ReusablePlugin(), [count: ++count]) }
+            def context = mkcontext('1')
+        when:
+            sut.configurePlugin(context, 'reusable', Object, [a: 'b'], configure)
+            sut.invalidateExecution('1')
+            sut.configurePlugin(context, 'reusable', Object, [a: 'b'], configure)
+        then:
+            count == 2
+    }
+}
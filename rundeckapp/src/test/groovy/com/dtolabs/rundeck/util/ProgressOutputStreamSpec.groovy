@@ -0,0 +1,33 @@
+package com.dtolabs.rundeck.util
+
+import spock.lang.Specification
+
+class ProgressOutputStreamSpec extends Specification {
+    def "reports bytes written after each interval and on close"() {
+        given:
+            def reports = []
+            def baos = new ByteArrayOutputStream()
+            def stream = new ProgressOutputStream(baos, 10, { long count -> reports << count })
+        when:
+            stream.write(new byte[6])
+            stream.write(new byte[6])
+            stream.write(1)
+            stream.close()
+        then:
+            reports == [12L, 1L]
+            stream.count == 13
+            baos.size() == 13
+    }
+
+    def "flush reports unreported bytes"() {
+        given:
+            def reports = []
+            def stream = new ProgressOutputStream(new ByteArrayOutputStream(), { long count -> reports << count })
+        when:
+            stream.write(new byte[100])
+            stream.flush()
+            stream.flush()
+        then:
+            reports == [100L]
+    }
+}
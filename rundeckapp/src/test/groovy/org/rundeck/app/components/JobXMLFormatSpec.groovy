@@ -98,4 +98,63 @@ class JobXMLFormatSpec extends Specification {
         notifStr.contains("<webhookformat='xml'httpMethod='get'urls='http://example1.com/1'/>")
         notifStr.contains("<webhookformat='json'httpMethod='post'urls='https://example2.com/2'/>")
     }
+
+    def "decodeEach decodes each job like decode"() {
+        given:
+        def input = "" +
+        "<joblist>\n" +
+        "  <job>\n" +
+        "    <name>a</name>\n" +
+        "    <sequence keepgoing='false' strategy='node-first'>\n" +
+        "      <command>\n" +
+        "        <exec>echo a</exec>\n" +
+        "      </command>\n" +
+        "    </sequence>\n" +
+        "  </job>\n" +
+        "  <job>\n" +
+        "    <name>b</name>\n" +
+        "    <sequence keepgoing='true' strategy='node-first'>\n" +
+        "      <command>\n" +
+        "        <exec>echo b</exec>\n" +
+        "      </command>\n" +
+        "    </sequence>\n" +
+        "  </job>\n" +
+        "</joblist>"
+        def sut = new JobXMLFormat()
+        def decodedJobs = [:]
+        def failedJobs = [:]
+        def handler = new JobFormat.DecodeHandler() {
+            @Override
+            void decoded(int entry, Map jobMap) {
+                decodedJobs[entry] = jobMap
+            }
+
+            @Override
+            void failed(int entry, org.rundeck.app.components.jobs.JobDefinitionException error) {
+                failedJobs[entry] = error
+            }
+        }
+        when:
+        sut.decodeEach(new StringReader(input), handler)
+        then:
+        failedJobs.isEmpty()
+        decodedJobs.keySet() == [1, 2] as Set
+        decodedJobs.values() as List == sut.decode(new StringReader(input))
+    }
+
+    @Unroll
+    def "decodeEach requires joblist with jobs"() {
+        given:
+        def sut = new JobXMLFormat()
+        when:
+        sut.decodeEach(new StringReader(input), Mock(JobFormat.DecodeHandler))
+        then:
+        org.rundeck.app.components.jobs.JobDefinitionException e = thrown()
+        e.message.contains(message)
+        where:
+        input                  | message
+        '<jobs><job/></jobs>'  | 'joblist'
+        '<joblist></joblist>'  | "No 'job' element was found"
+        '<joblist><job>'       | 'Unable to parse xml'
+    }
 }
@@ -49,6 +49,105 @@ class JobYAMLFormatSpec extends Specification {
             '[{"a":"b"},[1]]'  | 'Expected list of Maps'
     }
 
+    def "decodeEach reports each job and errors for invalid entries"() {
+        given:
+            def sut = new JobYAMLFormat()
+            def decodedJobs = [:]
+            def failedJobs = [:]
+            def handler = new JobFormat.DecodeHandler() {
+                @Override
+                void decoded(int entry, Map jobMap) {
+                    decodedJobs[entry] = jobMap
+                }
+
+                @Override
+                void failed(int entry, JobDefinitionException error) {
+                    failedJobs[entry] = error.message
+                }
+            }
+        when:
+            sut.decodeEach(new StringReader(input), handler)
+        then:
+            decodedJobs == expected
+            failedJobs.keySet() == errors as Set
+            failedJobs.values().every { it.contains('Expected list of Maps') }
+        where:
+            input                       | expected                         | errors
+            '- name: a\n- name: b\n'    | [1: [name: 'a'], 2: [name: 'b']] | []
+            '[{"a":"b"},1,{"c":[1,2]}]' | [1: [a: 'b'], 3: [c: [1, 2]]]    | [2]
+            '[]'                        | [:]                              | []
+    }
+
+    @Unroll
+    def "decodeEach expects list data"() {
+        given:
+            def sut = new JobYAMLFormat()
+        when:
+            sut.decodeEach(new StringReader(input), Mock(JobFormat.DecodeHandler))
+        then:
+            JobDefinitionException e = thrown()
+            e.message.contains('Expected list data')
+        where:
+            input << ['{"a":"b"}', 'asdf', '', 'true']
+    }
+
+    def "decodeEach reads a stream larger than the default code point limit"() {
+        given:
+            def sut = new JobYAMLFormat()
+            def description = 'x' * 1000
+            int count = 4000
+            def input = new StringBuilder()
+            (1..count).each { input << "- name: job${it}\n  description: ${description}\n" }
+            def names = []
+            def handler = Mock(JobFormat.DecodeHandler) {
+                count * decoded(_, _) >> { args -> names << args[1].name }
+                0 * failed(*_)
+            }
+        when:
+            sut.decodeEach(new StringReader(input.toString()), handler)
+        then:
+            input.length() > 3 * 1024 * 1024
+            names.size() == count
+            names.last() == "job${count}".toString()
+    }
+
+    def "decodeEach applies the default code point limit to each job"() {
+        given:
+            def sut = new JobYAMLFormat()
+            def input = "- name: a\n  description: ${'x' * (3 * 1024 * 1024 + 1)}\n- name: b\n"
+            def decodedJobs = [:]
+            def failedJobs = [:]
+            def handler = Mock(JobFormat.DecodeHandler) {
+                _ * decoded(_, _) >> { args -> decodedJobs[args[0]] = args[1] }
+                _ * failed(_, _) >> { args -> failedJobs[args[0]] = args[1] }
+            }
+        when:
+            sut.decodeEach(new StringReader(input), handler)
+        then:
+            failedJobs.keySet() == [1] as Set
+            decodedJobs == [2: [name: 'b']]
+    }
+
+    def "decodeEach converts notifications"() {
+        given:
+            def sut = new JobYAMLFormat()
+            def input = '''- name: a
+  notification:
+    onsuccess:
+      email:
+        recipients: a@example.com
+'''
+            def jobs = []
+            def handler = Mock(JobFormat.DecodeHandler) {
+                1 * decoded(1, _) >> { args -> jobs << args[1] }
+            }
+        when:
+            sut.decodeEach(new StringReader(input), handler)
+        then:
+            jobs == sut.decode(new StringReader(input))
+            jobs[0].notification.onsuccess == [[email: [recipients: 'a@example.com']]]
+    }
+
     @Unroll
     def "encode"() {
         given:
@@ -0,0 +1,112 @@
+package org.rundeck.app.data.options
+
+import org.rundeck.app.jobs.options.JobOptionConfigRemoteUrl
+import org.rundeck.app.jobs.options.RemoteUrlAuthenticationType
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class RemoteOptionValuesCacheSpec extends Specification {
+    RemoteOptionValuesCache cache = new RemoteOptionValuesCache()
+
+    def cleanup() {
+        cache.destroy()
+    }
+
+    def "fresh results are returned from the cache"() {
+        given:
+            def count = new AtomicInteger()
+
+        when:
+            def result1 = cache.get('key', 60, 0) { [json: ['a'], count: count.incrementAndGet()] }
+            def result2 = cache.get('key', 60, 0) { [json: ['a'], count: count.incrementAndGet()] }
+
+        then:
+            result1.count == 1
+            result2.is(result1)
+            count.get() == 1
+    }
+
+    def "results are not cached without a ttl, or when they have an error"() {
+        given:
+            def count = new AtomicInteger()
+
+        when:
+            cache.get('key', 0, 0) { [json: ['a'], count: count.incrementAndGet()] }
+            cache.get('key', 0, 0) { [json: ['a'], count: count.incrementAndGet()] }
+            cache.get('err', 60, 0) { [error: 'failed', count: count.incrementAndGet()] }
+            cache.get('err', 60, 0) { [error: 'failed', count: count.incrementAndGet()] }
+
+        then:
+            count.get() == 4
+    }
+
+    def "stale results are returned while refreshed in the background"() {
+        given:
+            def refreshed = new CountDownLatch(1)
+            cache.get('key', 1, 60) { [json: ['old']] }
+            Thread.sleep(1100)
+
+        when:
+            def result = cache.get('key', 1, 60) {
+                refreshed.countDown()
+                [json: ['new']]
+            }
+            refreshed.await(5, TimeUnit.SECONDS)
+            Thread.sleep(100)
+
+        then:
+            result.json == ['old']
+            cache.get('key', 1, 60) { [json: ['other']] }.json == ['new']
+    }
+
+    def "concurrent fetches for the same key share a single request"() {
+        given:
+            def count = new AtomicInteger()
+            def started = new CountDownLatch(1)
+            def release = new CountDownLatch(1)
+            def fetch = {
+                count.incrementAndGet()
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                [json: ['a']]
+            }
+
+        when:
+            def first = Thread.start { cache.get('key', 0, 0, fetch) }
+            started.await(5, TimeUnit.SECONDS)
+            def second = Thread.start { cache.get('key', 0, 0, fetch) }
+            Thread.sleep(100)
+            release.countDown()
+            first.join(5000)
+            second.join(5000)
+
+        then:
+            count.get() == 1
+    }
+
+    def "cache key depends on the url and authentication"() {
+        given:
+            def basic = new JobOptionConfigRemoteUrl(
+                authenticationType: RemoteUrlAuthenticationType.BASIC,
+                username: 'user',
+                password: 'pass'
+            )
+            def other = new JobOptionConfigRemoteUrl(
+                authenticationType: RemoteUrlAuthenticationType.BASIC,
+                username: 'user',
+                password: 'other'
+            )
+
+        expect:
+            RemoteOptionValuesCache.cacheKey('http://a', null, false) ==
+            RemoteOptionValuesCache.cacheKey('http://a', null, false)
+            RemoteOptionValuesCache.cacheKey('http://a', null, false) !=
+            RemoteOptionValuesCache.cacheKey('http://b', null, false)
+            RemoteOptionValuesCache.cacheKey('http://a', basic, false) !=
+            RemoteOptionValuesCache.cacheKey('http://a', other, false)
+            !RemoteOptionValuesCache.cacheKey('http://a', basic, false).contains('pass')
+    }
+}
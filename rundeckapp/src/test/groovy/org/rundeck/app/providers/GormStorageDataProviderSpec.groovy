@@ -5,6 +5,7 @@ import org.rundeck.app.data.model.v1.storage.RundeckStorage
 import org.rundeck.app.data.model.v1.storage.SimpleStorageBuilder
 import org.rundeck.app.data.providers.storage.GormStorageDataProvider
 import rundeck.Storage
+import rundeck.StorageDirectory
 import rundeck.services.data.StorageDataService
 import spock.lang.Specification
 
@@ -12,7 +13,7 @@ class GormStorageDataProviderSpec extends Specification implements DataTest{
     GormStorageDataProvider provider = new GormStorageDataProvider()
 
     void setup() {
-        mockDomains(Storage)
+        mockDomains(Storage, StorageDirectory)
         mockDataService(StorageDataService)
         provider.storageDataService = applicationContext.getBean(StorageDataService)
 
@@ -81,6 +82,7 @@ class GormStorageDataProviderSpec extends Specification implements DataTest{
         storage1.namespace == 'changed'
         storage1.data == 'def'.bytes
         storage1.getStorageMeta() == [abc: 'xyz', def: 'abc']
+        StorageDirectory.count() == 0
     }
     def "DeleteResource ok"() {
         when:
@@ -94,6 +96,28 @@ class GormStorageDataProviderSpec extends Specification implements DataTest{
         Storage.get(storage.id) == null
     }
 
+    def "create and delete maintain the directory index"() {
+        given:
+        def data = SimpleStorageBuilder.builder()
+                .data('abc'.bytes)
+                .dir("xyz/monkey")
+                .name("abc")
+                .build()
+
+        when:
+        Long storageId = provider.create(data)
+
+        then:
+        provider.listDirectorySubdirPaths(null, '', 0, 0) == ['xyz']
+        provider.listDirectorySubdirPaths(null, 'xyz', 0, 0) == ['xyz/monkey']
+
+        when:
+        provider.delete(provider.getData(storageId))
+
+        then:
+        StorageDirectory.count() == 0
+    }
+
     def "list subdirs"() {
         given:
         def storage1 = new Storage(data: 'abc1'.bytes, name: 'abc', dir: '', storageMeta: [abc: 'xyz1']).save(flush: true)
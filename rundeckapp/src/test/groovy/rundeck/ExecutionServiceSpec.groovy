@@ -52,12 +52,14 @@ import com.dtolabs.rundeck.core.execution.ExecutionContextImpl
 import com.dtolabs.rundeck.core.execution.ExecutionListener
 import com.dtolabs.rundeck.core.execution.dispatch.DispatcherResult
 import com.dtolabs.rundeck.core.execution.workflow.StepExecutionContext
+import com.dtolabs.rundeck.core.execution.WorkflowExecutionServiceThread
 import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionResult
 import com.dtolabs.rundeck.core.execution.workflow.steps.FailureReason
 import com.dtolabs.rundeck.core.execution.workflow.steps.StepException
 import com.dtolabs.rundeck.core.execution.workflow.steps.StepExecutionResultImpl
 import com.dtolabs.rundeck.core.jobs.JobLifecycleStatus
 import com.dtolabs.rundeck.core.storage.keys.KeyStorageTree
+import com.dtolabs.rundeck.core.storage.keys.CachingKeyStorageTree
 import com.dtolabs.rundeck.execution.ExecutionItemFactory
 import com.dtolabs.rundeck.core.jobs.JobRefCommand
 import grails.testing.gorm.DataTest
@@ -1350,6 +1352,8 @@ class ExecutionServiceSpec extends Specification implements ServiceUnitTest<Exec
             1 * getExecutionFiles(execution, [], false) >> executionFiles
             1 * removeRemoteLogFile(execution, 'rdlog') >> [started: false, error: "not found"]
             1 * removeRemoteLogFile(execution, 'state.json') >> [started: false, error: "not found"]
+            1 * removeRetrievedFile(execution, 'rdlog')
+            1 * removeRetrievedFile(execution, 'state.json')
             0 * _(*_)
         }
 
@@ -1415,6 +1419,8 @@ class ExecutionServiceSpec extends Specification implements ServiceUnitTest<Exec
             1 * getExecutionFiles(execution, [], false) >> executionFiles
             1 * removeRemoteLogFile(execution, 'rdlog') >> [started: false, error: "not found"]
             1 * removeRemoteLogFile(execution, 'state.json') >> [started: false, error: "not found"]
+            1 * removeRetrievedFile(execution, 'rdlog')
+            1 * removeRetrievedFile(execution, 'state.json')
             0 * _(*_)
         }
 
@@ -5849,6 +5855,25 @@ class ExecutionServiceSpec extends Specification implements ServiceUnitTest<Exec
         ""                      | 1     | [node1: [summaryState:'SUCCEEDED'], node2: [summaryState:'SUCCEEDED'], node3: [summaryState:'SUCCEEDED']]   | ["node2","node3","node1"] | true
     }
 
+    def "saveExecutionState releases the execution storage tree when saving the state fails"() {
+        given:
+        def storageTree = Mock(CachingKeyStorageTree)
+        ExecutionService.AsyncStarted execmap = new ExecutionService.AsyncStarted(
+                thread: Mock(WorkflowExecutionServiceThread) {
+                    getContext() >> Mock(StepExecutionContext) {
+                        getStorageTree() >> storageTree
+                    }
+                }
+        )
+
+        when:
+        service.saveExecutionState(null, 999L, [status: ExecutionState.failed.toString()], execmap, [:])
+
+        then:
+        thrown(NullPointerException)
+        1 * storageTree.close()
+    }
+
     def "opt enforced allowed values from Remote Url with sending the username"() {
         given:
         ScheduledExecution se = new ScheduledExecution()
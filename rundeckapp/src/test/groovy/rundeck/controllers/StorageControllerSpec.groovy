@@ -582,6 +582,44 @@ class StorageControllerSpec extends Specification implements ControllerUnitTest<
 
     }
 
+    def "apiGetResource directory page"() {
+        given:
+            params.resourcePath = 'abc'
+            params.offset = '1'
+            params.max = '1'
+
+            controller.rundeckAuthContextProvider=Mock(AuthContextProvider) {
+                1 * getAuthContextForSubject(_)
+            }
+
+            def mRes2 = new TestRes(
+                contents: StorageUtil.withStream(
+                    new ByteArrayInputStream("data2".bytes),
+                    ['Rundeck-content-type': 'test/data']
+                ), directory: false, path: PathUtil.asPath("abc/test2")
+            )
+            def mRes = new TestRes(directory: true, path: PathUtil.asPath("abc"))
+
+            controller.storageService = Mock(StorageService) {
+                1 * hasPath(_,_)>>true
+                1 * getResource(_,_)>>mRes
+                0 * listDir(_, _)
+                1 * listDirPage(_, 'abc', 1, 1) >> [mRes2]
+            }
+            controller.apiService = Mock(ApiService) {
+                1 * requireApi(_,_) >> true
+            }
+
+            response.format = 'json'
+
+        when:
+            def result = controller.apiGetResource()
+        then:
+            response.status == 200
+            response.json.resources.size() == 1
+            response.json.resources[0].path == 'abc/test2'
+    }
+
     def apiPostResource_conflictFile() {
         given:
 
@@ -29,11 +29,13 @@ import org.quartz.*
 import org.rundeck.app.data.providers.GormJobStatsDataProvider
 import rundeck.*
 import rundeck.services.ExecutionService
+import rundeck.services.ExecutionSupervisorService
 import rundeck.services.ExecutionUtilService
 import rundeck.services.FrameworkService
 import rundeck.services.JobSchedulerService
 import rundeck.services.JobSchedulesService
 import rundeck.services.MissingScheduledExecutionException
+import rundeck.services.execution.SupervisedExecution
 import spock.lang.Specification
 
 import java.sql.Timestamp
@@ -147,6 +149,71 @@ class ExecutionJobSpec extends Specification implements DataTest {
             job.executionId == e.id
     }
 
+    def "execute hands off running execution to the supervisor"() {
+        given:
+            ScheduledExecution se = createJob()
+            Execution e = createExecution(se)
+            ExecutionService es = Mock(ExecutionService)
+            ExecutionUtilService eus = Mock(ExecutionUtilService)
+            FrameworkService fwk = Mock(FrameworkService)
+            JobSchedulesService jobSchedulesService = Mock(JobSchedulesService)
+            JobSchedulerService jobSchedulerService = Mock(JobSchedulerService)
+            ExecutionSupervisorService supervisor = Mock(ExecutionSupervisorService)
+            def datamap = new JobDataMap([
+                project: se.project,
+                executionId: e.id.toString(),
+                scheduledExecutionId: se.uuid,
+                executionService:es,
+                executionUtilService: eus,
+                frameworkService: fwk,
+                jobSchedulerService: jobSchedulerService,
+                jobSchedulesService: jobSchedulesService,
+                executionSupervisorService: supervisor,
+                authContext:Mock(UserAndRolesAuthContext),
+                authContextProvider:Mock(AuthContextProvider)
+            ])
+            ExecutionJob job = new ExecutionJob()
+            def context = Mock(JobExecutionContext) {
+                getJobDetail() >> Mock(JobDetail) {
+                    getJobDataMap() >> datamap
+                }
+            }
+            CountDownLatch latch = new CountDownLatch(1)
+            def testThread = new WorkflowExecutionServiceThread(null, null, Mock(StepExecutionContext), null, null) {
+                void run() {
+                    latch.await()
+                }
+            }
+            def execmap = new ExecutionService.AsyncStarted(execution: e, scheduledExecution: se, thread: testThread)
+            SupervisedExecution supervised = null
+
+        when:
+            job.execute(context)
+
+        then:
+            1 * jobSchedulerService.beforeExecution(_, _, _) >> JobScheduleManager.BeforeExecutionBehavior.proceed
+            1 * es.executeAsyncBegin(*_) >> {
+                testThread.start()
+                execmap
+            }
+            1 * supervisor.isEnabled() >> true
+            1 * es.releaseThreadStreams(execmap)
+            1 * supervisor.supervise(e.id, context, _) >> { supervised = it[2] }
+            0 * es.saveExecutionState(*_)
+            0 * jobSchedulerService.afterExecution(*_)
+            supervised.thread == testThread
+
+        when:
+            latch.countDown()
+            testThread.join()
+            supervised.complete()
+
+        then:
+            1 * eus.finishExecution(execmap)
+            1 * es.saveExecutionState(se.uuid, e.id, { it.status == 'failed' }, execmap, !null)
+            1 * jobSchedulerService.afterExecution(_, _, _)
+    }
+
     public Execution createExecution(ScheduledExecution se) {
         new Execution(
             scheduledExecution: se,
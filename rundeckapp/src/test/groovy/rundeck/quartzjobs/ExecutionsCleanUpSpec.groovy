@@ -21,7 +21,9 @@ import grails.testing.gorm.DataTest
 import org.quartz.JobDataMap
 import org.quartz.JobDetail
 import org.quartz.JobExecutionContext
+import org.rundeck.app.data.providers.DBReferencedExecutionSupport
 import org.rundeck.app.data.providers.v1.execution.ReferencedExecutionDataProvider
+import org.rundeck.app.services.ExecutionFile
 import rundeck.*
 import rundeck.services.ExecutionService
 import rundeck.services.FileUploadService
@@ -35,6 +37,9 @@ import spock.lang.Specification
  * Created by greg on 4/12/16.
  */
 class ExecutionsCleanUpSpec extends Specification implements DataTest{
+    interface BulkReferencedExecutionDataProvider extends ReferencedExecutionDataProvider, DBReferencedExecutionSupport {}
+
+
     def jobName = 'abc'
     def groupPath = 'elf'
     def projectName = 'projectTest'
@@ -180,6 +185,58 @@ class ExecutionsCleanUpSpec extends Specification implements DataTest{
     }
 
 
+    def "executions are deleted in batches"() {
+        setup:
+        Date execDate = new Date(2015 - 1900, 02, 03)
+        def se = createJob()
+        def execs = (1..5).collect { createExecution(se, execDate, execDate) }
+        def running = createExecution(se, execDate, null)
+
+        def executionService = Mock(ExecutionService) {
+            queryExecutions(*_) >> [result: execs*.id + [running.id], total: 6]
+        }
+        def frameworkService = Mock(FrameworkService) {
+            isClusterModeEnabled() >> false
+        }
+        def fileUploadService = Mock(FileUploadService)
+        def logFileStorageService = Mock(LogFileStorageService) {
+            getExecutionFiles(_, [], false) >> [rdlog: Mock(ExecutionFile)]
+        }
+        def reportService = Mock(ReportService)
+        def referencedExecutionDataProvider = Mock(BulkReferencedExecutionDataProvider)
+
+        def datamap = new JobDataMap([
+                project: 'projectTest',
+                maxDaysToKeep: 10,
+                deleteBatchSize: 2,
+                executionService : executionService,
+                frameworkService : frameworkService,
+                fileUploadService: fileUploadService,
+                logFileStorageService: logFileStorageService,
+                jobSchedulerService: Mock(JobSchedulerService),
+                referencedExecutionDataProvider: referencedExecutionDataProvider,
+                reportService: reportService
+        ])
+
+        ExecutionsCleanUp job = new ExecutionsCleanUp()
+        def context = Mock(JobExecutionContext) {
+            getJobDetail() >> Mock(JobDetail) {
+                getJobDataMap() >> datamap
+            }
+        }
+        when:
+        job.execute(context)
+
+        then:
+        3 * referencedExecutionDataProvider.deleteByExecutionIds(_)
+        0 * referencedExecutionDataProvider.deleteByExecutionId(_)
+        3 * reportService.deleteByExecutions(_)
+        3 * fileUploadService.deleteRecordsForExecutions(_)
+        5 * logFileStorageService.removeRemoteLogFile({ Execution.get(it.id) == null }, 'rdlog') >> [started: true]
+        5 * logFileStorageService.removeRetrievedFile(_, 'rdlog')
+        Execution.findAll()*.id == [running.id]
+    }
+
     def "num execution to remove "() {
         def projectName = 'projectTest'
 
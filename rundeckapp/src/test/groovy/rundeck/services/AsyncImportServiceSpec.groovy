@@ -924,7 +924,8 @@ class AsyncImportServiceSpec extends Specification implements ServiceUnitTest<As
         )
 
         then:
-        3 * service.projectService.importToProject(_,_,_,_,_) >> [success: true] // one invocation from m1 call and two from m3 (10 execs divided by 5 = 2 dirs)
+        1 * service.projectService.importToProject(_,_,_,_,_) >> [success: true] // one invocation from m1 call
+        2 * service.projectService.importToProject(_,_,_,_,_,{ it instanceof ProjectImportCheckpoint }) >> [success: true] // two from m3 (10 execs divided by 5 = 2 dirs)
         // All temp dirs cleaned
         !Files.exists(Paths.get(workingDirs.workingDir))
         !Files.exists(Paths.get(workingDirs.projectCopy))
@@ -1282,4 +1283,61 @@ class AsyncImportServiceSpec extends Specification implements ServiceUnitTest<As
         return [projectCopy: tmpCopy, workingDir: tmpWorkingDir]
     }
 
+    def "files import milestone cannot be resumed while it is in progress"(){
+        given:
+        def projectName = "test"
+        def status = new AsyncImportStatusDTO(projectName, AsyncImportMilestone.M3_IMPORTING.milestoneNumber)
+        def fwkProject = Mock(IRundeckProject){
+            it.loadFileResource(_, _) >> {
+                it[1].write(mockStatusFile(projectName, status).bytes)
+                return 4L
+            }
+        }
+        service.frameworkService = Mock(FrameworkService){
+            getFrameworkProject(projectName) >> fwkProject
+        }
+        def distributed = Paths.get("${service.BASE_WORKING_DIR.toString()}${projectName}${File.separator}${service.DISTRIBUTED_EXECUTIONS_FILENAME}")
+        Files.createDirectories(distributed)
+
+        when:
+        def reserved = service.reserveBundledExecutionsImport(projectName)
+        def reservedTwice = service.reserveBundledExecutionsImport(projectName)
+        def resumeWhileRunning = service.canResumeAsyncImport(projectName)
+        service.uploadBundledExecutions(projectName, Mock(UserAndRolesAuthContext), fwkProject)
+        def reservedAfterImport = service.reserveBundledExecutionsImport(projectName)
+
+        then: "the import without bundles ends and releases the reservation"
+        reserved
+        !reservedTwice
+        !resumeWhileRunning
+        reservedAfterImport
+
+        cleanup:
+        service.releaseBundledExecutionsImport(projectName)
+        service.deleteNonEmptyDir(service.BASE_WORKING_DIR.toString() + projectName)
+    }
+
+    def "saveImportCheckpoint records the checkpoint and import rate in status file"(){
+        given:
+        def projectName = "test"
+        def fwkProject = Mock(IRundeckProject)
+        service.frameworkService = Mock(FrameworkService){
+            getFrameworkProject(projectName) >> fwkProject
+        }
+        def status = new AsyncImportStatusDTO(projectName, AsyncImportMilestone.M3_IMPORTING.milestoneNumber)
+        status.importedRows = 100
+        def checkpoint = new ProjectImportCheckpoint(executions: ['1': 2L])
+
+        when:
+        service.saveImportCheckpoint(projectName, status, "2", checkpoint, 50, 100, System.currentTimeMillis() - 1000)
+
+        then:
+        1 * fwkProject.storeFileResource(_, _)
+        status.importedRows == 150
+        status.rowsPerSecond > 0
+        status.rowsPerSecond <= 50
+        status.bundle == "2"
+        status.checkpoint.executions == ['1': 2L]
+    }
+
 }
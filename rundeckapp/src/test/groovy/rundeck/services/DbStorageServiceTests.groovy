@@ -23,6 +23,7 @@ import org.rundeck.app.data.providers.GormTokenDataProvider
 import org.rundeck.app.data.providers.storage.GormStorageDataProvider
 import org.rundeck.storage.api.StorageException
 import rundeck.Storage
+import rundeck.StorageDirectory
 import rundeck.services.data.AuthTokenDataService
 import rundeck.services.data.StorageDataService
 import spock.lang.Specification
@@ -33,6 +34,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
 
     def setupSpec() {
     mockDomain Storage
+    mockDomain StorageDirectory
      }
 
     void setup() {
@@ -43,6 +45,13 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
         service.storageDataProvider = provider
     }
 
+    /**
+     * Index directories for storage entries saved directly
+     */
+    protected void indexDirectories() {
+        Storage.list().each { StorageDirectory.indexDirectory(it.namespace, it.dir) }
+    }
+
     void testHasResource() {
         when:
         def storage = new Storage(data: 'abc'.bytes, dir: '', name: 'abc', storageMeta: [abc: 'xyz'])
@@ -570,6 +579,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(data: 'abc3'.bytes, name: 'def', dir: 'xyz/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectory(null,'xyz')
         assertNotNull(res1)
         assertEquals(4, res1.size())
@@ -597,6 +607,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(namespace: 'other', data: 'abc3'.bytes, name: 'def', dir: 'xyz/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectory(null,'xyz')
         def res2 = service.listDirectory('other','xyz')
         assertNotNull(res1)
@@ -640,6 +651,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(data: 'abc3'.bytes, name: 'def', dir: 'zinc/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectory(null,'')
         assertNotNull(res1)
         assertEquals(3, res1.size())
@@ -664,6 +676,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(namespace: 'other',data: 'abc3'.bytes, name: 'def', dir: 'zinc/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectory(null,'')
         assertNotNull(res1)
         assertEquals(0, res1.size())
@@ -691,6 +704,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(data: 'abc3'.bytes, name: 'def', dir: 'xyz/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectorySubdirs(null,'xyz')
         assertNotNull(res1)
         assertEquals(2, res1.size())
@@ -711,6 +725,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(namespace: 'other',data: 'abc3'.bytes, name: 'def', dir: 'xyz/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectorySubdirs(null,'xyz')
         assertNotNull(res1)
         assertEquals(0, res1.size())
@@ -735,6 +750,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
                 storageMeta: [abc: 'xyz3']).save(true)
         assertNotNull new Storage(data: 'abc3'.bytes, name: 'def', dir: 'zinc/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
+        indexDirectories()
         def res1 = service.listDirectorySubdirs(null,'')
         assertNotNull(res1)
         assertEquals(2, res1.size())
@@ -756,6 +772,7 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
         assertNotNull new Storage(namespace: 'other',data: 'abc3'.bytes, name: 'def', dir: 'zinc/pyx',
                 storageMeta: [abc: 'xyz3']).save(true)
 
+        indexDirectories()
         def res1 = service.listDirectorySubdirs(null,'')
         assertNotNull(res1)
         assertEquals(0, res1.size())
@@ -865,4 +882,38 @@ class DbStorageServiceTests extends Specification implements ServiceUnitTest<DbS
     InputStream bytes(String s) {
         return new ByteArrayInputStream(s.bytes)
     }
+
+    void testListDirectoryPage() {
+        given:
+        service.createResource(null, 'xyz/abc', StorageUtil.withStream(bytes('abc'), [:]))
+        service.createResource(null, 'xyz/abc3', StorageUtil.withStream(bytes('abc3'), [:]))
+        service.createResource(null, 'xyz/monkey/tree/banana.gif', StorageUtil.withStream(bytes('banana'), [:]))
+        service.createResource(null, 'xyz/pyx/def', StorageUtil.withStream(bytes('def'), [:]))
+        service.createResource('other', 'xyz/zed', StorageUtil.withStream(bytes('zed'), [:]))
+
+        when:
+        def page1 = service.listDirectoryPage(null, 'xyz', 0, 3)
+        def page2 = service.listDirectoryPage(null, 'xyz', 3, 3)
+        def all = service.listDirectoryPage(null, 'xyz', 0, 0)
+
+        then:
+        page1*.path*.path == ['xyz/monkey', 'xyz/pyx', 'xyz/abc']
+        page1*.directory == [true, true, false]
+        page2*.path*.path == ['xyz/abc3']
+        all*.path*.path == ['xyz/monkey', 'xyz/pyx', 'xyz/abc', 'xyz/abc3']
+    }
+
+    void testDeleteResourcePrunesEmptyDirectories() {
+        given:
+        service.createResource(null, 'xyz/abc', StorageUtil.withStream(bytes('abc'), [:]))
+        service.createResource(null, 'xyz/monkey/tree/banana.gif', StorageUtil.withStream(bytes('banana'), [:]))
+
+        when:
+        service.deleteResource(null, 'xyz/monkey/tree/banana.gif')
+
+        then:
+        service.listDirectorySubdirs(null, 'xyz').size() == 0
+        service.listDirectory(null, '')*.path*.path == ['xyz']
+        StorageDirectory.count() == 1
+    }
 }
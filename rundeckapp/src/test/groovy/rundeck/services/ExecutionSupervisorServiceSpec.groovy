@@ -0,0 +1,129 @@
+package rundeck.services
+
+import com.dtolabs.rundeck.core.execution.ServiceThreadBase
+import grails.testing.services.ServiceUnitTest
+import org.quartz.JobExecutionContext
+import org.springframework.core.task.SyncTaskExecutor
+import org.springframework.scheduling.TaskScheduler
+import rundeck.services.execution.SupervisedExecution
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+
+class ExecutionSupervisorServiceSpec extends Specification implements ServiceUnitTest<ExecutionSupervisorService> {
+
+    def setup() {
+        service.configurationService = Mock(ConfigurationService) {
+            getLong(ExecutionSupervisorService.CONFIG_CHECK_INTERVAL, _) >> 1000L
+        }
+        service.executionSupervisorTaskScheduler = Mock(TaskScheduler)
+        service.executionSupervisorTaskExecutor = new SyncTaskExecutor()
+    }
+
+    def "checks running execution and finishes it when the thread completes"() {
+        given:
+            CountDownLatch latch = new CountDownLatch(1)
+            def thread = new ServiceThreadBase<Object>() {
+                void run() {
+                    latch.await()
+                    fireCompleted()
+                }
+            }
+            def execution = Mock(SupervisedExecution) {
+                getThread() >> thread
+            }
+            thread.start()
+
+        when:
+            service.supervise(1L, Mock(JobExecutionContext), execution)
+            service.checkAll()
+
+        then:
+            1 * service.executionSupervisorTaskScheduler.scheduleWithFixedDelay(_, 1000L)
+            1 * execution.check()
+            0 * execution.complete()
+            service.runningCount == 1
+
+        when:
+            latch.countDown()
+            thread.join()
+
+        then:
+            1 * execution.check()
+            1 * execution.complete()
+            service.runningCount == 0
+    }
+
+    def "finishes execution once if the thread is no longer alive"() {
+        given:
+            def execution = Mock(SupervisedExecution) {
+                getThread() >> new ServiceThreadBase<Object>()
+            }
+            service.supervise(1L, Mock(JobExecutionContext), execution)
+
+        when:
+            service.checkAll()
+            service.checkAll()
+
+        then:
+            1 * execution.check()
+            1 * execution.complete()
+            service.runningCount == 0
+    }
+
+    def "interrupt execution by quartz fire instance id"() {
+        given:
+            def context = Mock(JobExecutionContext) {
+                getFireInstanceId() >> 'fire1'
+            }
+            def execution = Mock(SupervisedExecution) {
+                getThread() >> new ServiceThreadBase<Object>()
+            }
+            service.supervise(1L, context, execution)
+
+        when:
+            def other = service.interrupt('fire2')
+            def result = service.interrupt('fire1')
+
+        then:
+            1 * execution.interrupt()
+            !other
+            result
+            service.findJobExecutionContext(1L) == context
+            service.findJobExecutionContext(2L) == null
+    }
+
+    def "destroy waits for supervised executions to finish"() {
+        given:
+            CountDownLatch latch = new CountDownLatch(1)
+            def thread = new ServiceThreadBase<Object>() {
+                void run() {
+                    latch.await()
+                    fireCompleted()
+                }
+            }
+            def execution = Mock(SupervisedExecution) {
+                getThread() >> thread
+            }
+            thread.start()
+            service.supervise(1L, Mock(JobExecutionContext), execution)
+            service.configurationService.getBoolean(ExecutionSupervisorService.CONFIG_WAIT_ON_SHUTDOWN, true) >> true
+            def destroyed = Thread.start {
+                service.destroy()
+            }
+
+        when:
+            destroyed.join(100)
+
+        then:
+            destroyed.isAlive()
+
+        when:
+            latch.countDown()
+            destroyed.join(5000)
+
+        then:
+            !destroyed.isAlive()
+            service.runningCount == 0
+    }
+}
@@ -42,6 +42,7 @@ import org.springframework.context.ApplicationContext
 import org.springframework.core.task.AsyncListenableTaskExecutor
 import org.springframework.core.task.SimpleAsyncTaskExecutor
 import org.springframework.scheduling.TaskScheduler
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler
 import rundeck.Execution
 import rundeck.LogFileStorageRequest
@@ -52,7 +53,11 @@ import spock.lang.Unroll
 
 import java.nio.file.Files
 import java.nio.file.Path
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.IntBinaryOperator
 
 import static com.dtolabs.rundeck.core.execution.logstorage.ExecutionFileState.AVAILABLE
 import static com.dtolabs.rundeck.core.execution.logstorage.ExecutionFileState.AVAILABLE_PARTIAL
@@ -827,6 +832,180 @@ class LogFileStorageServiceSpec extends Specification implements ServiceUnitTest
             false | _
     }
 
+    static class AppendEFSPlugin implements ExecutionFileStoragePlugin, ExecutionFileStorageOptions {
+        boolean retrieveSupported = false
+        boolean storeSupported = true
+        boolean partialStoreSupported = true
+        boolean partialAppendSupported = true
+        List<Map> stored = []
+
+        @Override
+        void initialize(final Map<String, ?> context) {
+        }
+
+        @Override
+        boolean isAvailable(final String filetype) throws ExecutionFileStorageException {
+            return false
+        }
+
+        @Override
+        boolean store(final String filetype, final InputStream stream, final long length, final Date lastModified) {
+            return false
+        }
+
+        @Override
+        boolean partialStore(final String filetype, final InputStream stream, final long length, final Date lastModified) {
+            stored << [offset: 0L, length: length, text: stream.text]
+            return true
+        }
+
+        @Override
+        boolean partialStoreAppend(
+            final String filetype,
+            final InputStream stream,
+            final long offset,
+            final long length,
+            final Date lastModified
+        ) {
+            stored << [offset: offset, length: length, text: stream.text]
+            return true
+        }
+
+        @Override
+        boolean retrieve(final String filetype, final OutputStream stream) {
+            return false
+        }
+    }
+
+    def "partial storage appends only content added since the previous checkpoint"() {
+        given:
+            def file = Files.createTempFile('test', '.rdlog').toFile()
+            file.deleteOnExit()
+            file.text = 'abc'
+            def files = [rdlog: new ProducedExecutionFile(localFile: file, fileDeletePolicy: ExecutionFile.DeletePolicy.NEVER)]
+            def plugin = new AppendEFSPlugin()
+
+        when:
+            def result1 = service.storeLogFiles(['rdlog'], plugin, '1:checkpoint', files, true, 1L)
+            file << 'def'
+            def result2 = service.storeLogFiles(['rdlog'], plugin, '1:checkpoint', files, true, 1L)
+            def result3 = service.storeLogFiles(['rdlog'], plugin, '1:checkpoint', files, true, 1L)
+
+        then:
+            result1[0]
+            result2[0]
+            result3[0]
+            plugin.stored == [
+                [offset: 0L, length: 3L, text: 'abc'],
+                [offset: 3L, length: 3L, text: 'def'],
+            ]
+            service.partialStoredOffsets['1:rdlog'] == 6L
+
+        when:
+            service.clearPartialStoredOffsets(1L)
+            service.storeLogFiles(['rdlog'], plugin, '1:checkpoint', files, true, 1L)
+
+        then:
+            plugin.stored[2] == [offset: 0L, length: 6L, text: 'abcdef']
+    }
+
+    def "clearing partial offsets waits for the partial storage in progress"() {
+        given:
+            def file = Files.createTempFile('test', '.rdlog').toFile()
+            file.deleteOnExit()
+            file.text = 'abc'
+            def files = [rdlog: new ProducedExecutionFile(localFile: file, fileDeletePolicy: ExecutionFile.DeletePolicy.NEVER)]
+            def started = new CountDownLatch(1)
+            def release = new CountDownLatch(1)
+            def plugin = new AppendEFSPlugin() {
+                @Override
+                boolean partialStore(String filetype, InputStream stream, long length, Date lastModified) {
+                    started.countDown()
+                    release.await(5, TimeUnit.SECONDS)
+                    super.partialStore(filetype, stream, length, lastModified)
+                }
+            }
+            def storing = Thread.start {
+                service.storeLogFiles(['rdlog'], plugin, '1:checkpoint', files, true, 1L)
+            }
+            started.await(5, TimeUnit.SECONDS)
+            def clearing = Thread.start {
+                service.clearPartialStoredOffsets(1L)
+            }
+
+        when:
+            clearing.join(100)
+
+        then:
+            clearing.isAlive()
+
+        when:
+            release.countDown()
+            storing.join(5000)
+            clearing.join(5000)
+
+        then:
+            !clearing.isAlive()
+            service.partialStoredOffsets['1:rdlog'] == null
+    }
+
+    def "storage requests for completed executions are processed before retries and resumed requests"() {
+        given:
+            service.logFileStorageTaskScheduler = Mock(TaskScheduler)
+
+        when:
+            service.queueLogStorageRequest([id: 'resumed', partial: false, resumed: true])
+            service.queueLogStorageRequest([id: 'retry1', partial: false, count: 1])
+            service.queueLogStorageRequest([id: 'partial', partial: true])
+            service.queueLogStorageRequest([id: 'new1', partial: false])
+            service.queueLogStorageRequest([id: 'retry2', partial: false, count: 2])
+            service.queueLogStorageRequest([id: 'new2', partial: false])
+
+        then:
+            service.currentStorageRequests*.id == ['new1', 'new2', 'partial', 'retry1', 'retry2', 'resumed']
+            (1..6).collect { service.storageRequests.poll().id } ==
+            ['new1', 'new2', 'partial', 'retry1', 'retry2', 'resumed']
+    }
+
+    def "stores the files of a request in parallel within the plugin concurrency limit"() {
+        given:
+            service.configurationService = Mock(ConfigService) {
+                _ * getString(LogFileStorageService.FILE_STORAGE_PLUGIN, _) >> 'test1'
+                _ * getInteger(LogFileStorageService.STORAGE_PLUGIN_CONCURRENCY_LIMIT, _) >> 1
+            }
+            def pool = Executors.newFixedThreadPool(2)
+            service.logFileStorageUploadExecutor = new ConcurrentTaskExecutor(pool)
+            def files = ['rdlog', 'state.json'].collectEntries { type ->
+                def file = Files.createTempFile('test', type).toFile()
+                file.deleteOnExit()
+                file.text = type
+                [type, new ProducedExecutionFile(localFile: file, fileDeletePolicy: ExecutionFile.DeletePolicy.NEVER)]
+            }
+            def active = new AtomicInteger()
+            def maxActive = new AtomicInteger()
+            List<String> stored = Collections.synchronizedList([])
+            def plugin = Stub(ExecutionFileStoragePlugin) {
+                store(_, _, _, _) >> { String filetype, InputStream stream, long length, Date lastModified ->
+                    maxActive.accumulateAndGet(active.incrementAndGet(), { int a, int b -> Math.max(a, b) } as IntBinaryOperator)
+                    Thread.sleep(50)
+                    stored << filetype
+                    active.decrementAndGet()
+                    true
+                }
+            }
+
+        when:
+            def result = service.storeLogFiles([], plugin, '1:*', files)
+
+        then:
+            result[0]
+            stored.sort() == ['rdlog', 'state.json']
+            maxActive.get() == 1
+
+        cleanup:
+            pool.shutdown()
+    }
+
     public void createLogFile(Path logsDir, Execution exec, filetype) {
         def outfilePath = logsDir.resolve("test/run/logs/${exec.id}.${filetype}")
         outfilePath.toFile().parentFile.mkdirs()
@@ -840,6 +1019,9 @@ class LogFileStorageServiceSpec extends Specification implements ServiceUnitTest
         boolean storeSupported = false
         Closure<Boolean> retrieve
         boolean available
+        boolean rangeRetrieveSupported
+        long storedLength = -1
+        int storedLengthCalls
 
         @Override
         void initialize(final Map<String, ?> context) {
@@ -865,6 +1047,55 @@ class LogFileStorageServiceSpec extends Specification implements ServiceUnitTest
             }
             return false
         }
+
+        @Override
+        long getStoredLength(final String filetype) throws IOException, ExecutionFileStorageException {
+            storedLengthCalls++
+            return storedLength
+        }
+    }
+
+    def "ranged log reader caches the stored length of the execution log"() {
+        given:
+            def tempDir = Files.createTempDirectory('test_logs')
+            def exec = new Execution(
+                    dateStarted: new Date(),
+                    dateCompleted: new Date(),
+                    user: 'user2',
+                    project: 'test',
+                    serverNodeUUID: 'D0CA0A6D-3F85-4F53-A714-313EB57A4D1F'
+            ).save()
+            service.configurationService = Mock(ConfigService) {
+                _ * getString(LogFileStorageService.FILE_STORAGE_PLUGIN, _) >> 'test1'
+                _ * getBoolean(LogFileStorageService.RANGE_RETRIEVAL_ENABLED, _) >> true
+                _ * getFileSize(_, _) >> { it[1] }
+            }
+            service.frameworkService = Mock(FrameworkService) {
+                isClusterModeEnabled() >> false
+                getServerUUID() >> 'D0CA0A6D-3F85-4F53-A714-313EB57A4D1F'
+                getFrameworkProperties() >> (
+                        [
+                                'framework.logs.dir': tempDir.toAbsolutePath().toString()
+                        ] as Properties
+                )
+                getFrameworkPropertyResolverFactory('test') >> Mock(PropertyResolverFactory.Factory)
+            }
+            def plugin = new TestEFSPlugin(available: true, rangeRetrieveSupported: true, storedLength: 100)
+            service.grailsLinkGenerator = Mock(grails.web.mapping.LinkGenerator)
+            service.pluginService = Mock(PluginService)
+
+        when:
+            def result1 = service.requestRangedLogFileReader(exec, LoggingService.LOG_FILE_FILETYPE)
+            def result2 = service.requestRangedLogFileReader(exec, LoggingService.LOG_FILE_FILETYPE)
+
+        then:
+            2 * service.pluginService.configurePlugin('test1', _, _, PropertyScope.Instance) >>
+            new ConfiguredPlugin<ExecutionFileStoragePlugin>(plugin, [:])
+            result1 != null
+            result1.state == AVAILABLE
+            result2 != null
+            result2.state == AVAILABLE
+            plugin.storedLengthCalls == 1
     }
 
     def "requestLogFileLoad cluster mode, running, no plugin, no file"() {
@@ -20,6 +20,8 @@ import com.dtolabs.rundeck.core.logging.internal.DefaultLogEvent
 import com.dtolabs.rundeck.core.authorization.UserAndRolesAuthContext
 import com.dtolabs.rundeck.core.common.Framework
 import com.dtolabs.rundeck.core.common.PluginControlService
+import com.dtolabs.rundeck.core.config.Features
+import com.dtolabs.rundeck.core.config.FeatureService
 import com.dtolabs.rundeck.core.data.BaseDataContext
 import com.dtolabs.rundeck.core.data.SharedDataContextUtils
 import com.dtolabs.rundeck.core.dispatcher.ContextView
@@ -51,10 +53,13 @@ import okhttp3.mockwebserver.MockWebServer
 import okhttp3.mockwebserver.RecordedRequest
 import org.rundeck.app.data.providers.GormUserDataProvider
 import org.rundeck.app.spi.Services
+import org.springframework.core.task.AsyncTaskExecutor
 import org.springframework.mail.MailMessage
+import org.springframework.scheduling.TaskScheduler
 import rundeck.CommandExec
 import rundeck.Execution
 import rundeck.Notification
+import rundeck.NotificationRetry
 import rundeck.ScheduledExecution
 import rundeck.ScheduledExecutionStats
 import rundeck.User
@@ -66,11 +71,13 @@ import com.dtolabs.rundeck.core.execution.logstorage.ExecutionFileState
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.Future
+
 /**
  * Created by greg on 7/12/16.
  */
 class NotificationServiceSpec extends Specification implements ServiceUnitTest<NotificationService>, GrailsWebUnitTest, DataTest {
-    def setupSpec() { mockDomains Execution, ScheduledExecution, Notification, Workflow, CommandExec, User, ScheduledExecutionStats }
+    def setupSpec() { mockDomains Execution, ScheduledExecution, Notification, NotificationRetry, Workflow, CommandExec, User, ScheduledExecutionStats }
 
     def setup() {
         mockDataService(UserDataService)
@@ -1061,6 +1068,99 @@ class NotificationServiceSpec extends Specification implements ServiceUnitTest<N
         result.success
     }
 
+    def "asyncTriggerJobNotification queues notification without waiting"() {
+        given:
+        service.featureService = Mock(FeatureService) {
+            featurePresent(Features.NOTIFICATIONS_OWN_THREAD) >> true
+        }
+        service.configurationService = Mock(ConfigurationService) {
+            getLong('notification.threadTimeOut', _) >> 1000L
+        }
+        service.notificationTaskExecutor = Mock(AsyncTaskExecutor)
+        service.notificationTaskScheduler = Mock(TaskScheduler)
+
+        when:
+        service.asyncTriggerJobNotification('success', 'test1', [:])
+
+        then:
+        1 * service.notificationTaskExecutor.submit(_ as Runnable) >> Mock(Future)
+        1 * service.notificationTaskScheduler.schedule(_ as Runnable, _ as Date)
+    }
+
+    def "failed webhook notification stores and schedules a retry"() {
+        given:
+        MockWebServer httpServer = new MockWebServer()
+        httpServer.start()
+        httpServer.enqueue(new MockResponse().setResponseCode(500))
+        String endpoint = httpServer.url("hook/endpoint").toString()
+        service.configurationService = Mock(ConfigurationService) {
+            getInteger('notification.retry.count', 0) >> 2
+            getInteger('notification.retry.backoff', 2) >> 2
+            getLong('notification.retry.delay', _) >> 1000L
+        }
+        service.frameworkService = Mock(FrameworkService) {
+            isClusterModeEnabled() >> false
+        }
+        service.notificationTaskScheduler = Mock(TaskScheduler)
+
+        when:
+        def result = service.sendWebhookNotification(endpoint, 'json', '{}', 'success', 'succeeded', '1234', NotificationService.POST)
+
+        then:
+        !result.success
+        result.retryScheduled
+        1 * service.notificationTaskScheduler.schedule(_ as Runnable, _ as Date)
+        NotificationRetry.count() == 1
+        NotificationRetry.list()[0].attempts == 1
+        NotificationRetry.list()[0].url == endpoint
+
+        cleanup:
+        httpServer.shutdown()
+    }
+
+    def "webhook retry #description"() {
+        given:
+        MockWebServer httpServer = new MockWebServer()
+        httpServer.start()
+        httpServer.enqueue(new MockResponse().setResponseCode(responseCode))
+        def retry = new NotificationRetry(
+            url: httpServer.url("hook/endpoint").toString(),
+            format: 'json',
+            payload: '{}',
+            eventTrigger: 'success',
+            status: 'succeeded',
+            executionId: '1234',
+            httpMethod: NotificationService.POST,
+            attempts: attempts,
+            nextAttempt: new Date()
+        ).save(flush: true)
+        service.configurationService = Mock(ConfigurationService) {
+            getInteger('notification.retry.count', 0) >> 2
+            getInteger('notification.retry.backoff', 2) >> 2
+            getLong('notification.retry.delay', _) >> 1000L
+        }
+        service.notificationTaskScheduler = Mock(TaskScheduler)
+
+        when:
+        service.runWebhookRetry(retry.id)
+        RecordedRequest rq = httpServer.takeRequest()
+
+        then:
+        rq.body.readUtf8() == '{}'
+        rescheduled * service.notificationTaskScheduler.schedule(_ as Runnable, _ as Date)
+        NotificationRetry.count() == remaining
+        !remaining || NotificationRetry.get(retry.id).attempts == attempts + 1
+
+        cleanup:
+        httpServer.shutdown()
+
+        where:
+        description               | responseCode | attempts | rescheduled | remaining
+        'removed after success'   | 200          | 1        | 0           | 0
+        'rescheduled on failure'  | 500          | 1        | 1           | 1
+        'removed after last try'  | 500          | 2        | 0           | 0
+    }
+
     @Unroll
     def "get dynamic properties notification plugins tests"() {
         given:
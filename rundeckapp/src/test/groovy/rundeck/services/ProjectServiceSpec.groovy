@@ -36,6 +36,8 @@ import grails.events.bus.EventBus
 import grails.testing.gorm.DataTest
 import grails.testing.services.ServiceUnitTest
 import grails.testing.web.GrailsWebUnitTest
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
 import groovy.mock.interceptor.MockFor
 import okhttp3.MediaType
 import okhttp3.OkHttpClient
@@ -54,6 +56,7 @@ import org.rundeck.app.components.project.BuiltinImportComponents
 import org.rundeck.app.components.project.ProjectComponent
 import rundeck.data.report.SaveReportRequestImpl
 import org.rundeck.app.data.providers.GormExecReportDataProvider
+import org.rundeck.app.data.providers.v1.report.ExecReportDataProvider
 import org.rundeck.app.services.ExecutionFile
 import org.rundeck.core.auth.AuthConstants
 import org.slf4j.Logger
@@ -1548,6 +1551,81 @@ class ProjectServiceSpec extends Specification implements ServiceUnitTest<Projec
 
 
     }
+    def "export executions to stream in pages"() {
+        given:
+
+            File temp = File.createTempFile("test", "zip")
+            service.componentBeanProvider=new ProjectService.BeanProvider<ProjectComponent>(){
+                Map<String, ProjectComponent> beans=[:]
+            }
+            service.configurationService = Stub(ConfigurationService) {
+                getInteger('projectExport.pageSize', _) >> 2
+                getInteger('projectExport.jobs.parallelism', _) >> 1
+            }
+
+            ScheduledExecution se = new ScheduledExecution(jobName: 'blue', project: 'testproj', uuid: 'new-job-uuid')
+            assertNotNull se.save()
+            List<Execution> execs = (1..5).collect {
+                Execution exec = new Execution(
+                    argString: "-test args",
+                    user: "testuser",
+                    project: "testproj",
+                    loglevel: 'WARN',
+                    doNodedispatch: true,
+                    dateStarted: new Date(0),
+                    dateCompleted: new Date(3600000),
+                    nodeInclude: 'test1',
+                    nodeExcludeTags: 'monkey',
+                    status: 'true',
+                    workflow: new Workflow(commands: [new CommandExec(adhocRemoteString: 'exec command')]),
+                    scheduledExecution: se
+                )
+                assertNotNull exec.save()
+                assertNotNull ExecReport.fromExec(exec).save()
+                exec
+            }
+
+            def project = Mock(IRundeckProject){
+                getName()>>'testproj'
+            }
+            def framework = Mock(IFramework)
+            List<String> entries=[]
+            def output = new ZipOutputStream(temp.newOutputStream()){
+                @Override
+                void putNextEntry(@NotNull final ZipEntry e) throws IOException {
+                    entries<<e.name
+                    super.putNextEntry(e)
+                }
+            }
+            def options = Mock(ProjectArchiveExportRequest){
+                isAll()>>false
+                isExecutions()>>true
+            }
+            def auth = Mock(AuthContext)
+            def listener = Mock(ProgressListener)
+
+            service.logFileStorageService = Mock(LogFileStorageService)
+            service.rundeckAuthContextEvaluator = Mock(BaseAuthContextEvaluator)
+            service.loggingService = Mock(LoggingService)
+            service.workflowService = Mock(WorkflowService)
+            service.executionUtilService=Mock(ExecutionUtilService){
+                5 * exportExecutionXml(_, _, _)>>{
+                    it[1].write('test\n')
+                }
+            }
+        when:
+            service.exportProjectToStream(project, framework, output, listener, options, auth)
+        then:
+            1 * listener.total('export', 20)
+            5 * listener.inc('export', 3)
+            5 * listener.inc('export', 1)
+            1 * listener.done()
+            execs.every { entries.contains("rundeck-testproj/executions/execution-${it.id}.xml".toString()) }
+            entries.findAll { it.startsWith('rundeck-testproj/reports/report-') }.size() == 5
+        cleanup:
+            temp.delete()
+    }
+
     def "component export project to stream"() {
         given:
             ProjectComponent component = Mock(ProjectComponent){
@@ -3384,6 +3462,42 @@ class ProjectServiceSpec extends Specification implements ServiceUnitTest<Projec
         1 * eventBusMock.notify(*_)
     }
 
+    def "Async import files import milestone is reserved before it starts"(){
+        given:
+        def projectName = "test"
+        def auth = Mock(UserAndRolesAuthContext)
+        def project = Mock(IRundeckProject)
+        def eventBusMock = Mock(EventBus)
+        service.setTargetEventBus(eventBusMock)
+        service.asyncImportService = Mock(AsyncImportService)
+
+        when:
+        service.beginAsyncImportMilestone(projectName, auth, project, AsyncImportMilestone.M3_IMPORTING.milestoneNumber)
+
+        then:
+        1 * service.asyncImportService.reserveBundledExecutionsImport(projectName) >> true
+        1 * eventBusMock.notify(*_)
+        0 * service.asyncImportService.releaseBundledExecutionsImport(_)
+    }
+
+    def "Async import files import milestone in progress cannot be started again"(){
+        given:
+        def projectName = "test"
+        def auth = Mock(UserAndRolesAuthContext)
+        def project = Mock(IRundeckProject)
+        def eventBusMock = Mock(EventBus)
+        service.setTargetEventBus(eventBusMock)
+        service.asyncImportService = Mock(AsyncImportService)
+
+        when:
+        service.beginAsyncImportMilestone(projectName, auth, project, AsyncImportMilestone.M3_IMPORTING.milestoneNumber)
+
+        then:
+        1 * service.asyncImportService.reserveBundledExecutionsImport(projectName) >> false
+        0 * eventBusMock.notify(*_)
+        thrown AsyncImportException
+    }
+
     def "Async import is called with exception"(){
         given:
         def projectName = "test"
@@ -3567,6 +3681,185 @@ class ProjectServiceSpec extends Specification implements ServiceUnitTest<Projec
         1 * component1.afterProjectCreate('myproject')
         0 * component2.afterProjectCreate('myproject')
     }
+
+    def "import project archive skips entries recorded in the checkpoint"() {
+        given:
+            service.componentBeanProvider = new ProjectService.BeanProvider<ProjectComponent>() {
+                Map<String, ProjectComponent> beans = [:]
+            }
+            def project = Mock(IRundeckProject) {
+                getName() >> 'importtest'
+            }
+            def framework = Mock(Framework) {
+                getFrameworkProjectsBaseDir() >> { File.createTempDir() }
+            }
+            def authCtx = Mock(UserAndRolesAuthContext) {
+                getUsername() >> { "user" }
+                getRoles() >> { ["admin"] as Set }
+            }
+            service.scheduledExecutionService = Mock(ScheduledExecutionService) {
+                loadImportedJobs(_, _, _, _, _, _) >> { [] }
+            }
+            service.rundeckJobDefinitionManager = Mock(RundeckJobDefinitionManager) {
+                decodeFormat('xml', _) >> []
+            }
+            service.logFileStorageService = Mock(LogFileStorageService)
+            service.rundeckAuthContextEvaluator = Mock(AppAuthContextEvaluator)
+            service.execReportDataProvider = Mock(ExecReportDataProvider)
+            ProjectArchiveImportRequest rq = Mock(ProjectArchiveImportRequest) {
+                getProject() >> 'importtest'
+                getImportExecutions() >> true
+            }
+            def committed = []
+            def checkpoint = new ProjectImportCheckpoint(
+                executions: ['1': 123L],
+                executionFiles: ['execution-1.xml'] as Set,
+                reports: ['report-1.xml'] as Set,
+                reportedExecutions: [123L] as Set,
+                listener: { ProjectImportCheckpoint c, long count -> committed << count }
+            )
+
+        when:
+            def result = service.importToProject(
+                project,
+                framework,
+                authCtx,
+                getClass().getClassLoader().getResourceAsStream("test-rdproject.jar"),
+                rq,
+                checkpoint
+            )
+
+        then:
+            result.success
+            result.execerrors == []
+            Execution.count() == 0
+            0 * service.logFileStorageService.getFileForExecutionFiletype(*_)
+            0 * service.execReportDataProvider.saveReport(_)
+            committed == []
+            checkpoint.executions == ['1': 123L]
+            checkpoint.executionFiles == ['execution-1.xml'] as Set
+    }
+
+    /**
+     * @return project archive containing adhoc executions with the IDs, in the order given
+     */
+    private InputStream executionsArchive(List<Integer> ids) {
+        def bytes = new ByteArrayOutputStream()
+        new ZipOutputStream(bytes).withCloseable { zos ->
+            ids.each { id ->
+                zos.putNextEntry(new ZipEntry("rundeck-test/executions/execution-${id}.xml"))
+                zos.write("""<executions>
+  <execution id='${id}'>
+    <dateStarted>2019-11-07T19:03:41Z</dateStarted>
+    <dateCompleted>2019-11-07T19:03:42Z</dateCompleted>
+    <status>succeeded</status>
+    <outputfilepath>output-${id}.rdlog</outputfilepath>
+    <cancelled>false</cancelled>
+    <loglevel>INFO</loglevel>
+    <doNodedispatch>false</doNodedispatch>
+    <executionType>user</executionType>
+    <project>test</project>
+    <user>admin</user>
+    <workflow keepgoing='false' strategy='node-first'>
+      <command>
+        <exec>echo ${id}</exec>
+      </command>
+    </workflow>
+  </execution>
+</executions>""".getBytes('UTF-8'))
+                zos.closeEntry()
+                zos.putNextEntry(new ZipEntry("rundeck-test/executions/output-${id}.rdlog"))
+                zos.write("output ${id}".getBytes('UTF-8'))
+                zos.closeEntry()
+            }
+        }
+        new ByteArrayInputStream(bytes.toByteArray())
+    }
+
+    def "interrupted import is resumed from the checkpoint when the archive entries are in a different order"() {
+        given:
+            service.componentBeanProvider = new ProjectService.BeanProvider<ProjectComponent>() {
+                Map<String, ProjectComponent> beans = [:]
+            }
+            def project = Mock(IRundeckProject) {
+                getName() >> 'importtest'
+            }
+            def framework = Mock(Framework) {
+                getFrameworkProjectsBaseDir() >> { File.createTempDir() }
+            }
+            def authCtx = Mock(UserAndRolesAuthContext) {
+                getUsername() >> { "user" }
+                getRoles() >> { ["admin"] as Set }
+            }
+            service.configurationService = Mock(ConfigurationService) {
+                getInteger('projectImport.batchSize', _) >> 1
+                getInteger('projectImport.parallelism', _) >> 1
+            }
+            service.scheduledExecutionService = Mock(ScheduledExecutionService) {
+                loadImportedJobs(_, _, _, _, _, _) >> { [] }
+            }
+            service.rundeckJobDefinitionManager = Mock(RundeckJobDefinitionManager) {
+                decodeFormat('xml', _) >> []
+            }
+            service.logFileStorageService = Mock(LogFileStorageService) {
+                getFileForExecutionFiletype(_, _, _, _) >> { new File(File.createTempDir(), 'output.rdlog') }
+            }
+            service.rundeckAuthContextEvaluator = Mock(AppAuthContextEvaluator)
+            service.execReportDataProvider = Mock(ExecReportDataProvider)
+            ProjectArchiveImportRequest rq = Mock(ProjectArchiveImportRequest) {
+                getProject() >> 'importtest'
+                getImportExecutions() >> true
+            }
+            def interrupted = new ProjectImportCheckpoint(
+                listener: { ProjectImportCheckpoint c, long count ->
+                    throw new IllegalStateException('interrupted')
+                }
+            )
+            def committed = []
+
+        when: "the import is interrupted after the first batch is committed"
+            try {
+                service.importToProject(project, framework, authCtx, executionsArchive([1, 2, 3]), rq, interrupted)
+            } catch (IllegalStateException ignored) {
+            }
+            def saved = new JsonSlurper().parseText(JsonOutput.toJson(interrupted.toMap())) as Map
+            def resumed = ProjectImportCheckpoint.fromMap(saved)
+            resumed.listener = { ProjectImportCheckpoint c, long count -> committed << count }
+            def countBeforeResume = Execution.count()
+            def result = service.importToProject(project, framework, authCtx, executionsArchive([3, 2, 1]), rq, resumed)
+
+        then: "the entries committed before the interruption are not imported again"
+            countBeforeResume == 1
+            interrupted.executionFiles == ['execution-1.xml'] as Set
+            result.success
+            Execution.count() == 3
+            committed == [1L, 1L]
+            resumed.executionFiles == ['execution-1.xml', 'execution-2.xml', 'execution-3.xml'] as Set
+            resumed.executions.keySet() == ['1', '2', '3'] as Set
+    }
+
+    def "import checkpoint can be restored from its map data"() {
+        given:
+            def checkpoint = new ProjectImportCheckpoint(
+                executions: ['1': 10L],
+                executionFiles: ['execution-1.xml'] as Set,
+                retries: ['10': '2'],
+                reports: ['report-1.xml'] as Set,
+                reportedExecutions: [10L] as Set,
+                fileRecords: ['filerecord-1.xml'] as Set
+            )
+        when:
+            def restored = ProjectImportCheckpoint.fromMap(
+                new JsonSlurper().parseText(JsonOutput.toJson(checkpoint.toMap())) as Map
+            )
+        then:
+            restored.executions == ['1': 10L]
+            restored.executionFiles == ['execution-1.xml'] as Set
+            restored.retries == ['10': '2']
+            restored.reports == ['report-1.xml'] as Set
+            restored.reportedExecutions == [10L] as Set
+            restored.fileRecords == ['filerecord-1.xml'] as Set
+    }
 }
 
 abstract class MockRundeckApi implements RundeckApi{
@@ -892,6 +892,33 @@ class ScmServiceSpec extends Specification implements ServiceUnitTest<ScmService
         1 * plugin.getJobStatus(_,_)>> Mock(JobState)
     }
 
+    def "exportStatusForJobs prepares status of all jobs before getting each job status"() {
+        given:
+        service.frameworkService = Mock(FrameworkService) {
+            isClusterModeEnabled() >> false
+        }
+        service.jobMetadataService = Mock(JobMetadataService)
+        def project = "test"
+        def job1 = new ScheduledExecution(jobName: 'job1', groupPath: 'a', project: project, uuid: 'uuid1', version: 1)
+        def job2 = new ScheduledExecution(jobName: 'job2', groupPath: 'a', project: project, uuid: 'uuid2', version: 1)
+        ScmExportPlugin plugin = Mock(ScmExportPlugin)
+        service.initedProjects << "export/" + project
+        service.loadedExportPlugins[project] = Closeables.closeableProvider(plugin)
+        service.recordRenamedJob(project, 'uuid2', 'a/old-name.xml')
+
+        when:
+        def result = service.exportStatusForJobs(project, null, [job1, job2], false)
+
+        then:
+        1 * plugin.prepareJobsStatus({ it*.id == ['uuid1', 'uuid2'] }, [uuid2: 'a/old-name.xml'])
+
+        then:
+        1 * plugin.getJobStatus({ it.id == 'uuid1' }, null) >> Mock(JobState)
+        1 * plugin.getJobStatus({ it.id == 'uuid2' }, 'a/old-name.xml') >> Mock(JobState)
+        0 * plugin._(*_)
+        result.keySet() == ['uuid1', 'uuid2'] as Set
+    }
+
     def "get job plugin meta"(){
         given:
             def job = new ScheduledExecution()
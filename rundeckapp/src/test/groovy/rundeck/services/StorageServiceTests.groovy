@@ -18,6 +18,7 @@ package rundeck.services
 
 import com.dtolabs.rundeck.core.storage.AuthStorageTree
 import grails.testing.services.ServiceUnitTest
+import org.rundeck.storage.api.PathUtil
 import org.rundeck.storage.api.Resource
 import spock.lang.Specification
 /**
@@ -61,6 +62,26 @@ class StorageServiceTests extends Specification implements ServiceUnitTest<Stora
         then:
         service.listDir(null, 'abc/123')==([] as Set)
     }
+    def "testListDirPage"() {
+        given:
+        def resources = [
+            Mock(Resource) { isDirectory() >> false; getPath() >> PathUtil.asPath('abc/123/b') },
+            Mock(Resource) { isDirectory() >> true; getPath() >> PathUtil.asPath('abc/123/z') },
+            Mock(Resource) { isDirectory() >> false; getPath() >> PathUtil.asPath('abc/123/a') },
+            Mock(Resource) { isDirectory() >> true; getPath() >> PathUtil.asPath('abc/123/y') },
+        ] as Set
+        service.authRundeckStorageTree=Mock(AuthStorageTree){
+            listDirectory(_,{it.path=='abc/123'})>>resources
+        }
+        when:
+        def page1 = service.listDirPage(null, 'abc/123', 0, 3)
+        def page2 = service.listDirPage(null, 'abc/123', 3, 3)
+        def all = service.listDirPage(null, 'abc/123', 0, 0)
+        then:
+        page1*.path*.path == ['abc/123/y', 'abc/123/z', 'abc/123/a']
+        page2*.path*.path == ['abc/123/b']
+        all*.path*.path == ['abc/123/y', 'abc/123/z', 'abc/123/a', 'abc/123/b']
+    }
     def "testDelResource"() {
         when:
         service.authRundeckStorageTree=Mock(AuthStorageTree){
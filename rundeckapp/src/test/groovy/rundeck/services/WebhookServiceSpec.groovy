@@ -21,6 +21,8 @@ import com.dtolabs.rundeck.core.config.Features
 import com.dtolabs.rundeck.core.event.EventStoreService
 import com.dtolabs.rundeck.core.plugins.ConfiguredPlugin
 import com.dtolabs.rundeck.core.plugins.PluggableProviderService
+import com.dtolabs.rundeck.core.plugins.Plugin
+import com.dtolabs.rundeck.core.plugins.PluginInstanceReuse
 import com.dtolabs.rundeck.core.plugins.PluginRegistry
 import com.dtolabs.rundeck.core.plugins.ValidatedPlugin
 import com.dtolabs.rundeck.core.plugins.configuration.PluginCustomConfigValidator
@@ -29,7 +31,9 @@ import com.dtolabs.rundeck.core.plugins.configuration.PropertyScope
 import com.dtolabs.rundeck.core.plugins.configuration.Validator
 import com.dtolabs.rundeck.core.storage.keys.KeyStorageTree
 import com.dtolabs.rundeck.core.webhook.WebhookEventException
+import com.dtolabs.rundeck.plugins.ServiceNameConstants
 import com.dtolabs.rundeck.plugins.descriptions.PluginCustomConfig
+import com.dtolabs.rundeck.plugins.descriptions.PluginMetadata
 import com.dtolabs.rundeck.plugins.webhook.DefaultWebhookResponder
 import com.dtolabs.rundeck.plugins.webhook.WebhookData
 import com.dtolabs.rundeck.plugins.webhook.WebhookDataImpl
@@ -47,6 +51,8 @@ import org.rundeck.app.spi.AuthorizedServicesProvider
 import org.rundeck.app.spi.Services
 import org.rundeck.app.util.spi.AuthTokenManager
 import org.springframework.context.MessageSource
+import org.springframework.core.task.TaskExecutor
+import org.springframework.core.task.TaskRejectedException
 import rundeck.StoredEvent
 import rundeck.services.data.WebhookDataService
 import spock.lang.Shared
@@ -54,6 +60,7 @@ import spock.lang.Specification
 import spock.lang.Unroll
 import webhooks.Webhook
 import webhooks.WebhookService
+import webhooks.WebhookStatusResponder
 
 import javax.servlet.http.HttpServletRequest
 
@@ -140,6 +147,131 @@ class WebhookServiceSpec extends Specification implements ServiceUnitTest<Webhoo
 
     }
 
+    private WebhookDataImpl setupProcessWebhook(WebhookEventPlugin plugin, int maxInProgress = 0, boolean async = false) {
+        service.storageService = Mock(MockStorageService) {
+            storageTreeWithContext(_) >> Mock(KeyStorageTree)
+        }
+        service.featureService = Mock(FeatureService)
+        service.rundeckAuthorizedServicesProvider = Mock(AuthorizedServicesProvider) {
+            getServicesWith(_) >> { Mock(Services) }
+        }
+        service.frameworkService = Mock(MockFrameworkService) {
+            getFrameworkPropertyResolver(_, _) >> Mock(PropertyResolver)
+        }
+        service.configurationService = Mock(ConfigurationService) {
+            getBoolean('webhooks.pluginCache.enabled', true) >> true
+            getBoolean('webhooks.async.enabled', false) >> async
+            getInteger('webhooks.events.maxInProgress', 0) >> maxInProgress
+        }
+        service.pluginService = Mock(MockPluginService) {
+            configurePlugin("test-webhook-event", _, _, _) >> { new ConfiguredPlugin<WebhookEventPlugin>(plugin, [:]) }
+        }
+        WebhookDataImpl data = new WebhookDataImpl()
+        data.webhook = "testhook"
+        data.webhookUUID = "a-webhook-uuid"
+        data.contentType = "text/plain"
+        data.data = new ByteArrayInputStream("my event data".bytes)
+        data
+    }
+
+    def "process webhook reuses configured shared plugin instance"() {
+        given:
+        def mockUserAuth = Mock(UserAndRolesAuthContext) {
+            getUsername() >> "webhookUser"
+            getRoles() >> (["webhook", "test"] as Set)
+        }
+        def data = setupProcessWebhook(new SharedTestWebhookEventPlugin())
+
+        when:
+        service.processWebhook("test-webhook-event", '{"a":"b"}', data, mockUserAuth, Mock(HttpServletRequest))
+        service.processWebhook("test-webhook-event", '{"a":"b"}', data, mockUserAuth, Mock(HttpServletRequest))
+        service.processWebhook("test-webhook-event", '{"a":"c"}', data, mockUserAuth, Mock(HttpServletRequest))
+
+        then:
+        2 * service.pluginService.configurePlugin("test-webhook-event", _, _, _) >> {
+            new ConfiguredPlugin<WebhookEventPlugin>(new SharedTestWebhookEventPlugin(), [:])
+        }
+    }
+
+    def "process webhook configures plugin without shared metadata for each event"() {
+        given:
+        def mockUserAuth = Mock(UserAndRolesAuthContext) {
+            getUsername() >> "webhookUser"
+            getRoles() >> (["webhook", "test"] as Set)
+        }
+        def data = setupProcessWebhook(new TestWebhookEventPlugin())
+
+        when:
+        service.processWebhook("test-webhook-event", '{}', data, mockUserAuth, Mock(HttpServletRequest))
+        service.processWebhook("test-webhook-event", '{}', data, mockUserAuth, Mock(HttpServletRequest))
+
+        then:
+        2 * service.pluginService.configurePlugin("test-webhook-event", _, _, _) >> {
+            new ConfiguredPlugin<WebhookEventPlugin>(new TestWebhookEventPlugin(), [:])
+        }
+    }
+
+    def "process webhook async accepts event and processes it with the executor"() {
+        given:
+        def mockUserAuth = Mock(UserAndRolesAuthContext) {
+            getUsername() >> "webhookUser"
+            getRoles() >> (["webhook"] as Set)
+        }
+        def plugin = new TestWebhookEventPlugin()
+        def data = setupProcessWebhook(plugin, 1, true)
+        Runnable task = null
+        service.webhookTaskExecutor = Mock(TaskExecutor)
+
+        when:
+        def first = service.processWebhook("test-webhook-event", '{}', data, mockUserAuth, Mock(HttpServletRequest))
+        def second = service.processWebhook("test-webhook-event", '{}', data, mockUserAuth, Mock(HttpServletRequest))
+
+        then:
+        1 * service.webhookTaskExecutor.execute(_) >> { task = it[0] }
+        first instanceof WebhookStatusResponder
+        first.status == 202
+        second instanceof WebhookStatusResponder
+        second.status == 429
+        plugin.captured == null
+
+        when:
+        task.run()
+        def third = service.processWebhook("test-webhook-event", '{}', data, mockUserAuth, Mock(HttpServletRequest))
+
+        then:
+        plugin.captured.data.text == "my event data"
+        1 * service.webhookTaskExecutor.execute(_)
+        third.status == 202
+    }
+
+    def "process webhook responds 429 when the executor queue is full"() {
+        given:
+        def mockUserAuth = Mock(UserAndRolesAuthContext) {
+            getUsername() >> "webhookUser"
+            getRoles() >> (["webhook"] as Set)
+        }
+        def data = setupProcessWebhook(new TestWebhookEventPlugin(), 0, true)
+        service.webhookTaskExecutor = Mock(TaskExecutor) {
+            execute(_) >> { throw new TaskRejectedException("full") }
+        }
+
+        when:
+        def result = service.processWebhook("test-webhook-event", '{}', data, mockUserAuth, Mock(HttpServletRequest))
+
+        then:
+        result instanceof WebhookStatusResponder
+        result.status == 429
+    }
+
+    @Plugin(name = "test-webhook-event", service = ServiceNameConstants.WebhookEvent)
+    @PluginMetadata(key = PluginInstanceReuse.METADATA_KEY, value = PluginInstanceReuse.SHARED)
+    static class SharedTestWebhookEventPlugin implements WebhookEventPlugin {
+        @Override
+        WebhookResponder onEvent(final WebhookEventContext context, final WebhookData data) throws WebhookEventException {
+            return null
+        }
+    }
+
     class TestWebhookEventPlugin implements WebhookEventPlugin {
         WebhookData captured
 
@@ -0,0 +1,71 @@
+package rundeck.services.audit
+
+import com.dtolabs.rundeck.core.audit.AuditEvent
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Executor
+
+class AuditEventQueueSpec extends Specification {
+
+    AuditEvent event(String name) {
+        Stub(AuditEvent) {
+            getActionType() >> name
+        }
+    }
+
+    def "events are dispatched in batches in order"() {
+        given:
+            List<Runnable> tasks = []
+            Executor executor = { Runnable r -> tasks << r } as Executor
+            List<List<String>> batches = []
+            def queue = new AuditEventQueue(10, AuditEventQueue.OverflowPolicy.BLOCK, 2, executor, { entries ->
+                batches << entries*.event*.actionType
+            })
+
+        when:
+            ['a', 'b', 'c', 'd', 'e'].each { queue.offer(event(it)) }
+
+        then: "a single drain task is scheduled"
+            tasks.size() == 1
+            queue.size() == 5
+
+        when:
+            tasks[0].run()
+
+        then:
+            batches == [['a', 'b'], ['c', 'd'], ['e']]
+            queue.size() == 0
+
+        when: "another event is queued after draining"
+            queue.offer(event('f'))
+
+        then:
+            tasks.size() == 2
+    }
+
+    @Unroll
+    def "full queue with policy #policy"() {
+        given:
+            Executor executor = { Runnable r -> } as Executor
+            List<String> dispatched = []
+            def queue = new AuditEventQueue(2, AuditEventQueue.OverflowPolicy.forName(policy), 10, executor, { entries ->
+                dispatched.addAll(entries*.event*.actionType)
+            })
+            queue.offer(event('a'))
+            queue.offer(event('b'))
+
+        when:
+            def dropped = queue.offer(event('c'))
+            queue.drain()
+
+        then:
+            dropped == 1
+            dispatched == expected
+
+        where:
+            policy        | expected
+            'drop-newest' | ['a', 'b']
+            'drop_oldest' | ['b', 'c']
+    }
+}
@@ -5,6 +5,7 @@ import com.dtolabs.rundeck.core.audit.ActionTypes
 import com.dtolabs.rundeck.core.audit.AuditEvent
 import com.dtolabs.rundeck.core.audit.ResourceTypes
 import com.dtolabs.rundeck.core.common.IFramework
+import com.dtolabs.rundeck.plugins.audit.AuditEventBatchListener
 import com.dtolabs.rundeck.plugins.audit.AuditEventListener
 import grails.testing.services.ServiceUnitTest
 import org.grails.plugins.metricsweb.MetricService
@@ -133,6 +134,50 @@ class AuditEventsServiceSpec extends Specification implements ServiceUnitTest<Au
         receivedEvent.requestInfo.serverUUID == uuid
     }
 
+    def "batch listeners receive queued events at once"() {
+        given:
+        defineBeans {
+            metricService(InstanceFactoryBean, Mock(MetricService))
+        }
+        service.frameworkService = Mock(FrameworkService) {
+            getServerUUID() >> "serverUUID"
+            getServerHostname() >> "server"
+        }
+        service.installedPlugins = new HashMap<>()
+        List<List<String>> batches = []
+        List<String> single = []
+        service.addListener(new AuditEventBatchListener() {
+            @Override
+            void onEvents(List<AuditEvent> events) {
+                batches << events*.resourceInfo*.name
+            }
+        })
+        service.addListener(new AuditEventListener() {
+            @Override
+            void onEvent(AuditEvent event) {
+                single << event.resourceInfo.name
+            }
+        })
+
+        when:
+        def entries = ['job1', 'job2', 'job3'].collect {
+            new AuditEventQueue.Entry(
+                service.eventBuilder()
+                    .setUsername('admin')
+                    .setActionType(ActionTypes.UPDATE)
+                    .setResourceType(ResourceTypes.JOB)
+                    .setResourceName(it)
+                    .build(),
+                System.nanoTime()
+            )
+        }
+        service.deliverEvents(entries)
+
+        then:
+        batches == [['job1', 'job2', 'job3']]
+        single == ['job1', 'job2', 'job3']
+    }
+
     def "test metric counters"() {
         given:
         defineBeans {
@@ -0,0 +1,84 @@
+package rundeck.services.logging
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class RetrievedFileCacheSpec extends Specification {
+    File tempDir
+
+    def setup() {
+        tempDir = Files.createTempDirectory('RetrievedFileCacheSpec').toFile()
+    }
+
+    def cleanup() {
+        tempDir.deleteDir()
+    }
+
+    File createFile(String name, int size) {
+        def file = new File(tempDir, name)
+        file.bytes = new byte[size]
+        file
+    }
+
+    def "evicts least recently used files until within the budget"() {
+        given:
+            def cache = new RetrievedFileCache(maxBytes: 25)
+            cache.add('1:rdlog', createFile('1.rdlog', 10))
+            cache.add('2:rdlog', createFile('2.rdlog', 10))
+            cache.add('3:rdlog', createFile('3.rdlog', 10))
+
+        when:
+            def touched = cache.touch('1:rdlog')
+            def evicted = cache.evict { true }
+
+        then:
+            touched
+            evicted*.key == ['2:rdlog']
+            evicted*.size == [10L]
+            cache.totalBytes == 20
+            cache.size == 2
+    }
+
+    def "does not evict entries which are not evictable"() {
+        given:
+            def cache = new RetrievedFileCache(maxBytes: 15)
+            cache.add('1:rdlog', createFile('1.rdlog', 10))
+            cache.add('2:rdlog', createFile('2.rdlog', 10))
+            cache.add('3:rdlog', createFile('3.rdlog', 10))
+
+        when:
+            def evicted = cache.evict { it != '1:rdlog' }
+
+        then:
+            evicted*.key == ['2:rdlog', '3:rdlog']
+            cache.totalBytes == 10
+            cache.touch('1:rdlog')
+    }
+
+    def "does not evict entries used within the in use time"() {
+        given:
+            def cache = new RetrievedFileCache(maxBytes: 15, inUseMillis: 60000)
+            cache.add('1:rdlog', createFile('1.rdlog', 10))
+            cache.add('2:rdlog', createFile('2.rdlog', 10))
+
+        when:
+            def evicted = cache.evict { true }
+
+        then:
+            evicted == []
+            cache.totalBytes == 20
+            cache.size == 2
+    }
+
+    def "no limit does not evict"() {
+        given:
+            def cache = new RetrievedFileCache(maxBytes: 0)
+            cache.add('1:rdlog', createFile('1.rdlog', 10))
+
+        expect:
+            cache.evict { true } == []
+            cache.totalBytes == 10
+            !cache.touch('2:rdlog')
+    }
+}
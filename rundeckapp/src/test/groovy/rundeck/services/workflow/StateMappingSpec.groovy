@@ -20,6 +20,7 @@ package rundeck.services.workflow
 import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowStateImpl
 import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowStateImplTest
 import com.dtolabs.rundeck.app.internal.workflow.MutableWorkflowStepStateImpl
+import com.dtolabs.rundeck.core.execution.workflow.state.ExecutionState
 import grails.converters.JSON
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -531,6 +532,52 @@ class StateMappingSpec extends Specification {
             summarized.nodeSteps['localhost'].find { it.stepctx == '1' } != null
     }
 
+    def "delta of running state includes only states changed after the sequence"() {
+        given:
+            def sut = new StateMapping()
+            def step1 = new MutableWorkflowStepStateImpl(stepIdentifier(1))
+            step1.nodeStep = true
+            def step2 = new MutableWorkflowStepStateImpl(stepIdentifier(2))
+            def state = new MutableWorkflowStateImpl(['a', 'b'], 2, [0: step1, 1: step2])
+            step1.getOrCreateMutableNodeState('a')
+            def nodeB = step1.getOrCreateMutableNodeState('b')
+            def first = sut.deltaOf(1, state, 0)
+        when:
+            nodeB.executionState = ExecutionState.RUNNING
+            def second = sut.deltaOf(1, state, first.sequence)
+            def third = sut.deltaOf(1, state, second.sequence)
+        then:
+            first.changes.find { it.stepctx == '1' && !it.node } != null
+            first.changes.find { it.stepctx == '1' && it.node == 'a' } != null
+            first.changes.find { it.stepctx == '2' } != null
+            first.allNodes == ['a', 'b']
+            second.sequence > first.sequence
+            second.changes.size() == 1
+            second.changes[0].stepctx == '1'
+            second.changes[0].node == 'b'
+            second.changes[0].executionState == 'RUNNING'
+            second.allNodes == null
+            third.changes == []
+    }
+
+    def "delta of running state includes the nodes if they changed after the sequence"() {
+        given:
+            def sut = new StateMapping()
+            def step1 = new MutableWorkflowStepStateImpl(stepIdentifier(1))
+            step1.nodeStep = true
+            def state = new MutableWorkflowStateImpl(['a', 'b'], 1, [0: step1])
+            def first = sut.deltaOf(1, state, 0)
+        when:
+            state.updateWorkflowState(ExecutionState.RUNNING, new Date(), ['a', 'b', 'c'])
+            def second = sut.deltaOf(1, state, first.sequence)
+            def third = sut.deltaOf(1, state, second.sequence)
+        then:
+            second.targetNodes == ['a', 'b']
+            second.allNodes == ['a', 'b', 'c']
+            third.targetNodes == null
+            third.allNodes == null
+    }
+
     boolean mapEntriesAreEqualIgnoringDates(given, expected) {
         //assume they are the same type
         if (given instanceof Map) {